@@ -0,0 +1,118 @@
+package kit.codefight.benchmark;
+
+import kit.codefight.command.ProgramParser;
+import kit.codefight.exceptions.AiCreationException;
+import kit.codefight.exceptions.InstructionCreationException;
+import kit.codefight.exceptions.StartingGameException;
+import kit.codefight.model.GameEngine;
+import kit.codefight.model.memory.MemoryBackend;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * creates the games shared by the benchmarks.
+ * @author ukgyh
+ */
+final class BenchmarkGames {
+    /**
+     * name of the AI every benchmark game is played with.
+     */
+    static final String AI_NAME = "imp";
+    /**
+     * program of the AI every benchmark game is played with, it copies itself forward and never stops.
+     */
+    static final String AI_PROGRAM = "MOV_R,0,1";
+    /**
+     * programs of the AIs of a mixed game, the AIs take them in turn.
+     * they loop with jumps, adds, indirect moves and swaps, and the second one runs into its stop once it is bombed,
+     * while at least one AI keeps running for millions of steps.
+     */
+    static final String[] MIXED_PROGRAMS = {
+        "ADD,4,3,MOV_I,2,2,JMP,-2,0",
+        "ADD_R,3,2,JMZ,2,1,STOP,0,0,JMP,-3,0",
+        "SWAP,5,-5,ADD_R,1,-1,JMP,-2,0",
+        "CMP,2,3,JMZ,-1,4,MOV_R,-2,6,JMP,-3,0",
+        "MOV_R,0,1"
+    };
+    private static final String MIXED_AI_NAME_FORMAT = "mixed%d";
+    private static final String[] GAME_SYMBOLS = {".", "|", "n", "l"};
+    private static final String AI_SYMBOL_FORMAT = "%d";
+    private static final String AI_BOMB_SYMBOL_FORMAT = "%d!";
+    private static final String INSTANTIATION_ERROR = "utility class cannot be instantiated";
+
+    private BenchmarkGames() {
+        throw new UnsupportedOperationException(INSTANTIATION_ERROR);
+    }
+
+    /**
+     * starts a game in which the given number of copies of the benchmark AI compete.
+     * @param memorySize the size of the memory
+     * @param numberOfAi the number of AIs in the game
+     * @return the game engine running the game
+     * @throws InstructionCreationException if the program of the AI is invalid
+     * @throws AiCreationException if the AI cannot be registered
+     * @throws StartingGameException if the game cannot be started
+     */
+    static GameEngine startGame(int memorySize, int numberOfAi)
+            throws InstructionCreationException, AiCreationException, StartingGameException {
+        return startGame(memorySize, numberOfAi, MemoryBackend.PAGED);
+    }
+
+    /**
+     * starts a game in which the given number of copies of the benchmark AI compete in a memory of the given backend.
+     * @param memorySize the size of the memory
+     * @param numberOfAi the number of AIs in the game
+     * @param memoryBackend the way the cells of the memory are stored
+     * @return the game engine running the game
+     * @throws InstructionCreationException if the program of the AI is invalid
+     * @throws AiCreationException if the AI cannot be registered
+     * @throws StartingGameException if the game cannot be started
+     */
+    static GameEngine startGame(int memorySize, int numberOfAi, MemoryBackend memoryBackend)
+            throws InstructionCreationException, AiCreationException, StartingGameException {
+        GameEngine gameEngine = createEngine(memorySize, numberOfAi, memoryBackend);
+        gameEngine.addAi(AI_NAME, ProgramParser.parseInstructions(gameEngine, AI_PROGRAM));
+        String[] aiNames = new String[numberOfAi];
+        Arrays.fill(aiNames, AI_NAME);
+        gameEngine.startGame(aiNames);
+        return gameEngine;
+    }
+
+    /**
+     * starts a game in which the given number of AIs with the mixed programs compete in a memory of the given backend.
+     * @param memorySize the size of the memory, which has to hold the programs of all AIs
+     * @param numberOfAi the number of AIs in the game
+     * @param memoryBackend the way the cells of the memory are stored
+     * @return the game engine running the game
+     * @throws InstructionCreationException if a mixed program is invalid
+     * @throws AiCreationException if an AI cannot be registered
+     * @throws StartingGameException if the game cannot be started
+     */
+    static GameEngine startMixedGame(int memorySize, int numberOfAi, MemoryBackend memoryBackend)
+            throws InstructionCreationException, AiCreationException, StartingGameException {
+        GameEngine gameEngine = createEngine(memorySize, numberOfAi, memoryBackend);
+        String[] aiNames = new String[numberOfAi];
+        for (int i = 0; i < numberOfAi; i++) {
+            aiNames[i] = MIXED_AI_NAME_FORMAT.formatted(i);
+            String program = MIXED_PROGRAMS[i % MIXED_PROGRAMS.length];
+            gameEngine.addAi(aiNames[i], ProgramParser.parseInstructions(gameEngine, program));
+        }
+        gameEngine.startGame(aiNames);
+        return gameEngine;
+    }
+
+    private static GameEngine createEngine(int memorySize, int numberOfAi, MemoryBackend memoryBackend) {
+        GameEngine gameEngine = new GameEngine(memorySize, numberOfAi);
+        gameEngine.setMemoryBackend(memoryBackend);
+
+        List<String> aiSymbols = new ArrayList<>();
+        for (int i = 0; i < numberOfAi; i++) {
+            aiSymbols.add(AI_SYMBOL_FORMAT.formatted(i));
+            aiSymbols.add(AI_BOMB_SYMBOL_FORMAT.formatted(i));
+        }
+        gameEngine.initializeMemoryDisplay(GAME_SYMBOLS, aiSymbols);
+        return gameEngine;
+    }
+}
@@ -0,0 +1,34 @@
+package kit.codefight.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * entry point of the benchmark jar that runs the selected benchmarks with allocation profiling.
+ * The usual JMH command line options can be passed, the GC profiler reporting gc.alloc.rate.norm is always added.
+ * @author ukgyh
+ */
+public final class BenchmarkRunner {
+    private static final String INSTANTIATION_ERROR = "utility class cannot be instantiated";
+
+    private BenchmarkRunner() {
+        throw new UnsupportedOperationException(INSTANTIATION_ERROR);
+    }
+
+    /**
+     * runs the benchmarks.
+     * @param args the JMH command line options
+     * @throws CommandLineOptionException if the options are invalid
+     * @throws RunnerException if a benchmark fails
+     */
+    public static void main(String[] args) throws CommandLineOptionException, RunnerException {
+        OptionsBuilder options = new OptionsBuilder();
+        options.parent(new CommandLineOptions(args));
+        options.addProfiler(GCProfiler.class);
+        new Runner(options.build()).run();
+    }
+}
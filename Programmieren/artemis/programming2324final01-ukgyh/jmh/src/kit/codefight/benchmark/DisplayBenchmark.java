@@ -0,0 +1,80 @@
+package kit.codefight.benchmark;
+
+import kit.codefight.exceptions.GameExecutionException;
+import kit.codefight.exceptions.MemoryOutOfBoundsException;
+import kit.codefight.model.GameEngine;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * measures rendering the memory display of a game in progress.
+ * @author ukgyh
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DisplayBenchmark {
+    private static final int NUMBER_OF_AI = 2;
+    private static final int SEGMENT_START = 0;
+    //lets the AIs write into memory, so the display shows AI owned cells
+    private static final int STEPS_BEFORE_DISPLAY = 500;
+
+    @Param({"7", "256", "1337"})
+    private int memorySize;
+
+    private GameEngine gameEngine;
+    private StringBuilder output;
+
+    /**
+     * starts a game and lets it run for a while.
+     * @throws Exception if the game cannot be started or executed
+     */
+    @Setup
+    public void startGame() throws Exception {
+        gameEngine = BenchmarkGames.startGame(memorySize, NUMBER_OF_AI);
+        gameEngine.doNextSteps(STEPS_BEFORE_DISPLAY);
+        output = new StringBuilder();
+    }
+
+    /**
+     * renders the memory display into a reused output.
+     * @return the output holding the memory display
+     * @throws GameExecutionException if the memory display cannot be created
+     * @throws IOException if the output cannot be written
+     */
+    @Benchmark
+    public StringBuilder getMemoryDisplay() throws GameExecutionException, IOException {
+        output.setLength(0);
+        gameEngine.getMemoryDisplay().writeTo(output);
+        return output;
+    }
+
+    /**
+     * renders the memory display together with a segment of instructions into a reused output.
+     * @return the output holding the memory display with the segment
+     * @throws MemoryOutOfBoundsException if the segment start is out of bounds
+     * @throws GameExecutionException if the memory display cannot be created
+     * @throws IOException if the output cannot be written
+     */
+    @Benchmark
+    public StringBuilder getMemoryDisplayWithSegment() throws MemoryOutOfBoundsException, GameExecutionException, IOException {
+        output.setLength(0);
+        gameEngine.getMemoryDisplay(SEGMENT_START).writeTo(output);
+        return output;
+    }
+}
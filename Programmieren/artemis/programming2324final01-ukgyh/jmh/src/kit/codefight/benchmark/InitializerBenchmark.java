@@ -0,0 +1,82 @@
+package kit.codefight.benchmark;
+
+import kit.codefight.command.ProgramParser;
+import kit.codefight.exceptions.InstructionCreationException;
+import kit.codefight.exceptions.MemoryAllocationException;
+import kit.codefight.exceptions.MemoryOverloadException;
+import kit.codefight.exceptions.MissingAiException;
+import kit.codefight.model.GameEngine;
+import kit.codefight.model.ai.AiStateHandler;
+import kit.codefight.model.instructions.InstructionFactory;
+import kit.codefight.model.memory.MemoryStateHandler;
+import kit.codefight.model.memory.initialization.InitializationModeFactory;
+import kit.codefight.model.memory.initialization.MemoryInitializer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * measures the initialization of the memory at the start of a game.
+ * @author ukgyh
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InitializerBenchmark {
+    private static final int RANDOM_SEED = 42;
+    private static final int NUMBER_OF_AI = 2;
+
+    @Param({"7", "256", "1337"})
+    private int memorySize;
+
+    @Param({"INIT_MODE_STOP", "INIT_MODE_RANDOM"})
+    private String initializationMode;
+
+    private MemoryInitializer memoryInitializer;
+
+    /**
+     * registers and activates the AIs that are placed in memory.
+     * @throws Exception if the AIs cannot be activated
+     */
+    @Setup
+    public void activateAi() throws Exception {
+        MemoryStateHandler memoryStateHandler = new MemoryStateHandler(memorySize);
+        AiStateHandler aiStateHandler = new AiStateHandler(NUMBER_OF_AI, memorySize);
+        InstructionFactory instructionFactory = new InstructionFactory(memoryStateHandler, aiStateHandler);
+        memoryStateHandler.setInstructionSet(instructionFactory.getInstructionSet());
+
+        GameEngine parsingEngine = new GameEngine(memorySize, NUMBER_OF_AI);
+        aiStateHandler.addAi(BenchmarkGames.AI_NAME, ProgramParser.parseInstructions(parsingEngine, BenchmarkGames.AI_PROGRAM));
+        aiStateHandler.activateAi(new String[]{BenchmarkGames.AI_NAME, BenchmarkGames.AI_NAME});
+
+        memoryInitializer = new MemoryInitializer(memoryStateHandler, aiStateHandler, instructionFactory);
+        Integer seed = initializationMode.equals(InitializationModeFactory.RANDOM_INIT_MODE) ? RANDOM_SEED : null;
+        memoryInitializer.setInitializationMode(initializationMode, seed);
+    }
+
+    /**
+     * initializes the memory once.
+     * @throws MissingAiException if there are no active AIs
+     * @throws MemoryOverloadException if the AIs do not fit into memory
+     * @throws InstructionCreationException if an instruction cannot be created
+     * @throws MemoryAllocationException if the memory cannot be allocated
+     */
+    @Benchmark
+    public void initializeMemory() throws MissingAiException, MemoryOverloadException, InstructionCreationException,
+            MemoryAllocationException {
+        memoryInitializer.initializeMemory();
+    }
+}
@@ -0,0 +1,82 @@
+package kit.codefight.benchmark;
+
+import kit.codefight.exceptions.InstructionExecutionException;
+import kit.codefight.model.ai.AiStateHandler;
+import kit.codefight.model.instructions.Instruction;
+import kit.codefight.model.instructions.InstructionData;
+import kit.codefight.model.instructions.InstructionFactory;
+import kit.codefight.model.memory.MemoryStateHandler;
+import kit.codefight.model.memory.initialization.MemoryInitializer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * measures the execution of every single instruction, the executing AI is moved back onto the instruction every time.
+ * @author ukgyh
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InstructionBenchmark {
+    private static final int MEMORY_SIZE = 256;
+    private static final int NUMBER_OF_AI = 1;
+    private static final int EXECUTOR_HANDLE = 0;
+    private static final int INSTRUCTION_INDEX = 100;
+    private static final String EXECUTOR_INSTRUCTION = "JMP";
+    //the arguments point to other cells, so the benchmarked instruction is never overwritten
+    private static final int ARGUMENT_A = 1;
+    private static final int ARGUMENT_B = 2;
+
+    @Param({"STOP", "MOV_R", "MOV_I", "ADD", "ADD_R", "JMP", "JMZ", "CMP", "SWAP"})
+    private String instructionName;
+
+    private AiStateHandler aiStateHandler;
+    private Instruction instruction;
+
+    /**
+     * places the benchmarked instruction in a memory filled in STOP mode.
+     * @throws Exception if the memory cannot be initialized
+     */
+    @Setup
+    public void placeInstruction() throws Exception {
+        MemoryStateHandler memoryStateHandler = new MemoryStateHandler(MEMORY_SIZE);
+        aiStateHandler = new AiStateHandler(NUMBER_OF_AI, MEMORY_SIZE);
+        InstructionFactory instructionFactory = new InstructionFactory(memoryStateHandler, aiStateHandler);
+        memoryStateHandler.setInstructionSet(instructionFactory.getInstructionSet());
+
+        InstructionData executorProgram = instructionFactory.createInstructionByString(EXECUTOR_INSTRUCTION,
+                ARGUMENT_A, ARGUMENT_B);
+        aiStateHandler.addAi(BenchmarkGames.AI_NAME, List.of(executorProgram));
+        aiStateHandler.activateAi(new String[]{BenchmarkGames.AI_NAME});
+        new MemoryInitializer(memoryStateHandler, aiStateHandler, instructionFactory).initializeMemory();
+
+        InstructionData benchmarked = instructionFactory.createInstructionByString(instructionName, ARGUMENT_A, ARGUMENT_B);
+        memoryStateHandler.putInstructionAtIndex(INSTRUCTION_INDEX, benchmarked, EXECUTOR_HANDLE);
+        instruction = instructionFactory.getInstructionSet()[benchmarked.getOpcode()];
+    }
+
+    /**
+     * executes the benchmarked instruction once.
+     * @throws InstructionExecutionException if the instruction cannot be executed
+     */
+    @Benchmark
+    public void execute() throws InstructionExecutionException {
+        aiStateHandler.setAiPointer(EXECUTOR_HANDLE, INSTRUCTION_INDEX);
+        instruction.execute(EXECUTOR_HANDLE);
+    }
+}
@@ -0,0 +1,72 @@
+package kit.codefight.benchmark;
+
+import kit.codefight.exceptions.GameExecutionException;
+import kit.codefight.model.ExecutionMode;
+import kit.codefight.model.GameEngine;
+import kit.codefight.model.memory.MemoryBackend;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * measures the throughput of executing game steps, one operation is one executed step.
+ * every AI runs the same imp, see {@link MixedGameBenchmark} for a game of different programs.
+ * @author ukgyh
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SchedulerBenchmark {
+    private static final int STEPS = 10_000;
+
+    @Param({"7", "256", "1337"})
+    private int memorySize;
+
+    @Param({"2", "4", "7"})
+    private int numberOfAi;
+
+    @Param({"REFERENCE", "INTERPRETED"})
+    private ExecutionMode executionMode;
+
+    @Param({"PAGED", "OFF_HEAP"})
+    private MemoryBackend memoryBackend;
+
+    private GameEngine gameEngine;
+
+    /**
+     * starts a new game for every iteration.
+     * @throws Exception if the game cannot be started
+     */
+    @Setup(Level.Iteration)
+    public void startGame() throws Exception {
+        gameEngine = BenchmarkGames.startGame(memorySize, numberOfAi, memoryBackend);
+        gameEngine.setExecutionMode(executionMode);
+    }
+
+    /**
+     * executes a batch of steps.
+     * @return the AIs that stopped during the batch
+     * @throws GameExecutionException if the game cannot be executed
+     */
+    @Benchmark
+    @OperationsPerInvocation(STEPS)
+    public List<String[]> doNextSteps() throws GameExecutionException {
+        return gameEngine.doNextSteps(STEPS);
+    }
+}
@@ -1,10 +1,17 @@
 package kit.codefight;
 
+import kit.codefight.arguments.StartingArguments;
 import kit.codefight.command.CommandHandler;
-import kit.codefight.display.InputOutputCommandLine;
 import kit.codefight.display.InputOutputHandler;
+import kit.codefight.display.InputOutputWriter;
+import kit.codefight.evolution.EvolutionRunner;
 import kit.codefight.exceptions.ArgumentInvalidException;
+import kit.codefight.fuzzing.FuzzRunner;
 import kit.codefight.model.GameEngine;
+import kit.codefight.model.memory.MemoryBackend;
+import kit.codefight.replay.ReplayRunner;
+import kit.codefight.simulation.SimulationRunner;
+import kit.codefight.tournament.TournamentRunner;
 
 import java.util.Arrays;
 import java.util.HashSet;
@@ -22,8 +29,6 @@ public final class CodeFight {
     private static final String FORBIDDEN_SYMBOL_ERROR = "Symbols can't contain the character '%s'";
     private static final String INSTANTIATION_ERROR = "utility class cannot be instantiated";
     private static final String INVALID_ARGUMENT_AMOUNT_ERROR = "invalid amount of starting arguments";
-    private static final String MEMORY_SIZE_INVALID_INTEGER_ERROR = "memory size must be a valid integer";
-    private static final String MEMORY_SIZE_BOUND_ERROR = "memory size must be between %d and %d";
     private static final String SYMBOLS_NOT_UNIQUE_ERROR = "all symbols must be unique";
     private static final String STARTING_MESSAGE = "Welcome to CodeFight 2024. Enter 'help' for more details.";
     private static final int MINIMUM_ARGUMENT_AMOUNT = 8;
@@ -31,10 +36,14 @@ public final class CodeFight {
     private static final int GAME_SYMBOLS_FINAL_INDEX = 4;
     private static final int AI_SYMBOLS_STARTING_INDEX = 5;
     private static final int MEMORY_SIZE_INDEX = 0;
-    private static final int MINIMUM_MEMORY_SIZE = 7;
-    private static final int MAXIMUM_MEMORY_SIZE = 1337;
-
-
+    private static final String OPTION_PREFIX = "--";
+    private static final String STATS_OPTION = "--stats";
+    private static final String LARGE_ARENA_OPTION = "--large-arena";
+    private static final String OFF_HEAP_OPTION = "--off-heap";
+    private static final Set<String> KNOWN_OPTIONS = Set.of(STATS_OPTION, LARGE_ARENA_OPTION, OFF_HEAP_OPTION);
+    private static final int LARGE_ARENA_MAXIMUM_MEMORY_SIZE = 100_000_000;
+    private static final String UNKNOWN_OPTION_ERROR = "unknown option %s";
+    private static final String STATS_LARGE_ARENA_ERROR = "%s cannot be combined with %s, since the statistics need memory per cell";
 
     private CodeFight() {
         throw new UnsupportedOperationException(INSTANTIATION_ERROR);
@@ -46,13 +55,48 @@ public final class CodeFight {
      */
     public static void main(String[] args) {
         boolean validGame = true;
-        InputOutputHandler inputOutputHandler = new InputOutputCommandLine();
+        InputOutputHandler inputOutputHandler = new InputOutputWriter(System.in, System.out, System.err);
+
+        String mode = args.length > StartingArguments.MODE_INDEX ? args[StartingArguments.MODE_INDEX] : null;
+        if (mode != null) {
+            switch (mode) {
+                case TournamentRunner.MODE -> {
+                    TournamentRunner.run(args, inputOutputHandler);
+                    return;
+                }
+                case EvolutionRunner.MODE -> {
+                    EvolutionRunner.run(args, inputOutputHandler);
+                    return;
+                }
+                case FuzzRunner.MODE -> {
+                    FuzzRunner.run(args, inputOutputHandler);
+                    return;
+                }
+                case SimulationRunner.MODE -> {
+                    SimulationRunner.run(args, inputOutputHandler);
+                    return;
+                }
+                case ReplayRunner.MODE -> {
+                    ReplayRunner.run(args, inputOutputHandler);
+                    return;
+                }
+                default -> {
+                    //any other first argument starts an interactive game
+                }
+            }
+        }
 
         GameEngine gameEngine = null;
 
         try {
-            preParsingCheck(args);
-            gameEngine = parseArguments(args, (args.length - AI_SYMBOLS_STARTING_INDEX) / 2);
+            Set<String> options = new HashSet<>();
+            String[] gameArguments = parseOptions(args, options);
+            preParsingCheck(gameArguments);
+            gameEngine = parseArguments(gameArguments, (gameArguments.length - AI_SYMBOLS_STARTING_INDEX) / 2,
+                    options.contains(STATS_OPTION), options.contains(LARGE_ARENA_OPTION));
+            if (options.contains(OFF_HEAP_OPTION)) {
+                gameEngine.setMemoryBackend(MemoryBackend.OFF_HEAP);
+            }
 
         } catch (ArgumentInvalidException e) {
             inputOutputHandler.displayError(e.getMessage());
@@ -65,10 +109,35 @@ public final class CodeFight {
         }
     }
 
-    private static GameEngine parseArguments(String[] args, int maxNumberAi) throws ArgumentInvalidException {
-        int memorySize = parseMemorySize(args[MEMORY_SIZE_INDEX]);
+    /**
+     * Collects the options given before the game arguments.
+     * @param args the starting arguments
+     * @param options the set receiving the given options
+     * @return the starting arguments following the options
+     * @throws ArgumentInvalidException if an option is unknown
+     */
+    private static String[] parseOptions(String[] args, Set<String> options) throws ArgumentInvalidException {
+        int optionAmount = 0;
+        while (optionAmount < args.length && args[optionAmount].startsWith(OPTION_PREFIX)) {
+            if (!KNOWN_OPTIONS.contains(args[optionAmount])) {
+                throw new ArgumentInvalidException(UNKNOWN_OPTION_ERROR.formatted(args[optionAmount]));
+            }
+            options.add(args[optionAmount]);
+            optionAmount++;
+        }
+        return Arrays.copyOfRange(args, optionAmount, args.length);
+    }
 
-        GameEngine gameEngine = new GameEngine(memorySize, maxNumberAi);
+    private static GameEngine parseArguments(String[] args, int maxNumberAi, boolean collectStatistics, boolean largeArena)
+            throws ArgumentInvalidException {
+        if (collectStatistics && largeArena) {
+            throw new ArgumentInvalidException(STATS_LARGE_ARENA_ERROR.formatted(STATS_OPTION, LARGE_ARENA_OPTION));
+        }
+        //a large arena lifts the memory size limit, since untouched memory is shared
+        int maximumMemorySize = largeArena ? LARGE_ARENA_MAXIMUM_MEMORY_SIZE : StartingArguments.MAXIMUM_MEMORY_SIZE;
+        int memorySize = StartingArguments.parseMemorySize(args[MEMORY_SIZE_INDEX], maximumMemorySize);
+
+        GameEngine gameEngine = new GameEngine(memorySize, maxNumberAi, collectStatistics, largeArena);
 
         String[] gameSymbols = Arrays.copyOfRange(args, GAME_SYMBOLS_STARTING_INDEX, GAME_SYMBOLS_FINAL_INDEX + 1);
         List<String> aiSymbols = List.of(Arrays.copyOfRange(args, AI_SYMBOLS_STARTING_INDEX, args.length));
@@ -78,23 +147,6 @@ public final class CodeFight {
 
     }
 
-    private static int parseMemorySize(String memorySizeString) throws ArgumentInvalidException {
-        int memorySize;
-        try {
-            memorySize = Integer.parseInt(memorySizeString);
-
-        } catch (NumberFormatException e) {
-            throw new ArgumentInvalidException(MEMORY_SIZE_INVALID_INTEGER_ERROR);
-        }
-
-        if (memorySize < MINIMUM_MEMORY_SIZE || memorySize > MAXIMUM_MEMORY_SIZE) {
-            throw new ArgumentInvalidException(MEMORY_SIZE_BOUND_ERROR.formatted(MINIMUM_MEMORY_SIZE, MAXIMUM_MEMORY_SIZE));
-        }
-
-        return memorySize;
-
-    }
-
     private static void preParsingCheck(String[] args) throws ArgumentInvalidException {
 
         //correct amount of arguments is always uneven
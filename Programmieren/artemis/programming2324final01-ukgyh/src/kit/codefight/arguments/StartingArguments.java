@@ -0,0 +1,149 @@
+package kit.codefight.arguments;
+
+import kit.codefight.display.InputOutputHandler;
+import kit.codefight.exceptions.ArgumentInvalidException;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Parses the starting arguments shared by the interactive game and the headless modes.
+ * The arguments of a headless mode start with the name of the mode, the AIs of a mode are read from the input.
+ * @author ukgyh
+ */
+public final class StartingArguments {
+    /**
+     * the index of the name of a headless mode.
+     */
+    public static final int MODE_INDEX = 0;
+    /**
+     * the index of the memory size of a headless mode, which follows the name of the mode.
+     */
+    public static final int MODE_MEMORY_SIZE_INDEX = 1;
+    /**
+     * the index of the name in a line describing an AI.
+     */
+    public static final int AI_LINE_NAME_INDEX = 0;
+    /**
+     * the index of the program in a line describing an AI.
+     */
+    public static final int AI_LINE_PROGRAM_INDEX = 1;
+    /**
+     * the largest memory size of a game that is not a large arena.
+     */
+    public static final int MAXIMUM_MEMORY_SIZE = 1337;
+    /**
+     * the smallest value of a count of a headless mode.
+     */
+    public static final int MINIMUM_POSITIVE_VALUE = 1;
+    /**
+     * the error of a step budget that is not positive.
+     */
+    public static final String STEP_BUDGET_ERROR = "step budget must be a positive integer";
+    private static final String INSTANTIATION_ERROR = "utility class cannot be instantiated";
+    private static final String MEMORY_SIZE_INVALID_INTEGER_ERROR = "memory size must be a valid integer";
+    private static final String MEMORY_SIZE_BOUND_ERROR = "memory size must be between %d and %d";
+    private static final String PARALLELISM_ERROR = "parallelism must be a positive integer";
+    private static final String AI_LINE_FORMAT_ERROR = "each AI must be given as [name] [instructions]";
+    private static final String AI_LINE_SEPARATOR = " ";
+    private static final int AI_LINE_TOKEN_AMOUNT = 2;
+    private static final int MINIMUM_MEMORY_SIZE = 7;
+
+    private StartingArguments() {
+        throw new UnsupportedOperationException(INSTANTIATION_ERROR);
+    }
+
+    /**
+     * Checks that a headless mode got an allowed amount of arguments, including the name of the mode.
+     * @param args the starting arguments
+     * @param minimumAmount the amount of arguments without the optional ones
+     * @param maximumAmount the amount of arguments with all optional ones
+     * @param formatError the error describing the format of the mode
+     * @throws ArgumentInvalidException if the amount of arguments is not allowed
+     */
+    public static void checkArgumentAmount(String[] args, int minimumAmount, int maximumAmount, String formatError)
+            throws ArgumentInvalidException {
+        if (args.length < minimumAmount || args.length > maximumAmount) {
+            throw new ArgumentInvalidException(formatError);
+        }
+    }
+
+    /**
+     * Parses a memory size of at most {@link #MAXIMUM_MEMORY_SIZE} cells.
+     * @param memorySizeString the memory size given by the user
+     * @return the memory size
+     * @throws ArgumentInvalidException if the memory size is no integer or out of bounds
+     */
+    public static int parseMemorySize(String memorySizeString) throws ArgumentInvalidException {
+        return parseMemorySize(memorySizeString, MAXIMUM_MEMORY_SIZE);
+    }
+
+    /**
+     * Parses a memory size of at most the given number of cells.
+     * @param memorySizeString the memory size given by the user
+     * @param maximumMemorySize the largest allowed memory size
+     * @return the memory size
+     * @throws ArgumentInvalidException if the memory size is no integer or out of bounds
+     */
+    public static int parseMemorySize(String memorySizeString, int maximumMemorySize) throws ArgumentInvalidException {
+        int memorySize;
+        try {
+            memorySize = Integer.parseInt(memorySizeString);
+
+        } catch (NumberFormatException e) {
+            throw new ArgumentInvalidException(MEMORY_SIZE_INVALID_INTEGER_ERROR);
+        }
+
+        if (memorySize < MINIMUM_MEMORY_SIZE || memorySize > maximumMemorySize) {
+            throw new ArgumentInvalidException(MEMORY_SIZE_BOUND_ERROR.formatted(MINIMUM_MEMORY_SIZE, maximumMemorySize));
+        }
+
+        return memorySize;
+    }
+
+    /**
+     * Parses the optional parallelism of a headless mode, which defaults to the number of available processors.
+     * @param args the starting arguments
+     * @param index the index of the parallelism, which is the last argument of every headless mode
+     * @param formatError the error describing the format of the mode
+     * @return the number of tasks run at the same time
+     * @throws ArgumentInvalidException if the parallelism is no positive integer
+     */
+    public static int parseParallelism(String[] args, int index, String formatError) throws ArgumentInvalidException {
+        if (args.length <= index) {
+            return Runtime.getRuntime().availableProcessors();
+        }
+        int parallelism;
+        try {
+            parallelism = Integer.parseInt(args[index]);
+        } catch (NumberFormatException e) {
+            throw new ArgumentInvalidException(formatError);
+        }
+        if (parallelism < MINIMUM_POSITIVE_VALUE) {
+            throw new ArgumentInvalidException(PARALLELISM_ERROR);
+        }
+        return parallelism;
+    }
+
+    /**
+     * Reads the AIs of a headless mode from the input until it ends, empty lines are skipped.
+     * @param inputOutputHandler the handler providing the input
+     * @return the name and the program of every AI, indexed by {@link #AI_LINE_NAME_INDEX} and {@link #AI_LINE_PROGRAM_INDEX}
+     * @throws ArgumentInvalidException if a line is not of the format [name] [instructions]
+     */
+    public static List<String[]> readAiLines(InputOutputHandler inputOutputHandler) throws ArgumentInvalidException {
+        List<String[]> aiLines = new ArrayList<>();
+        while (inputOutputHandler.hasNewInput()) {
+            String line = inputOutputHandler.getInput().trim();
+            if (line.isEmpty()) {
+                continue;
+            }
+            String[] aiLine = line.split(AI_LINE_SEPARATOR);
+            if (aiLine.length != AI_LINE_TOKEN_AMOUNT) {
+                throw new ArgumentInvalidException(AI_LINE_FORMAT_ERROR);
+            }
+            aiLines.add(aiLine);
+        }
+        return aiLines;
+    }
+}
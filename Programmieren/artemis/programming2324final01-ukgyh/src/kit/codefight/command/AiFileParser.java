@@ -0,0 +1,242 @@
+package kit.codefight.command;
+
+import kit.codefight.exceptions.InstructionCreationException;
+import kit.codefight.model.GameEngine;
+import kit.codefight.model.instructions.InstructionData;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Parses files of AI definitions, one {@code [name] [instructions]} definition per line in the format of add-ai.
+ * A file is memory-mapped and tokenized directly on its bytes, instruction names are matched against the known
+ * names without creating strings and arguments are parsed without creating substrings.
+ * Parsing only reads the instruction table of the engine, so several files can be parsed at the same time.
+ * @author ukgyh
+ */
+final class AiFileParser {
+    /**
+     * line of errors concerning the whole file.
+     */
+    static final int WHOLE_FILE = 0;
+    private static final String FILE_TOO_LARGE_ERROR = "file is too large";
+    private static final String NAME_MISSING_ERROR = "each line must be given as [name] [instructions]";
+    private static final byte LINE_END = '\n';
+    private static final byte CARRIAGE_RETURN = '\r';
+    private static final byte NAME_SEPARATOR = ' ';
+    private static final byte INSTRUCTION_SEPARATOR = ',';
+    private static final byte MINUS = '-';
+    private static final byte PLUS = '+';
+    private static final byte ZERO = '0';
+    private static final byte NINE = '9';
+    private static final int DECIMAL_BASE = 10;
+    private static final int FIELDS_PER_INSTRUCTION = 3;
+    private static final int FIRST_LINE = 1;
+    private static final int NOT_FOUND = -1;
+    private final GameEngine gameEngine;
+    private final List<String> instructionNames;
+    private final byte[][] instructionNameBytes;
+
+    /**
+     * Represents an AI definition that was parsed successfully.
+     * @param name the name of the AI
+     * @param instructions the starting instructions of the AI
+     * @param line the line of the definition in its file
+     */
+    record ParsedAi(String name, List<InstructionData> instructions, int line) { }
+
+    /**
+     * Represents an error in a file.
+     * @param line the line of the error, {@link #WHOLE_FILE} if the error concerns the whole file
+     * @param message the message of the error
+     */
+    record LineError(int line, String message) { }
+
+    /**
+     * Represents the parsed content of a file.
+     * @param file the parsed file
+     * @param ais the AI definitions that were parsed successfully
+     * @param errors the errors of all other lines in line order
+     */
+    record ParsedFile(Path file, List<ParsedAi> ais, List<LineError> errors) { }
+
+    /**
+     * Constructs a new AiFileParser.
+     * @param gameEngine the game engine creating the instructions
+     */
+    AiFileParser(GameEngine gameEngine) {
+        this.gameEngine = gameEngine;
+        this.instructionNames = gameEngine.getInstructionNames();
+        this.instructionNameBytes = new byte[instructionNames.size()][];
+        for (int i = 0; i < instructionNameBytes.length; i++) {
+            instructionNameBytes[i] = instructionNames.get(i).getBytes(StandardCharsets.US_ASCII);
+        }
+    }
+
+    /**
+     * Parses all AI definitions of the given file, errors are collected per line instead of being thrown.
+     * @param file the file to parse
+     * @return the parsed content of the file
+     */
+    ParsedFile parse(Path file) {
+        List<ParsedAi> ais = new ArrayList<>();
+        List<LineError> errors = new ArrayList<>();
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                errors.add(new LineError(WHOLE_FILE, FILE_TOO_LARGE_ERROR));
+                return new ParsedFile(file, ais, errors);
+            }
+            //the mapping stays valid after the channel is closed
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        } catch (IOException e) {
+            errors.add(new LineError(WHOLE_FILE, e.getMessage()));
+            return new ParsedFile(file, ais, errors);
+        }
+
+        int line = FIRST_LINE;
+        int lineStart = 0;
+        while (lineStart < buffer.limit()) {
+            int lineEnd = indexOf(buffer, LINE_END, lineStart, buffer.limit());
+            int nextLineStart = lineEnd == NOT_FOUND ? buffer.limit() : lineEnd + 1;
+            int contentEnd = lineEnd == NOT_FOUND ? buffer.limit() : lineEnd;
+            if (contentEnd > lineStart && buffer.get(contentEnd - 1) == CARRIAGE_RETURN) {
+                contentEnd--;
+            }
+            if (contentEnd > lineStart) {
+                try {
+                    ais.add(parseDefinition(buffer, lineStart, contentEnd, line));
+                } catch (InstructionCreationException e) {
+                    errors.add(new LineError(line, e.getMessage()));
+                }
+            }
+            lineStart = nextLineStart;
+            line++;
+        }
+        return new ParsedFile(file, ais, errors);
+    }
+
+    private ParsedAi parseDefinition(MappedByteBuffer buffer, int start, int end, int line) throws InstructionCreationException {
+        int nameEnd = indexOf(buffer, NAME_SEPARATOR, start, end);
+        if (nameEnd == NOT_FOUND || nameEnd == start) {
+            throw new InstructionCreationException(NAME_MISSING_ERROR);
+        }
+        byte[] name = new byte[nameEnd - start];
+        buffer.get(start, name);
+
+        List<InstructionData> instructions = new ArrayList<>();
+        boolean containsValidFirstInstruction = false;
+        int fieldStart = nameEnd + 1;
+        //like the inline program of add-ai, trailing empty fields are ignored
+        int programEnd = end;
+        while (programEnd > fieldStart && buffer.get(programEnd - 1) == INSTRUCTION_SEPARATOR) {
+            programEnd--;
+        }
+        boolean onlySeparators = programEnd == fieldStart && end > fieldStart;
+        //every instruction consists of its name and two arguments, all separated by commas
+        while (!onlySeparators && fieldStart <= programEnd) {
+            int nameFieldEnd = nextFieldEnd(buffer, fieldStart, programEnd);
+            int argumentAEnd = nextFieldEnd(buffer, nameFieldEnd + 1, programEnd);
+            int argumentBEnd = nextFieldEnd(buffer, argumentAEnd + 1, programEnd);
+            if (argumentBEnd > programEnd) {
+                throw new InstructionCreationException(ProgramParser.INSTRUCTION_AMOUNT_INVALID_ERROR);
+            }
+            int opcode = findInstruction(buffer, fieldStart, nameFieldEnd);
+            int argumentA = parseInteger(buffer, nameFieldEnd + 1, argumentAEnd);
+            int argumentB = parseInteger(buffer, argumentAEnd + 1, argumentBEnd);
+            String instructionName = opcode == NOT_FOUND
+                    ? decode(buffer, fieldStart, nameFieldEnd)
+                    : instructionNames.get(opcode);
+            InstructionData instruction = gameEngine.createInstructionsByString(instructionName, argumentA, argumentB);
+            instructions.add(instruction);
+            containsValidFirstInstruction |= instruction.isValidFirstInstruction();
+            fieldStart = argumentBEnd + 1;
+        }
+        if (!containsValidFirstInstruction) {
+            throw new InstructionCreationException(ProgramParser.NO_VALID_FIRST_INSTRUCTION_ERROR);
+        }
+        return new ParsedAi(new String(name, StandardCharsets.UTF_8), instructions, line);
+    }
+
+    /**
+     * Finds the end of the field starting at the given position.
+     * @return the position of the separator after the field, the end of the line, or a position after the line
+     *      if the field starts after the end of the line
+     */
+    private int nextFieldEnd(MappedByteBuffer buffer, int start, int end) {
+        if (start > end) {
+            return start;
+        }
+        int separator = indexOf(buffer, INSTRUCTION_SEPARATOR, start, end);
+        return separator == NOT_FOUND ? end : separator;
+    }
+
+    private int findInstruction(MappedByteBuffer buffer, int start, int end) {
+        for (int opcode = 0; opcode < instructionNameBytes.length; opcode++) {
+            byte[] instructionName = instructionNameBytes[opcode];
+            if (instructionName.length == end - start && matches(buffer, start, instructionName)) {
+                return opcode;
+            }
+        }
+        return NOT_FOUND;
+    }
+
+    private static boolean matches(MappedByteBuffer buffer, int start, byte[] expected) {
+        for (int i = 0; i < expected.length; i++) {
+            if (buffer.get(start + i) != expected[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Parses a decimal integer with an optional sign directly from the bytes, accepting what Integer.parseInt accepts.
+     */
+    private static int parseInteger(MappedByteBuffer buffer, int start, int end) throws InstructionCreationException {
+        int position = start;
+        boolean negative = false;
+        if (position < end && (buffer.get(position) == MINUS || buffer.get(position) == PLUS)) {
+            negative = buffer.get(position) == MINUS;
+            position++;
+        }
+        if (position == end) {
+            throw new InstructionCreationException(ProgramParser.ARGUMENT_INTEGER_INVALID_ERROR);
+        }
+        //accumulating negatively covers the whole integer range including its minimum
+        long value = 0;
+        long limit = negative ? Integer.MIN_VALUE : -(long) Integer.MAX_VALUE;
+        for (; position < end; position++) {
+            byte digit = buffer.get(position);
+            if (digit < ZERO || digit > NINE) {
+                throw new InstructionCreationException(ProgramParser.ARGUMENT_INTEGER_INVALID_ERROR);
+            }
+            value = value * DECIMAL_BASE - (digit - ZERO);
+            if (value < limit) {
+                throw new InstructionCreationException(ProgramParser.ARGUMENT_INTEGER_INVALID_ERROR);
+            }
+        }
+        return (int) (negative ? value : -value);
+    }
+
+    private static int indexOf(MappedByteBuffer buffer, byte symbol, int start, int end) {
+        for (int i = start; i < end; i++) {
+            if (buffer.get(i) == symbol) {
+                return i;
+            }
+        }
+        return NOT_FOUND;
+    }
+
+    private static String decode(MappedByteBuffer buffer, int start, int end) {
+        byte[] bytes = new byte[end - start];
+        buffer.get(start, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
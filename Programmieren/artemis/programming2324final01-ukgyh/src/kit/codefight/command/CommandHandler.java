@@ -23,6 +23,7 @@ public final class CommandHandler {
     private static final String WRONG_ARGUMENTS_COUNT_FORMAT = "wrong number of arguments for command '%s'!";
     private static final String HELP_COMMAND_NAME = "help";
     private static final String ADD_AI_COMMAND_NAME = "add-ai";
+    private static final String LOAD_AIS_COMMAND_NAME = "load-ais";
     private static final String REMOVE_AI_COMMAND_NAME = "remove-ai";
     private static final String END_GAME_COMMAND_NAME = "end-game";
     private static final String SHOW_AI_COMMAND_NAME = "show-ai";
@@ -31,6 +32,9 @@ public final class CommandHandler {
     private static final String SET_MODE_COMMAND_NAME = "set-init-mode";
     private static final String SHOW_MEMORY_COMMAND_NAME = "show-memory";
     private static final String START_GAME_COMMAND_NAME = "start-game";
+    private static final String STATS_COMMAND_NAME = "stats";
+    private static final String RECORD_COMMAND_NAME = "record";
+    private static final String STOP_RECORD_COMMAND_NAME = "stop-record";
     private static final String INVALID_RESULT_TYPE_FORMAT = "Unexpected value: %s";
     private static final String WRONG_GAME_PHASE_ERROR = "command not available in the current game phase";
     private static final int EMPTY_ARRAY_SIZE = 0;
@@ -126,6 +130,12 @@ public final class CommandHandler {
         CommandResult result = command.execute(gameEngine, commandArguments);
         String output = result.getMessage();
 
+        // Content of successful results is written directly into the output
+        if (result.getContent() != null && result.getType() == CommandResultType.SUCCESS) {
+            inputOutputHandler.displayStandard(result.getContent());
+            return;
+        }
+
         // Display the output based on the result type
         if (output != null) {
             switch (result.getType()) {
@@ -138,6 +148,7 @@ public final class CommandHandler {
 
     private void initCommands() {
         this.addCommand(ADD_AI_COMMAND_NAME, new AddAiCommand());
+        this.addCommand(LOAD_AIS_COMMAND_NAME, new LoadAisCommand());
         this.addCommand(REMOVE_AI_COMMAND_NAME, new RemoveAiCommand());
         this.addCommand(HELP_COMMAND_NAME, new HelpCommand(this));
         this.addCommand(END_GAME_COMMAND_NAME, new EndGameCommand());
@@ -147,6 +158,9 @@ public final class CommandHandler {
         this.addCommand(START_GAME_COMMAND_NAME, new StartGameCommand(gameEngine.getMaxNumberAi()));
         this.addCommand(QUIT_COMMAND_NAME, new QuitCommand(this));
         this.addCommand(SHOW_MEMORY_COMMAND_NAME, new ShowMemoryCommand());
+        this.addCommand(STATS_COMMAND_NAME, new StatsCommand());
+        this.addCommand(RECORD_COMMAND_NAME, new RecordCommand());
+        this.addCommand(STOP_RECORD_COMMAND_NAME, new StopRecordCommand());
     }
 
     private void addCommand(String commandName, Command command) {
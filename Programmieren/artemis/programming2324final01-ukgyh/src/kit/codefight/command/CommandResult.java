@@ -1,5 +1,7 @@
 package kit.codefight.command;
 
+import kit.codefight.display.DisplayContent;
+
 /**
  * This class represents the result of a command. It contains a message and a type. The type indicates whether the
  * command was successful or not. The message contains additional information about the result.
@@ -12,6 +14,7 @@ package kit.codefight.command;
 public class CommandResult {
 
     private final String message;
+    private final DisplayContent content;
     private final CommandResultType type;
 
     /**
@@ -21,10 +24,26 @@ public class CommandResult {
      * @param resultMessage the message of the result. May be {@code null} to indicate that there is no message.
      */
     public CommandResult(CommandResultType type, String resultMessage) {
+        this(type, resultMessage, null);
+    }
+
+    private CommandResult(CommandResultType type, String resultMessage, DisplayContent resultContent) {
         this.message = resultMessage;
+        this.content = resultContent;
         this.type = type;
     }
 
+    /**
+     * Creates a new CommandResult whose message is written directly into the output.
+     *
+     * @param type          the type of the result
+     * @param resultContent the content of the result message
+     * @return the new CommandResult
+     */
+    public static CommandResult withContent(CommandResultType type, DisplayContent resultContent) {
+        return new CommandResult(type, null, resultContent);
+    }
+
     /**
      * Returns the message of the result. Might be {@code null} indicating that there was no result message.
      *
@@ -34,6 +53,16 @@ public class CommandResult {
         return message;
     }
 
+    /**
+     * Returns the content of the result that is written directly into the output. Might be {@code null} indicating
+     * that the result has a plain message or no message at all.
+     *
+     * @return the content of the result.
+     */
+    public DisplayContent getContent() {
+        return content;
+    }
+
     /**
      * Returns the type of the result.
      *
@@ -1,5 +1,6 @@
 package kit.codefight.command;
 
+import kit.codefight.exceptions.ReplayException;
 import kit.codefight.model.GameEngine;
 import kit.codefight.model.GamePhase;
 
@@ -12,12 +13,17 @@ final class EndGameCommand  implements Command {
     private static final boolean REQUIRES_GAME_PHASE = true;
     private static final GamePhase REQUIRED_GAME_PHASE = GamePhase.RUNNING;
     private static final String INFO_TEXT = "ends the game and displays information about the AIs. No arguments are required.";
+    private static final String REPLAY_ERROR = "the game has ended, but its replay is incomplete: %s";
 
 
     @Override
     public CommandResult execute(GameEngine gameEngine, String[] commandArguments) {
         String gameInfo = gameEngine.getGameInfo();
-        gameEngine.endGame();
+        try {
+            gameEngine.endGame();
+        } catch (ReplayException e) {
+            return new CommandResult(CommandResultType.FAILURE, REPLAY_ERROR.formatted(e.getMessage()));
+        }
         return new CommandResult(CommandResultType.SUCCESS, gameInfo);
     }
 
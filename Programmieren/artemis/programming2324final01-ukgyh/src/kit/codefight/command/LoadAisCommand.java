@@ -0,0 +1,113 @@
+package kit.codefight.command;
+
+import kit.codefight.exceptions.AiCreationException;
+import kit.codefight.model.GameEngine;
+import kit.codefight.model.GamePhase;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.InvalidPathException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * command that registers all AIs defined in a file or in the files of a directory.
+ * The files are parsed in parallel, the AIs of all files are registered afterwards in file and line order.
+ * @author ukgyh
+ */
+final class LoadAisCommand implements Command {
+    private static final int ARGUMENT_AMOUNT = 1;
+    private static final int PATH_INDEX = 0;
+    private static final String INFO_TEXT = "registers all AIs defined in a file or in the files of a directory."
+            + " The format is: load-ais [file or directory]. Every line of a file defines one AI as [name] [instructions].";
+    private static final String PATH_ERROR = "%s is no readable file or directory";
+    private static final String LOADED_MESSAGE = "loaded %d AIs";
+    private static final String ERRORS_MESSAGE = "loaded %d AIs, %d files with errors:";
+    private static final String LINE_ERROR = "%s:%d: %s";
+    private static final String FILE_ERROR = "%s: %s";
+    private static final boolean REQUIRES_GAME_PHASE = true;
+    private static final GamePhase REQUIRED_GAME_PHASE = GamePhase.INITIALIZATION;
+
+    @Override
+    public CommandResult execute(GameEngine gameEngine, String[] commandArguments) {
+        List<Path> files;
+        try {
+            files = listFiles(Paths.get(commandArguments[PATH_INDEX]));
+        } catch (IOException | InvalidPathException e) {
+            return new CommandResult(CommandResultType.FAILURE, PATH_ERROR.formatted(commandArguments[PATH_INDEX]));
+        }
+
+        //parsing only reads the engine, registering changes it and therefore happens afterwards in one batch
+        AiFileParser parser = new AiFileParser(gameEngine);
+        List<AiFileParser.ParsedFile> parsedFiles = files.parallelStream().map(parser::parse).toList();
+
+        int loaded = 0;
+        int filesWithErrors = 0;
+        List<String> errors = new ArrayList<>();
+        for (AiFileParser.ParsedFile parsedFile : parsedFiles) {
+            List<AiFileParser.LineError> fileErrors = new ArrayList<>(parsedFile.errors());
+            for (AiFileParser.ParsedAi ai : parsedFile.ais()) {
+                try {
+                    gameEngine.addAi(ai.name(), ai.instructions());
+                    loaded++;
+                } catch (AiCreationException e) {
+                    fileErrors.add(new AiFileParser.LineError(ai.line(), e.getMessage()));
+                }
+            }
+            if (!fileErrors.isEmpty()) {
+                filesWithErrors++;
+                fileErrors.sort(Comparator.comparingInt(AiFileParser.LineError::line));
+                for (AiFileParser.LineError error : fileErrors) {
+                    errors.add(error.line() == AiFileParser.WHOLE_FILE
+                            ? FILE_ERROR.formatted(parsedFile.file(), error.message())
+                            : LINE_ERROR.formatted(parsedFile.file(), error.line(), error.message()));
+                }
+            }
+        }
+
+        if (errors.isEmpty()) {
+            return new CommandResult(CommandResultType.SUCCESS, LOADED_MESSAGE.formatted(loaded));
+        }
+        errors.add(0, ERRORS_MESSAGE.formatted(loaded, filesWithErrors));
+        return new CommandResult(CommandResultType.FAILURE, String.join(System.lineSeparator(), errors));
+    }
+
+    /**
+     * Lists the files to load, the regular files of a directory are loaded in the order of their names.
+     * @param path the file or directory
+     * @return the files to load
+     * @throws IOException if the path is neither a readable file nor a directory
+     */
+    private static List<Path> listFiles(Path path) throws IOException {
+        if (Files.isRegularFile(path)) {
+            return List.of(path);
+        }
+        try (Stream<Path> entries = Files.list(path)) {
+            return entries.filter(Files::isRegularFile).sorted().toList();
+        }
+    }
+
+    @Override
+    public boolean isValidArgumentAmount(int argumentAmount) {
+        return argumentAmount == ARGUMENT_AMOUNT;
+    }
+
+    @Override
+    public boolean requiresGamePhase() {
+        return REQUIRES_GAME_PHASE;
+    }
+
+    @Override
+    public GamePhase getRequiredGamePhase() {
+        return REQUIRED_GAME_PHASE;
+    }
+
+    @Override
+    public String getInfoText() {
+        return INFO_TEXT;
+    }
+}
@@ -0,0 +1,87 @@
+package kit.codefight.command;
+
+import kit.codefight.exceptions.InstructionCreationException;
+import kit.codefight.model.GameEngine;
+import kit.codefight.model.instructions.InstructionData;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * parses the textual program of an AI, which is a comma separated list of instructions with two arguments each.
+ * @author ukgyh
+ */
+public final class ProgramParser {
+    /**
+     * error of a program whose instructions do not have two arguments each.
+     */
+    static final String INSTRUCTION_AMOUNT_INVALID_ERROR = "each AI instruction must have exactly two arguments";
+    /**
+     * error of a program with an argument that is no integer.
+     */
+    static final String ARGUMENT_INTEGER_INVALID_ERROR = "instruction argument must be a valid integer";
+    /**
+     * error of a program without an instruction that is valid to be executed first.
+     */
+    static final String NO_VALID_FIRST_INSTRUCTION_ERROR = "AI must contain at least one valid first instruction";
+    private static final int INSTRUCTION_NAME_OFFSET = 0;
+    private static final int INSTRUCTION_ARGUMENT_A_OFFSET = 1;
+    private static final int INSTRUCTION_ARGUMENT_B_OFFSET = 2;
+    private static final int INSTRUCTION_ARGUMENT_AMOUNT = 3;
+    private static final String INSTRUCTION_SEPARATION_SYMBOL = ",";
+    private static final String INSTANTIATION_ERROR = "utility class cannot be instantiated";
+
+    private ProgramParser() {
+        throw new UnsupportedOperationException(INSTANTIATION_ERROR);
+    }
+
+    /**
+     * Parses the given program into its starting instructions.
+     * @param gameEngine the game engine creating the instructions
+     * @param program the program, e.g. {@code MOV_R,0,1,STOP,0,0}
+     * @return the starting instructions of the program
+     * @throws InstructionCreationException if the program is malformed or has no valid first instruction
+     */
+    public static List<InstructionData> parseInstructions(GameEngine gameEngine, String program) throws InstructionCreationException {
+        boolean containsValidFirstInstruction = false;
+
+        List<InstructionData> instructionList = new ArrayList<>();
+        String[] splitInstructionString = program.split(INSTRUCTION_SEPARATION_SYMBOL);
+
+        //checks if there are three arguments specified for every instruction
+        if (splitInstructionString.length % INSTRUCTION_ARGUMENT_AMOUNT != 0) {
+            throw new InstructionCreationException(INSTRUCTION_AMOUNT_INVALID_ERROR);
+        }
+
+        //parses the instruction name, argumentA and argumentB for every instruction in the string
+        for (int i = 0; i < splitInstructionString.length; i += INSTRUCTION_ARGUMENT_AMOUNT) {
+            String instructionName = splitInstructionString[i + INSTRUCTION_NAME_OFFSET];
+
+            int argumentA;
+            int argumentB;
+
+            try {
+                argumentA = Integer.parseInt(splitInstructionString[i + INSTRUCTION_ARGUMENT_A_OFFSET]);
+                argumentB = Integer.parseInt(splitInstructionString[i + INSTRUCTION_ARGUMENT_B_OFFSET]);
+
+            } catch (NumberFormatException e) {
+                throw new InstructionCreationException(ARGUMENT_INTEGER_INVALID_ERROR);
+            }
+
+
+            InstructionData instruction = gameEngine.createInstructionsByString(instructionName, argumentA, argumentB);
+            instructionList.add(instruction);
+
+
+            if (instruction.isValidFirstInstruction()) {
+                containsValidFirstInstruction = true;
+            }
+        }
+
+        if (containsValidFirstInstruction) {
+            return instructionList;
+        }
+
+        throw new InstructionCreationException(NO_VALID_FIRST_INSTRUCTION_ERROR);
+    }
+}
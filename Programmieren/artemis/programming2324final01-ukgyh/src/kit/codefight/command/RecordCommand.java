@@ -0,0 +1,70 @@
+package kit.codefight.command;
+
+import kit.codefight.exceptions.ReplayException;
+import kit.codefight.model.GameEngine;
+import kit.codefight.model.GamePhase;
+
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.util.Set;
+
+/**
+ * command class that starts recording the running game into a replay file.
+ * @author ukgyh
+ */
+final class RecordCommand implements Command {
+    private static final Set<Integer> ARGUMENT_AMOUNT = Set.of(1, 2);
+    private static final boolean REQUIRES_GAME_PHASE = true;
+    private static final GamePhase REQUIRED_GAME_PHASE = GamePhase.RUNNING;
+    private static final int PATH_INDEX = 0;
+    private static final int KEYFRAME_INTERVAL_INDEX = 1;
+    private static final int DEFAULT_KEYFRAME_INTERVAL = 1000;
+    private static final String INFO_TEXT = "records the game into a replay file until stop-record or end-game."
+            + " Optional argument: the number of steps between two keyframes of the replay."
+            + " Format is record [file] [keyframe interval]";
+    private static final String KEYFRAME_INTERVAL_INVALID_ERROR = "keyframe interval must be a valid integer";
+    private static final String PATH_INVALID_ERROR = "%s is not a valid file";
+    private static final String RECORDING_MESSAGE = "recording the game to %s";
+
+    @Override
+    public CommandResult execute(GameEngine gameEngine, String[] commandArguments) {
+        String file = commandArguments[PATH_INDEX];
+        int keyframeInterval = DEFAULT_KEYFRAME_INTERVAL;
+        if (commandArguments.length > KEYFRAME_INTERVAL_INDEX) {
+            try {
+                keyframeInterval = Integer.parseInt(commandArguments[KEYFRAME_INTERVAL_INDEX]);
+            } catch (NumberFormatException e) {
+                return new CommandResult(CommandResultType.FAILURE, KEYFRAME_INTERVAL_INVALID_ERROR);
+            }
+        }
+
+        try {
+            gameEngine.startRecording(Path.of(file), keyframeInterval);
+        } catch (InvalidPathException e) {
+            return new CommandResult(CommandResultType.FAILURE, PATH_INVALID_ERROR.formatted(file));
+        } catch (ReplayException e) {
+            return new CommandResult(CommandResultType.FAILURE, e.getMessage());
+        }
+        return new CommandResult(CommandResultType.SUCCESS, RECORDING_MESSAGE.formatted(file));
+    }
+
+    @Override
+    public boolean isValidArgumentAmount(int argumentAmount) {
+        return ARGUMENT_AMOUNT.contains(argumentAmount);
+    }
+
+    @Override
+    public boolean requiresGamePhase() {
+        return REQUIRES_GAME_PHASE;
+    }
+
+    @Override
+    public GamePhase getRequiredGamePhase() {
+        return REQUIRED_GAME_PHASE;
+    }
+
+    @Override
+    public String getInfoText() {
+        return INFO_TEXT;
+    }
+}
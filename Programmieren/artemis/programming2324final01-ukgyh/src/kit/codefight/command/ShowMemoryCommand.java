@@ -1,5 +1,6 @@
 package kit.codefight.command;
 
+import kit.codefight.display.DisplayContent;
 import kit.codefight.exceptions.GameExecutionException;
 import kit.codefight.exceptions.MemoryOutOfBoundsException;
 import kit.codefight.model.GameEngine;
@@ -30,14 +31,14 @@ final class ShowMemoryCommand implements Command {
     public CommandResult execute(GameEngine gameEngine, String[] commandArguments) {
         switch (commandArguments.length) {
             case NO_SEGMENT_ARGUMENT_LENGTH:
-                String memoryDisplay;
+                DisplayContent memoryDisplay;
                 try {
                     memoryDisplay = gameEngine.getMemoryDisplay();
                 } catch (GameExecutionException e) {
                     return new CommandResult(CommandResultType.FAILURE, e.getMessage());
                 }
 
-                return new CommandResult(CommandResultType.SUCCESS, memoryDisplay);
+                return CommandResult.withContent(CommandResultType.SUCCESS, memoryDisplay);
 
             case WITH_SEGMENT_ARGUMENT_LENGTH:
                 int startOfSegment;
@@ -47,14 +48,14 @@ final class ShowMemoryCommand implements Command {
                     return new CommandResult(CommandResultType.FAILURE, INVALID_SEGMENT_START_ERROR);
                 }
 
-                String memoryDisplaySegment;
+                DisplayContent memoryDisplaySegment;
                 try {
                     memoryDisplaySegment = gameEngine.getMemoryDisplay(startOfSegment);
                 } catch (GameExecutionException | MemoryOutOfBoundsException e) {
                     return new CommandResult(CommandResultType.FAILURE, e.getMessage());
                 }
 
-                return new CommandResult(CommandResultType.SUCCESS, memoryDisplaySegment);
+                return CommandResult.withContent(CommandResultType.SUCCESS, memoryDisplaySegment);
 
             default:
                 return new CommandResult(CommandResultType.FAILURE, INVALID_ARGUMENT_AMOUNT_ERROR);
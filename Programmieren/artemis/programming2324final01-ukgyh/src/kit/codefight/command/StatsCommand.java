@@ -0,0 +1,67 @@
+package kit.codefight.command;
+
+import kit.codefight.model.GameEngine;
+import kit.codefight.model.GamePhase;
+import kit.codefight.model.StatisticsReport;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Paths;
+
+/**
+ * command that displays the execution statistics of the running game or writes them into a file as JSON.
+ * @author ukgyh
+ */
+final class StatsCommand implements Command {
+    private static final int DISPLAY_ARGUMENT_AMOUNT = 0;
+    private static final int DUMP_ARGUMENT_AMOUNT = 1;
+    private static final int PATH_INDEX = 0;
+    private static final String INFO_TEXT = "shows the execution statistics of the game, requires the start option --stats."
+            + " Format is stats [file], with a file the statistics are written into it as JSON.";
+    private static final String DISABLED_ERROR = "statistics are disabled, start the game with the option --stats";
+    private static final String WRITE_ERROR = "statistics could not be written to %s";
+    private static final String WRITTEN_MESSAGE = "statistics written to %s";
+    private static final boolean REQUIRES_GAME_PHASE = true;
+    private static final GamePhase REQUIRED_GAME_PHASE = GamePhase.RUNNING;
+
+    @Override
+    public CommandResult execute(GameEngine gameEngine, String[] commandArguments) {
+        StatisticsReport report = gameEngine.getStatisticsReport();
+        if (report == null) {
+            return new CommandResult(CommandResultType.FAILURE, DISABLED_ERROR);
+        }
+        if (commandArguments.length == DISPLAY_ARGUMENT_AMOUNT) {
+            return new CommandResult(CommandResultType.SUCCESS, String.join(System.lineSeparator(), report.toLines()));
+        }
+
+        String file = commandArguments[PATH_INDEX];
+        try {
+            Files.writeString(Paths.get(file), report.toJson(), StandardCharsets.UTF_8);
+        } catch (IOException | InvalidPathException e) {
+            return new CommandResult(CommandResultType.FAILURE, WRITE_ERROR.formatted(file));
+        }
+        return new CommandResult(CommandResultType.SUCCESS, WRITTEN_MESSAGE.formatted(file));
+    }
+
+    @Override
+    public boolean isValidArgumentAmount(int argumentAmount) {
+        return argumentAmount == DISPLAY_ARGUMENT_AMOUNT || argumentAmount == DUMP_ARGUMENT_AMOUNT;
+    }
+
+    @Override
+    public boolean requiresGamePhase() {
+        return REQUIRES_GAME_PHASE;
+    }
+
+    @Override
+    public GamePhase getRequiredGamePhase() {
+        return REQUIRED_GAME_PHASE;
+    }
+
+    @Override
+    public String getInfoText() {
+        return INFO_TEXT;
+    }
+}
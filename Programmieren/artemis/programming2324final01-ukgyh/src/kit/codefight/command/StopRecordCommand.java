@@ -0,0 +1,51 @@
+package kit.codefight.command;
+
+import kit.codefight.exceptions.ReplayException;
+import kit.codefight.model.GameEngine;
+import kit.codefight.model.GamePhase;
+
+/**
+ * command class that stops recording the running game and closes its replay file.
+ * @author ukgyh
+ */
+final class StopRecordCommand implements Command {
+    private static final int ARGUMENT_AMOUNT = 0;
+    private static final boolean REQUIRES_GAME_PHASE = true;
+    private static final GamePhase REQUIRED_GAME_PHASE = GamePhase.RUNNING;
+    private static final String INFO_TEXT = "stops recording the game and closes the replay file. No arguments are required.";
+    private static final String NOT_RECORDING_ERROR = "the game is not being recorded";
+    private static final String STOPPED_MESSAGE = "recording stopped after %d steps";
+
+    @Override
+    public CommandResult execute(GameEngine gameEngine, String[] commandArguments) {
+        if (!gameEngine.isRecording()) {
+            return new CommandResult(CommandResultType.FAILURE, NOT_RECORDING_ERROR);
+        }
+        try {
+            gameEngine.stopRecording();
+        } catch (ReplayException e) {
+            return new CommandResult(CommandResultType.FAILURE, e.getMessage());
+        }
+        return new CommandResult(CommandResultType.SUCCESS, STOPPED_MESSAGE.formatted(gameEngine.getExecutedSteps()));
+    }
+
+    @Override
+    public boolean isValidArgumentAmount(int argumentAmount) {
+        return argumentAmount == ARGUMENT_AMOUNT;
+    }
+
+    @Override
+    public boolean requiresGamePhase() {
+        return REQUIRES_GAME_PHASE;
+    }
+
+    @Override
+    public GamePhase getRequiredGamePhase() {
+        return REQUIRED_GAME_PHASE;
+    }
+
+    @Override
+    public String getInfoText() {
+        return INFO_TEXT;
+    }
+}
@@ -0,0 +1,17 @@
+package kit.codefight.display;
+
+import java.io.IOException;
+
+/**
+ * content that is written straight into the output instead of being built as a string first.
+ * @author ukgyh
+ */
+@FunctionalInterface
+public interface DisplayContent {
+    /**
+     * writes the content into the given output, without a trailing line separator.
+     * @param output the output the content is written into
+     * @throws IOException if the output cannot be written
+     */
+    void writeTo(Appendable output) throws IOException;
+}
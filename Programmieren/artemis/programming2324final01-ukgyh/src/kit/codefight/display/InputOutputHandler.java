@@ -1,5 +1,8 @@
 package kit.codefight.display;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
 /**
  * interface for handling input and output and interaction with the user.
  * @author ukgyh
@@ -10,6 +13,20 @@ public interface InputOutputHandler {
      * @param message the message to be displayed
      */
     void displayStandard(String message);
+    /**
+     * displays a standard message to the user that is written by the given content.
+     * @param content the content of the message to be displayed
+     */
+    default void displayStandard(DisplayContent content) {
+        StringBuilder stringBuilder = new StringBuilder();
+        try {
+            content.writeTo(stringBuilder);
+        } catch (IOException e) {
+            //appending to a StringBuilder never fails
+            throw new UncheckedIOException(e);
+        }
+        displayStandard(stringBuilder.toString());
+    }
     /**
      * displays an error message to the user.
      * @param message the message to be displayed
@@ -0,0 +1,91 @@
+package kit.codefight.display;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.util.Scanner;
+
+/**
+ * This class handles the user interaction via streams, the standard output is buffered instead of flushed per line.
+ * The standard output is only flushed before waiting for new input, before displaying an error and when the interaction
+ * is closed, so large outputs like memory snapshots are written without intermediate strings and flushes.
+ * @author ukgyh
+ */
+public final class InputOutputWriter implements InputOutputHandler {
+    private static final String ERROR_PREFIX = "Error, ";
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final int NO_AVAILABLE_BYTES = 0;
+    private final InputStream inputStream;
+    private final Scanner scanner;
+    private final PrintWriter standardOutput;
+    private final PrintWriter errorOutput;
+
+    /**
+     * creates a new InputOutputWriter reading from and writing to the given streams.
+     * @param inputStream the stream the input is read from
+     * @param standardOutput the stream standard messages are written to
+     * @param errorOutput the stream error messages are written to
+     */
+    public InputOutputWriter(InputStream inputStream, OutputStream standardOutput, OutputStream errorOutput) {
+        this.inputStream = inputStream;
+        this.scanner = new Scanner(inputStream);
+        this.standardOutput = new PrintWriter(new BufferedWriter(new OutputStreamWriter(standardOutput), BUFFER_SIZE));
+        this.errorOutput = new PrintWriter(new OutputStreamWriter(errorOutput));
+    }
+
+    @Override
+    public String getInput() {
+        return scanner.nextLine();
+    }
+
+    @Override
+    public void displayError(String message) {
+        //keeping standard and error messages in order
+        standardOutput.flush();
+        errorOutput.println(ERROR_PREFIX + message);
+        errorOutput.flush();
+    }
+
+    @Override
+    public void displayStandard(String message) {
+        standardOutput.println(message);
+    }
+
+    @Override
+    public void displayStandard(DisplayContent content) {
+        try {
+            content.writeTo(standardOutput);
+        } catch (IOException e) {
+            //a PrintWriter never throws, it only records the error
+            throw new IllegalStateException(e);
+        }
+        standardOutput.println();
+    }
+
+    @Override
+    public boolean hasNewInput() {
+        //a user waiting for the output has to see it before the input blocks
+        if (!isInputAvailable()) {
+            standardOutput.flush();
+        }
+        return scanner.hasNext();
+    }
+
+    @Override
+    public void closeInteraction() {
+        standardOutput.flush();
+        errorOutput.flush();
+        scanner.close();
+    }
+
+    private boolean isInputAvailable() {
+        try {
+            return inputStream.available() > NO_AVAILABLE_BYTES;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,267 @@
+package kit.codefight.evolution;
+
+import kit.codefight.exceptions.InstructionCreationException;
+import kit.codefight.exceptions.TournamentException;
+import kit.codefight.model.GameEngine;
+import kit.codefight.model.memory.initialization.InitializationModeFactory;
+import kit.codefight.tournament.Match;
+import kit.codefight.tournament.MatchResult;
+import kit.codefight.tournament.TournamentAi;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+
+/**
+ * Evolves AI programs by mutation and crossover.
+ * Every genome is scored by headless matches against a pool of reference AIs on a fixed set of seeds, moving first and
+ * second once per seed. A won match is worth three points and a draw one point, the fitness is the share of the
+ * maximum points. The matches of all new genomes of a generation are played together in parallel, genomes that were
+ * already scored are taken from a fitness cache keyed by the program.
+ * All random decisions are made by one generator seeded with the master seed, so a run does not depend on the parallelism.
+ * @author ukgyh
+ */
+public final class Evolution {
+    private static final String CANDIDATE_NAME = "evolved";
+    private static final String DUPLICATE_NAME_ERROR = "name already used by another AI";
+    private static final String NO_REFERENCE_ERROR = "evolution needs at least one reference AI";
+    private static final String INSTRUCTION_TABLE_ERROR = "instruction table could not be read";
+    private static final String SEED_AMOUNT_ERROR = "the number of seeds per reference must be between %d and %d";
+    private static final int MINIMUM_SEED_AMOUNT = 1;
+    private static final int MINIMUM_LENGTH = 1;
+    private static final int MATCH_AI_AMOUNT = 2;
+    private static final int INITIAL_MAXIMUM_LENGTH = 8;
+    private static final int SELECTION_SIZE = 3;
+    private static final int ELITE_DIVISOR = 10;
+    private static final int MINIMUM_ELITES = 1;
+    private static final double CROSSOVER_RATE = 0.7;
+    private static final double WIN_POINTS = 3;
+    private static final double DRAW_POINTS = 1;
+    private static final int NO_ARGUMENT = 0;
+    private final int memorySize;
+    private final long stepBudget;
+    private final int populationSize;
+    private final int parallelism;
+    private final int maximumLength;
+    private final int[] seeds;
+    private final SplittableRandom random;
+    private final GeneticOperators operators;
+    private final List<String> instructionNames;
+    private final List<TournamentAi> references;
+    private final Map<Genome, Double> fitnessCache;
+    private List<Genome> population;
+    private Genome best;
+    private double bestFitness;
+    private int generation;
+
+    /**
+     * Constructs a new Evolution.
+     * @param memorySize the size of the memory of every match
+     * @param stepBudget the maximum number of steps before a match ends in a draw
+     * @param populationSize the number of genomes per generation
+     * @param seedsPerReference the number of seeds every genome plays against every reference AI
+     * @param parallelism the number of matches played at the same time
+     * @param masterSeed the seed all random decisions are derived from
+     * @throws TournamentException if the number of seeds is invalid or the instruction table cannot be read
+     */
+    public Evolution(int memorySize, long stepBudget, int populationSize, int seedsPerReference, int parallelism, long masterSeed)
+            throws TournamentException {
+        this.memorySize = memorySize;
+        this.stepBudget = stepBudget;
+        this.populationSize = populationSize;
+        this.parallelism = parallelism;
+        this.random = new SplittableRandom(masterSeed);
+        if (seedsPerReference < MINIMUM_SEED_AMOUNT || seedsPerReference > InitializationModeFactory.NUMBER_OF_SEEDS) {
+            throw new TournamentException(SEED_AMOUNT_ERROR.formatted(MINIMUM_SEED_AMOUNT,
+                    InitializationModeFactory.NUMBER_OF_SEEDS));
+        }
+        //two matches of a genome against the same reference in the same order would be identical with the same seed
+        this.seeds = InitializationModeFactory.drawDistinctSeeds(random, seedsPerReference);
+
+        GameEngine gameEngine = new GameEngine(memorySize, MATCH_AI_AMOUNT);
+        this.instructionNames = gameEngine.getInstructionNames();
+        List<Integer> validFirstOpcodes = new ArrayList<>();
+        try {
+            for (int opcode = 0; opcode < instructionNames.size(); opcode++) {
+                if (gameEngine.createInstructionsByString(instructionNames.get(opcode), NO_ARGUMENT, NO_ARGUMENT)
+                        .isValidFirstInstruction()) {
+                    validFirstOpcodes.add(opcode);
+                }
+            }
+        } catch (InstructionCreationException e) {
+            throw new TournamentException(INSTRUCTION_TABLE_ERROR, e);
+        }
+        //two AIs share the memory, so a program may use at most half of it
+        this.maximumLength = memorySize / MATCH_AI_AMOUNT;
+        this.operators = new GeneticOperators(random.split(), instructionNames.size(),
+                validFirstOpcodes.stream().mapToInt(Integer::intValue).toArray(), maximumLength, memorySize);
+        this.references = new ArrayList<>();
+        this.fitnessCache = new HashMap<>();
+    }
+
+    /**
+     * Adds an AI to the pool of reference AIs every genome plays against.
+     * @param name the name of the AI
+     * @param program the program of the AI in the format of the add-ai command
+     * @throws TournamentException if the name is already used or the program is invalid
+     */
+    public void addReference(String name, String program) throws TournamentException {
+        if (name.equals(CANDIDATE_NAME) || references.stream().anyMatch(reference -> reference.name().equals(name))) {
+            throw new TournamentException(DUPLICATE_NAME_ERROR);
+        }
+        references.add(TournamentAi.validated(name, program, memorySize));
+    }
+
+    /**
+     * Evolves the population for the given number of generations, starting with a random population on the first call.
+     * @param generations the number of generations
+     * @param listener receives the metrics of every generation once it is scored
+     * @return the metrics of the generations
+     * @throws TournamentException if there is no reference AI or a match cannot be played
+     */
+    public List<GenerationStats> run(int generations, Consumer<GenerationStats> listener) throws TournamentException {
+        if (references.isEmpty()) {
+            throw new TournamentException(NO_REFERENCE_ERROR);
+        }
+        if (population == null) {
+            population = new ArrayList<>();
+            for (int i = 0; i < populationSize; i++) {
+                //small memories do not fit the longest initial genomes
+                int initialMaximumLength = Math.min(INITIAL_MAXIMUM_LENGTH, maximumLength);
+                population.add(operators.randomGenome(random.nextInt(MINIMUM_LENGTH, initialMaximumLength + 1)));
+            }
+        }
+        List<GenerationStats> stats = new ArrayList<>();
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            for (int i = 0; i < generations; i++) {
+                GenerationStats generationStats = scoreGeneration(pool);
+                stats.add(generationStats);
+                listener.accept(generationStats);
+                population = breed();
+                generation++;
+            }
+        } finally {
+            pool.shutdown();
+        }
+        return stats;
+    }
+
+    /**
+     * Returns the best genome found so far.
+     * @return the best genome, null if no generation was scored yet
+     */
+    public Genome getBest() {
+        return best;
+    }
+
+    /**
+     * Returns the fitness of the best genome found so far.
+     * @return the best fitness
+     */
+    public double getBestFitness() {
+        return bestFitness;
+    }
+
+    /**
+     * Returns the names of the instructions, indexed by their opcode.
+     * @return the names of the instructions
+     */
+    public List<String> getInstructionNames() {
+        return instructionNames;
+    }
+
+    private GenerationStats scoreGeneration(ForkJoinPool pool) throws TournamentException {
+        long start = System.nanoTime();
+        //the same genome can occur several times in a population, it is evaluated once
+        Map<Genome, Integer> uncached = new LinkedHashMap<>();
+        int cacheHits = 0;
+        for (Genome genome : population) {
+            if (fitnessCache.containsKey(genome)) {
+                cacheHits++;
+            } else {
+                uncached.putIfAbsent(genome, uncached.size());
+            }
+        }
+
+        List<Match> matches = new ArrayList<>();
+        for (Genome genome : uncached.keySet()) {
+            TournamentAi candidate = TournamentAi.validated(CANDIDATE_NAME, genome.toProgram(instructionNames), memorySize);
+            for (TournamentAi reference : references) {
+                for (int seed : seeds) {
+                    matches.add(new Match(List.of(candidate, reference), memorySize, stepBudget, seed));
+                    matches.add(new Match(List.of(reference, candidate), memorySize, stepBudget, seed));
+                }
+            }
+        }
+        List<MatchResult> results = Match.playAll(pool, matches);
+
+        int matchesPerGenome = references.size() * seeds.length * MATCH_AI_AMOUNT;
+        double maximumPoints = matchesPerGenome * WIN_POINTS;
+        long steps = 0;
+        int genomeIndex = 0;
+        for (Genome genome : uncached.keySet()) {
+            double points = 0;
+            for (MatchResult result : results.subList(genomeIndex * matchesPerGenome, (genomeIndex + 1) * matchesPerGenome)) {
+                if (result.isDraw()) {
+                    points += DRAW_POINTS;
+                } else if (result.winner().equals(CANDIDATE_NAME)) {
+                    points += WIN_POINTS;
+                }
+                steps += result.steps();
+            }
+            fitnessCache.put(genome, points / maximumPoints);
+            genomeIndex++;
+        }
+
+        double fitnessSum = 0;
+        double generationBest = 0;
+        for (Genome genome : population) {
+            double fitness = fitnessCache.get(genome);
+            fitnessSum += fitness;
+            generationBest = Math.max(generationBest, fitness);
+            //shorter programs win ties, since they leave less to overwrite
+            if (best == null || fitness > bestFitness || fitness == bestFitness && genome.getLength() < best.getLength()) {
+                best = genome;
+                bestFitness = fitness;
+            }
+        }
+        return new GenerationStats(generation, generationBest, fitnessSum / population.size(), uncached.size(), cacheHits,
+                matches.size(), steps, System.nanoTime() - start);
+    }
+
+    /**
+     * Creates the next generation, keeping the best genomes and filling up with offspring of tournament-selected parents.
+     * @return the next generation
+     */
+    private List<Genome> breed() {
+        List<Genome> ranked = new ArrayList<>(population);
+        ranked.sort(Comparator.comparingDouble((Genome genome) -> fitnessCache.get(genome)).reversed()
+                .thenComparingInt(Genome::getLength));
+        int elites = Math.max(MINIMUM_ELITES, populationSize / ELITE_DIVISOR);
+        List<Genome> nextPopulation = new ArrayList<>(ranked.subList(0, Math.min(elites, ranked.size())));
+        while (nextPopulation.size() < populationSize) {
+            Genome parent = select();
+            Genome child = random.nextDouble() < CROSSOVER_RATE ? operators.crossover(parent, select()) : parent;
+            nextPopulation.add(operators.mutate(child));
+        }
+        return nextPopulation;
+    }
+
+    private Genome select() {
+        Genome selected = population.get(random.nextInt(population.size()));
+        for (int i = 1; i < SELECTION_SIZE; i++) {
+            Genome contender = population.get(random.nextInt(population.size()));
+            if (fitnessCache.get(contender) > fitnessCache.get(selected)) {
+                selected = contender;
+            }
+        }
+        return selected;
+    }
+}
@@ -0,0 +1,83 @@
+package kit.codefight.evolution;
+
+import kit.codefight.arguments.StartingArguments;
+import kit.codefight.display.InputOutputHandler;
+import kit.codefight.exceptions.ArgumentInvalidException;
+import kit.codefight.exceptions.TournamentException;
+
+/**
+ * Runs an evolution as headless mode of the program, reading the reference AIs from the input and printing the metrics
+ * of every generation and the best program.
+ * @author ukgyh
+ */
+public final class EvolutionRunner {
+    /**
+     * the name of the mode as first starting argument.
+     */
+    public static final String MODE = "evolve";
+    private static final String INSTANTIATION_ERROR = "utility class cannot be instantiated";
+    private static final String ARGUMENT_AMOUNT_ERROR = "format is evolve [memory size] [step budget] [generations]"
+            + " [population] [seed] [parallelism], the reference AIs are read from input as one [name] [instructions] per line";
+    private static final String GENERATIONS_ERROR = "amount of generations must be a positive integer";
+    private static final String POPULATION_ERROR = "population must be a positive integer";
+    private static final String BEST_PROGRAM_MESSAGE = "best (fitness %.4f): %s";
+    private static final int STEP_BUDGET_INDEX = 2;
+    private static final int GENERATIONS_INDEX = 3;
+    private static final int POPULATION_INDEX = 4;
+    private static final int SEED_INDEX = 5;
+    private static final int PARALLELISM_INDEX = 6;
+    private static final int MINIMUM_ARGUMENT_AMOUNT = 6;
+    private static final int MAXIMUM_ARGUMENT_AMOUNT = 7;
+    private static final int SEEDS_PER_REFERENCE = 4;
+
+    private EvolutionRunner() {
+        throw new UnsupportedOperationException(INSTANTIATION_ERROR);
+    }
+
+    /**
+     * Parses the arguments of the mode, evolves programs against the AIs of the input and prints the results.
+     * @param args the starting arguments, starting with the name of the mode
+     * @param inputOutputHandler the handler reading the reference AIs and printing the results and errors
+     */
+    public static void run(String[] args, InputOutputHandler inputOutputHandler) {
+        try {
+            StartingArguments.checkArgumentAmount(args, MINIMUM_ARGUMENT_AMOUNT, MAXIMUM_ARGUMENT_AMOUNT,
+                    ARGUMENT_AMOUNT_ERROR);
+            int memorySize = StartingArguments.parseMemorySize(args[StartingArguments.MODE_MEMORY_SIZE_INDEX]);
+            long stepBudget;
+            int generations;
+            int population;
+            long seed;
+            try {
+                stepBudget = Long.parseLong(args[STEP_BUDGET_INDEX]);
+                generations = Integer.parseInt(args[GENERATIONS_INDEX]);
+                population = Integer.parseInt(args[POPULATION_INDEX]);
+                seed = Long.parseLong(args[SEED_INDEX]);
+            } catch (NumberFormatException e) {
+                throw new ArgumentInvalidException(ARGUMENT_AMOUNT_ERROR);
+            }
+            int parallelism = StartingArguments.parseParallelism(args, PARALLELISM_INDEX, ARGUMENT_AMOUNT_ERROR);
+            if (stepBudget < StartingArguments.MINIMUM_POSITIVE_VALUE) {
+                throw new ArgumentInvalidException(StartingArguments.STEP_BUDGET_ERROR);
+            }
+            if (generations < StartingArguments.MINIMUM_POSITIVE_VALUE) {
+                throw new ArgumentInvalidException(GENERATIONS_ERROR);
+            }
+            if (population < StartingArguments.MINIMUM_POSITIVE_VALUE) {
+                throw new ArgumentInvalidException(POPULATION_ERROR);
+            }
+
+            Evolution evolution = new Evolution(memorySize, stepBudget, population, SEEDS_PER_REFERENCE, parallelism, seed);
+            for (String[] aiLine : StartingArguments.readAiLines(inputOutputHandler)) {
+                evolution.addReference(aiLine[StartingArguments.AI_LINE_NAME_INDEX],
+                        aiLine[StartingArguments.AI_LINE_PROGRAM_INDEX]);
+            }
+            evolution.run(generations, stats -> inputOutputHandler.displayStandard(stats.toLine()));
+            inputOutputHandler.displayStandard(BEST_PROGRAM_MESSAGE.formatted(evolution.getBestFitness(),
+                    evolution.getBest().toProgram(evolution.getInstructionNames())));
+        } catch (ArgumentInvalidException | TournamentException e) {
+            inputOutputHandler.displayError(e.getMessage());
+        }
+        inputOutputHandler.closeInteraction();
+    }
+}
@@ -0,0 +1,45 @@
+package kit.codefight.evolution;
+
+/**
+ * Represents the fitness and throughput metrics of one generation.
+ * @param generation the number of the generation, starting at zero
+ * @param bestFitness the best fitness in the population
+ * @param meanFitness the mean fitness of the population
+ * @param evaluated the number of genomes whose fitness had to be evaluated
+ * @param cacheHits the number of genomes whose fitness was taken from the cache
+ * @param matches the number of played matches
+ * @param steps the number of executed steps of all matches
+ * @param elapsedNanos the time needed for the generation in nanoseconds
+ * @author ukgyh
+ */
+public record GenerationStats(int generation, double bestFitness, double meanFitness, int evaluated, int cacheHits,
+                              int matches, long steps, long elapsedNanos) {
+    private static final String LINE_FORMAT = "generation %d: best %.4f, mean %.4f, evaluated %d, cached %d,"
+            + " %d matches, %.0f matches/s, %.3e steps/s";
+    private static final double NANOS_PER_SECOND = 1e9;
+
+    /**
+     * Returns the number of matches played per second.
+     * @return the match throughput
+     */
+    public double matchesPerSecond() {
+        return elapsedNanos == 0 ? 0 : matches * NANOS_PER_SECOND / elapsedNanos;
+    }
+
+    /**
+     * Returns the number of steps executed per second over all threads.
+     * @return the step throughput
+     */
+    public double stepsPerSecond() {
+        return elapsedNanos == 0 ? 0 : steps * NANOS_PER_SECOND / elapsedNanos;
+    }
+
+    /**
+     * Returns the metrics as a single line.
+     * @return the line describing the generation
+     */
+    public String toLine() {
+        return LINE_FORMAT.formatted(generation, bestFitness, meanFitness, evaluated, cacheHits, matches,
+                matchesPerSecond(), stepsPerSecond());
+    }
+}
@@ -0,0 +1,185 @@
+package kit.codefight.evolution;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Creates, mutates and crosses over genomes.
+ * Every created genome has between one and the maximum number of instructions and contains at least one
+ * instruction that is valid to be executed first, so it can always be registered as AI.
+ * @author ukgyh
+ */
+final class GeneticOperators {
+    private static final int MINIMUM_LENGTH = 1;
+    private static final int MUTATION_KINDS = 5;
+    private static final int CHANGE_OPCODE = 0;
+    private static final int CHANGE_ARGUMENT = 1;
+    private static final int NUDGE_ARGUMENT = 2;
+    private static final int INSERT_INSTRUCTION = 3;
+    private static final int NUDGE_RANGE = 2;
+    private final SplittableRandom random;
+    private final int numberOfOpcodes;
+    private final int[] validFirstOpcodes;
+    private final int maximumLength;
+    private final int argumentRange;
+
+    /**
+     * Constructs new GeneticOperators.
+     * @param random the source of randomness
+     * @param numberOfOpcodes the number of instructions
+     * @param validFirstOpcodes the opcodes of the instructions that are valid to be executed first
+     * @param maximumLength the maximum number of instructions of a genome
+     * @param argumentRange the largest absolute value of a random argument
+     */
+    GeneticOperators(SplittableRandom random, int numberOfOpcodes, int[] validFirstOpcodes, int maximumLength, int argumentRange) {
+        this.random = random;
+        this.numberOfOpcodes = numberOfOpcodes;
+        this.validFirstOpcodes = validFirstOpcodes;
+        this.maximumLength = maximumLength;
+        this.argumentRange = argumentRange;
+    }
+
+    /**
+     * Creates a random genome.
+     * @param length the number of instructions
+     * @return the random genome
+     */
+    Genome randomGenome(int length) {
+        byte[] opcodes = new byte[length];
+        int[] argumentsA = new int[length];
+        int[] argumentsB = new int[length];
+        for (int i = 0; i < length; i++) {
+            opcodes[i] = (byte) random.nextInt(numberOfOpcodes);
+            argumentsA[i] = randomArgument();
+            argumentsB[i] = randomArgument();
+        }
+        return repaired(opcodes, argumentsA, argumentsB);
+    }
+
+    /**
+     * Applies one random mutation: changing an opcode, replacing or nudging an argument, inserting or deleting an instruction.
+     * @param parent the genome to mutate
+     * @return the mutated genome
+     */
+    Genome mutate(Genome parent) {
+        int length = parent.getLength();
+        byte[] opcodes = new byte[length];
+        int[] argumentsA = new int[length];
+        int[] argumentsB = new int[length];
+        copy(parent, 0, opcodes, argumentsA, argumentsB, 0, length);
+        int position = random.nextInt(length);
+        switch (random.nextInt(MUTATION_KINDS)) {
+            case CHANGE_OPCODE -> opcodes[position] = (byte) random.nextInt(numberOfOpcodes);
+            case CHANGE_ARGUMENT -> setArgument(argumentsA, argumentsB, position, randomArgument());
+            case NUDGE_ARGUMENT -> {
+                int[] arguments = random.nextBoolean() ? argumentsA : argumentsB;
+                arguments[position] += random.nextInt(-NUDGE_RANGE, NUDGE_RANGE + 1);
+            }
+            case INSERT_INSTRUCTION -> {
+                if (length < maximumLength) {
+                    return inserted(opcodes, argumentsA, argumentsB, random.nextInt(length + 1));
+                }
+                opcodes[position] = (byte) random.nextInt(numberOfOpcodes);
+            }
+            default -> {
+                if (length > MINIMUM_LENGTH) {
+                    return deleted(opcodes, argumentsA, argumentsB, position);
+                }
+                setArgument(argumentsA, argumentsB, position, randomArgument());
+            }
+        }
+        return repaired(opcodes, argumentsA, argumentsB);
+    }
+
+    /**
+     * Combines the start of the first parent with the end of the second parent at random cut points.
+     * @param first the parent providing the start of the program
+     * @param second the parent providing the end of the program
+     * @return the combined genome, cut to the maximum length
+     */
+    Genome crossover(Genome first, Genome second) {
+        int firstCut = random.nextInt(first.getLength() + 1);
+        int secondCut = random.nextInt(second.getLength() + 1);
+        int length = Math.min(maximumLength, Math.max(MINIMUM_LENGTH, firstCut + second.getLength() - secondCut));
+        byte[] opcodes = new byte[length];
+        int[] argumentsA = new int[length];
+        int[] argumentsB = new int[length];
+        int fromFirst = Math.min(firstCut, length);
+        copy(first, 0, opcodes, argumentsA, argumentsB, 0, fromFirst);
+        int fromSecond = Math.min(second.getLength() - secondCut, length - fromFirst);
+        copy(second, secondCut, opcodes, argumentsA, argumentsB, fromFirst, fromSecond);
+        //both cuts at the ends of empty halves can leave positions unfilled, they are taken from the first parent
+        for (int i = fromFirst + fromSecond; i < length; i++) {
+            int source = i % first.getLength();
+            opcodes[i] = (byte) first.getOpcode(source);
+            argumentsA[i] = first.getArgumentA(source);
+            argumentsB[i] = first.getArgumentB(source);
+        }
+        return repaired(opcodes, argumentsA, argumentsB);
+    }
+
+    private static void copy(Genome source, int sourceIndex, byte[] opcodes, int[] argumentsA, int[] argumentsB,
+                             int targetIndex, int length) {
+        for (int i = 0; i < length; i++) {
+            opcodes[targetIndex + i] = (byte) source.getOpcode(sourceIndex + i);
+            argumentsA[targetIndex + i] = source.getArgumentA(sourceIndex + i);
+            argumentsB[targetIndex + i] = source.getArgumentB(sourceIndex + i);
+        }
+    }
+
+    private Genome inserted(byte[] opcodes, int[] argumentsA, int[] argumentsB, int position) {
+        int length = opcodes.length + 1;
+        byte[] newOpcodes = new byte[length];
+        int[] newArgumentsA = new int[length];
+        int[] newArgumentsB = new int[length];
+        System.arraycopy(opcodes, 0, newOpcodes, 0, position);
+        System.arraycopy(argumentsA, 0, newArgumentsA, 0, position);
+        System.arraycopy(argumentsB, 0, newArgumentsB, 0, position);
+        newOpcodes[position] = (byte) random.nextInt(numberOfOpcodes);
+        newArgumentsA[position] = randomArgument();
+        newArgumentsB[position] = randomArgument();
+        System.arraycopy(opcodes, position, newOpcodes, position + 1, opcodes.length - position);
+        System.arraycopy(argumentsA, position, newArgumentsA, position + 1, opcodes.length - position);
+        System.arraycopy(argumentsB, position, newArgumentsB, position + 1, opcodes.length - position);
+        return repaired(newOpcodes, newArgumentsA, newArgumentsB);
+    }
+
+    private Genome deleted(byte[] opcodes, int[] argumentsA, int[] argumentsB, int position) {
+        int length = opcodes.length - 1;
+        byte[] newOpcodes = Arrays.copyOf(opcodes, length);
+        int[] newArgumentsA = Arrays.copyOf(argumentsA, length);
+        int[] newArgumentsB = Arrays.copyOf(argumentsB, length);
+        System.arraycopy(opcodes, position + 1, newOpcodes, position, length - position);
+        System.arraycopy(argumentsA, position + 1, newArgumentsA, position, length - position);
+        System.arraycopy(argumentsB, position + 1, newArgumentsB, position, length - position);
+        return repaired(newOpcodes, newArgumentsA, newArgumentsB);
+    }
+
+    /**
+     * Makes sure the program contains an instruction that is valid to be executed first,
+     * replacing the opcode of a random instruction otherwise.
+     */
+    private Genome repaired(byte[] opcodes, int[] argumentsA, int[] argumentsB) {
+        for (byte opcode : opcodes) {
+            for (int validFirstOpcode : validFirstOpcodes) {
+                if (opcode == validFirstOpcode) {
+                    return new Genome(opcodes, argumentsA, argumentsB);
+                }
+            }
+        }
+        opcodes[random.nextInt(opcodes.length)] = (byte) validFirstOpcodes[random.nextInt(validFirstOpcodes.length)];
+        return new Genome(opcodes, argumentsA, argumentsB);
+    }
+
+    private void setArgument(int[] argumentsA, int[] argumentsB, int position, int value) {
+        if (random.nextBoolean()) {
+            argumentsA[position] = value;
+        } else {
+            argumentsB[position] = value;
+        }
+    }
+
+    private int randomArgument() {
+        return random.nextInt(-argumentRange, argumentRange + 1);
+    }
+}
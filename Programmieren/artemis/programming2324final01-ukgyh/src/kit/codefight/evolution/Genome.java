@@ -0,0 +1,111 @@
+package kit.codefight.evolution;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * An immutable AI program in decoded form, stored as parallel opcode and argument arrays.
+ * The 64-bit hash of the program is computed once, so genomes can be used as keys of the fitness cache cheaply.
+ * @author ukgyh
+ */
+public final class Genome {
+    private static final String INSTRUCTION_SEPARATOR = ",";
+    private static final long HASH_MULTIPLIER = 0x9E3779B97F4A7C15L;
+    private static final long FINAL_MULTIPLIER_A = 0xFF51AFD7ED558CCDL;
+    private static final long FINAL_MULTIPLIER_B = 0xC4CEB9FE1A85EC53L;
+    private static final int FINAL_SHIFT = 33;
+    private static final int INT_HASH_SHIFT = 32;
+    private static final long INT_MASK = 0xFFFFFFFFL;
+    private final byte[] opcodes;
+    private final int[] argumentsA;
+    private final int[] argumentsB;
+    private final long hash;
+
+    /**
+     * Constructs a new Genome, the arrays must not be modified afterwards.
+     * @param opcodes the opcodes of the instructions
+     * @param argumentsA the first arguments of the instructions
+     * @param argumentsB the second arguments of the instructions
+     */
+    Genome(byte[] opcodes, int[] argumentsA, int[] argumentsB) {
+        this.opcodes = opcodes;
+        this.argumentsA = argumentsA;
+        this.argumentsB = argumentsB;
+        this.hash = computeHash();
+    }
+
+    /**
+     * Returns the number of instructions.
+     * @return the number of instructions
+     */
+    public int getLength() {
+        return opcodes.length;
+    }
+
+    /**
+     * Returns the 64-bit hash of the program.
+     * @return the hash of the program
+     */
+    public long getHash() {
+        return hash;
+    }
+
+    int getOpcode(int index) {
+        return opcodes[index];
+    }
+
+    int getArgumentA(int index) {
+        return argumentsA[index];
+    }
+
+    int getArgumentB(int index) {
+        return argumentsB[index];
+    }
+
+    /**
+     * Returns the program in the format of the add-ai command.
+     * @param instructionNames the names of the instructions indexed by their opcode
+     * @return the program
+     */
+    public String toProgram(List<String> instructionNames) {
+        StringBuilder program = new StringBuilder();
+        for (int i = 0; i < opcodes.length; i++) {
+            if (i > 0) {
+                program.append(INSTRUCTION_SEPARATOR);
+            }
+            program.append(instructionNames.get(opcodes[i])).append(INSTRUCTION_SEPARATOR).append(argumentsA[i])
+                    .append(INSTRUCTION_SEPARATOR).append(argumentsB[i]);
+        }
+        return program.toString();
+    }
+
+    private long computeHash() {
+        long value = opcodes.length;
+        for (int i = 0; i < opcodes.length; i++) {
+            value = value * HASH_MULTIPLIER + opcodes[i];
+            value = value * HASH_MULTIPLIER + (((long) argumentsA[i] << INT_HASH_SHIFT) ^ (argumentsB[i] & INT_MASK));
+        }
+        //final mixing of the MurmurHash3 64-bit finalizer spreads the bits of short programs
+        value ^= value >>> FINAL_SHIFT;
+        value *= FINAL_MULTIPLIER_A;
+        value ^= value >>> FINAL_SHIFT;
+        value *= FINAL_MULTIPLIER_B;
+        value ^= value >>> FINAL_SHIFT;
+        return value;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (obj instanceof Genome genome) {
+            //comparing the hashes first makes unequal genomes cheap to tell apart
+            return hash == genome.hash && Arrays.equals(opcodes, genome.opcodes)
+                    && Arrays.equals(argumentsA, genome.argumentsA) && Arrays.equals(argumentsB, genome.argumentsB);
+        }
+        return false;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(hash);
+    }
+}
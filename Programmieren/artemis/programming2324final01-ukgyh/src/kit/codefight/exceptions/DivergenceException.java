@@ -0,0 +1,27 @@
+package kit.codefight.exceptions;
+
+/**
+ * this exception is thrown when two engines running the same game reach different states.
+ * @author ukgyh
+ */
+public class DivergenceException extends Exception {
+
+    /**
+     * Constructs a new exception with the specified detail message.
+     *
+     * @param message the detail message
+     */
+    public DivergenceException(String message) {
+        super(message);
+    }
+
+    /**
+     * Constructs a new exception with the specified detail message and cause.
+     *
+     * @param message the detail message
+     * @param cause the throwable that caused exception to occur
+     */
+    public DivergenceException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
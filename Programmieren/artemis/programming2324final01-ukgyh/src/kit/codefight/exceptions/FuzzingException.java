@@ -0,0 +1,27 @@
+package kit.codefight.exceptions;
+
+/**
+ * this exception is thrown when a fuzzing case cannot be set up or the fuzzing run fails.
+ * @author ukgyh
+ */
+public class FuzzingException extends Exception {
+
+    /**
+     * Constructs a new exception with the specified detail message.
+     *
+     * @param message the detail message
+     */
+    public FuzzingException(String message) {
+        super(message);
+    }
+
+    /**
+     * Constructs a new exception with the specified detail message and cause.
+     *
+     * @param message the detail message
+     * @param cause the throwable that caused exception to occur
+     */
+    public FuzzingException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
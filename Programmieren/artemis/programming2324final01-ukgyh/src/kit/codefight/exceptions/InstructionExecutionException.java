@@ -6,6 +6,15 @@ package kit.codefight.exceptions;
  */
 public class InstructionExecutionException extends Exception {
 
+    /**
+     * Constructs a new exception with the specified detail message.
+     *
+     * @param message the detail message
+     */
+    public InstructionExecutionException(String message) {
+        super(message);
+    }
+
     /**
      * Constructs a new exception with the specified detail message and cause.
      *
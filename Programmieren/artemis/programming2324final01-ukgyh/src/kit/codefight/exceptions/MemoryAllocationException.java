@@ -0,0 +1,25 @@
+package kit.codefight.exceptions;
+
+/**
+ * this exception is thrown when the cells of a memory or of its snapshot cannot be allocated.
+ * @author ukgyh
+ */
+public class MemoryAllocationException extends Exception {
+    /**
+     * Constructs a new exception with the specified detail message.
+     * @param message the detail message
+     */
+    public MemoryAllocationException(String message) {
+        super(message);
+    }
+
+    /**
+     * Constructs a new exception with the specified detail message and cause.
+     *
+     * @param message the detail message
+     * @param cause the throwable that caused exception to occur
+     */
+    public MemoryAllocationException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
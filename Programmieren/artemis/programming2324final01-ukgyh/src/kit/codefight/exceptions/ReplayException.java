@@ -0,0 +1,27 @@
+package kit.codefight.exceptions;
+
+/**
+ * this exception is thrown when a game replay cannot be recorded or played.
+ * @author ukgyh
+ */
+public class ReplayException extends Exception {
+
+    /**
+     * Constructs a new exception with the specified detail message.
+     *
+     * @param message the detail message
+     */
+    public ReplayException(String message) {
+        super(message);
+    }
+
+    /**
+     * Constructs a new exception with the specified detail message and cause.
+     *
+     * @param message the detail message
+     * @param cause the throwable that caused exception to occur
+     */
+    public ReplayException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
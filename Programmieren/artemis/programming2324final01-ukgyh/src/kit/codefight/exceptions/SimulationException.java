@@ -0,0 +1,27 @@
+package kit.codefight.exceptions;
+
+/**
+ * this exception is thrown when the arenas of a simulation cannot be set up or advanced.
+ * @author ukgyh
+ */
+public class SimulationException extends Exception {
+
+    /**
+     * Constructs a new exception with the specified detail message.
+     *
+     * @param message the detail message
+     */
+    public SimulationException(String message) {
+        super(message);
+    }
+
+    /**
+     * Constructs a new exception with the specified detail message and cause.
+     *
+     * @param message the detail message
+     * @param cause the throwable that caused exception to occur
+     */
+    public SimulationException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
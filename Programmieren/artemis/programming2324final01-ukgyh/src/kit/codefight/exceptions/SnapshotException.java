@@ -0,0 +1,27 @@
+package kit.codefight.exceptions;
+
+/**
+ * this exception is thrown when a game snapshot cannot be taken or restored.
+ * @author ukgyh
+ */
+public class SnapshotException extends Exception {
+
+    /**
+     * Constructs a new exception with the specified detail message.
+     *
+     * @param message the detail message
+     */
+    public SnapshotException(String message) {
+        super(message);
+    }
+
+    /**
+     * Constructs a new exception with the specified detail message and cause.
+     *
+     * @param message the detail message
+     * @param cause the throwable that caused exception to occur
+     */
+    public SnapshotException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -6,6 +6,15 @@ package kit.codefight.exceptions;
  */
 public class StartingGameException extends Exception {
 
+    /**
+     * Constructs a new exception with the specified detail message.
+     *
+     * @param message the detail message
+     */
+    public StartingGameException(String message) {
+        super(message);
+    }
+
     /**
      * Constructs a new exception with the specified detail message and cause.
      *
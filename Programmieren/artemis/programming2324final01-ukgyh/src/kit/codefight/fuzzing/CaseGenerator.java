@@ -0,0 +1,102 @@
+package kit.codefight.fuzzing;
+
+import kit.codefight.model.memory.initialization.InitializationModeFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Generates random fuzzing cases.
+ * The arguments are biased towards the edge cases of the circular memory: offsets that are multiples of the memory size,
+ * arguments that overflow when added to a pointer and equal or circularly equal arguments of SWAP.
+ * @author ukgyh
+ */
+final class CaseGenerator {
+    private static final int MINIMUM_MEMORY_SIZE = 7;
+    private static final int MAXIMUM_MEMORY_SIZE = 1337;
+    private static final int MINIMUM_AI_AMOUNT = 2;
+    private static final int MAXIMUM_AI_AMOUNT = 7;
+    private static final int MAXIMUM_PROGRAM_LENGTH = 8;
+    private static final int STOP_MODE_CHANCE = 4;
+    private static final int SMALL_OFFSET = 4;
+    private static final int MEMORY_SIZE_FACTOR = 2;
+    private static final int MAXIMUM_WRAP_COUNT = 3;
+    private static final int WRAP_DELTA = 1;
+    private static final int EQUAL_ARGUMENT_CHANCE = 4;
+    private static final int CIRCULARLY_EQUAL_ARGUMENT_CHANCE = 8;
+    private static final int[] EXTREME_ARGUMENTS = {Integer.MIN_VALUE, Integer.MIN_VALUE + 1, Integer.MAX_VALUE - 1, Integer.MAX_VALUE};
+    private static final int SMALL_ARGUMENT = 0;
+    private static final int RANGE_ARGUMENT = 1;
+    private static final int WRAPPED_ARGUMENT = 2;
+    //the remaining kind is arguments that overflow when added to a pointer
+    private static final int ARGUMENT_KINDS = 4;
+    private static final int ARGUMENT_A_OFFSET = 1;
+    private static final int ARGUMENT_B_OFFSET = 2;
+    private final SplittableRandom random;
+    private final int numberOfOpcodes;
+    private final int[] validFirstOpcodes;
+    private final long stepBudget;
+
+    /**
+     * Constructs a new CaseGenerator.
+     * @param random the source of randomness
+     * @param numberOfOpcodes the number of instructions
+     * @param validFirstOpcodes the opcodes of the instructions that may be the first instruction of a program
+     * @param stepBudget the step budget of the generated cases
+     */
+    CaseGenerator(SplittableRandom random, int numberOfOpcodes, int[] validFirstOpcodes, long stepBudget) {
+        this.random = random;
+        this.numberOfOpcodes = numberOfOpcodes;
+        this.validFirstOpcodes = validFirstOpcodes.clone();
+        this.stepBudget = stepBudget;
+    }
+
+    /**
+     * Generates the next case.
+     * @return the generated case
+     */
+    FuzzCase next() {
+        //small memories are more likely, since they make the AIs interact earlier
+        double logSize = random.nextDouble(Math.log(MINIMUM_MEMORY_SIZE), Math.log(MAXIMUM_MEMORY_SIZE + 1));
+        int memorySize = Math.min(MAXIMUM_MEMORY_SIZE, (int) Math.exp(logSize));
+        Integer seed = random.nextInt(STOP_MODE_CHANCE) == 0 ? null
+                : random.nextInt(InitializationModeFactory.MINIMUM_SEED, InitializationModeFactory.MAXIMUM_SEED + 1);
+        int numberOfAi = random.nextInt(MINIMUM_AI_AMOUNT,
+                Math.max(MINIMUM_AI_AMOUNT, Math.min(MAXIMUM_AI_AMOUNT, memorySize / MINIMUM_AI_AMOUNT)) + 1);
+        int maximumLength = Math.max(1, Math.min(MAXIMUM_PROGRAM_LENGTH, memorySize / numberOfAi));
+
+        List<int[]> programs = new ArrayList<>();
+        for (int i = 0; i < numberOfAi; i++) {
+            int length = random.nextInt(1, maximumLength + 1);
+            int[] program = new int[length * FuzzCase.INSTRUCTION_WIDTH];
+            for (int j = 0; j < length; j++) {
+                int opcode = j == 0 ? validFirstOpcodes[random.nextInt(validFirstOpcodes.length)] : random.nextInt(numberOfOpcodes);
+                int argumentA = nextArgument(memorySize);
+                int argumentB;
+                if (random.nextInt(EQUAL_ARGUMENT_CHANCE) == 0) {
+                    argumentB = argumentA;
+                } else if (random.nextInt(CIRCULARLY_EQUAL_ARGUMENT_CHANCE) == 0) {
+                    argumentB = argumentA + memorySize * random.nextInt(-MAXIMUM_WRAP_COUNT, MAXIMUM_WRAP_COUNT + 1);
+                } else {
+                    argumentB = nextArgument(memorySize);
+                }
+                program[j * FuzzCase.INSTRUCTION_WIDTH] = opcode;
+                program[j * FuzzCase.INSTRUCTION_WIDTH + ARGUMENT_A_OFFSET] = argumentA;
+                program[j * FuzzCase.INSTRUCTION_WIDTH + ARGUMENT_B_OFFSET] = argumentB;
+            }
+            programs.add(program);
+        }
+        return new FuzzCase(memorySize, seed, stepBudget, programs);
+    }
+
+    private int nextArgument(int memorySize) {
+        return switch (random.nextInt(ARGUMENT_KINDS)) {
+            case SMALL_ARGUMENT -> random.nextInt(-SMALL_OFFSET, SMALL_OFFSET + 1);
+            case RANGE_ARGUMENT -> random.nextInt(-MEMORY_SIZE_FACTOR * memorySize, MEMORY_SIZE_FACTOR * memorySize + 1);
+            case WRAPPED_ARGUMENT -> memorySize * random.nextInt(-MAXIMUM_WRAP_COUNT, MAXIMUM_WRAP_COUNT + 1)
+                    + random.nextInt(-WRAP_DELTA, WRAP_DELTA + 1);
+            default -> EXTREME_ARGUMENTS[random.nextInt(EXTREME_ARGUMENTS.length)];
+        };
+    }
+}
@@ -0,0 +1,137 @@
+package kit.codefight.fuzzing;
+
+import kit.codefight.exceptions.FuzzingException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Shrinks a divergent fuzzing case into a small reproducer.
+ * Reductions are tried greedily from the coarsest to the finest, a reduction is kept if the engines still diverge.
+ * Reductions that lead to a case that cannot be started are skipped.
+ * @author ukgyh
+ */
+final class CaseMinimizer {
+    private static final int MINIMUM_AI_AMOUNT = 2;
+    private static final int MINIMUM_MEMORY_SIZE = 7;
+    private static final int SIZE_REDUCTION = 1;
+    private static final int HALF = 2;
+    private static final int SIMPLEST_ARGUMENT = 0;
+    private final boolean[] validFirstOpcodes;
+    private final int maximumRuns;
+
+    /**
+     * Constructs a new CaseMinimizer.
+     * @param numberOfOpcodes the number of instructions
+     * @param validFirstOpcodes the opcodes of the instructions that may be the first instruction of a program
+     * @param maximumRuns the maximum number of cases played while shrinking one case
+     */
+    CaseMinimizer(int numberOfOpcodes, int[] validFirstOpcodes, int maximumRuns) {
+        this.validFirstOpcodes = new boolean[numberOfOpcodes];
+        for (int opcode : validFirstOpcodes) {
+            this.validFirstOpcodes[opcode] = true;
+        }
+        this.maximumRuns = maximumRuns;
+    }
+
+    /**
+     * Shrinks the given divergent case.
+     * @param divergent the outcome of a divergent case
+     * @return the outcome of the smallest divergent case found
+     */
+    FuzzOutcome minimize(FuzzOutcome divergent) {
+        FuzzOutcome smallest = divergent;
+        int runs = 0;
+        boolean reduced = true;
+        while (reduced && runs < maximumRuns) {
+            reduced = false;
+            for (FuzzCase candidate : reductions(smallest)) {
+                if (runs >= maximumRuns) {
+                    break;
+                }
+                runs++;
+                FuzzOutcome outcome;
+                try {
+                    outcome = candidate.call();
+                } catch (FuzzingException e) {
+                    continue;
+                }
+                if (outcome.isDivergent()) {
+                    smallest = outcome;
+                    reduced = true;
+                    break;
+                }
+            }
+        }
+        return smallest;
+    }
+
+    private List<FuzzCase> reductions(FuzzOutcome outcome) {
+        FuzzCase fuzzCase = outcome.fuzzCase();
+        int memorySize = fuzzCase.getMemorySize();
+        Integer seed = fuzzCase.getSeed();
+        long stepBudget = fuzzCase.getStepBudget();
+        List<int[]> programs = fuzzCase.getPrograms();
+        List<FuzzCase> reductions = new ArrayList<>();
+
+        //the engines diverged within the executed steps, so the remaining steps are not needed
+        if (outcome.steps() < stepBudget) {
+            reductions.add(new FuzzCase(memorySize, seed, outcome.steps(), programs));
+        }
+        if (programs.size() > MINIMUM_AI_AMOUNT) {
+            for (int i = 0; i < programs.size(); i++) {
+                List<int[]> fewerPrograms = new ArrayList<>(programs);
+                fewerPrograms.remove(i);
+                reductions.add(new FuzzCase(memorySize, seed, stepBudget, fewerPrograms));
+            }
+        }
+        if (seed != null) {
+            reductions.add(new FuzzCase(memorySize, null, stepBudget, programs));
+        }
+        if (memorySize > MINIMUM_MEMORY_SIZE) {
+            reductions.add(new FuzzCase(Math.max(MINIMUM_MEMORY_SIZE, memorySize / HALF), seed, stepBudget, programs));
+            reductions.add(new FuzzCase(memorySize - SIZE_REDUCTION, seed, stepBudget, programs));
+        }
+        for (int i = 0; i < programs.size(); i++) {
+            int[] program = programs.get(i);
+            for (int start = 0; start < program.length && program.length > FuzzCase.INSTRUCTION_WIDTH;
+                 start += FuzzCase.INSTRUCTION_WIDTH) {
+                int[] shorter = new int[program.length - FuzzCase.INSTRUCTION_WIDTH];
+                System.arraycopy(program, 0, shorter, 0, start);
+                System.arraycopy(program, start + FuzzCase.INSTRUCTION_WIDTH, shorter, start, shorter.length - start);
+                if (validFirstOpcodes[shorter[0]]) {
+                    reductions.add(withProgram(fuzzCase, programs, i, shorter));
+                }
+            }
+        }
+        for (int i = 0; i < programs.size(); i++) {
+            int[] program = programs.get(i);
+            for (int position = 0; position < program.length; position++) {
+                //opcodes are not simplified, only the arguments
+                if (position % FuzzCase.INSTRUCTION_WIDTH == 0 || program[position] == SIMPLEST_ARGUMENT) {
+                    continue;
+                }
+                reductions.add(withArgument(fuzzCase, programs, i, position, SIMPLEST_ARGUMENT));
+                int reducedArgument = Math.floorMod(program[position], memorySize);
+                if (reducedArgument != program[position]) {
+                    reductions.add(withArgument(fuzzCase, programs, i, position, reducedArgument));
+                }
+                reductions.add(withArgument(fuzzCase, programs, i, position, program[position] / HALF));
+            }
+        }
+        return reductions;
+    }
+
+    private static FuzzCase withArgument(FuzzCase fuzzCase, List<int[]> programs, int programIndex, int position, int argument) {
+        int[] program = Arrays.copyOf(programs.get(programIndex), programs.get(programIndex).length);
+        program[position] = argument;
+        return withProgram(fuzzCase, programs, programIndex, program);
+    }
+
+    private static FuzzCase withProgram(FuzzCase fuzzCase, List<int[]> programs, int programIndex, int[] program) {
+        List<int[]> changedPrograms = new ArrayList<>(programs);
+        changedPrograms.set(programIndex, program);
+        return new FuzzCase(fuzzCase.getMemorySize(), fuzzCase.getSeed(), fuzzCase.getStepBudget(), changedPrograms);
+    }
+}
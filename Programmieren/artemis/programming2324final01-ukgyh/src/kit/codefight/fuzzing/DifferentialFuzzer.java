@@ -0,0 +1,112 @@
+package kit.codefight.fuzzing;
+
+import kit.codefight.exceptions.FuzzingException;
+import kit.codefight.exceptions.InstructionCreationException;
+import kit.codefight.model.GameEngine;
+import kit.codefight.parallel.ParallelTasks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Compares the interpreted engine with the reference engine on random games.
+ * Every case is played by both engines in lockstep and their full state is compared after every step.
+ * The cases are played in parallel in batches, the first divergent cases are shrunk into reproducers afterwards.
+ * All cases are generated by one generator seeded with the master seed, so a run does not depend on the parallelism.
+ * @author ukgyh
+ */
+public final class DifferentialFuzzer {
+    private static final String INTERRUPTED_ERROR = "fuzzing was interrupted";
+    private static final String CASE_FAILED_ERROR = "fuzzing case failed: %s";
+    private static final String INSTRUCTION_TABLE_ERROR = "instruction table could not be read";
+    private static final int TABLE_MEMORY_SIZE = 7;
+    private static final int TABLE_AI_AMOUNT = 2;
+    private static final int NO_ARGUMENT = 0;
+    private static final int BATCH_SIZE = 1024;
+    private static final int MAXIMUM_REPRODUCERS = 5;
+    private static final int MAXIMUM_MINIMIZATION_RUNS = 20_000;
+    private static final ParallelTasks<FuzzingException> TASKS = new ParallelTasks<>(FuzzingException.class,
+            FuzzingException::new, INTERRUPTED_ERROR, CASE_FAILED_ERROR);
+    private final int parallelism;
+    private final CaseGenerator generator;
+    private final CaseMinimizer minimizer;
+    private final List<String> instructionNames;
+
+    /**
+     * Constructs a new DifferentialFuzzer.
+     * @param stepBudget the maximum number of steps of every case
+     * @param parallelism the number of cases played at the same time
+     * @param masterSeed the seed all cases are derived from
+     * @throws FuzzingException if the instruction table cannot be read
+     */
+    public DifferentialFuzzer(long stepBudget, int parallelism, long masterSeed) throws FuzzingException {
+        this.parallelism = parallelism;
+        GameEngine gameEngine = new GameEngine(TABLE_MEMORY_SIZE, TABLE_AI_AMOUNT);
+        this.instructionNames = gameEngine.getInstructionNames();
+        List<Integer> validFirstOpcodes = new ArrayList<>();
+        try {
+            for (int opcode = 0; opcode < instructionNames.size(); opcode++) {
+                if (gameEngine.createInstructionsByString(instructionNames.get(opcode), NO_ARGUMENT, NO_ARGUMENT)
+                        .isValidFirstInstruction()) {
+                    validFirstOpcodes.add(opcode);
+                }
+            }
+        } catch (InstructionCreationException e) {
+            throw new FuzzingException(INSTRUCTION_TABLE_ERROR, e);
+        }
+        int[] validFirst = validFirstOpcodes.stream().mapToInt(Integer::intValue).toArray();
+        this.generator = new CaseGenerator(new SplittableRandom(masterSeed), instructionNames.size(), validFirst, stepBudget);
+        this.minimizer = new CaseMinimizer(instructionNames.size(), validFirst, MAXIMUM_MINIMIZATION_RUNS);
+    }
+
+    /**
+     * Plays the given number of new cases and shrinks the first divergent ones.
+     * @param cases the number of cases
+     * @return the report of the run
+     * @throws FuzzingException if a case cannot be played or the thread is interrupted
+     */
+    public FuzzReport run(int cases) throws FuzzingException {
+        long start = System.nanoTime();
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            long steps = 0;
+            int divergentCases = 0;
+            List<FuzzOutcome> divergent = new ArrayList<>();
+            for (int played = 0; played < cases; played += BATCH_SIZE) {
+                List<FuzzCase> batch = new ArrayList<>();
+                for (int i = played; i < Math.min(cases, played + BATCH_SIZE); i++) {
+                    batch.add(generator.next());
+                }
+                for (FuzzOutcome outcome : TASKS.invokeAll(pool, batch)) {
+                    steps += outcome.steps();
+                    if (outcome.isDivergent()) {
+                        divergentCases++;
+                        if (divergent.size() < MAXIMUM_REPRODUCERS) {
+                            divergent.add(outcome);
+                        }
+                    }
+                }
+            }
+
+            List<Callable<FuzzOutcome>> minimizations = new ArrayList<>();
+            for (FuzzOutcome outcome : divergent) {
+                minimizations.add(() -> minimizer.minimize(outcome));
+            }
+            List<FuzzOutcome> reproducers = TASKS.invokeAll(pool, minimizations);
+            return new FuzzReport(cases, steps, divergentCases, System.nanoTime() - start, reproducers);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Returns the names of the instructions, indexed by their opcode.
+     * @return the names of the instructions
+     */
+    public List<String> getInstructionNames() {
+        return instructionNames;
+    }
+}
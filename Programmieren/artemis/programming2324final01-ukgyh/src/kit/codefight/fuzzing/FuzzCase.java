@@ -0,0 +1,184 @@
+package kit.codefight.fuzzing;
+
+import kit.codefight.exceptions.AiCreationException;
+import kit.codefight.exceptions.DivergenceException;
+import kit.codefight.exceptions.FuzzingException;
+import kit.codefight.exceptions.GameExecutionException;
+import kit.codefight.exceptions.InitializationModeChangeException;
+import kit.codefight.exceptions.InstructionCreationException;
+import kit.codefight.exceptions.SnapshotException;
+import kit.codefight.exceptions.StartingGameException;
+import kit.codefight.model.ExecutionMode;
+import kit.codefight.model.GameEngine;
+import kit.codefight.model.LockstepVerifier;
+import kit.codefight.model.instructions.InstructionData;
+import kit.codefight.model.memory.initialization.InitializationModeFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+/**
+ * Represents one game that is played by the reference and the interpreted engine in lockstep.
+ * The programs are stored as flat arrays of opcode, argument A and argument B triples, so they can be shrunk easily.
+ * @author ukgyh
+ */
+public final class FuzzCase implements Callable<FuzzOutcome> {
+    /**
+     * number of array entries of one instruction in a program.
+     */
+    public static final int INSTRUCTION_WIDTH = 3;
+    private static final String AI_NAME_PREFIX = "ai";
+    private static final String SETUP_ERROR = "fuzzing case could not be set up: %s";
+    private static final String MEMORY_SIZE_LINE = "# memory size %d";
+    private static final String DIVERGENCE_LINE = "# %s";
+    private static final String RANDOM_MODE_LINE = "set-init-mode " + InitializationModeFactory.RANDOM_INIT_MODE + " %d";
+    private static final String STOP_MODE_LINE = "set-init-mode " + InitializationModeFactory.STOP_INIT_MODE;
+    private static final String ADD_AI_LINE = "add-ai %s %s";
+    private static final String START_GAME_LINE = "start-game %s";
+    private static final String NEXT_LINE = "next %d";
+    private static final String INSTRUCTION_SEPARATOR = ",";
+    private static final String NAME_SEPARATOR = " ";
+    private static final int OPCODE_OFFSET = 0;
+    private static final int ARGUMENT_A_OFFSET = 1;
+    private static final int ARGUMENT_B_OFFSET = 2;
+    private final int memorySize;
+    private final Integer seed;
+    private final long stepBudget;
+    private final List<int[]> programs;
+
+    /**
+     * Constructs a new FuzzCase.
+     * @param memorySize the size of the memory
+     * @param seed the seed of the random initialization mode, null to initialize the memory in stop mode
+     * @param stepBudget the maximum number of steps
+     * @param programs the programs of the AIs as opcode, argument A and argument B triples
+     */
+    public FuzzCase(int memorySize, Integer seed, long stepBudget, List<int[]> programs) {
+        this.memorySize = memorySize;
+        this.seed = seed;
+        this.stepBudget = stepBudget;
+        this.programs = new ArrayList<>();
+        for (int[] program : programs) {
+            this.programs.add(program.clone());
+        }
+    }
+
+    /**
+     * Plays the case on both engines in lockstep.
+     * @return the outcome of the case
+     * @throws FuzzingException if the game cannot be started
+     */
+    @Override
+    public FuzzOutcome call() throws FuzzingException {
+        GameEngine reference = createGame(ExecutionMode.REFERENCE);
+        GameEngine candidate = createGame(ExecutionMode.INTERPRETED);
+        try {
+            long steps = LockstepVerifier.verify(reference, candidate, stepBudget);
+            return new FuzzOutcome(this, steps, null);
+        } catch (DivergenceException e) {
+            return new FuzzOutcome(this, reference.getExecutedSteps(), e.getMessage());
+        } catch (GameExecutionException e) {
+            //both engines failed in the same step, which is the same behaviour
+            return new FuzzOutcome(this, reference.getExecutedSteps(), null);
+        } catch (SnapshotException e) {
+            throw new FuzzingException(SETUP_ERROR.formatted(e.getMessage()), e);
+        }
+    }
+
+    /**
+     * Returns the size of the memory.
+     * @return the size of the memory
+     */
+    public int getMemorySize() {
+        return memorySize;
+    }
+
+    /**
+     * Returns the seed of the random initialization mode.
+     * @return the seed, null if the memory is initialized in stop mode
+     */
+    public Integer getSeed() {
+        return seed;
+    }
+
+    /**
+     * Returns the maximum number of steps.
+     * @return the step budget
+     */
+    public long getStepBudget() {
+        return stepBudget;
+    }
+
+    /**
+     * Returns a copy of the programs of the AIs.
+     * @return the programs as opcode, argument A and argument B triples
+     */
+    public List<int[]> getPrograms() {
+        List<int[]> copy = new ArrayList<>();
+        for (int[] program : programs) {
+            copy.add(program.clone());
+        }
+        return copy;
+    }
+
+    /**
+     * Returns the commands that reproduce the case in an interactive game, followed by the divergence as a comment.
+     * @param instructionNames the names of the instructions indexed by their opcode
+     * @param divergence the description of the divergence
+     * @return the lines of the reproducer
+     */
+    public List<String> toReproducer(List<String> instructionNames, String divergence) {
+        List<String> lines = new ArrayList<>();
+        lines.add(MEMORY_SIZE_LINE.formatted(memorySize));
+        lines.add(DIVERGENCE_LINE.formatted(divergence));
+        lines.add(seed == null ? STOP_MODE_LINE : RANDOM_MODE_LINE.formatted(seed));
+        List<String> names = new ArrayList<>();
+        for (int i = 0; i < programs.size(); i++) {
+            names.add(AI_NAME_PREFIX + i);
+            lines.add(ADD_AI_LINE.formatted(names.get(i), toProgram(programs.get(i), instructionNames)));
+        }
+        lines.add(START_GAME_LINE.formatted(String.join(NAME_SEPARATOR, names)));
+        lines.add(NEXT_LINE.formatted(stepBudget));
+        return lines;
+    }
+
+    private GameEngine createGame(ExecutionMode executionMode) throws FuzzingException {
+        GameEngine gameEngine = new GameEngine(memorySize, programs.size());
+        gameEngine.setExecutionMode(executionMode);
+        String[] names = new String[programs.size()];
+        try {
+            if (seed == null) {
+                gameEngine.setInitializationMode(InitializationModeFactory.STOP_INIT_MODE, null);
+            } else {
+                gameEngine.setInitializationMode(InitializationModeFactory.RANDOM_INIT_MODE, seed);
+            }
+            List<String> instructionNames = gameEngine.getInstructionNames();
+            for (int i = 0; i < programs.size(); i++) {
+                names[i] = AI_NAME_PREFIX + i;
+                int[] program = programs.get(i);
+                List<InstructionData> instructions = new ArrayList<>();
+                for (int j = 0; j < program.length; j += INSTRUCTION_WIDTH) {
+                    instructions.add(gameEngine.createInstructionsByString(instructionNames.get(program[j + OPCODE_OFFSET]),
+                            program[j + ARGUMENT_A_OFFSET], program[j + ARGUMENT_B_OFFSET]));
+                }
+                gameEngine.addAi(names[i], instructions);
+            }
+            gameEngine.startGame(names);
+        } catch (InitializationModeChangeException | InstructionCreationException | AiCreationException
+                 | StartingGameException e) {
+            throw new FuzzingException(SETUP_ERROR.formatted(e.getMessage()), e);
+        }
+        return gameEngine;
+    }
+
+    private static String toProgram(int[] program, List<String> instructionNames) {
+        List<String> tokens = new ArrayList<>();
+        for (int i = 0; i < program.length; i += INSTRUCTION_WIDTH) {
+            tokens.add(instructionNames.get(program[i + OPCODE_OFFSET]));
+            tokens.add(String.valueOf(program[i + ARGUMENT_A_OFFSET]));
+            tokens.add(String.valueOf(program[i + ARGUMENT_B_OFFSET]));
+        }
+        return String.join(INSTRUCTION_SEPARATOR, tokens);
+    }
+}
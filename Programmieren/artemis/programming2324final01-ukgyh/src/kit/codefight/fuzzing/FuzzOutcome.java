@@ -0,0 +1,19 @@
+package kit.codefight.fuzzing;
+
+/**
+ * Represents the outcome of playing a fuzzing case on both engines.
+ * @param fuzzCase the played case
+ * @param steps the number of steps executed until the game ended, the step budget was exhausted or the engines diverged
+ * @param divergence the description of the first difference of the engines, null if they behaved the same
+ * @author ukgyh
+ */
+public record FuzzOutcome(FuzzCase fuzzCase, long steps, String divergence) {
+
+    /**
+     * Checks if the engines behaved differently.
+     * @return true if the engines diverged, false otherwise
+     */
+    public boolean isDivergent() {
+        return divergence != null;
+    }
+}
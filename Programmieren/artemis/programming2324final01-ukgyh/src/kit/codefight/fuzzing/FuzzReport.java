@@ -0,0 +1,51 @@
+package kit.codefight.fuzzing;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Represents the result of a fuzzing run.
+ * @param cases the number of played cases
+ * @param steps the number of steps executed by each engine over all cases
+ * @param divergentCases the number of cases in which the engines diverged
+ * @param elapsedNanos the time needed for the run in nanoseconds
+ * @param reproducers the shrunk outcomes of the first divergent cases
+ * @author ukgyh
+ */
+public record FuzzReport(int cases, long steps, int divergentCases, long elapsedNanos, List<FuzzOutcome> reproducers) {
+    private static final String SUMMARY_FORMAT = "%d cases, %d steps, %d divergent, %.0f cases/s, %.3e steps/s";
+    private static final String REPRODUCER_HEADER = "reproducer %d:";
+    private static final double NANOS_PER_SECOND = 1e9;
+
+    /**
+     * Returns the number of cases played per second.
+     * @return the case throughput
+     */
+    public double casesPerSecond() {
+        return elapsedNanos == 0 ? 0 : cases * NANOS_PER_SECOND / elapsedNanos;
+    }
+
+    /**
+     * Returns the number of steps executed per second by each engine.
+     * @return the step throughput
+     */
+    public double stepsPerSecond() {
+        return elapsedNanos == 0 ? 0 : steps * NANOS_PER_SECOND / elapsedNanos;
+    }
+
+    /**
+     * Returns the summary of the run followed by the reproducers of the divergent cases.
+     * @param instructionNames the names of the instructions indexed by their opcode
+     * @return the lines of the report
+     */
+    public List<String> toLines(List<String> instructionNames) {
+        List<String> lines = new ArrayList<>();
+        lines.add(SUMMARY_FORMAT.formatted(cases, steps, divergentCases, casesPerSecond(), stepsPerSecond()));
+        for (int i = 0; i < reproducers.size(); i++) {
+            FuzzOutcome reproducer = reproducers.get(i);
+            lines.add(REPRODUCER_HEADER.formatted(i + 1));
+            lines.addAll(reproducer.fuzzCase().toReproducer(instructionNames, reproducer.divergence()));
+        }
+        return lines;
+    }
+}
@@ -0,0 +1,67 @@
+package kit.codefight.fuzzing;
+
+import kit.codefight.arguments.StartingArguments;
+import kit.codefight.display.InputOutputHandler;
+import kit.codefight.exceptions.ArgumentInvalidException;
+import kit.codefight.exceptions.FuzzingException;
+
+/**
+ * Runs the differential fuzzer as headless mode of the program and prints its report.
+ * @author ukgyh
+ */
+public final class FuzzRunner {
+    /**
+     * the name of the mode as first starting argument.
+     */
+    public static final String MODE = "fuzz";
+    private static final String INSTANTIATION_ERROR = "utility class cannot be instantiated";
+    private static final String ARGUMENT_AMOUNT_ERROR = "format is fuzz [cases] [step budget] [seed] [parallelism]";
+    private static final String CASE_AMOUNT_ERROR = "amount of cases must be a positive integer";
+    private static final int CASES_INDEX = 1;
+    private static final int STEP_BUDGET_INDEX = 2;
+    private static final int SEED_INDEX = 3;
+    private static final int PARALLELISM_INDEX = 4;
+    private static final int MINIMUM_ARGUMENT_AMOUNT = 4;
+    private static final int MAXIMUM_ARGUMENT_AMOUNT = 5;
+
+    private FuzzRunner() {
+        throw new UnsupportedOperationException(INSTANTIATION_ERROR);
+    }
+
+    /**
+     * Parses the arguments of the mode, plays the cases and prints the report.
+     * @param args the starting arguments, starting with the name of the mode
+     * @param inputOutputHandler the handler printing the report and errors
+     */
+    public static void run(String[] args, InputOutputHandler inputOutputHandler) {
+        try {
+            StartingArguments.checkArgumentAmount(args, MINIMUM_ARGUMENT_AMOUNT, MAXIMUM_ARGUMENT_AMOUNT,
+                    ARGUMENT_AMOUNT_ERROR);
+            int cases;
+            long stepBudget;
+            long seed;
+            try {
+                cases = Integer.parseInt(args[CASES_INDEX]);
+                stepBudget = Long.parseLong(args[STEP_BUDGET_INDEX]);
+                seed = Long.parseLong(args[SEED_INDEX]);
+            } catch (NumberFormatException e) {
+                throw new ArgumentInvalidException(ARGUMENT_AMOUNT_ERROR);
+            }
+            int parallelism = StartingArguments.parseParallelism(args, PARALLELISM_INDEX, ARGUMENT_AMOUNT_ERROR);
+            if (cases < StartingArguments.MINIMUM_POSITIVE_VALUE) {
+                throw new ArgumentInvalidException(CASE_AMOUNT_ERROR);
+            }
+            if (stepBudget < StartingArguments.MINIMUM_POSITIVE_VALUE) {
+                throw new ArgumentInvalidException(StartingArguments.STEP_BUDGET_ERROR);
+            }
+
+            DifferentialFuzzer fuzzer = new DifferentialFuzzer(stepBudget, parallelism, seed);
+            for (String line : fuzzer.run(cases).toLines(fuzzer.getInstructionNames())) {
+                inputOutputHandler.displayStandard(line);
+            }
+        } catch (ArgumentInvalidException | FuzzingException e) {
+            inputOutputHandler.displayError(e.getMessage());
+        }
+        inputOutputHandler.closeInteraction();
+    }
+}
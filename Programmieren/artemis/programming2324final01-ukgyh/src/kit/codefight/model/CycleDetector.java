@@ -0,0 +1,62 @@
+package kit.codefight.model;
+
+/**
+ * Detects a repeated game state from the sequence of state hashes with Brent's algorithm.
+ * Only the hash at the last power of two is kept, so every step costs constant time and memory. A game is deterministic,
+ * so once a state repeats the game loops forever, and the repetition is found at most twice the length of the prefix
+ * and the loop after the state first occurred.
+ * @author ukgyh
+ */
+final class CycleDetector {
+    private static final long STARTING_POWER = 1;
+    private long savedHash;
+    private long power;
+    private long length;
+    private boolean cycleFound;
+
+    /**
+     * Constructs a new CycleDetector.
+     */
+    CycleDetector() {
+        reset(0);
+    }
+
+    /**
+     * Forgets all recorded states and starts with the given state.
+     * @param hash the hash of the current state
+     */
+    void reset(long hash) {
+        this.savedHash = hash;
+        this.power = STARTING_POWER;
+        this.length = 0;
+        this.cycleFound = false;
+    }
+
+    /**
+     * Records the state after a step.
+     * @param hash the hash of the state after the step
+     * @return true if the state was seen before, false otherwise
+     */
+    boolean record(long hash) {
+        length++;
+        if (hash == savedHash) {
+            cycleFound = true;
+            return true;
+        }
+        //the saved state moves ahead at every power of two, so it eventually lies inside the loop
+        if (length == power) {
+            savedHash = hash;
+            power <<= 1;
+            length = 0;
+        }
+        return false;
+    }
+
+    /**
+     * Checks if a repeated state was found since the last reset.
+     * @return true if the game is known to loop forever, false otherwise
+     */
+    boolean isCycleFound() {
+        return cycleFound;
+    }
+}
@@ -0,0 +1,16 @@
+package kit.codefight.model;
+
+/**
+ * represents the possible ways the game executes the instructions of the AIs.
+ * @author ukgyh
+ */
+public enum ExecutionMode {
+    /**
+     * every instruction is executed by the instruction handler of its opcode, which defines the reference semantics.
+     */
+    REFERENCE,
+    /**
+     * every instruction is executed by the switch-based interpreter, which is the default.
+     */
+    INTERPRETED
+}
@@ -0,0 +1,87 @@
+package kit.codefight.model;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Collects execution counters of the current game: executions per opcode and per AI, writes per memory cell,
+ * written AI bombs and the time spent executing steps.
+ * The statistics are only created if they are enabled when the engine is constructed, the components hold them in a
+ * final field and skip all counting if it is null, so disabled statistics cost a single check per step.
+ * @author ukgyh
+ */
+public final class ExecutionStatistics {
+    private final long[] opcodeExecutions;
+    private final long[] aiExecutions;
+    private final long[] cellWrites;
+    private long bombsWritten;
+    private long steps;
+    private long executionNanos;
+
+    /**
+     * Constructs new ExecutionStatistics.
+     * @param numberOfOpcodes the number of instructions
+     * @param maxNumberAi the maximum number of AIs in one game
+     * @param memorySize the size of the memory
+     */
+    public ExecutionStatistics(int numberOfOpcodes, int maxNumberAi, int memorySize) {
+        this.opcodeExecutions = new long[numberOfOpcodes];
+        this.aiExecutions = new long[maxNumberAi];
+        this.cellWrites = new long[memorySize];
+    }
+
+    /**
+     * Resets all counters for a new game.
+     */
+    public void reset() {
+        Arrays.fill(opcodeExecutions, 0);
+        Arrays.fill(aiExecutions, 0);
+        Arrays.fill(cellWrites, 0);
+        bombsWritten = 0;
+        steps = 0;
+        executionNanos = 0;
+    }
+
+    /**
+     * Counts the execution of an instruction.
+     * @param handle the handle of the executing AI
+     * @param opcode the opcode of the executed instruction
+     */
+    public void recordExecution(int handle, int opcode) {
+        opcodeExecutions[opcode]++;
+        aiExecutions[handle]++;
+    }
+
+    /**
+     * Counts a write into memory by an AI.
+     * @param index the index of the written cell
+     * @param isAiBomb whether the written cell is an AI bomb
+     */
+    public void recordWrite(int index, boolean isAiBomb) {
+        cellWrites[index]++;
+        if (isAiBomb) {
+            bombsWritten++;
+        }
+    }
+
+    /**
+     * Adds a batch of executed steps.
+     * @param batchSteps the number of steps of the batch
+     * @param batchNanos the time needed to execute the batch in nanoseconds
+     */
+    public void recordBatch(long batchSteps, long batchNanos) {
+        steps += batchSteps;
+        executionNanos += batchNanos;
+    }
+
+    /**
+     * Creates a report of the current counters.
+     * @param instructionNames the names of the instructions indexed by their opcode
+     * @param aiNames the names of the AIs in the current game in handle order
+     * @return the report
+     */
+    public StatisticsReport createReport(List<String> instructionNames, List<String> aiNames) {
+        return new StatisticsReport(instructionNames, opcodeExecutions.clone(), aiNames,
+                Arrays.copyOf(aiExecutions, aiNames.size()), cellWrites.clone(), bombsWritten, steps, executionNanos);
+    }
+}
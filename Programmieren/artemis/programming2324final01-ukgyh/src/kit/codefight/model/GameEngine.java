@@ -1,21 +1,31 @@
 package kit.codefight.model;
 
+import kit.codefight.display.DisplayContent;
 import kit.codefight.exceptions.AiCreationException;
 import kit.codefight.exceptions.GameExecutionException;
 import kit.codefight.exceptions.InitializationModeChangeException;
 import kit.codefight.exceptions.InstructionCreationException;
+import kit.codefight.exceptions.MemoryAllocationException;
 import kit.codefight.exceptions.MemoryOutOfBoundsException;
 import kit.codefight.exceptions.MemoryOverloadException;
 import kit.codefight.exceptions.MissingAiException;
+import kit.codefight.exceptions.ReplayException;
+import kit.codefight.exceptions.SnapshotException;
 import kit.codefight.exceptions.StartingGameException;
 
+import kit.codefight.model.ai.Ai;
 import kit.codefight.model.ai.AiStateHandler;
 import kit.codefight.model.instructions.Instruction;
+import kit.codefight.model.instructions.InstructionData;
 import kit.codefight.model.instructions.InstructionFactory;
+import kit.codefight.model.memory.MemoryBackend;
 import kit.codefight.model.memory.MemoryDisplayHandler;
 import kit.codefight.model.memory.MemoryStateHandler;
 import kit.codefight.model.memory.initialization.MemoryInitializer;
+import kit.codefight.replay.ReplayRecorder;
 
+import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -23,7 +33,15 @@ import java.util.List;
  * @author ukgyh
  */
 public final class GameEngine {
-    private static final String MEMORY_DISPLAY_JOINER = "";
+    private static final String NOT_RUNNING_ERROR = "a game has to be running to be recorded";
+    private static final String ALREADY_RECORDING_ERROR = "the game is already being recorded";
+    private static final String NO_SNAPSHOT_GAME_ERROR = "a game has to be running to take or restore a snapshot";
+    private static final String SNAPSHOT_RECORDING_ERROR = "a snapshot cannot be restored while the game is recorded";
+    private static final String SNAPSHOT_MISMATCH_ERROR = "the snapshot was taken from a game with other AIs or memory size";
+    private static final String INVALID_MEMORY_ERROR = "the initialized memory holds a cell without an instruction";
+    private static final String INVALID_POINTER_ERROR = "the initialized AI pointers are outside of the memory";
+    private static final String NO_HASH_GAME_ERROR = "a game has to be running to be hashed";
+    private static final String STATE_HASHING_DISABLED_ERROR = "state hashing has to be enabled before a game is hashed";
     private final MemoryDisplayHandler memoryDisplayHandler;
     private final MemoryInitializer memoryInitializer;
     private final AiStateHandler aiStateHandler;
@@ -31,7 +49,11 @@ public final class GameEngine {
     private final GameScheduler gameScheduler;
     private final InstructionFactory instructionFactory;
     private final int maxNumberAi;
+    private final ExecutionStatistics statistics;
     private GamePhase currentGamePhase;
+    private ReplayRecorder replayRecorder;
+    private boolean cycleDetection;
+    private boolean stateHashing;
 
     /**
      * Constructs a new GameEngine.
@@ -40,13 +62,43 @@ public final class GameEngine {
      * @param maxNumberAi the maximum number of AIs allowed in one game
      */
     public GameEngine(int memorySize, int maxNumberAi) {
+        this(memorySize, maxNumberAi, false);
+    }
+
+    /**
+     * Constructs a new GameEngine that optionally collects execution statistics.
+     *
+     * @param memorySize the size of the memory
+     * @param maxNumberAi the maximum number of AIs allowed in one game
+     * @param collectStatistics whether executions and memory writes are counted
+     */
+    public GameEngine(int memorySize, int maxNumberAi, boolean collectStatistics) {
+        this(memorySize, maxNumberAi, collectStatistics, false);
+    }
+
+    /**
+     * Constructs a new GameEngine that optionally collects execution statistics and runs a large arena.
+     * In a large arena the initialization mode fills one template page that all untouched pages of the memory share,
+     * so the memory only grows with the cells written during the game. The statistics count every cell of the memory,
+     * so a large arena should not collect them.
+     *
+     * @param memorySize the size of the memory
+     * @param maxNumberAi the maximum number of AIs allowed in one game
+     * @param collectStatistics whether executions and memory writes are counted
+     * @param largeArena whether the memory is filled with a shared template page instead of cell by cell
+     */
+    public GameEngine(int memorySize, int maxNumberAi, boolean collectStatistics, boolean largeArena) {
         this.maxNumberAi = maxNumberAi;
-        this.memoryStateHandler = new MemoryStateHandler(memorySize);
+        this.statistics = collectStatistics
+                ? new ExecutionStatistics(InstructionFactory.NUMBER_OF_INSTRUCTIONS, maxNumberAi, memorySize) : null;
+        this.memoryStateHandler = new MemoryStateHandler(memorySize, statistics);
         this.aiStateHandler = new AiStateHandler(maxNumberAi, memorySize);
 
         this.instructionFactory = new InstructionFactory(memoryStateHandler, aiStateHandler);
-        this.memoryInitializer = new MemoryInitializer(memoryStateHandler, aiStateHandler, instructionFactory);
-        this.gameScheduler = new GameScheduler(memoryStateHandler, aiStateHandler);
+        this.memoryStateHandler.setInstructionSet(instructionFactory.getInstructionSet());
+        this.memoryInitializer = new MemoryInitializer(memoryStateHandler, aiStateHandler, instructionFactory, largeArena);
+        this.gameScheduler = new GameScheduler(memoryStateHandler, aiStateHandler, statistics,
+                instructionFactory.getInstructionSet());
         this.memoryDisplayHandler = new MemoryDisplayHandler(memoryStateHandler, aiStateHandler);
         this.currentGamePhase = GamePhase.INITIALIZATION;
     }
@@ -79,10 +131,21 @@ public final class GameEngine {
      * @param startingInstructions the starting instructions of the AI
      * @throws AiCreationException if the AI cannot be created
      */
-    public void addAi(String name, List<Instruction> startingInstructions) throws AiCreationException {
+    public void addAi(String name, List<InstructionData> startingInstructions) throws AiCreationException {
         aiStateHandler.addAi(name, startingInstructions);
     }
 
+    /**
+     * Adds a new AI with an already decoded program to the game, e.g. one shared by the games of a tournament.
+     *
+     * @param name the name of the AI
+     * @param program the decoded starting instructions of the AI
+     * @throws AiCreationException if the AI cannot be created
+     */
+    public void addAi(String name, Ai program) throws AiCreationException {
+        aiStateHandler.addAi(name, program);
+    }
+
     /**
      * Removes an AI from the game.
      *
@@ -108,11 +171,21 @@ public final class GameEngine {
 
         try {
             memoryInitializer.initializeMemory();
-        } catch (MemoryOverloadException | MissingAiException | InstructionCreationException e) {
+        } catch (MemoryOverloadException | MissingAiException | InstructionCreationException
+                 | MemoryAllocationException e) {
             throw new StartingGameException(e.getMessage(), e);
         }
 
+        //the step loop relies on a valid memory and valid pointers and does not check them again
+        if (!memoryStateHandler.holdsOnlyInstructions()) {
+            throw new StartingGameException(INVALID_MEMORY_ERROR);
+        }
+        if (!aiStateHandler.hasValidPointers()) {
+            throw new StartingGameException(INVALID_POINTER_ERROR);
+        }
+
         gameScheduler.loadActiveAi();
+        memoryDisplayHandler.loadAiSymbols();
         this.currentGamePhase = GamePhase.RUNNING;
     }
 
@@ -127,6 +200,136 @@ public final class GameEngine {
         return gameScheduler.doNextSteps(steps);
     }
 
+    /**
+     * Executes steps until at most the given number of AIs is still running or the step budget is exhausted.
+     *
+     * @param stepBudget the maximum number of steps to execute
+     * @param remainingAi the number of running AIs at which the execution ends early
+     * @return information about AIs that stopped during the execution
+     * @throws GameExecutionException if the game cannot be executed
+     */
+    public List<String[]> runUntilRemaining(long stepBudget, int remainingAi) throws GameExecutionException {
+        return gameScheduler.runUntilRemaining(stepBudget, remainingAi);
+    }
+
+    /**
+     * Returns the names of the AIs that are still running in the current game.
+     * @return the names of the running AIs in the order they were activated
+     */
+    public List<String> getRunningAiNames() {
+        return aiStateHandler.getActiveAiNames();
+    }
+
+    /**
+     * Returns the number of steps executed since the current game started.
+     * @return the number of executed steps
+     */
+    public long getExecutedSteps() {
+        return gameScheduler.getExecutedSteps();
+    }
+
+    /**
+     * Sets the way instructions are executed, a running game continues unchanged in the new mode.
+     * @param executionMode the new execution mode
+     */
+    public void setExecutionMode(ExecutionMode executionMode) {
+        gameScheduler.setExecutionMode(executionMode);
+    }
+
+    /**
+     * Returns the way instructions are executed.
+     * @return the execution mode
+     */
+    public ExecutionMode getExecutionMode() {
+        return gameScheduler.getExecutionMode();
+    }
+
+    /**
+     * Sets whether the execution ends as soon as the state of the game repeats.
+     * A game that repeats its state loops forever without any AI stopping, so it can be ended as a draw.
+     * The state is updated incrementally on every write and pointer move, so detecting cycles costs constant time per step.
+     * @param detectCycles true to detect repeated states, false to run until the step budget is exhausted
+     */
+    public void setCycleDetection(boolean detectCycles) {
+        this.cycleDetection = detectCycles;
+        gameScheduler.setCycleDetection(detectCycles);
+        memoryStateHandler.setHashing(detectCycles || stateHashing);
+    }
+
+    /**
+     * Checks if the current game repeated a state and therefore can not end anymore.
+     * @return true if a repeated state was found, false otherwise or if cycles are not detected
+     */
+    public boolean isCycleDetected() {
+        return gameScheduler.isCycleDetected();
+    }
+
+    /**
+     * Sets whether the fingerprint of the running game is maintained, which costs an update of the hashes on every write.
+     * Enabling it computes the hashes of the memory and its owners once, from then on they are updated on every write of a
+     * cell. Disabling it stops the updates unless they are still needed to detect cycles.
+     * @param stateHashing true to maintain the fingerprint, false to not maintain it
+     */
+    public void setStateHashing(boolean stateHashing) {
+        this.stateHashing = stateHashing;
+        memoryStateHandler.setOwnerHashing(stateHashing);
+        memoryStateHandler.setHashing(stateHashing || cycleDetection);
+    }
+
+    /**
+     * Returns a 64-bit fingerprint of the running game, covering the content and owner of every cell, the pointers of the
+     * running AIs and the AI next in line. Equal games have equal hashes, different games only by chance.
+     * The fingerprint is only available while a game is running and after it was enabled by
+     * {@link #setStateHashing(boolean)}, then a call costs constant time per AI regardless of the memory size.
+     * Every value is a valid fingerprint, so a missing fingerprint is reported instead of returned.
+     * @return the hash of the current game
+     * @throws IllegalStateException if no game is running or state hashing is disabled
+     */
+    public long stateHash() {
+        if (currentGamePhase != GamePhase.RUNNING) {
+            throw new IllegalStateException(NO_HASH_GAME_ERROR);
+        }
+        if (!stateHashing) {
+            throw new IllegalStateException(STATE_HASHING_DISABLED_ERROR);
+        }
+        return gameScheduler.stateHash();
+    }
+
+    /**
+     * Sets the way the cells of the memory are stored, which takes effect when the next game is started.
+     * @param memoryBackend the new memory backend
+     */
+    public void setMemoryBackend(MemoryBackend memoryBackend) {
+        memoryStateHandler.setMemoryBackend(memoryBackend);
+    }
+
+    /**
+     * Returns the way the cells of the memory are stored.
+     * @return the memory backend
+     */
+    public MemoryBackend getMemoryBackend() {
+        return memoryStateHandler.getMemoryBackend();
+    }
+
+    /**
+     * Checks if the engine collects execution statistics.
+     * @return true if the statistics are collected, false otherwise
+     */
+    public boolean isCollectingStatistics() {
+        return statistics != null;
+    }
+
+    /**
+     * Returns the execution statistics of the current game.
+     * @return the report of the statistics, null if the engine does not collect statistics
+     */
+    public StatisticsReport getStatisticsReport() {
+        if (statistics == null) {
+            return null;
+        }
+        return statistics.createReport(getInstructionNames(), aiStateHandler.getOrderedAiNames());
+    }
+
     /**
      * Returns the current game phase.
      * @return the current game phase
@@ -149,12 +352,23 @@ public final class GameEngine {
      * @param instr the name of the instruction
      * @param argA the first argument of the instruction
      * @param argB the second argument of the instruction
-     * @param owner the owner / editor of the instruction
      * @return the created instruction
      * @throws InstructionCreationException if the instruction cannot be created
      */
-    public Instruction createInstructionsByString(String instr, int argA, int argB, String owner) throws InstructionCreationException {
-        return instructionFactory.createInstructionByString(instr, argA, argB, owner);
+    public InstructionData createInstructionsByString(String instr, int argA, int argB) throws InstructionCreationException {
+        return instructionFactory.createInstructionByString(instr, argA, argB);
+    }
+
+    /**
+     * Returns the names of all instructions, indexed by their opcode.
+     * @return the names of the instructions
+     */
+    public List<String> getInstructionNames() {
+        List<String> instructionNames = new ArrayList<>();
+        for (Instruction instruction : instructionFactory.getInstructionSet()) {
+            instructionNames.add(instruction.getName());
+        }
+        return instructionNames;
     }
 
     /**
@@ -166,25 +380,25 @@ public final class GameEngine {
     }
 
     /**
-     * Returns the current memory display.
+     * Returns the current memory display, which is written directly into the output.
      * @return the current memory display
      * @throws GameExecutionException if the memory display cannot be created
      */
-    public String getMemoryDisplay() throws GameExecutionException {
+    public DisplayContent getMemoryDisplay() throws GameExecutionException {
         int counter = gameScheduler.getCounter();
-        return String.join(MEMORY_DISPLAY_JOINER, memoryDisplayHandler.getMemoryDisplay(counter));
+        return memoryDisplayHandler.getMemoryDisplay(counter);
     }
 
     /**
-     * Returns the memory display starting from the given segment.
+     * Returns the memory display starting from the given segment, which is written directly into the output.
      * @param startOfSegment the start of the segment
      * @return the memory display starting from the given segment
      * @throws MemoryOutOfBoundsException if the segment is out of bounds
      * @throws GameExecutionException if the memory display cannot be created
      */
-    public String getMemoryDisplay(int startOfSegment) throws MemoryOutOfBoundsException, GameExecutionException {
+    public DisplayContent getMemoryDisplay(int startOfSegment) throws MemoryOutOfBoundsException, GameExecutionException {
         int counter = gameScheduler.getCounter();
-        return String.join(MEMORY_DISPLAY_JOINER, memoryDisplayHandler.getMemoryDisplay(counter, startOfSegment));
+        return memoryDisplayHandler.getMemoryDisplay(counter, startOfSegment);
     }
 
     /**
@@ -206,13 +420,111 @@ public final class GameEngine {
         return memoryDisplayHandler.getGameInfo();
     }
 
+    /**
+     * Takes a snapshot of the running game.
+     * With the paged memory backend the memory is shared with the snapshot page by page and only copied when it is written
+     * afterwards, the off-heap backend copies all cells at once.
+     *
+     * @return the snapshot of the game
+     * @throws SnapshotException if no game is running or the copy of the off-heap memory cannot be allocated
+     */
+    public GameSnapshot snapshot() throws SnapshotException {
+        if (currentGamePhase != GamePhase.RUNNING) {
+            throw new SnapshotException(NO_SNAPSHOT_GAME_ERROR);
+        }
+        try {
+            return gameScheduler.snapshot(memoryStateHandler.snapshot(), aiStateHandler.snapshot());
+        } catch (MemoryAllocationException e) {
+            throw new SnapshotException(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Restores the running game to the given snapshot.
+     * The snapshot may have been taken by another engine running a game with the same AIs, which forks that game.
+     *
+     * @param snapshot the snapshot to restore
+     * @throws SnapshotException if no game is running, the game is recorded or the snapshot belongs to another game
+     */
+    public void restore(GameSnapshot snapshot) throws SnapshotException {
+        if (currentGamePhase != GamePhase.RUNNING) {
+            throw new SnapshotException(NO_SNAPSHOT_GAME_ERROR);
+        }
+        if (replayRecorder != null) {
+            throw new SnapshotException(SNAPSHOT_RECORDING_ERROR);
+        }
+        if (snapshot.getMemorySize() != memoryStateHandler.getMemorySize()
+                || !snapshot.getAiNames().equals(aiStateHandler.getOrderedAiNames())) {
+            throw new SnapshotException(SNAPSHOT_MISMATCH_ERROR);
+        }
+        memoryStateHandler.restore(snapshot.getMemory());
+        aiStateHandler.restore(snapshot.getAi());
+        gameScheduler.restore(snapshot);
+    }
+
+    /**
+     * Starts recording the running game into the given replay file.
+     *
+     * @param file the replay file, an existing file is overwritten
+     * @param keyframeInterval the number of steps between two keyframes of the replay
+     * @throws ReplayException if no game is running, the game is already recorded or the file cannot be created
+     */
+    public void startRecording(Path file, int keyframeInterval) throws ReplayException {
+        if (currentGamePhase != GamePhase.RUNNING) {
+            throw new ReplayException(NOT_RUNNING_ERROR);
+        }
+        if (replayRecorder != null) {
+            throw new ReplayException(ALREADY_RECORDING_ERROR);
+        }
+        replayRecorder = ReplayRecorder.create(file, memoryStateHandler, aiStateHandler, keyframeInterval,
+                gameScheduler.getExecutedSteps());
+        setRecorder(replayRecorder);
+    }
+
+    /**
+     * Stops recording the game and closes the replay file, does nothing if the game is not recorded.
+     *
+     * @throws ReplayException if the replay could not be written completely
+     */
+    public void stopRecording() throws ReplayException {
+        if (replayRecorder == null) {
+            return;
+        }
+        ReplayRecorder recorder = replayRecorder;
+        replayRecorder = null;
+        setRecorder(null);
+        recorder.close();
+    }
+
+    /**
+     * Checks if the running game is being recorded.
+     *
+     * @return true if the game is recorded, false otherwise
+     */
+    public boolean isRecording() {
+        return replayRecorder != null;
+    }
+
+    private void setRecorder(GameRecorder recorder) {
+        memoryStateHandler.setRecorder(recorder);
+        aiStateHandler.setRecorder(recorder);
+        gameScheduler.setRecorder(recorder);
+    }
+
     /**
      * Ends the current game and resets the game engine.
+     * A running recording is closed, the game is ended even if the replay could not be written completely.
+     *
+     * @throws ReplayException if the game was recorded and the replay could not be written completely
      */
-    public void endGame() {
-        memoryStateHandler.reset();
-        aiStateHandler.reset();
-        gameScheduler.reset();
-        this.currentGamePhase = GamePhase.INITIALIZATION;
+    public void endGame() throws ReplayException {
+        try {
+            stopRecording();
+        } finally {
+            memoryStateHandler.reset();
+            aiStateHandler.reset();
+            gameScheduler.reset();
+            this.currentGamePhase = GamePhase.INITIALIZATION;
+        }
     }
 }
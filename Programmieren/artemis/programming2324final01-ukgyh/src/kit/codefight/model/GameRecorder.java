@@ -0,0 +1,39 @@
+package kit.codefight.model;
+
+/**
+ * Receives every change of the game state while a game is recorded.
+ * The methods are called on the execution path of the game, so implementations must not block.
+ * @author ukgyh
+ */
+public interface GameRecorder {
+    /**
+     * Records that a memory cell was written.
+     * @param index the index of the cell
+     * @param opcode the opcode of the new instruction
+     * @param argumentA the first argument of the new instruction
+     * @param argumentB the second argument of the new instruction
+     * @param editor the handle of the AI that wrote the cell, or the no editor value
+     * @param isAiBomb whether the cell is an AI bomb after the write
+     */
+    void recordCellWrite(int index, int opcode, int argumentA, int argumentB, int editor, boolean isAiBomb);
+
+    /**
+     * Records that the pointer of an AI changed.
+     * @param handle the handle of the AI
+     * @param pointer the new pointer of the AI
+     */
+    void recordPointerChange(int handle, int pointer);
+
+    /**
+     * Records that an AI stopped.
+     * @param handle the handle of the AI
+     */
+    void recordStop(int handle);
+
+    /**
+     * Records the end of a step.
+     * @param handle the handle of the AI that executed the step
+     * @param counter the execution counter of the AI after the step
+     */
+    void recordStep(int handle, int counter);
+}
@@ -3,8 +3,11 @@ package kit.codefight.model;
 import kit.codefight.exceptions.GameExecutionException;
 import kit.codefight.exceptions.InstructionExecutionException;
 import kit.codefight.exceptions.MemoryOutOfBoundsException;
-import kit.codefight.exceptions.MissingAiException;
+import kit.codefight.model.ai.AiSnapshot;
 import kit.codefight.model.ai.AiStateHandler;
+import kit.codefight.model.instructions.Instruction;
+import kit.codefight.model.memory.InstructionInterpreter;
+import kit.codefight.model.memory.MemorySnapshot;
 import kit.codefight.model.memory.MemoryStateHandler;
 
 import java.util.ArrayList;
@@ -12,28 +15,46 @@ import java.util.List;
 
 /**
  * This class is responsible for scheduling and executing game steps for AI entities.
+ * The active AIs are kept in a circular ready-queue of AI handles in handle order, which only changes when an AI stops,
+ * so executing a step does not allocate any objects.
  * @author ukgyh
  */
 public class GameScheduler {
     private static final String GAME_EXECUTION_ERROR = "there was an error during execution of the game";
-    private static final int AI_STEP_AMOUNT = 1;
     private static final int STARTING_COUNTER = 0;
+    private static final int NO_HANDLE = -1;
+    private static final int NO_REMAINING_AI = 0;
     private final AiStateHandler aiStateHandler;
     private final MemoryStateHandler memoryStateHandler;
-    private List<String> activeAi;
-    private int counter;
-
+    private final InstructionInterpreter interpreter;
+    private final ExecutionStatistics statistics;
+    private ExecutionMode executionMode;
+    private int[] nextHandles;
+    private int[] previousHandles;
+    private int currentHandle;
+    private int numberOfActiveAi;
+    private StopEventBuffer stopEvents;
+    private long executedSteps;
+    private GameRecorder recorder;
+    private CycleDetector cycleDetector;
+    private long pointerHash;
 
     /**
      * Constructs a GameScheduler instance with specified memory and AI state handlers.
      *
      * @param memoryStateHandler The handler responsible for managing memory states.
      * @param aiStateHandler The handler responsible for managing AI states.
+     * @param statistics The statistics counting every executed step, null to not count them.
+     * @param instructionSet The instruction handlers indexed by their opcode.
      */
-    GameScheduler(MemoryStateHandler memoryStateHandler, AiStateHandler aiStateHandler) {
+    GameScheduler(MemoryStateHandler memoryStateHandler, AiStateHandler aiStateHandler, ExecutionStatistics statistics,
+                  Instruction[] instructionSet) {
         this.aiStateHandler  = aiStateHandler;
+        this.statistics = statistics;
         this.memoryStateHandler = memoryStateHandler;
-        this.counter = STARTING_COUNTER;
+        this.interpreter = new InstructionInterpreter(memoryStateHandler, aiStateHandler, instructionSet);
+        this.executionMode = ExecutionMode.INTERPRETED;
+        this.currentHandle = NO_HANDLE;
     }
 
     /**
@@ -44,100 +65,365 @@ public class GameScheduler {
      * @throws GameExecutionException If there is an error executing the game steps.
      */
     public List<String[]> doNextSteps(int steps) throws GameExecutionException {
-        List<String[]> stoppedAiInfo = new ArrayList<>();
+        executeSteps(steps, NO_REMAINING_AI);
+        return getStoppedAiInfo();
+    }
 
-        for (int i = 0; i < steps; i++) {
-            //if no active AI, break the loop
-            if (activeAi == null || activeAi.isEmpty()) {
-                break;
-            }
+    /**
+     * Executes steps until at most the given number of AIs is still active or the step budget is exhausted.
+     *
+     * @param stepBudget The maximum number of steps to execute.
+     * @param remainingAi The number of active AIs at which the execution ends early.
+     * @return A list of arrays where each array contains the name and counter of an AI that has stopped executing.
+     * @throws GameExecutionException If there is an error executing the game steps.
+     */
+    public List<String[]> runUntilRemaining(long stepBudget, int remainingAi) throws GameExecutionException {
+        executeSteps(stepBudget, remainingAi);
+        return getStoppedAiInfo();
+    }
+
+    /**
+     * Returns the stop events of the last batch of executed steps.
+     * @return the buffer holding the AIs that stopped during the last batch
+     */
+    public StopEventBuffer getStopEvents() {
+        return stopEvents;
+    }
+
+    /**
+     * Sets the recorder that receives the end of every step.
+     * @param recorder the recorder, null to stop recording
+     */
+    public void setRecorder(GameRecorder recorder) {
+        this.recorder = recorder;
+    }
+
+    /**
+     * Sets whether the game ends as soon as its state repeats, a running game is searched from its current state on.
+     * The state is the content of all cells, the pointers of the running AIs and the AI next in line.
+     * The owners of the cells and the counters of the AIs do not influence how the game continues, so they are not part of
+     * the state and a cycle is found as soon as the execution repeats. Detecting cycles maintains the hash of the memory.
+     * @param detectCycles true to detect repeated states, false to run every game until its step budget is exhausted
+     */
+    public void setCycleDetection(boolean detectCycles) {
+        this.cycleDetector = detectCycles ? new CycleDetector() : null;
+        if (detectCycles) {
+            memoryStateHandler.setHashing(true);
+        }
+        if (nextHandles != null) {
+            resetCycleDetection();
+        }
+    }
+
+    /**
+     * Checks if the current game repeated a state, in which case no AI can stop anymore and the game is a draw.
+     * @return true if a repeated state was found, false otherwise or if cycles are not detected
+     */
+    public boolean isCycleDetected() {
+        return cycleDetector != null && cycleDetector.isCycleFound();
+    }
+
+    /**
+     * Sets the way instructions are executed, which can be changed at any time without changing the game.
+     * @param executionMode the new execution mode
+     */
+    public void setExecutionMode(ExecutionMode executionMode) {
+        this.executionMode = executionMode;
+    }
 
-            String currentAiName = activeAi.get(counter);
-            int currentAiPointer;
-            try {
-                currentAiPointer = aiStateHandler.getAiPointer(currentAiName);
-            } catch (MissingAiException e) {
-                throw new GameExecutionException(GAME_EXECUTION_ERROR, e);
+    /**
+     * Returns the way instructions are executed.
+     * @return the execution mode
+     */
+    public ExecutionMode getExecutionMode() {
+        return executionMode;
+    }
+
+    /**
+     * Returns the number of steps executed since the game started.
+     * @return the number of executed steps
+     */
+    public long getExecutedSteps() {
+        return executedSteps;
+    }
+
+    /**
+     * Returns the number of AIs that are still active.
+     * @return the number of active AIs
+     */
+    public int getNumberOfActiveAi() {
+        return numberOfActiveAi;
+    }
+
+    /**
+     * Executes steps in a tight loop, recording every AI that stops in the stop event buffer.
+     * If cycles are detected, the execution also ends once the state of the game repeats.
+     * Whether the steps are instrumented is decided once per batch, so a batch without cycle detection, statistics and
+     * recorder runs a loop that does not check for any of them.
+     *
+     * @param steps The maximum number of steps to execute.
+     * @param remainingAi The number of active AIs at which the execution ends early.
+     * @return The number of steps that were executed.
+     * @throws GameExecutionException If there is an error executing the game steps.
+     */
+    long executeSteps(long steps, int remainingAi) throws GameExecutionException {
+        if (stopEvents != null) {
+            stopEvents.clear();
+        }
+        boolean interpreted = executionMode == ExecutionMode.INTERPRETED;
+        try {
+            if (cycleDetector == null && statistics == null && recorder == null) {
+                return executePlainSteps(steps, remainingAi, interpreted);
             }
+            return executeInstrumentedSteps(steps, remainingAi, interpreted);
+        } catch (MemoryOutOfBoundsException | InstructionExecutionException e) {
+            throw new GameExecutionException(GAME_EXECUTION_ERROR, e);
+        }
+    }
+
+    private long executePlainSteps(long steps, int remainingAi, boolean interpreted)
+            throws MemoryOutOfBoundsException, InstructionExecutionException {
+        long batchSteps = 0;
+        try {
+            //if no more AI than required are active, end early
+            while (batchSteps < steps && numberOfActiveAi > remainingAi) {
+                int handle = currentHandle;
+                int pointer = aiStateHandler.getAiPointer(handle);
+                if (interpreted) {
+                    interpreter.execute(handle, pointer);
+                } else {
+                    memoryStateHandler.executeInstruction(pointer, handle);
+                }
+                batchSteps++;
 
-            try {
-                memoryStateHandler.executeInstruction(currentAiPointer, currentAiName);
-            } catch (MemoryOutOfBoundsException | InstructionExecutionException e) {
-                throw new GameExecutionException(GAME_EXECUTION_ERROR, e);
+                //only the executing AI can be stopped by its own instruction
+                if (!aiStateHandler.isActive(handle)) {
+                    removeFromQueue(handle);
+                    stopEvents.add(handle, aiStateHandler.getAiCounter(handle));
+                } else {
+                    aiStateHandler.advanceAiPointer(handle);
+                    currentHandle = nextHandles[handle];
+                }
             }
+        } finally {
+            executedSteps += batchSteps;
+        }
+        return batchSteps;
+    }
 
-            updateActiveAi();
+    private long executeInstrumentedSteps(long steps, int remainingAi, boolean interpreted)
+            throws MemoryOutOfBoundsException, InstructionExecutionException {
+        long batchSteps = 0;
+        long batchStart = statistics != null ? System.nanoTime() : 0;
+        CycleDetector detector = cycleDetector;
+        GameRecorder stepRecorder = recorder;
+        try {
+            //if no more AI than required are active or the game loops forever, end early
+            while (batchSteps < steps && numberOfActiveAi > remainingAi && (detector == null || !detector.isCycleFound())) {
+                int handle = currentHandle;
+                int pointer = aiStateHandler.getAiPointer(handle);
+                if (detector != null) {
+                    pointerHash ^= ZobristKeys.pointerKey(handle, pointer);
+                }
+                if (statistics != null) {
+                    statistics.recordExecution(handle, memoryStateHandler.opcodeAt(pointer));
+                }
+                if (interpreted) {
+                    interpreter.execute(handle, pointer);
+                } else {
+                    memoryStateHandler.executeInstruction(pointer, handle);
+                }
+                batchSteps++;
 
-            if (!activeAi.contains(currentAiName)) {
-                int aiCounter;
-                try {
-                    aiCounter = aiStateHandler.getAiCounter(currentAiName);
-                } catch (MissingAiException e) {
-                    throw new GameExecutionException(GAME_EXECUTION_ERROR, e);
+                //only the executing AI can be stopped by its own instruction, a stopped AI leaves the state with its pointer
+                boolean active = aiStateHandler.isActive(handle);
+                if (!active) {
+                    removeFromQueue(handle);
+                    stopEvents.add(handle, aiStateHandler.getAiCounter(handle));
+                } else {
+                    aiStateHandler.advanceAiPointer(handle);
+                    currentHandle = nextHandles[handle];
                 }
-                stoppedAiInfo.add(new String[]{currentAiName, String.valueOf(aiCounter)});
-                continue;
+                if (stepRecorder != null) {
+                    if (active) {
+                        stepRecorder.recordPointerChange(handle, aiStateHandler.getAiPointer(handle));
+                    }
+                    stepRecorder.recordStep(handle, aiStateHandler.getAiCounter(handle));
+                }
+                if (detector != null) {
+                    if (active) {
+                        pointerHash ^= ZobristKeys.pointerKey(handle, aiStateHandler.getAiPointer(handle));
+                    }
+                    detector.record(trackedStateHash());
+                }
+            }
+        } finally {
+            executedSteps += batchSteps;
+            if (statistics != null) {
+                statistics.recordBatch(batchSteps, System.nanoTime() - batchStart);
             }
+        }
+        return batchSteps;
+    }
+
+    /**
+     * Returns the Zobrist hash of the state of the game including the owners of all cells, which is equal for equal states.
+     * The hashes of the memory and the owners have to be maintained, the pointers of the running AIs are combined in
+     * constant time per AI.
+     * @return the hash of the current state
+     */
+    public long stateHash() {
+        return memoryStateHandler.getMemoryHash() ^ memoryStateHandler.getOwnerHash() ^ computePointerHash()
+                ^ ZobristKeys.currentKey(currentHandle);
+    }
 
-            int newAiPointer;
-            try {
-                newAiPointer = aiStateHandler.getAiPointer(currentAiName);
-            } catch (MissingAiException e) {
-                throw new GameExecutionException(GAME_EXECUTION_ERROR, e);
+    /**
+     * Computes the hash of the state from the incrementally updated hashes of the memory and the pointers.
+     * @return the hash of the current state
+     */
+    private long trackedStateHash() {
+        return memoryStateHandler.getMemoryHash() ^ pointerHash ^ ZobristKeys.currentKey(currentHandle);
+    }
+
+    private long computePointerHash() {
+        long hash = 0;
+        for (int handle = 0; handle < aiStateHandler.getNumberOfAi(); handle++) {
+            if (aiStateHandler.isActive(handle)) {
+                hash ^= ZobristKeys.pointerKey(handle, aiStateHandler.getAiPointer(handle));
             }
-            aiStateHandler.setAiPointer(currentAiName, newAiPointer + AI_STEP_AMOUNT);
+        }
+        return hash;
+    }
+
+    /**
+     * Computes the hash of the pointers and restarts the search for a repeated state.
+     */
+    private void resetCycleDetection() {
+        if (cycleDetector == null) {
+            return;
+        }
+        pointerHash = computePointerHash();
+        cycleDetector.reset(trackedStateHash());
+    }
+
+    private List<String[]> getStoppedAiInfo() {
+        List<String[]> stoppedAiInfo = new ArrayList<>();
+        if (stopEvents == null) {
+            return stoppedAiInfo;
+        }
+        for (int i = 0; i < stopEvents.size(); i++) {
+            String aiName = aiStateHandler.getAiName(stopEvents.getHandle(i));
+            stoppedAiInfo.add(new String[]{aiName, String.valueOf(stopEvents.getCounter(i))});
         }
         return stoppedAiInfo;
     }
 
     /**
-     * Loads all names of active AI in the game.
+     * Loads all active AI in the game into the ready-queue, starting with the AI with the lowest handle.
      */
     public void loadActiveAi() {
-        this.activeAi = aiStateHandler.getActiveAiNames();
+        int numberOfAi = aiStateHandler.getNumberOfAi();
+        this.nextHandles = new int[numberOfAi];
+        this.previousHandles = new int[numberOfAi];
+        this.stopEvents = new StopEventBuffer(numberOfAi);
+        this.executedSteps = 0;
+        this.currentHandle = NO_HANDLE;
+        this.numberOfActiveAi = 0;
+        if (statistics != null) {
+            statistics.reset();
+        }
+
+        int lastHandle = NO_HANDLE;
+        for (int handle = 0; handle < numberOfAi; handle++) {
+            if (!aiStateHandler.isActive(handle)) {
+                continue;
+            }
+            if (lastHandle == NO_HANDLE) {
+                currentHandle = handle;
+            } else {
+                nextHandles[lastHandle] = handle;
+                previousHandles[handle] = lastHandle;
+            }
+            lastHandle = handle;
+            numberOfActiveAi++;
+        }
+        //closing the ring
+        if (lastHandle != NO_HANDLE) {
+            nextHandles[lastHandle] = currentHandle;
+            previousHandles[currentHandle] = lastHandle;
+        }
+        resetCycleDetection();
     }
 
     /**
      * Resets the scheduler to its initial state.
      */
     public void reset() {
-        this.activeAi = null;
-        this.counter = 0;
+        this.nextHandles = null;
+        this.previousHandles = null;
+        this.stopEvents = null;
+        this.executedSteps = 0;
+        this.currentHandle = NO_HANDLE;
+        this.numberOfActiveAi = 0;
     }
 
     /**
-     * updates the active AI list and the current counter.
+     * Takes a snapshot of the running game together with the state of the ready-queue.
+     * @param memory the snapshot of the memory
+     * @param ai the snapshot of the AIs
+     * @return the snapshot of the game
      */
-    private void updateActiveAi() {
-        int formerActiveAiLength = this.activeAi.size();
-        loadActiveAi();
-        //if the current AI stopped
-        if (formerActiveAiLength > activeAi.size()) {
-            //if it was the last AI in the list increment counter, otherwise it stays the same
-            if (counter > activeAi.size() - 1) {
-                incrementCounter();
-            }
-        } else {
-            incrementCounter();
-        }
+    GameSnapshot snapshot(MemorySnapshot memory, AiSnapshot ai) {
+        return new GameSnapshot(memory, ai, nextHandles.clone(), previousHandles.clone(), currentHandle, numberOfActiveAi,
+                executedSteps);
+    }
+
+    /**
+     * Restores the ready-queue and the executed steps from the given snapshot.
+     * @param snapshot the snapshot of a game with the same AIs
+     */
+    void restore(GameSnapshot snapshot) {
+        System.arraycopy(snapshot.getNextHandles(), 0, nextHandles, 0, nextHandles.length);
+        System.arraycopy(snapshot.getPreviousHandles(), 0, previousHandles, 0, previousHandles.length);
+        this.currentHandle = snapshot.getCurrentHandle();
+        this.numberOfActiveAi = snapshot.getNumberOfActiveAi();
+        this.executedSteps = snapshot.getExecutedSteps();
+        this.stopEvents.clear();
+        resetCycleDetection();
     }
 
     /**
-     * Increments the counter used to track the current AI entity. Wraps around if it exceeds the size of the active AI list.
+     * Unlinks the given AI from the ready-queue, the AI following it is next in line to execute.
+     * @param handle the handle of the AI that stopped
      */
-    private void incrementCounter() {
-        counter++;
-        if (counter > activeAi.size() - 1) {
-            counter = 0;
+    private void removeFromQueue(int handle) {
+        numberOfActiveAi--;
+        if (numberOfActiveAi == 0) {
+            currentHandle = NO_HANDLE;
+            return;
         }
+        int next = nextHandles[handle];
+        int previous = previousHandles[handle];
+        nextHandles[previous] = next;
+        previousHandles[next] = previous;
+        currentHandle = next;
     }
 
     /**
      * Returns the current counter.
-     * the counter is used to track which AI is next in line to execute.
+     * the counter is the index of the AI that is next in line to execute among the active AI in handle order.
      * @return the counter value
      */
     public int getCounter() {
-        return this.counter;
+        if (currentHandle == NO_HANDLE) {
+            return STARTING_COUNTER;
+        }
+        int counter = STARTING_COUNTER;
+        for (int handle = 0; handle < currentHandle; handle++) {
+            if (aiStateHandler.isActive(handle)) {
+                counter++;
+            }
+        }
+        return counter;
     }
 }
@@ -0,0 +1,91 @@
+package kit.codefight.model;
+
+import kit.codefight.model.ai.AiSnapshot;
+import kit.codefight.model.memory.MemorySnapshot;
+
+import java.util.List;
+
+/**
+ * A snapshot of a running game, holding the memory, the state of the AIs and the state of the scheduler.
+ * Taking a snapshot only copies the page references of the memory and the small per-AI arrays,
+ * so games can be forked cheaply. A snapshot can be restored any number of times.
+ * @author ukgyh
+ */
+public final class GameSnapshot {
+    private final MemorySnapshot memory;
+    private final AiSnapshot ai;
+    private final int[] nextHandles;
+    private final int[] previousHandles;
+    private final int currentHandle;
+    private final int numberOfActiveAi;
+    private final long executedSteps;
+
+    /**
+     * Constructs a new GameSnapshot.
+     * @param memory the snapshot of the memory
+     * @param ai the snapshot of the AIs
+     * @param nextHandles the successors in the ready-queue, the array must not be modified afterwards
+     * @param previousHandles the predecessors in the ready-queue, the array must not be modified afterwards
+     * @param currentHandle the handle of the AI next in line to execute
+     * @param numberOfActiveAi the number of running AIs
+     * @param executedSteps the number of executed steps
+     */
+    GameSnapshot(MemorySnapshot memory, AiSnapshot ai, int[] nextHandles, int[] previousHandles, int currentHandle,
+                 int numberOfActiveAi, long executedSteps) {
+        this.memory = memory;
+        this.ai = ai;
+        this.nextHandles = nextHandles;
+        this.previousHandles = previousHandles;
+        this.currentHandle = currentHandle;
+        this.numberOfActiveAi = numberOfActiveAi;
+        this.executedSteps = executedSteps;
+    }
+
+    /**
+     * Returns the names of the AIs in the snapshot in the order they were activated.
+     * @return the names of the AIs
+     */
+    public List<String> getAiNames() {
+        return ai.getAiNames();
+    }
+
+    /**
+     * Returns the size of the memory in the snapshot.
+     * @return the size of the memory
+     */
+    public int getMemorySize() {
+        return memory.getMemorySize();
+    }
+
+    /**
+     * Returns the number of steps the game had executed when the snapshot was taken.
+     * @return the number of executed steps
+     */
+    public long getExecutedSteps() {
+        return executedSteps;
+    }
+
+    MemorySnapshot getMemory() {
+        return memory;
+    }
+
+    AiSnapshot getAi() {
+        return ai;
+    }
+
+    int[] getNextHandles() {
+        return nextHandles;
+    }
+
+    int[] getPreviousHandles() {
+        return previousHandles;
+    }
+
+    int getCurrentHandle() {
+        return currentHandle;
+    }
+
+    int getNumberOfActiveAi() {
+        return numberOfActiveAi;
+    }
+}
@@ -0,0 +1,128 @@
+package kit.codefight.model;
+
+import kit.codefight.exceptions.DivergenceException;
+import kit.codefight.exceptions.GameExecutionException;
+import kit.codefight.exceptions.SnapshotException;
+import kit.codefight.model.ai.AiSnapshot;
+import kit.codefight.model.memory.MemorySnapshot;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Runs the same game on two engines step by step and compares their full state after every step.
+ * It is used to prove that an execution mode has the same semantics as the reference mode, both engines have to be
+ * started with the same AIs and initialization mode before the verification.
+ * @author ukgyh
+ */
+public final class LockstepVerifier {
+    private static final String INSTANTIATION_ERROR = "utility class cannot be instantiated";
+    private static final String CELL_DIFFERENCE_ERROR = "step %d: cell %d differs";
+    private static final String AI_DIFFERENCE_ERROR = "step %d: state of AI %s differs";
+    private static final String SCHEDULER_DIFFERENCE_ERROR = "step %d: scheduler state differs";
+    private static final String STOPPED_DIFFERENCE_ERROR = "step %d: different AIs stopped";
+    private static final String FAILURE_DIFFERENCE_ERROR = "step %d: only the %s engine failed: %s";
+    private static final String GAME_MISMATCH_ERROR = "the engines are not running a game with the same AIs and memory size";
+    private static final String REFERENCE_NAME = "reference";
+    private static final String CANDIDATE_NAME = "candidate";
+    private static final int SINGLE_STEP = 1;
+    private static final int NO_RUNNING_AI = 0;
+
+    private LockstepVerifier() {
+        throw new UnsupportedOperationException(INSTANTIATION_ERROR);
+    }
+
+    /**
+     * Executes the games of both engines in lockstep until no AI is running or the step budget is exhausted.
+     *
+     * @param reference the engine defining the expected state
+     * @param candidate the engine that is verified
+     * @param stepBudget the maximum number of steps
+     * @return the number of executed steps
+     * @throws DivergenceException if the states of the engines differ or only one of them fails
+     * @throws GameExecutionException if both engines fail to execute a step
+     * @throws SnapshotException if one of the engines is not running a game with the same AIs and memory size
+     */
+    public static long verify(GameEngine reference, GameEngine candidate, long stepBudget)
+            throws DivergenceException, GameExecutionException, SnapshotException {
+        GameSnapshot referenceStart = reference.snapshot();
+        GameSnapshot candidateStart = candidate.snapshot();
+        if (referenceStart.getMemorySize() != candidateStart.getMemorySize()
+                || !referenceStart.getAiNames().equals(candidateStart.getAiNames())) {
+            throw new SnapshotException(GAME_MISMATCH_ERROR);
+        }
+        compare(referenceStart, candidateStart, null, null, reference.getExecutedSteps());
+        GameSnapshot referenceVerified = referenceStart;
+        GameSnapshot candidateVerified = candidateStart;
+        while (reference.getExecutedSteps() < stepBudget && reference.getRunningAiNames().size() > NO_RUNNING_AI) {
+            long step = reference.getExecutedSteps();
+            List<String[]> referenceStopped = null;
+            List<String[]> candidateStopped = null;
+            GameExecutionException referenceFailure = null;
+            GameExecutionException candidateFailure = null;
+            try {
+                referenceStopped = reference.doNextSteps(SINGLE_STEP);
+            } catch (GameExecutionException e) {
+                referenceFailure = e;
+            }
+            try {
+                candidateStopped = candidate.doNextSteps(SINGLE_STEP);
+            } catch (GameExecutionException e) {
+                candidateFailure = e;
+            }
+            if (referenceFailure != null && candidateFailure != null) {
+                throw referenceFailure;
+            }
+            if (referenceFailure != null || candidateFailure != null) {
+                GameExecutionException failure = referenceFailure != null ? referenceFailure : candidateFailure;
+                String failedEngine = referenceFailure != null ? REFERENCE_NAME : CANDIDATE_NAME;
+                throw new DivergenceException(FAILURE_DIFFERENCE_ERROR.formatted(step, failedEngine, failure.getMessage()), failure);
+            }
+            if (!equalStops(referenceStopped, candidateStopped)) {
+                throw new DivergenceException(STOPPED_DIFFERENCE_ERROR.formatted(step));
+            }
+            GameSnapshot referenceState = reference.snapshot();
+            GameSnapshot candidateState = candidate.snapshot();
+            compare(referenceState, candidateState, referenceVerified, candidateVerified, step);
+            referenceVerified = referenceState;
+            candidateVerified = candidateState;
+        }
+        return reference.getExecutedSteps();
+    }
+
+    /**
+     * Compares the states of both engines, the memory is only compared where it was written since the last verified states.
+     */
+    private static void compare(GameSnapshot reference, GameSnapshot candidate, GameSnapshot referenceVerified,
+                                GameSnapshot candidateVerified, long step) throws DivergenceException {
+        int cell = referenceVerified == null ? reference.getMemory().findDifferentCell(candidate.getMemory())
+                : reference.getMemory().findDifferentCell(candidate.getMemory(), referenceVerified.getMemory(),
+                candidateVerified.getMemory());
+        if (cell != MemorySnapshot.NO_DIFFERENCE) {
+            throw new DivergenceException(CELL_DIFFERENCE_ERROR.formatted(step, cell));
+        }
+        int handle = reference.getAi().findDifferentAi(candidate.getAi());
+        if (handle != AiSnapshot.NO_DIFFERENCE) {
+            throw new DivergenceException(AI_DIFFERENCE_ERROR.formatted(step, reference.getAiNames().get(handle)));
+        }
+        if (reference.getExecutedSteps() != candidate.getExecutedSteps()
+                || reference.getCurrentHandle() != candidate.getCurrentHandle()
+                || reference.getNumberOfActiveAi() != candidate.getNumberOfActiveAi()
+                || !Arrays.equals(reference.getNextHandles(), candidate.getNextHandles())
+                || !Arrays.equals(reference.getPreviousHandles(), candidate.getPreviousHandles())) {
+            throw new DivergenceException(SCHEDULER_DIFFERENCE_ERROR.formatted(step));
+        }
+    }
+
+    private static boolean equalStops(List<String[]> reference, List<String[]> candidate) {
+        if (reference.size() != candidate.size()) {
+            return false;
+        }
+        for (int i = 0; i < reference.size(); i++) {
+            if (!Arrays.equals(reference.get(i), candidate.get(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,125 @@
+package kit.codefight.model;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.IntStream;
+
+/**
+ * Represents the execution counters of a game at one moment.
+ * @param instructionNames the names of the instructions indexed by their opcode
+ * @param opcodeExecutions the number of executions indexed by opcode
+ * @param aiNames the names of the AIs in handle order
+ * @param aiExecutions the number of executed instructions indexed by AI handle
+ * @param cellWrites the number of writes by AIs indexed by memory cell
+ * @param bombsWritten the number of written AI bombs
+ * @param steps the number of executed steps
+ * @param executionNanos the time spent executing steps in nanoseconds
+ * @author ukgyh
+ */
+public record StatisticsReport(List<String> instructionNames, long[] opcodeExecutions, List<String> aiNames,
+                               long[] aiExecutions, long[] cellWrites, long bombsWritten, long steps, long executionNanos) {
+    private static final String STEPS_LINE = "steps: %d (%.0f steps/s)";
+    private static final String BOMBS_LINE = "AI bombs written: %d";
+    private static final String INSTRUCTIONS_HEADER = "executions per instruction:";
+    private static final String AI_HEADER = "executions per AI:";
+    private static final String CELLS_HEADER = "cells written: %d of %d, most written cells:";
+    private static final String COUNT_LINE = "  %s: %d (%.1f%%)";
+    private static final String CELL_LINE = "  %d: %d";
+    private static final String JSON_START = "{";
+    private static final String JSON_END = "}";
+    private static final String JSON_ARRAY_START = "[";
+    private static final String JSON_ARRAY_END = "]";
+    private static final String JSON_SEPARATOR = ",";
+    private static final String JSON_NUMBER_FIELD = "\"%s\":%d";
+    private static final String JSON_DECIMAL_FIELD = "\"%s\":%.3f";
+    private static final String JSON_FIELD_NAME = "\"%s\":";
+    private static final String JSON_QUOTE = "\"";
+    private static final String JSON_ESCAPED_QUOTE = "\\\"";
+    private static final String JSON_BACKSLASH = "\\";
+    private static final String JSON_ESCAPED_BACKSLASH = "\\\\";
+    private static final String STEPS_FIELD = "steps";
+    private static final String NANOS_FIELD = "executionNanos";
+    private static final String STEPS_PER_SECOND_FIELD = "stepsPerSecond";
+    private static final String BOMBS_FIELD = "bombsWritten";
+    private static final String INSTRUCTIONS_FIELD = "instructions";
+    private static final String AI_FIELD = "ais";
+    private static final String CELLS_FIELD = "cellWrites";
+    private static final int HOTTEST_CELL_AMOUNT = 10;
+    private static final double NANOS_PER_SECOND = 1e9;
+    private static final double PERCENT = 100;
+
+    /**
+     * Returns the number of steps executed per second while the game was running.
+     * @return the step throughput
+     */
+    public double stepsPerSecond() {
+        return executionNanos == 0 ? 0 : steps * NANOS_PER_SECOND / executionNanos;
+    }
+
+    /**
+     * Returns the statistics in a human readable form.
+     * @return the lines of the statistics
+     */
+    public List<String> toLines() {
+        List<String> lines = new ArrayList<>();
+        lines.add(STEPS_LINE.formatted(steps, stepsPerSecond()));
+        lines.add(BOMBS_LINE.formatted(bombsWritten));
+        lines.add(INSTRUCTIONS_HEADER);
+        for (int opcode = 0; opcode < opcodeExecutions.length; opcode++) {
+            lines.add(COUNT_LINE.formatted(instructionNames.get(opcode), opcodeExecutions[opcode], share(opcodeExecutions[opcode])));
+        }
+        lines.add(AI_HEADER);
+        for (int handle = 0; handle < aiExecutions.length; handle++) {
+            lines.add(COUNT_LINE.formatted(aiNames.get(handle), aiExecutions[handle], share(aiExecutions[handle])));
+        }
+        long writtenCells = IntStream.range(0, cellWrites.length).filter(index -> cellWrites[index] > 0).count();
+        lines.add(CELLS_HEADER.formatted(writtenCells, cellWrites.length));
+        IntStream.range(0, cellWrites.length).boxed()
+                .filter(index -> cellWrites[index] > 0)
+                .sorted(Comparator.comparingLong((Integer index) -> cellWrites[index]).reversed())
+                .limit(HOTTEST_CELL_AMOUNT)
+                .forEach(index -> lines.add(CELL_LINE.formatted(index, cellWrites[index])));
+        return lines;
+    }
+
+    /**
+     * Returns the statistics as a JSON object, the writes of all cells are included in memory order.
+     * @return the JSON representation of the statistics
+     */
+    public String toJson() {
+        StringBuilder json = new StringBuilder(JSON_START);
+        json.append(JSON_NUMBER_FIELD.formatted(STEPS_FIELD, steps)).append(JSON_SEPARATOR)
+                .append(JSON_NUMBER_FIELD.formatted(NANOS_FIELD, executionNanos)).append(JSON_SEPARATOR)
+                .append(String.format(Locale.ROOT, JSON_DECIMAL_FIELD, STEPS_PER_SECOND_FIELD, stepsPerSecond())).append(JSON_SEPARATOR)
+                .append(JSON_NUMBER_FIELD.formatted(BOMBS_FIELD, bombsWritten)).append(JSON_SEPARATOR);
+        appendCounts(json, INSTRUCTIONS_FIELD, instructionNames, opcodeExecutions);
+        json.append(JSON_SEPARATOR);
+        appendCounts(json, AI_FIELD, aiNames, aiExecutions);
+        json.append(JSON_SEPARATOR).append(JSON_FIELD_NAME.formatted(CELLS_FIELD)).append(JSON_ARRAY_START);
+        for (int index = 0; index < cellWrites.length; index++) {
+            if (index > 0) {
+                json.append(JSON_SEPARATOR);
+            }
+            json.append(cellWrites[index]);
+        }
+        return json.append(JSON_ARRAY_END).append(JSON_END).toString();
+    }
+
+    private double share(long count) {
+        return steps == 0 ? 0 : count * PERCENT / steps;
+    }
+
+    private static void appendCounts(StringBuilder json, String field, List<String> names, long[] counts) {
+        json.append(JSON_FIELD_NAME.formatted(field)).append(JSON_START);
+        for (int i = 0; i < counts.length; i++) {
+            if (i > 0) {
+                json.append(JSON_SEPARATOR);
+            }
+            String name = names.get(i).replace(JSON_BACKSLASH, JSON_ESCAPED_BACKSLASH).replace(JSON_QUOTE, JSON_ESCAPED_QUOTE);
+            json.append(JSON_NUMBER_FIELD.formatted(name, counts[i]));
+        }
+        json.append(JSON_END);
+    }
+}
@@ -0,0 +1,75 @@
+package kit.codefight.model;
+
+/**
+ * Collects the AIs that stopped during a batch of steps in the order they stopped.
+ * The buffer is allocated once per game, since every AI can stop at most once, recording a stop never allocates.
+ * @author ukgyh
+ */
+public final class StopEventBuffer {
+    private static final int EMPTY_SIZE = 0;
+    private final int[] handles;
+    private final int[] counters;
+    private int size;
+
+    /**
+     * Constructs a new StopEventBuffer.
+     * @param capacity the maximum number of stop events, which is the number of AIs in the game
+     */
+    StopEventBuffer(int capacity) {
+        this.handles = new int[capacity];
+        this.counters = new int[capacity];
+        this.size = EMPTY_SIZE;
+    }
+
+    /**
+     * Records that an AI stopped.
+     * @param handle the handle of the AI
+     * @param counter the execution counter of the AI when it stopped
+     */
+    void add(int handle, int counter) {
+        handles[size] = handle;
+        counters[size] = counter;
+        size++;
+    }
+
+    /**
+     * Removes all recorded stop events.
+     */
+    void clear() {
+        size = EMPTY_SIZE;
+    }
+
+    /**
+     * Returns the number of recorded stop events.
+     * @return the number of recorded stop events
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Checks if no stop event was recorded.
+     * @return true if the buffer is empty, false otherwise
+     */
+    public boolean isEmpty() {
+        return size == EMPTY_SIZE;
+    }
+
+    /**
+     * Returns the handle of the AI of the stop event at the given position.
+     * @param index the position of the stop event
+     * @return the handle of the AI that stopped
+     */
+    public int getHandle(int index) {
+        return handles[index];
+    }
+
+    /**
+     * Returns the execution counter of the AI of the stop event at the given position.
+     * @param index the position of the stop event
+     * @return the execution counter of the AI when it stopped
+     */
+    public int getCounter(int index) {
+        return counters[index];
+    }
+}
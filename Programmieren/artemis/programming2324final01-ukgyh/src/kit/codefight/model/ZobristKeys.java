@@ -0,0 +1,81 @@
+package kit.codefight.model;
+
+/**
+ * Provides the pseudorandom 64-bit keys of the parts of a game state for Zobrist hashing.
+ * The hash of a state is the exclusive or of the keys of all its parts, so a change of one part is applied in constant
+ * time by combining the hash with the key of the old and the key of the new value of that part.
+ * The keys are derived from the index and the value of a part by the SplitMix64 finalizer instead of a stored table,
+ * so they need no memory even for the largest arenas.
+ * @author ukgyh
+ */
+public final class ZobristKeys {
+    private static final String INSTANTIATION_ERROR = "utility class cannot be instantiated";
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+    private static final long SECOND_GAMMA = 0xD1B54A32D192ED03L;
+    private static final long THIRD_GAMMA = 0xDB4F0B9175AE2165L;
+    private static final long FOURTH_GAMMA = 0xE7037ED1A0B428DBL;
+    private static final long FIRST_MULTIPLIER = 0xBF58476D1CE4E5B9L;
+    private static final long SECOND_MULTIPLIER = 0x94D049BB133111EBL;
+    private static final int FIRST_SHIFT = 30;
+    private static final int SECOND_SHIFT = 27;
+    private static final int THIRD_SHIFT = 31;
+    private static final int INT_BITS = 32;
+    private static final long INT_MASK = 0xFFFFFFFFL;
+    private static final long CELL_SALT = 0x2545F4914F6CDD1DL;
+    private static final long POINTER_SALT = 0x5851F42D4C957F2DL;
+    private static final long CURRENT_SALT = 0x14057B7EF767814FL;
+    private static final long OWNER_SALT = 0x2127599BF4325C37L;
+
+    private ZobristKeys() {
+        throw new UnsupportedOperationException(INSTANTIATION_ERROR);
+    }
+
+    /**
+     * Returns the key of a memory cell holding the given instruction, regardless of its owner.
+     * Every part is multiplied by its own odd constant before mixing, so two different cells only share a key by chance.
+     * @param index the index of the cell
+     * @param opcode the opcode of the instruction
+     * @param argumentA the first argument of the instruction
+     * @param argumentB the second argument of the instruction
+     * @return the key of the cell
+     */
+    public static long cellKey(int index, int opcode, int argumentA, int argumentB) {
+        long arguments = (long) argumentA << INT_BITS | argumentB & INT_MASK;
+        return mix(CELL_SALT + index * GOLDEN_GAMMA + opcode * SECOND_GAMMA + arguments * THIRD_GAMMA);
+    }
+
+    /**
+     * Returns the key of the owner of a memory cell, which is the last AI that edited it.
+     * @param index the index of the cell
+     * @param owner the handle of the last editor of the cell
+     * @return the key of the owner
+     */
+    public static long ownerKey(int index, int owner) {
+        return mix(OWNER_SALT + index * GOLDEN_GAMMA + owner * FOURTH_GAMMA);
+    }
+
+    /**
+     * Returns the key of a running AI at the given pointer.
+     * @param handle the handle of the AI
+     * @param pointer the pointer of the AI
+     * @return the key of the pointer
+     */
+    public static long pointerKey(int handle, int pointer) {
+        return mix(POINTER_SALT + pointer * GOLDEN_GAMMA + handle * SECOND_GAMMA);
+    }
+
+    /**
+     * Returns the key of the AI that is next in line to execute.
+     * @param handle the handle of the AI
+     * @return the key of the current AI
+     */
+    public static long currentKey(int handle) {
+        return mix(CURRENT_SALT + handle * GOLDEN_GAMMA);
+    }
+
+    private static long mix(long value) {
+        long mixed = (value ^ value >>> FIRST_SHIFT) * FIRST_MULTIPLIER;
+        mixed = (mixed ^ mixed >>> SECOND_SHIFT) * SECOND_MULTIPLIER;
+        return mixed ^ mixed >>> THIRD_SHIFT;
+    }
+}
@@ -1,94 +1,70 @@
 package kit.codefight.model.ai;
 
-import kit.codefight.model.instructions.Instruction;
+import kit.codefight.exceptions.MemoryOutOfBoundsException;
+import kit.codefight.model.instructions.InstructionData;
+import kit.codefight.model.memory.MemoryStateHandler;
 
-import java.util.ArrayList;
 import java.util.List;
 
 /**
- * Represents an AI entity in a game, handling its instructions and state.
+ * Represents a registered AI entity and its immutable starting instructions.
+ * The instructions are decoded once on registration into parallel primitive arrays,
+ * so starting a game copies them straight into memory without creating any objects.
+ * The state of an AI during a game is held by the {@link AiStateHandler}.
  * @author ukgyh
  */
 public class Ai {
-    private final List<Instruction> startingInstructions;
-    private int pointer;
-    private int counter;
+    private final byte[] opcodes;
+    private final int[] argumentsA;
+    private final int[] argumentsB;
+    private final int firstInstructionOffset;
 
     /**
-     * constructs an AI object with the given name, id and starting instructions.
+     * constructs an AI object with the given starting instructions.
      * @param startingInstructions the instruction with which the AI starts into the game
      */
-    public Ai(List<Instruction> startingInstructions) {
-        this.startingInstructions = deepCopy(startingInstructions);
-        this.counter = 0;
-    }
-
-    /**
-     * Creates a copy of an existing AI with a new name.
-     * @param originalAi The original AI to copy.
-     * @param newName The new name for the AI.
-     */
-    public Ai(Ai originalAi, String newName) {
-        this.startingInstructions = renameInstructions(deepCopy(originalAi.startingInstructions), newName);
-        this.counter = 0;
-    }
-
-    /**
-     * provides the current position of the AI in memory.
-     * @return position of AI
-     */
-    public int getPointer() {
-        return this.pointer;
-    }
-
-
-    /**
-     * changes the position of the AI in memory.
-     * @param position the new position of the AI
-     */
-    public void setPointer(int position) {
-        this.pointer = position;
+    public Ai(List<InstructionData> startingInstructions) {
+        int size = startingInstructions.size();
+        this.opcodes = new byte[size];
+        this.argumentsA = new int[size];
+        this.argumentsB = new int[size];
+        int offset = size;
+        for (int i = size - 1; i >= 0; i--) {
+            InstructionData instruction = startingInstructions.get(i);
+            opcodes[i] = (byte) instruction.getOpcode();
+            argumentsA[i] = instruction.argumentA();
+            argumentsB[i] = instruction.argumentB();
+            if (instruction.isValidFirstInstruction()) {
+                offset = i;
+            }
+        }
+        this.firstInstructionOffset = offset;
     }
 
-
     /**
-     * Increments the internal counter of the AI.
+     * Returns the number of starting instructions.
+     * @return the number of starting instructions
      */
-    public void incrementCounter() {
-        this.counter++;
+    public int getSize() {
+        return opcodes.length;
     }
 
     /**
-     * Returns the value of the AI's counter.
-     * @return The counter value.
+     * Returns the position of the first instruction that is valid to be executed first.
+     * @return the offset of the first valid first instruction from the start of the program
      */
-    public int getCounter() {
-        return this.counter;
+    public int getFirstInstructionOffset() {
+        return firstInstructionOffset;
     }
 
-
     /**
-     * Provides a deep copy of the AI's starting instructions.
-     * @return A deep copy of the starting instructions.
+     * Writes the starting instructions into memory, owned by the AI with the given handle.
+     * @param memoryStateHandler the memory to write into
+     * @param index the index of the first instruction in memory
+     * @param handle the handle the AI plays with
+     * @throws MemoryOutOfBoundsException if the instructions do not fit into memory
      */
-    public List<Instruction> getInstructions() {
-        return deepCopy(startingInstructions);
-    }
-
-    private List<Instruction> deepCopy(List<Instruction> instructions) {
-        List<Instruction> copy = new ArrayList<>();
-        for (Instruction instruction : instructions) {
-            copy.add(instruction.copy());
-        }
-        return copy;
-    }
-
-    private List<Instruction> renameInstructions(List<Instruction> instructions, String newName) {
-        List<Instruction> renamedInstructions = new ArrayList<>();
-        for (Instruction instruction : instructions) {
-            instruction.setLastEditor(newName);
-            renamedInstructions.add(instruction);
-        }
-        return renamedInstructions;
+    public void placeInto(MemoryStateHandler memoryStateHandler, int index, int handle) throws MemoryOutOfBoundsException {
+        memoryStateHandler.loadCells(index, opcodes, argumentsA, argumentsB, opcodes.length, handle);
     }
 }
@@ -0,0 +1,67 @@
+package kit.codefight.model.ai;
+
+import java.util.List;
+
+/**
+ * An immutable copy of the state of the AIs in a game at the moment it was taken.
+ * @author ukgyh
+ */
+public final class AiSnapshot {
+    /**
+     * result of a comparison that found no different AI.
+     */
+    public static final int NO_DIFFERENCE = -1;
+    private final List<String> aiNames;
+    private final int[] pointers;
+    private final int[] counters;
+    private final boolean[] active;
+
+    /**
+     * Constructs a new AiSnapshot.
+     * @param aiNames the names of the AIs in handle order
+     * @param pointers the pointers of the AIs, the array must not be modified afterwards
+     * @param counters the execution counters of the AIs, the array must not be modified afterwards
+     * @param active the running state of the AIs, the array must not be modified afterwards
+     */
+    AiSnapshot(List<String> aiNames, int[] pointers, int[] counters, boolean[] active) {
+        this.aiNames = List.copyOf(aiNames);
+        this.pointers = pointers;
+        this.counters = counters;
+        this.active = active;
+    }
+
+    /**
+     * Returns the names of the AIs in handle order.
+     * @return the names of the AIs
+     */
+    public List<String> getAiNames() {
+        return aiNames;
+    }
+
+    /**
+     * Finds the first AI whose pointer, counter or running state differs from the other snapshot.
+     * @param other the snapshot of a game with the same AIs
+     * @return the handle of the first different AI, {@link #NO_DIFFERENCE} if all AIs are equal
+     */
+    public int findDifferentAi(AiSnapshot other) {
+        for (int handle = 0; handle < pointers.length; handle++) {
+            if (pointers[handle] != other.pointers[handle] || counters[handle] != other.counters[handle]
+                    || active[handle] != other.active[handle]) {
+                return handle;
+            }
+        }
+        return NO_DIFFERENCE;
+    }
+
+    int[] getPointers() {
+        return pointers;
+    }
+
+    int[] getCounters() {
+        return counters;
+    }
+
+    boolean[] getActive() {
+        return active;
+    }
+}
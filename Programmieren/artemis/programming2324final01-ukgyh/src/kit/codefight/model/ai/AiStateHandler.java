@@ -4,17 +4,21 @@ import kit.codefight.exceptions.AiCreationException;
 import kit.codefight.exceptions.MemoryOutOfBoundsException;
 import kit.codefight.exceptions.MissingAiException;
 
-import kit.codefight.model.instructions.Instruction;
+import kit.codefight.model.GameRecorder;
+import kit.codefight.model.instructions.InstructionData;
 
 import java.util.Map;
 import java.util.HashMap;
-import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.ArrayList;
+import java.util.Arrays;
 
 
 /**
  * Handles the state of the AI entities in the game, including their instructions and memory.
+ * Every AI in the current game is identified by an integer handle, which is its position in the activation order.
+ * The state of the AIs is stored in primitive arrays indexed by that handle,
+ * the name-keyed methods are adapters that resolve the handle first.
  * @author ukgyh
  */
 public final class AiStateHandler {
@@ -26,14 +30,19 @@ public final class AiStateHandler {
     private static final String MEMORY_OUT_OF_BOUNDS_EXCEPTION = "index %d is out of bounds for memory size %d";
     private static final String TOO_MANY_INSTRUCTIONS_ERROR = "too many starting instructions for memory size";
     private static final int MINIMUM_MEMORY_INDEX = 0;
-    private static final int EMPTY_ARRAY_SIZE = 0;
+    private static final int STARTING_COUNTER = 0;
     private static final float MINIMUM_AI_AMOUNT = 2;
     private final int maxNumberAi;
     private final int memorySize;
     private final Map<String, Ai> registeredAi;
-    private final Map<String, Ai> activeAi;
-    private final Map<String, Ai> stoppedAi;
-    private final List<String> orderedNameList;
+    private final Map<String, Integer> aiHandles;
+    private final String[] handleNames;
+    private final Ai[] gameAi;
+    private final int[] pointers;
+    private final int[] counters;
+    private final boolean[] active;
+    private int numberOfAi;
+    private GameRecorder recorder;
 
 
     /**
@@ -46,9 +55,12 @@ public final class AiStateHandler {
         this.maxNumberAi = maxNumberAi;
         this.memorySize = memorySize;
         this.registeredAi = new HashMap<>();
-        this.activeAi = new LinkedHashMap<>();
-        this.stoppedAi = new HashMap<>();
-        this.orderedNameList = new ArrayList<>();
+        this.aiHandles = new HashMap<>();
+        this.handleNames = new String[maxNumberAi];
+        this.gameAi = new Ai[maxNumberAi];
+        this.pointers = new int[maxNumberAi];
+        this.counters = new int[maxNumberAi];
+        this.active = new boolean[maxNumberAi];
     }
 
     /**
@@ -58,14 +70,26 @@ public final class AiStateHandler {
      * @param startingInstructions the instructions with which the AI starts into the game
      * @throws AiCreationException if the AI name is already used by another AI
      */
-    public void addAi(String aiName, List<Instruction> startingInstructions) throws AiCreationException {
+    public void addAi(String aiName, List<InstructionData> startingInstructions) throws AiCreationException {
+        addAi(aiName, new Ai(startingInstructions));
+    }
+
+    /**
+     * Adds a new AI with an already decoded program to the game.
+     * The program is immutable, so the same program can be registered in many games at once.
+     *
+     * @param aiName  the name of the AI
+     * @param program the decoded starting instructions of the AI
+     * @throws AiCreationException if the AI name is already used by another AI or the program is too long
+     */
+    public void addAi(String aiName, Ai program) throws AiCreationException {
         if (checkForRegisteredAi(aiName)) {
             throw new AiCreationException(DUPLICATE_NAME_EXCEPTION);
         }
-        if (startingInstructions.size() > Math.ceil(memorySize / MINIMUM_AI_AMOUNT)) {
+        if (program.getSize() > Math.ceil(memorySize / MINIMUM_AI_AMOUNT)) {
             throw new AiCreationException(TOO_MANY_INSTRUCTIONS_ERROR);
         }
-        registeredAi.put(aiName, new Ai(startingInstructions));
+        registeredAi.put(aiName, program);
     }
 
     /**
@@ -81,17 +105,25 @@ public final class AiStateHandler {
         registeredAi.remove(aiName);
     }
 
+    /**
+     * Sets the recorder that receives every change of the AI pointers and every stopped AI.
+     * @param recorder the recorder, null to stop recording
+     */
+    public void setRecorder(GameRecorder recorder) {
+        this.recorder = recorder;
+    }
+
     /**
      * Resets the active nad stopped AI.
      */
     public void reset() {
-        this.activeAi.clear();
-        this.stoppedAi.clear();
-        this.orderedNameList.clear();
+        this.aiHandles.clear();
+        this.numberOfAi = 0;
     }
 
     /**
      * Activates a list of AIs for participation in the game.
+     * The AIs receive ascending handles in the given order.
      *
      * @param aiNames The names of the AIs to activate.
      * @throws MissingAiException If any AI is not registered or the number of AIs exceeds the maximum allowed.
@@ -124,18 +156,48 @@ public final class AiStateHandler {
                 newName += DUPLICATES_SYMBOL + index;
             }
 
-            activeAi.put(newName, new Ai(registeredAi.get(aiName), newName));
-            orderedNameList.add(newName);
+            int handle = numberOfAi;
+            handleNames[handle] = newName;
+            gameAi[handle] = registeredAi.get(aiName);
+            pointers[handle] = MINIMUM_MEMORY_INDEX;
+            counters[handle] = STARTING_COUNTER;
+            active[handle] = true;
+            aiHandles.put(newName, handle);
+            numberOfAi++;
         }
     }
 
+    /**
+     * Takes a snapshot of the pointers, counters and running state of the AIs in the current game.
+     * @return the snapshot of the AI state
+     */
+    public AiSnapshot snapshot() {
+        return new AiSnapshot(getOrderedAiNames(), Arrays.copyOf(pointers, numberOfAi), Arrays.copyOf(counters, numberOfAi),
+                Arrays.copyOf(active, numberOfAi));
+    }
+
+    /**
+     * Restores the pointers, counters and running state of the AIs to the given snapshot.
+     * @param snapshot the snapshot of a game with the same AIs
+     */
+    public void restore(AiSnapshot snapshot) {
+        System.arraycopy(snapshot.getPointers(), 0, pointers, 0, numberOfAi);
+        System.arraycopy(snapshot.getCounters(), 0, counters, 0, numberOfAi);
+        System.arraycopy(snapshot.getActive(), 0, active, 0, numberOfAi);
+    }
+
     /**
      * Retrieves the names of all currently active AIs.
-     * @return A list of active AI names.
+     * @return A list of active AI names in the order of their handles.
      */
     public List<String> getActiveAiNames() {
-        //order is maintained through LinkedHashMap
-        return List.of(activeAi.keySet().toArray(new String[EMPTY_ARRAY_SIZE]));
+        List<String> activeAiNames = new ArrayList<>();
+        for (int handle = 0; handle < numberOfAi; handle++) {
+            if (active[handle]) {
+                activeAiNames.add(handleNames[handle]);
+            }
+        }
+        return activeAiNames;
     }
 
     /**
@@ -143,40 +205,64 @@ public final class AiStateHandler {
      * @return An ordered list of AI names.
      */
     public List<String> getOrderedAiNames() {
-        return new ArrayList<>(orderedNameList);
+        return new ArrayList<>(Arrays.asList(handleNames).subList(0, numberOfAi));
     }
 
+    /**
+     * Returns the number of AIs in the current game, active or stopped.
+     * Valid handles range from zero to this number exclusive.
+     * @return the number of AIs in the current game
+     */
+    public int getNumberOfAi() {
+        return numberOfAi;
+    }
 
     /**
-     * Gets the starting instructions of an active AI.
+     * Retrieves the handle of an AI in the current game.
      *
      * @param aiName The name of the AI.
-     * @return The list of starting instructions for the AI.
-     * @throws MissingAiException If the AI is not active.
+     * @return The handle of the AI, which is its position in the activation order.
+     * @throws MissingAiException If the AI is not in the current game.
      */
-    public List<Instruction> getActiveStartingInstructions(String aiName) throws MissingAiException {
-        if (!checkForActiveAi(aiName)) {
-            throw new MissingAiException(AI_NOT_REGISTERED_EXCEPTION.formatted(aiName));
+    public int getAiHandle(String aiName) throws MissingAiException {
+        Integer handle = aiHandles.get(aiName);
+        if (handle == null) {
+            throw new MissingAiException(AI_NOT_ACTIVE_EXCEPTION.formatted(aiName));
         }
-        return activeAi.get(aiName).getInstructions();
+        return handle;
+    }
+
+    /**
+     * Retrieves the name of the AI with the given handle.
+     * @param handle The handle of the AI.
+     * @return The name of the AI.
+     */
+    public String getAiName(int handle) {
+        return handleNames[handle];
     }
 
     /**
-     * Initializes the memory pointer of an active AI.
+     * Gets the pre-decoded starting program of the AI with the given handle.
      *
-     * @param aiName     The name of the AI.
+     * @param handle The handle of the AI.
+     * @return The starting program of the AI, which is shared by all games it takes part in.
+     */
+    public Ai getProgram(int handle) {
+        return gameAi[handle];
+    }
+
+    /**
+     * Initializes the memory pointer of the AI with the given handle.
+     *
+     * @param handle     The handle of the AI.
      * @param newPointer The new memory pointer position.
-     * @throws MissingAiException        If the AI is not active.
      * @throws MemoryOutOfBoundsException If the new pointer is outside the allowed memory range.
      */
-    public void initializeAiPointer(String aiName, int newPointer) throws MissingAiException, MemoryOutOfBoundsException {
-        if (!checkForActiveAi(aiName)) {
-            throw new MissingAiException(AI_NOT_ACTIVE_EXCEPTION.formatted(aiName));
-        } else if (newPointer < MINIMUM_MEMORY_INDEX || newPointer > memorySize) {
+    public void initializeAiPointer(int handle, int newPointer) throws MemoryOutOfBoundsException {
+        if (newPointer < MINIMUM_MEMORY_INDEX || newPointer > memorySize) {
             throw new MemoryOutOfBoundsException(MEMORY_OUT_OF_BOUNDS_EXCEPTION.formatted(newPointer, memorySize));
         }
-
-        activeAi.get(aiName).setPointer(newPointer);
+        pointers[handle] = newPointer;
     }
 
     /**
@@ -187,11 +273,63 @@ public final class AiStateHandler {
      */
     public void setAiPointer(String aiName, int newPointer) {
         if (checkForActiveAi(aiName)) {
-            int circularIndex = calculateCircularIndex(newPointer);
-            activeAi.get(aiName).setPointer(circularIndex);
+            setAiPointer(aiHandles.get(aiName), newPointer);
+        }
+    }
+
+    /**
+     * Sets the memory pointer of the AI with the given handle, adjusting it to remain within memory bounds.
+     *
+     * @param handle     The handle of the AI.
+     * @param newPointer The new memory pointer position.
+     */
+    public void setAiPointer(int handle, int newPointer) {
+        pointers[handle] = calculateCircularIndex(newPointer);
+        if (recorder != null) {
+            recorder.recordPointerChange(handle, pointers[handle]);
         }
     }
 
+    /**
+     * Advances the memory pointer of the AI with the given handle by one cell.
+     * This is the fast path of the step loop, the pointer is inside the memory so it only wraps at the end.
+     * The change is not passed to the recorder, the step loop records the pointer once the step is done.
+     *
+     * @param handle The handle of the AI.
+     */
+    public void advanceAiPointer(int handle) {
+        int pointer = pointers[handle] + 1;
+        if (pointer == memorySize) {
+            pointer = MINIMUM_MEMORY_INDEX;
+        }
+        pointers[handle] = pointer;
+    }
+
+    /**
+     * Moves the memory pointer of the AI with the given handle to a cell without adjusting it.
+     * The change is not passed to the recorder, the step loop records the pointer once the step is done.
+     *
+     * @param handle The handle of the AI.
+     * @param circularPointer The new memory pointer position, already inside the memory.
+     */
+    public void moveAiPointer(int handle, int circularPointer) {
+        pointers[handle] = circularPointer;
+    }
+
+    /**
+     * Checks once before a game is executed that the pointers of all AIs in the game are inside the memory.
+     *
+     * @return true if all pointers are valid, false otherwise.
+     */
+    public boolean hasValidPointers() {
+        for (int handle = 0; handle < numberOfAi; handle++) {
+            if (pointers[handle] < MINIMUM_MEMORY_INDEX || pointers[handle] >= memorySize) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     /**
      * Retrieves the current memory pointer of an active AI.
      *
@@ -203,7 +341,17 @@ public final class AiStateHandler {
         if (!checkForActiveAi(aiName)) {
             throw new MissingAiException(AI_NOT_ACTIVE_EXCEPTION.formatted(aiName));
         }
-        return activeAi.get(aiName).getPointer();
+        return pointers[aiHandles.get(aiName)];
+    }
+
+    /**
+     * Retrieves the current memory pointer of the AI with the given handle.
+     *
+     * @param handle The handle of the AI.
+     * @return The current memory pointer position.
+     */
+    public int getAiPointer(int handle) {
+        return pointers[handle];
     }
 
     /**
@@ -214,13 +362,17 @@ public final class AiStateHandler {
      * @throws MissingAiException If the AI is neither active nor stopped.
      */
     public int getAiCounter(String aiName) throws MissingAiException {
-        if (checkForActiveAi(aiName)) {
-            return activeAi.get(aiName).getCounter();
-        } else if (checkForStoppedAi(aiName)) {
-            return stoppedAi.get(aiName).getCounter();
-        } else {
-            throw new MissingAiException(AI_NOT_ACTIVE_EXCEPTION.formatted(aiName));
-        }
+        return counters[getAiHandle(aiName)];
+    }
+
+    /**
+     * Retrieves the execution counter of the AI with the given handle.
+     *
+     * @param handle The handle of the AI.
+     * @return The current value of the AI's execution counter.
+     */
+    public int getAiCounter(int handle) {
+        return counters[handle];
     }
 
     /**
@@ -233,8 +385,19 @@ public final class AiStateHandler {
         if (!checkForActiveAi(aiName)) {
             throw new MissingAiException(AI_NOT_ACTIVE_EXCEPTION.formatted(aiName));
         }
-        stoppedAi.put(aiName, activeAi.get(aiName));
-        activeAi.remove(aiName);
+        stopAi(aiHandles.get(aiName));
+    }
+
+    /**
+     * Stops the AI with the given handle, moving it to the stopped state.
+     *
+     * @param handle The handle of the AI to stop.
+     */
+    public void stopAi(int handle) {
+        active[handle] = false;
+        if (recorder != null) {
+            recorder.recordStop(handle);
+        }
     }
 
     /**
@@ -247,7 +410,16 @@ public final class AiStateHandler {
         if (!checkForActiveAi(aiName)) {
             throw new MissingAiException(AI_NOT_ACTIVE_EXCEPTION.formatted(aiName));
         }
-        activeAi.get(aiName).incrementCounter();
+        incrementAiCounter(aiHandles.get(aiName));
+    }
+
+    /**
+     * Increments the execution counter of the AI with the given handle.
+     *
+     * @param handle The handle of the AI.
+     */
+    public void incrementAiCounter(int handle) {
+        counters[handle]++;
     }
 
     private int calculateCircularIndex(int index) {
@@ -259,6 +431,15 @@ public final class AiStateHandler {
         return adjustedIndex;
     }
 
+    /**
+     * Checks if the AI with the given handle is currently active.
+     *
+     * @param handle The handle of the AI to check.
+     * @return {@code true} if the AI is active, {@code false} otherwise.
+     */
+    public boolean isActive(int handle) {
+        return active[handle];
+    }
 
     /**
      * Checks if an AI is currently active.
@@ -267,7 +448,8 @@ public final class AiStateHandler {
      * @return {@code true} if the AI is active, {@code false} otherwise.
      */
     public boolean checkForActiveAi(String aiName) {
-        return activeAi.containsKey(aiName);
+        Integer handle = aiHandles.get(aiName);
+        return handle != null && active[handle];
     }
 
 
@@ -278,7 +460,8 @@ public final class AiStateHandler {
      * @return {@code true} if the AI has been stopped, {@code false} otherwise.
      */
     public boolean checkForStoppedAi(String aiName) {
-        return stoppedAi.containsKey(aiName);
+        Integer handle = aiHandles.get(aiName);
+        return handle != null && !active[handle];
     }
 
     private boolean checkForRegisteredAi(String aiName) {
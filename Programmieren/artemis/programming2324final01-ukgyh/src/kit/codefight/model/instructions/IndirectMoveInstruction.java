@@ -2,12 +2,11 @@ package kit.codefight.model.instructions;
 
 import kit.codefight.exceptions.InstructionExecutionException;
 import kit.codefight.exceptions.MemoryOutOfBoundsException;
-import kit.codefight.exceptions.MissingAiException;
 import kit.codefight.model.ai.AiStateHandler;
 import kit.codefight.model.memory.MemoryStateHandler;
 
 /**
- * Represents the Conditional Skip instruction.
+ * Represents the Indirect Move instruction.
  * @author ukgyh
  */
 final class IndirectMoveInstruction extends Instruction {
@@ -16,31 +15,23 @@ final class IndirectMoveInstruction extends Instruction {
     private static final boolean VALID_STARTING_INSTRUCTION = true;
     private final MemoryStateHandler memoryStateHandler;
     private final AiStateHandler aiStateHandler;
-    private boolean isAiBomb = false;
 
     /**
      * Constructs new Indirect Move Instruction.
      *
+     * @param opcode the opcode of the instruction
      * @param aiStateHandler the AiStateHandler to be used
      * @param memoryStateHandler the MemoryStateHandler to be used
-     * @param argA the first argument
-     * @param argB the second argument
-     * @param owner the owner of the instruction
      */
-    IndirectMoveInstruction(AiStateHandler aiStateHandler, MemoryStateHandler memoryStateHandler, int argA, int argB, String owner) {
-        super(owner, argA, argB, STRING_REPRESENTATION);
+    IndirectMoveInstruction(int opcode, AiStateHandler aiStateHandler, MemoryStateHandler memoryStateHandler) {
+        super(opcode, STRING_REPRESENTATION);
         this.aiStateHandler = aiStateHandler;
         this.memoryStateHandler = memoryStateHandler;
     }
 
     @Override
-    public boolean isAIBomb() {
-        return isAiBomb;
-    }
-
-    @Override
-    public void setBombStatus() {
-        this.isAiBomb = IS_AI_BOMB;
+    public boolean isAiBomb(int argumentA, int argumentB) {
+        return IS_AI_BOMB;
     }
 
     @Override
@@ -49,50 +40,25 @@ final class IndirectMoveInstruction extends Instruction {
     }
 
     @Override
-    public void execute(String executorName) throws InstructionExecutionException {
-        int currentAiPosition;
-        try {
-            currentAiPosition = aiStateHandler.getAiPointer(executorName);
-        } catch (MissingAiException e) {
-            throw new InstructionExecutionException(e.getMessage(), e);
-        }
-        int source = currentAiPosition + getArgumentA();
-        int intermediate = currentAiPosition + getArgumentB();
+    public void execute(int executorHandle) throws InstructionExecutionException {
+        int currentAiPosition = aiStateHandler.getAiPointer(executorHandle);
         try {
+            int source = currentAiPosition + memoryStateHandler.getArgumentA(currentAiPosition);
+            int intermediate = currentAiPosition + memoryStateHandler.getArgumentB(currentAiPosition);
+
             // Determine the target position and copy the instruction to the new location
-            int intermediateArgB = memoryStateHandler.getInstructionAtIndex(intermediate).getArgumentB();
+            int intermediateArgB = memoryStateHandler.getArgumentB(intermediate);
             int target = memoryStateHandler.calculateCircularIndex(intermediate) + intermediateArgB;
-            Instruction copiedInstruction = memoryStateHandler.getInstructionAtIndex(source);
 
-            copiedInstruction.setLastEditor(executorName);
-            copiedInstruction.setBombStatus();
-
-            memoryStateHandler.putInstructionAtIndex(target, copiedInstruction);
+            int sourceOpcode = memoryStateHandler.getOpcode(source);
+            int sourceArgA = memoryStateHandler.getArgumentA(source);
+            int sourceArgB = memoryStateHandler.getArgumentB(source);
+            memoryStateHandler.putInstructionAtIndex(target, sourceOpcode, sourceArgA, sourceArgB, executorHandle);
         } catch (MemoryOutOfBoundsException e) {
             throw new InstructionExecutionException(e.getMessage(), e);
         }
 
-        try {
-            aiStateHandler.incrementAiCounter(executorName);
-        } catch (MissingAiException e) {
-            throw new InstructionExecutionException(e.getMessage(), e);
-        }
-
-    }
+        aiStateHandler.incrementAiCounter(executorHandle);
 
-    @Override
-    public Instruction copy() {
-        int argA = this.getArgumentA();
-        int argB = this.getArgumentB();
-        String lastEditorName = this.getLastEditorName();
-
-        Instruction copy = new IndirectMoveInstruction(this.aiStateHandler, this.memoryStateHandler, argA, argB, lastEditorName);
-        copy.copyBombStatus(this.isAiBomb);
-        return copy;
-    }
-
-    @Override
-    protected void copyBombStatus(boolean isAiBomb) {
-        this.isAiBomb = isAiBomb;
     }
 }
@@ -4,27 +4,22 @@ import kit.codefight.exceptions.InstructionExecutionException;
 
 /**
  * Represents an abstract instruction that AIs can execute in the game.
- * Instructions are actions that can be performed within the game, each with specific arguments and effects.
+ * Instructions are stateless handlers for one opcode, the arguments and owner of an instruction are stored
+ * in the memory cell the instruction is located in and are mutated in place when the instruction is executed.
  * @author ukgyh
  */
 public abstract class Instruction {
-    private String lastEditorName;
     private final String stringRepresentation;
-    private int argumentA;
-    private int argumentB;
+    private final int opcode;
 
     /**
-     * Constructs an Instruction with specified arguments and owner information.
+     * Constructs an Instruction handler for the given opcode.
      *
-     * @param owner The name of the last editor or owner of this instruction.
-     * @param argumentA The first argument of the instruction.
-     * @param argumentB The second argument of the instruction.
+     * @param opcode The opcode this instruction is stored as in memory.
      * @param stringRepresentation A string representation of the instruction.
      */
-    protected Instruction(String owner, int argumentA, int argumentB, String stringRepresentation) {
-        this.argumentA = argumentA;
-        this.argumentB = argumentB;
-        this.lastEditorName = owner;
+    protected Instruction(int opcode, String stringRepresentation) {
+        this.opcode = opcode;
         this.stringRepresentation = stringRepresentation;
     }
 
@@ -37,88 +32,33 @@ public abstract class Instruction {
     }
 
     /**
-     * Determines if this instruction is valid to be the first instruction executed.
-     * @return true if it is valid to be the first instruction, false otherwise.
-     */
-    public abstract boolean isValidFirstInstruction();
-
-    /**
-     * Gets the last editor's name of this instruction.
-     * @return The name of the last editor.
+     * Returns the opcode this instruction is stored as in memory.
+     * @return the opcode of the instruction
      */
-    public String getLastEditorName() {
-        return lastEditorName;
+    public int getOpcode() {
+        return opcode;
     }
 
     /**
-     * Sets the last editor's name of this instruction.
-     * @param lastEditorName The name of the last editor to set.
+     * Determines if this instruction is valid to be the first instruction executed.
+     * @return true if it is valid to be the first instruction, false otherwise.
      */
-    public void setLastEditor(String lastEditorName) {
-        this.lastEditorName  = lastEditorName;
-    }
+    public abstract boolean isValidFirstInstruction();
 
     /**
-     * Executes this instruction and applies the resulting effect.
+     * Determines if a cell holding this instruction with the given arguments is an AI bomb after it was edited by an AI.
      *
-     * @param executorName The name of the executor performing this instruction.
-     * @throws InstructionExecutionException If the execution fails due to any reason.
-     */
-    public abstract void execute(String executorName) throws InstructionExecutionException;
-
-    /**
-     * Gets argument A of this instruction.
-     * @return argument A of this instruction.
-     */
-    public int getArgumentA() {
-        return argumentA;
-    }
-
-    /**
-     * Gets argument B of this instruction.
-     * @return argument B of this instruction.
+     * @param argumentA argument A of the edited cell
+     * @param argumentB argument B of the edited cell
+     * @return true if the edited cell is an AI bomb, false otherwise
      */
-    public int getArgumentB() {
-        return argumentB;
-    }
+    public abstract boolean isAiBomb(int argumentA, int argumentB);
 
     /**
-     * Sets the bomb status of this instruction.
-     */
-    public abstract void setBombStatus();
-
-    /**
-     * Determines if this instruction is an AI bomb.
-     * @return true if this instruction is an AI bomb, false otherwise.
-     */
-    public abstract boolean isAIBomb();
-
-    /**
-     * Sets argument A of this instruction.
-     * @param argumentA The value to set argument A to.
-     */
-    public void setArgumentA(int argumentA) {
-        this.argumentA = argumentA;
-    }
-
-    /**
-     * Sets argument B of this instruction.
-     * @param argumentB The value to set argument B to.
-     */
-    public void setArgumentB(int argumentB) {
-        this.argumentB = argumentB;
-    }
-
-    /**
-     * Creates a new instance of this instruction, copying relevant fields.
-     * @return A new instance of the instruction with the same state.
-     */
-    public abstract Instruction copy();
-
-    /**
-     * sets the bomb status of this instruction when copying the instruction.
-     * @param bombStatus The bomb status to copy.
+     * Executes this instruction at the current position of the executing AI and applies the resulting effect.
+     *
+     * @param executorHandle The handle of the AI performing this instruction.
+     * @throws InstructionExecutionException If the execution fails due to any reason.
      */
-    protected abstract void copyBombStatus(boolean bombStatus);
-
+    public abstract void execute(int executorHandle) throws InstructionExecutionException;
 }
@@ -0,0 +1,35 @@
+package kit.codefight.model.instructions;
+
+/**
+ * Represents an instruction together with its arguments outside of memory, e.g. as part of the starting program of an AI.
+ * @param instruction the stateless handler of the instruction
+ * @param argumentA the first argument of the instruction
+ * @param argumentB the second argument of the instruction
+ * @author ukgyh
+ */
+public record InstructionData(Instruction instruction, int argumentA, int argumentB) {
+
+    /**
+     * Returns the opcode of the instruction.
+     * @return the opcode of the instruction
+     */
+    public int getOpcode() {
+        return instruction.getOpcode();
+    }
+
+    /**
+     * Returns the name (string representation) of the instruction.
+     * @return the name of the instruction
+     */
+    public String getName() {
+        return instruction.getName();
+    }
+
+    /**
+     * Determines if the instruction is valid to be the first instruction executed.
+     * @return true if it is valid to be the first instruction, false otherwise
+     */
+    public boolean isValidFirstInstruction() {
+        return instruction.isValidFirstInstruction();
+    }
+}
@@ -9,33 +9,62 @@ import java.util.Map;
 
 /**
  * Factory class for creating instructions based on their ID or name.
+ * It holds one stateless handler per opcode that is shared by all memory cells.
  * @author ukgyh
  */
 public final class InstructionFactory {
+    /**
+     * opcode of the STOP instruction.
+     */
+    public static final int STOP_ID = 0;
+    /**
+     * opcode of the MOV_R instruction.
+     */
+    public static final int RELATIVE_MOVE_ID = 1;
+    /**
+     * opcode of the MOV_I instruction.
+     */
+    public static final int INDIRECT_MOVE_ID = 2;
+    /**
+     * opcode of the ADD instruction.
+     */
+    public static final int SIMPLE_ADD_ID = 3;
+    /**
+     * opcode of the ADD_R instruction.
+     */
+    public static final int RELATIVE_ADD_ID = 4;
+    /**
+     * opcode of the JMP instruction.
+     */
+    public static final int JUMP_ID = 5;
+    /**
+     * opcode of the JMZ instruction.
+     */
+    public static final int CONDITIONAL_JUMP_ID = 6;
+    /**
+     * opcode of the CMP instruction.
+     */
+    public static final int CONDITIONAL_SKIP_ID = 7;
+    /**
+     * opcode of the SWAP instruction.
+     */
+    public static final int SWAP_ID = 8;
+    /**
+     * number of instructions, the opcodes range from zero to this number exclusive.
+     */
+    public static final int NUMBER_OF_INSTRUCTIONS = 9;
     private static final String STOP_NAME = "STOP";
-    private static final int STOP_ID = 0;
     private static final String RELATIVE_MOVE_NAME = "MOV_R";
-    private static final int RELATIVE_MOVE_ID = 1;
     private static final String INDIRECT_MOVE_NAME = "MOV_I";
-    private static final int INDIRECT_MOVE_ID = 2;
     private static final String SIMPLE_ADD_NAME = "ADD";
-    private static final int SIMPLE_ADD_ID = 3;
     private static final String RELATIVE_ADD_NAME = "ADD_R";
-    private static final int RELATIVE_ADD_ID = 4;
     private static final String JUMP_NAME = "JMP";
-    private static final int JUMP_ID = 5;
     private static final String CONDITIONAL_JUMP_NAME = "JMZ";
-    private static final int CONDITIONAL_JUMP_ID = 6;
     private static final String CONDITIONAL_SKIP_NAME = "CMP";
-    private static final int CONDITIONAL_SKIP_ID = 7;
     private static final String SWAP_NAME = "SWAP";
-    private static final int SWAP_ID = 8;
     private static final String INSTRUCTION_INVALID_ERROR = "instruction %s does not exist";
     private static final String INSTRUCTION_ID_INVALID_ERROR = "instruction id %d does not exist";
-
-
-    private final AiStateHandler aiStateHandler;
-    private final MemoryStateHandler memoryStateHandler;
+    private final Instruction[] instructionSet;
     private final Map<String, Integer> instructionKeyMap;
 
     /**
@@ -44,10 +73,10 @@ public final class InstructionFactory {
      * @param aiStateHandler the AiStateHandler to be used
      */
     public InstructionFactory(MemoryStateHandler memoryStateHandler, AiStateHandler aiStateHandler) {
-        this.memoryStateHandler = memoryStateHandler;
-        this.aiStateHandler = aiStateHandler;
         instructionKeyMap = new HashMap<>();
+        instructionSet = new Instruction[NUMBER_OF_INSTRUCTIONS];
         initInstructionKeyMap();
+        initInstructionSet(memoryStateHandler, aiStateHandler);
     }
 
     /**
@@ -55,23 +84,14 @@ public final class InstructionFactory {
      * @param id the ID of the instruction
      * @param argA the first argument
      * @param argB the second argument
-     * @param lastEditorName the name of the last editor
      * @return the created instruction
      * @throws InstructionCreationException if the instruction ID is invalid
      */
-    public Instruction createInstructionByID(int id, int argA, int argB, String lastEditorName) throws InstructionCreationException {
-        return switch (id) {
-            case RELATIVE_MOVE_ID -> new RelativeMoveInstruction(aiStateHandler, memoryStateHandler, argA, argB, lastEditorName);
-            case INDIRECT_MOVE_ID -> new IndirectMoveInstruction(aiStateHandler, memoryStateHandler, argA, argB, lastEditorName);
-            case RELATIVE_ADD_ID -> new RelativeAddInstruction(aiStateHandler, memoryStateHandler, argA, argB, lastEditorName);
-            case SIMPLE_ADD_ID -> new SimpleAddInstruction(aiStateHandler, argA, argB, lastEditorName);
-            case JUMP_ID -> new JumpInstruction(aiStateHandler, memoryStateHandler, argA, argB, lastEditorName);
-            case CONDITIONAL_JUMP_ID -> new ConditionalJumpInstruction(aiStateHandler, memoryStateHandler, argA, argB, lastEditorName);
-            case CONDITIONAL_SKIP_ID -> new ConditionalSkipInstruction(aiStateHandler, memoryStateHandler, argA, argB, lastEditorName);
-            case SWAP_ID -> new SwapInstruction(aiStateHandler, memoryStateHandler, argA, argB, lastEditorName);
-            case STOP_ID -> new StopInstruction(aiStateHandler, argA, argB, lastEditorName);
-            default -> throw new InstructionCreationException(INSTRUCTION_ID_INVALID_ERROR.formatted(id));
-        };
+    public InstructionData createInstructionByID(int id, int argA, int argB) throws InstructionCreationException {
+        if (id < 0 || id >= instructionSet.length) {
+            throw new InstructionCreationException(INSTRUCTION_ID_INVALID_ERROR.formatted(id));
+        }
+        return new InstructionData(instructionSet[id], argA, argB);
     }
 
     /**
@@ -79,17 +99,36 @@ public final class InstructionFactory {
      * @param instruction the name of the instruction
      * @param argA the first argument
      * @param argB the second argument
-     * @param owner the owner of the instruction
      * @return the created instruction
      * @throws InstructionCreationException if the instruction name is invalid
      */
-    public Instruction createInstructionByString(String instruction, int argA, int argB, String owner) throws InstructionCreationException {
+    public InstructionData createInstructionByString(String instruction, int argA, int argB) throws InstructionCreationException {
 
         if (!instructionKeyMap.containsKey(instruction)) {
             throw new InstructionCreationException(INSTRUCTION_INVALID_ERROR.formatted(instruction));
         }
 
-        return createInstructionByID(instructionKeyMap.get(instruction), argA, argB, owner);
+        return createInstructionByID(instructionKeyMap.get(instruction), argA, argB);
+    }
+
+    /**
+     * Returns the stateless instruction handlers indexed by their opcode.
+     * @return the instruction handlers
+     */
+    public Instruction[] getInstructionSet() {
+        return instructionSet.clone();
+    }
+
+    private void initInstructionSet(MemoryStateHandler memoryStateHandler, AiStateHandler aiStateHandler) {
+        instructionSet[STOP_ID] = new StopInstruction(STOP_ID, aiStateHandler);
+        instructionSet[RELATIVE_MOVE_ID] = new RelativeMoveInstruction(RELATIVE_MOVE_ID, aiStateHandler, memoryStateHandler);
+        instructionSet[INDIRECT_MOVE_ID] = new IndirectMoveInstruction(INDIRECT_MOVE_ID, aiStateHandler, memoryStateHandler);
+        instructionSet[SIMPLE_ADD_ID] = new SimpleAddInstruction(SIMPLE_ADD_ID, aiStateHandler, memoryStateHandler);
+        instructionSet[RELATIVE_ADD_ID] = new RelativeAddInstruction(RELATIVE_ADD_ID, aiStateHandler, memoryStateHandler);
+        instructionSet[JUMP_ID] = new JumpInstruction(JUMP_ID, aiStateHandler, memoryStateHandler);
+        instructionSet[CONDITIONAL_JUMP_ID] = new ConditionalJumpInstruction(CONDITIONAL_JUMP_ID, aiStateHandler, memoryStateHandler);
+        instructionSet[CONDITIONAL_SKIP_ID] = new ConditionalSkipInstruction(CONDITIONAL_SKIP_ID, aiStateHandler, memoryStateHandler);
+        instructionSet[SWAP_ID] = new SwapInstruction(SWAP_ID, aiStateHandler, memoryStateHandler);
     }
 
     private void initInstructionKeyMap() {
@@ -2,7 +2,6 @@ package kit.codefight.model.instructions;
 
 import kit.codefight.exceptions.InstructionExecutionException;
 import kit.codefight.exceptions.MemoryOutOfBoundsException;
-import kit.codefight.exceptions.MissingAiException;
 import kit.codefight.model.ai.AiStateHandler;
 import kit.codefight.model.memory.MemoryStateHandler;
 
@@ -16,31 +15,23 @@ final class RelativeAddInstruction extends Instruction {
     private static final boolean VALID_STARTING_INSTRUCTION = true;
     private final AiStateHandler aiStateHandler;
     private final MemoryStateHandler memoryStateHandler;
-    private boolean isAiBomb = false;
 
     /**
      * Constructs new Relative Add Instruction.
      *
+     * @param opcode the opcode of the instruction
      * @param aiStateHandler the AiStateHandler to be used
      * @param memoryStateHandler the MemoryStateHandler to be used
-     * @param argA the first argument
-     * @param argB the second argument
-     * @param owner the owner of the instruction
      */
-    RelativeAddInstruction(AiStateHandler aiStateHandler, MemoryStateHandler memoryStateHandler, int argA, int argB, String owner) {
-        super(owner, argA, argB, STRING_REPRESENTATION);
+    RelativeAddInstruction(int opcode, AiStateHandler aiStateHandler, MemoryStateHandler memoryStateHandler) {
+        super(opcode, STRING_REPRESENTATION);
         this.aiStateHandler = aiStateHandler;
         this.memoryStateHandler = memoryStateHandler;
     }
 
     @Override
-    public boolean isAIBomb() {
-        return isAiBomb;
-    }
-
-    @Override
-    public void setBombStatus() {
-        this.isAiBomb = IS_AI_BOMB;
+    public boolean isAiBomb(int argumentA, int argumentB) {
+        return IS_AI_BOMB;
     }
 
     @Override
@@ -49,46 +40,20 @@ final class RelativeAddInstruction extends Instruction {
     }
 
     @Override
-    public void execute(String executorName) throws InstructionExecutionException {
-        int currentAiPosition;
-        try {
-            currentAiPosition = aiStateHandler.getAiPointer(executorName);
-        } catch (MissingAiException e) {
-            throw new InstructionExecutionException(e.getMessage(), e);
-        }
-        int target = currentAiPosition + getArgumentB();
+    public void execute(int executorHandle) throws InstructionExecutionException {
+        int currentAiPosition = aiStateHandler.getAiPointer(executorHandle);
         try {
-            Instruction copiedInstruction = memoryStateHandler.getInstructionAtIndex(target);
-            int targetArgB = copiedInstruction.getArgumentB();
-            copiedInstruction.setArgumentB(getArgumentA() + targetArgB);
+            int argumentA = memoryStateHandler.getArgumentA(currentAiPosition);
+            int target = currentAiPosition + memoryStateHandler.getArgumentB(currentAiPosition);
 
-            copiedInstruction.setLastEditor(executorName);
-            copiedInstruction.setBombStatus();
-            memoryStateHandler.putInstructionAtIndex(target, copiedInstruction);
+            int targetOpcode = memoryStateHandler.getOpcode(target);
+            int targetArgA = memoryStateHandler.getArgumentA(target);
+            int targetArgB = memoryStateHandler.getArgumentB(target);
+            memoryStateHandler.putInstructionAtIndex(target, targetOpcode, targetArgA, argumentA + targetArgB, executorHandle);
         } catch (MemoryOutOfBoundsException e) {
             throw new InstructionExecutionException(e.getMessage(), e);
         }
 
-        try {
-            aiStateHandler.incrementAiCounter(executorName);
-        } catch (MissingAiException e) {
-            throw new InstructionExecutionException(e.getMessage(), e);
-        }
-    }
-
-    @Override
-    public Instruction copy() {
-        int argA = this.getArgumentA();
-        int argB = this.getArgumentB();
-        String lastEditorName = this.getLastEditorName();
-
-        Instruction copy = new RelativeAddInstruction(this.aiStateHandler, this.memoryStateHandler, argA, argB, lastEditorName);
-        copy.copyBombStatus(this.isAiBomb);
-        return copy;
-    }
-
-    @Override
-    protected void copyBombStatus(boolean isAiBomb) {
-        this.isAiBomb = isAiBomb;
+        aiStateHandler.incrementAiCounter(executorHandle);
     }
 }
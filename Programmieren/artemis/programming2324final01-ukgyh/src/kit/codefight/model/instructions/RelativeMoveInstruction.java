@@ -2,7 +2,6 @@ package kit.codefight.model.instructions;
 
 import kit.codefight.exceptions.InstructionExecutionException;
 import kit.codefight.exceptions.MemoryOutOfBoundsException;
-import kit.codefight.exceptions.MissingAiException;
 import kit.codefight.model.ai.AiStateHandler;
 import kit.codefight.model.memory.MemoryStateHandler;
 
@@ -16,31 +15,23 @@ final class RelativeMoveInstruction extends Instruction {
     private static final boolean VALID_STARTING_INSTRUCTION = true;
     private final MemoryStateHandler memoryStateHandler;
     private final AiStateHandler aiStateHandler;
-    private boolean isAiBomb = false;
 
     /**
      * Constructs new Relative Move Instruction.
      *
+     * @param opcode the opcode of the instruction
      * @param aiStateHandler the AiStateHandler to be used
      * @param memoryStateHandler the MemoryStateHandler to be used
-     * @param argA the first argument
-     * @param argB the second argument
-     * @param owner the owner of the instruction
      */
-    RelativeMoveInstruction(AiStateHandler aiStateHandler, MemoryStateHandler memoryStateHandler, int argA, int argB, String owner) {
-        super(owner, argA, argB, STRING_REPRESENTATION);
+    RelativeMoveInstruction(int opcode, AiStateHandler aiStateHandler, MemoryStateHandler memoryStateHandler) {
+        super(opcode, STRING_REPRESENTATION);
         this.aiStateHandler = aiStateHandler;
         this.memoryStateHandler = memoryStateHandler;
     }
 
     @Override
-    public boolean isAIBomb() {
-        return isAiBomb;
-    }
-
-    @Override
-    public void setBombStatus() {
-        this.isAiBomb = IS_AI_BOMB;
+    public boolean isAiBomb(int argumentA, int argumentB) {
+        return IS_AI_BOMB;
     }
 
     @Override
@@ -49,45 +40,21 @@ final class RelativeMoveInstruction extends Instruction {
     }
 
     @Override
-    public void execute(String executorName) throws InstructionExecutionException {
-        int currentAiPosition;
-        try {
-            currentAiPosition = aiStateHandler.getAiPointer(executorName);
-        } catch (MissingAiException e) {
-            throw new InstructionExecutionException(e.getMessage(), e);
-        }
-        int source = currentAiPosition + getArgumentA();
-        int target = currentAiPosition + getArgumentB();
+    public void execute(int executorHandle) throws InstructionExecutionException {
+        int currentAiPosition = aiStateHandler.getAiPointer(executorHandle);
 
         try {
-            Instruction copiedInstruction = memoryStateHandler.getInstructionAtIndex(source);
-            copiedInstruction.setLastEditor(executorName);
-            copiedInstruction.setBombStatus();
-            memoryStateHandler.putInstructionAtIndex(target, copiedInstruction);
+            int source = currentAiPosition + memoryStateHandler.getArgumentA(currentAiPosition);
+            int target = currentAiPosition + memoryStateHandler.getArgumentB(currentAiPosition);
+
+            int sourceOpcode = memoryStateHandler.getOpcode(source);
+            int sourceArgA = memoryStateHandler.getArgumentA(source);
+            int sourceArgB = memoryStateHandler.getArgumentB(source);
+            memoryStateHandler.putInstructionAtIndex(target, sourceOpcode, sourceArgA, sourceArgB, executorHandle);
         } catch (MemoryOutOfBoundsException e) {
             throw new InstructionExecutionException(e.getMessage(), e);
         }
-        try {
-            aiStateHandler.incrementAiCounter(executorName);
-        } catch (MissingAiException e) {
-            throw new InstructionExecutionException(e.getMessage(), e);
-        }
-
-    }
-
-    @Override
-    public Instruction copy() {
-        int argA = this.getArgumentA();
-        int argB = this.getArgumentB();
-        String lastEditorName = this.getLastEditorName();
-
-        Instruction copy = new RelativeMoveInstruction(this.aiStateHandler, this.memoryStateHandler, argA, argB, lastEditorName);
-        copy.copyBombStatus(this.isAiBomb);
-        return copy;
-    }
+        aiStateHandler.incrementAiCounter(executorHandle);
 
-    @Override
-    protected void copyBombStatus(boolean isAiBomb) {
-        this.isAiBomb = isAiBomb;
     }
 }
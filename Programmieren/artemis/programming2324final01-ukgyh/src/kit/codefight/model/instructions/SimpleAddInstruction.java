@@ -1,8 +1,9 @@
 package kit.codefight.model.instructions;
 
 import kit.codefight.exceptions.InstructionExecutionException;
-import kit.codefight.exceptions.MissingAiException;
+import kit.codefight.exceptions.MemoryOutOfBoundsException;
 import kit.codefight.model.ai.AiStateHandler;
+import kit.codefight.model.memory.MemoryStateHandler;
 
 /**
  * represents the Simple Add instruction.
@@ -13,29 +14,24 @@ final class SimpleAddInstruction extends Instruction {
     private static final boolean IS_AI_BOMB = false;
     private static final boolean VALID_STARTING_INSTRUCTION = true;
     private final AiStateHandler aiStateHandler;
-    private boolean isAiBomb = false;
+    private final MemoryStateHandler memoryStateHandler;
 
     /**
      * Constructs new Simple Add Instruction.
      *
+     * @param opcode the opcode of the instruction
      * @param aiStateHandler the AiStateHandler to be used
-     * @param argA the first argument
-     * @param argB the second argument
-     * @param owner the owner of the instruction
+     * @param memoryStateHandler the MemoryStateHandler to be used
      */
-    SimpleAddInstruction(AiStateHandler aiStateHandler, int argA, int argB, String owner) {
-        super(owner, argA, argB, STRING_REPRESENTATION);
+    SimpleAddInstruction(int opcode, AiStateHandler aiStateHandler, MemoryStateHandler memoryStateHandler) {
+        super(opcode, STRING_REPRESENTATION);
         this.aiStateHandler = aiStateHandler;
+        this.memoryStateHandler = memoryStateHandler;
     }
 
     @Override
-    public boolean isAIBomb() {
-        return isAiBomb;
-    }
-
-    @Override
-    public void setBombStatus() {
-        this.isAiBomb = IS_AI_BOMB;
+    public boolean isAiBomb(int argumentA, int argumentB) {
+        return IS_AI_BOMB;
     }
 
     @Override
@@ -44,32 +40,17 @@ final class SimpleAddInstruction extends Instruction {
     }
 
     @Override
-    public void execute(String executorName) throws InstructionExecutionException {
-
-        setArgumentB(getArgumentA() + getArgumentB());
-        setLastEditor(executorName);
-        setBombStatus();
+    public void execute(int executorHandle) throws InstructionExecutionException {
+        int currentAiPosition = aiStateHandler.getAiPointer(executorHandle);
 
         try {
-            aiStateHandler.incrementAiCounter(executorName);
-        } catch (MissingAiException e) {
+            int argumentA = memoryStateHandler.getArgumentA(currentAiPosition);
+            int argumentB = memoryStateHandler.getArgumentB(currentAiPosition);
+            memoryStateHandler.putInstructionAtIndex(currentAiPosition, getOpcode(), argumentA, argumentA + argumentB, executorHandle);
+        } catch (MemoryOutOfBoundsException e) {
             throw new InstructionExecutionException(e.getMessage(), e);
         }
-    }
 
-    @Override
-    public Instruction copy() {
-        int argA = this.getArgumentA();
-        int argB = this.getArgumentB();
-        String lastEditorName = this.getLastEditorName();
-
-        Instruction copy = new SimpleAddInstruction(this.aiStateHandler, argA, argB, lastEditorName);
-        copy.copyBombStatus(this.isAiBomb);
-        return copy;
-    }
-
-    @Override
-    protected void copyBombStatus(boolean isAiBomb) {
-        this.isAiBomb = isAiBomb;
+        aiStateHandler.incrementAiCounter(executorHandle);
     }
 }
@@ -2,7 +2,6 @@ package kit.codefight.model.instructions;
 
 import kit.codefight.exceptions.InstructionExecutionException;
 import kit.codefight.exceptions.MemoryOutOfBoundsException;
-import kit.codefight.exceptions.MissingAiException;
 import kit.codefight.model.ai.AiStateHandler;
 import kit.codefight.model.memory.MemoryStateHandler;
 
@@ -17,32 +16,23 @@ final class SwapInstruction extends Instruction {
     private static final String STRING_REPRESENTATION = "SWAP";
     private final AiStateHandler aiStateHandler;
     private final MemoryStateHandler memoryStateHandler;
-    private boolean isAiBomb = false;
 
     /**
      * Constructs new Swap Instruction.
      *
+     * @param opcode the opcode of the instruction
      * @param aiStateHandler the AiStateHandler to be used
      * @param memoryStateHandler the MemoryStateHandler to be used
-     * @param argA the first argument
-     * @param argB the second argument
-     * @param owner the owner of the instruction
      */
-    SwapInstruction(AiStateHandler aiStateHandler, MemoryStateHandler memoryStateHandler, int argA, int argB, String owner) {
-        super(owner, argA, argB, STRING_REPRESENTATION);
+    SwapInstruction(int opcode, AiStateHandler aiStateHandler, MemoryStateHandler memoryStateHandler) {
+        super(opcode, STRING_REPRESENTATION);
         this.aiStateHandler = aiStateHandler;
         this.memoryStateHandler = memoryStateHandler;
     }
 
-
-    @Override
-    public boolean isAIBomb() {
-        return isAiBomb;
-    }
-
     @Override
-    public void setBombStatus() {
-        this.isAiBomb = IS_AI_BOMB;
+    public boolean isAiBomb(int argumentA, int argumentB) {
+        return IS_AI_BOMB;
     }
 
     @Override
@@ -51,77 +41,34 @@ final class SwapInstruction extends Instruction {
     }
 
     @Override
-    public void execute(String executorName) throws InstructionExecutionException {
-        int currentAiPosition;
-        try {
-            currentAiPosition = aiStateHandler.getAiPointer(executorName);
-        } catch (MissingAiException e) {
-            throw new InstructionExecutionException(e.getMessage(), e);
-        }
-        int firstPosition = currentAiPosition + getArgumentA();
-        int secondPosition = currentAiPosition + getArgumentB();
-
-        // Check if first and second positions are the same, indicating the same instruction
-        if (firstPosition == secondPosition) {
-            try {
-                Instruction instruction = memoryStateHandler.getInstructionAtIndex(firstPosition);
-                // Swap argument A and B within the same instruction
-                int temp = instruction.getArgumentA();
-                instruction.setArgumentA(instruction.getArgumentB());
-                instruction.setArgumentB(temp);
-
-                instruction.setLastEditor(executorName);
-                instruction.setBombStatus();
-
-                memoryStateHandler.putInstructionAtIndex(firstPosition, instruction);
-            } catch (MemoryOutOfBoundsException e) {
-                throw new InstructionExecutionException(e.getMessage(), e);
-            }
-        } else {
-            try {
-                Instruction firstInstruction = memoryStateHandler.getInstructionAtIndex(firstPosition);
-                Instruction secondInstruction = memoryStateHandler.getInstructionAtIndex(secondPosition);
-
-                int firstArgA = firstInstruction.getArgumentA();
-                int secondArgB = secondInstruction.getArgumentB();
+    public void execute(int executorHandle) throws InstructionExecutionException {
+        int currentAiPosition = aiStateHandler.getAiPointer(executorHandle);
 
-                firstInstruction.setArgumentA(secondArgB);
-                secondInstruction.setArgumentB(firstArgA);
-
-                firstInstruction.setLastEditor(executorName);
-                secondInstruction.setLastEditor(executorName);
-
-                firstInstruction.setBombStatus();
-                secondInstruction.setBombStatus();
+        try {
+            int firstPosition = currentAiPosition + memoryStateHandler.getArgumentA(currentAiPosition);
+            int secondPosition = currentAiPosition + memoryStateHandler.getArgumentB(currentAiPosition);
 
-                memoryStateHandler.putInstructionAtIndex(firstPosition, firstInstruction);
-                memoryStateHandler.putInstructionAtIndex(secondPosition, secondInstruction);
+            int firstOpcode = memoryStateHandler.getOpcode(firstPosition);
+            int firstArgA = memoryStateHandler.getArgumentA(firstPosition);
+            int firstArgB = memoryStateHandler.getArgumentB(firstPosition);
 
-            } catch (MemoryOutOfBoundsException e) {
-                throw new InstructionExecutionException(e.getMessage(), e);
+            // Check if first and second positions are the same, indicating the same instruction
+            if (firstPosition == secondPosition) {
+                // Swap argument A and B within the same instruction
+                memoryStateHandler.putInstructionAtIndex(firstPosition, firstOpcode, firstArgB, firstArgA, executorHandle);
+            } else {
+                // both cells are read before writing, positions that only match circularly keep the second write
+                int secondOpcode = memoryStateHandler.getOpcode(secondPosition);
+                int secondArgA = memoryStateHandler.getArgumentA(secondPosition);
+                int secondArgB = memoryStateHandler.getArgumentB(secondPosition);
+
+                memoryStateHandler.putInstructionAtIndex(firstPosition, firstOpcode, secondArgB, firstArgB, executorHandle);
+                memoryStateHandler.putInstructionAtIndex(secondPosition, secondOpcode, secondArgA, firstArgA, executorHandle);
             }
-        }
-
-        try {
-            aiStateHandler.incrementAiCounter(executorName);
-        } catch (MissingAiException e) {
+        } catch (MemoryOutOfBoundsException e) {
             throw new InstructionExecutionException(e.getMessage(), e);
         }
-    }
-
-    @Override
-    public Instruction copy() {
-        int argA = this.getArgumentA();
-        int argB = this.getArgumentB();
-        String lastEditorName = this.getLastEditorName();
 
-        Instruction copy = new SwapInstruction(this.aiStateHandler, this.memoryStateHandler, argA, argB, lastEditorName);
-        copy.copyBombStatus(this.isAiBomb);
-        return copy;
-    }
-
-    @Override
-    protected void copyBombStatus(boolean isAiBomb) {
-        this.isAiBomb = isAiBomb;
+        aiStateHandler.incrementAiCounter(executorHandle);
     }
 }
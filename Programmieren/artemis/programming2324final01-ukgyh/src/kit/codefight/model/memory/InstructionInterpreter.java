@@ -0,0 +1,137 @@
+package kit.codefight.model.memory;
+
+import kit.codefight.exceptions.InstructionExecutionException;
+import kit.codefight.model.ai.AiStateHandler;
+import kit.codefight.model.instructions.Instruction;
+import kit.codefight.model.instructions.InstructionFactory;
+
+/**
+ * Executes instructions by switching over the opcode stored in memory instead of calling the instruction handlers.
+ * All instructions are implemented in one method that reads the cells directly from the memory, so the step loop
+ * has no virtual call and the pointer of the executing AI is fetched only once per step.
+ * The instruction handlers remain the reference semantics, every instruction here must have the same effect
+ * on the memory, the AIs and the recorder as its handler. Whether an edited cell is an AI bomb is decided by the
+ * handler of its opcode, so the rules exist only once.
+ * The memory and the pointers are validated once when a game starts, so the cells are read without bounds checks
+ * and only a cell that holds no instruction is reported as an error.
+ * @author ukgyh
+ */
+public final class InstructionInterpreter {
+    private static final String UNKNOWN_OPCODE_ERROR = "opcode %d at index %d is not an instruction";
+    private static final int INCREMENT_OFFSET = -1;
+    private static final int SKIP_INCREMENT = 1;
+    private final MemoryStateHandler memoryStateHandler;
+    private final AiStateHandler aiStateHandler;
+    private final Instruction[] instructionSet;
+
+    /**
+     * Constructs a new InstructionInterpreter.
+     * @param memoryStateHandler the MemoryStateHandler holding the memory
+     * @param aiStateHandler the AiStateHandler holding the AIs
+     * @param instructionSet the instruction handlers indexed by their opcode
+     */
+    public InstructionInterpreter(MemoryStateHandler memoryStateHandler, AiStateHandler aiStateHandler,
+                                  Instruction[] instructionSet) {
+        this.memoryStateHandler = memoryStateHandler;
+        this.aiStateHandler = aiStateHandler;
+        this.instructionSet = instructionSet;
+    }
+
+    /**
+     * Executes the instruction at the pointer of the given AI.
+     * @param executorHandle the handle of the executing AI
+     * @param position the pointer of the executing AI, which the step loop already read
+     * @throws InstructionExecutionException if the cell holds no instruction, which means the memory is corrupted
+     */
+    public void execute(int executorHandle, int position) throws InstructionExecutionException {
+        Memory memory = memoryStateHandler.getMemory();
+        int opcode = memory.opcodeAt(position);
+        int argumentA = memory.argumentAAt(position);
+        int argumentB = memory.argumentBAt(position);
+        switch (opcode) {
+            case InstructionFactory.STOP_ID -> {
+                aiStateHandler.stopAi(executorHandle);
+                return;
+            }
+            case InstructionFactory.RELATIVE_MOVE_ID -> {
+                int source = wrap(position, argumentA);
+                copyCell(memory, source, wrap(position, argumentB), executorHandle);
+            }
+            case InstructionFactory.INDIRECT_MOVE_ID -> {
+                int source = wrap(position, argumentA);
+                int intermediate = wrap(position, argumentB);
+                copyCell(memory, source, wrap(intermediate, memory.argumentBAt(intermediate)), executorHandle);
+            }
+            case InstructionFactory.SIMPLE_ADD_ID -> memoryStateHandler.writeCell(position, opcode, argumentA,
+                    argumentA + argumentB, executorHandle, isAiBomb(opcode, argumentA, argumentA + argumentB));
+            case InstructionFactory.RELATIVE_ADD_ID -> {
+                int target = wrap(position, argumentB);
+                int targetOpcode = memory.opcodeAt(target);
+                int targetArgumentA = memory.argumentAAt(target);
+                int targetArgumentB = argumentA + memory.argumentBAt(target);
+                memoryStateHandler.writeCell(target, targetOpcode, targetArgumentA, targetArgumentB, executorHandle,
+                        isAiBomb(targetOpcode, targetArgumentA, targetArgumentB));
+            }
+            case InstructionFactory.JUMP_ID -> jump(executorHandle, position, argumentA);
+            case InstructionFactory.CONDITIONAL_JUMP_ID -> {
+                if (memory.argumentBAt(wrap(position, argumentB)) == 0) {
+                    jump(executorHandle, position, argumentA);
+                }
+            }
+            case InstructionFactory.CONDITIONAL_SKIP_ID -> {
+                if (memory.argumentAAt(wrap(position, argumentA)) != memory.argumentBAt(wrap(position, argumentB))) {
+                    aiStateHandler.moveAiPointer(executorHandle, wrap(position, SKIP_INCREMENT));
+                }
+            }
+            case InstructionFactory.SWAP_ID -> swap(memory, position, argumentA, argumentB, executorHandle);
+            default -> throw new InstructionExecutionException(UNKNOWN_OPCODE_ERROR.formatted(opcode, position));
+        }
+        aiStateHandler.incrementAiCounter(executorHandle);
+    }
+
+    private boolean isAiBomb(int opcode, int argumentA, int argumentB) {
+        return instructionSet[opcode].isAiBomb(argumentA, argumentB);
+    }
+
+    private void copyCell(Memory memory, int source, int target, int executorHandle) {
+        int sourceOpcode = memory.opcodeAt(source);
+        int sourceArgumentA = memory.argumentAAt(source);
+        int sourceArgumentB = memory.argumentBAt(source);
+        memoryStateHandler.writeCell(target, sourceOpcode, sourceArgumentA, sourceArgumentB, executorHandle,
+                isAiBomb(sourceOpcode, sourceArgumentA, sourceArgumentB));
+    }
+
+    private void jump(int executorHandle, int position, int argumentA) {
+        int newPosition = wrap(position, argumentA) + INCREMENT_OFFSET;
+        //the AI has to be at the target after the pointer is advanced at the end of the step
+        if (newPosition < 0) {
+            newPosition = memoryStateHandler.getMemorySize() - 1;
+        }
+        aiStateHandler.moveAiPointer(executorHandle, newPosition);
+    }
+
+    private void swap(Memory memory, int position, int argumentA, int argumentB, int executorHandle) {
+        int first = wrap(position, argumentA);
+        int firstOpcode = memory.opcodeAt(first);
+        int firstArgumentA = memory.argumentAAt(first);
+        int firstArgumentB = memory.argumentBAt(first);
+        //like the handler, only equal arguments swap inside one cell, positions that only match circularly keep the second write
+        if (argumentA == argumentB) {
+            memoryStateHandler.writeCell(first, firstOpcode, firstArgumentB, firstArgumentA, executorHandle,
+                    isAiBomb(firstOpcode, firstArgumentB, firstArgumentA));
+            return;
+        }
+        int second = wrap(position, argumentB);
+        int secondOpcode = memory.opcodeAt(second);
+        int secondArgumentA = memory.argumentAAt(second);
+        int secondArgumentB = memory.argumentBAt(second);
+        memoryStateHandler.writeCell(first, firstOpcode, secondArgumentB, firstArgumentB, executorHandle,
+                isAiBomb(firstOpcode, secondArgumentB, firstArgumentB));
+        memoryStateHandler.writeCell(second, secondOpcode, secondArgumentA, firstArgumentA, executorHandle,
+                isAiBomb(secondOpcode, secondArgumentA, firstArgumentA));
+    }
+
+    private int wrap(int position, int offset) {
+        return memoryStateHandler.offsetIndex(position, offset);
+    }
+}
@@ -1,24 +1,142 @@
 package kit.codefight.model.memory;
 
 import kit.codefight.exceptions.InstructionExecutionException;
+import kit.codefight.exceptions.MemoryAllocationException;
 import kit.codefight.exceptions.MemoryOutOfBoundsException;
 import kit.codefight.model.instructions.Instruction;
 
 /**
  * This class represents the memory of the game.
+ * Every cell holds an opcode, two arguments, its last editor and its AI bomb status without any objects per cell.
+ * The checked accessors validate the index, the unchecked accessors are used by the execution after the memory
+ * was validated once when the game started. How the cells are stored is decided by the {@link MemoryBackend}.
  * @author ukgyh
  */
-public class Memory {
+public abstract class Memory {
+    /**
+     * opcode of a cell that was never filled.
+     */
+    static final byte EMPTY_OPCODE = -1;
     private static final String MEMORY_OUT_OF_BOUNDS_ERROR = "index %d is out of bounds for memory size %d";
     private static final int MINIMUM_MEMORY_INDEX = 0;
-    private final Instruction[] memoryArray;
+    private final Instruction[] instructionSet;
+    private final int memorySize;
 
     /**
      * Constructs new Memory.
      * @param memorySize the amount of memory cells
+     * @param instructionSet the instruction handlers indexed by their opcode
+     */
+    Memory(int memorySize, Instruction[] instructionSet) {
+        this.instructionSet = instructionSet;
+        this.memorySize = memorySize;
+    }
+
+    /**
+     * Returns the amount of memory cells.
+     * @return the size of the memory
+     */
+    int getMemorySize() {
+        return memorySize;
+    }
+
+    /**
+     * Takes a snapshot of the memory.
+     * @return the snapshot
+     * @throws MemoryAllocationException if the snapshot needs a copy of the cells that cannot be allocated
+     */
+    public abstract MemorySnapshot snapshot() throws MemoryAllocationException;
+
+    /**
+     * Restores the memory to the state of the given snapshot, which stays valid and can be restored again.
+     * @param snapshot the snapshot of a memory of the same size
+     */
+    public abstract void restore(MemorySnapshot snapshot);
+
+    /**
+     * Fills the memory with the given cells, repeated every {@link MemoryPage#PAGE_SIZE} cells.
+     * @param opcodes the opcodes of the cells of the template page
+     * @param argumentsA the first arguments of the cells of the template page
+     * @param argumentsB the second arguments of the cells of the template page
+     * @param lastEditor the handle of the last editor of the cells
+     */
+    abstract void fillWithTemplate(byte[] opcodes, int[] argumentsA, int[] argumentsB, int lastEditor);
+
+    /**
+     * Checks that every cell holds an opcode below the given bound.
+     * @param numberOfOpcodes the number of valid opcodes
+     * @return true if every opcode is valid, false otherwise
+     */
+    abstract boolean holdsOnlyOpcodesBelow(int numberOfOpcodes);
+
+    /**
+     * Writes the given instruction into the cell at the given index without checking the index.
+     * @param index the index of the cell, which has to be inside the memory
+     * @param opcode the opcode of the instruction
+     * @param argumentA the first argument of the instruction
+     * @param argumentB the second argument of the instruction
+     * @param lastEditor the handle of the last editor of the cell
+     * @param isAiBomb whether the cell is an AI bomb
+     */
+    abstract void writeAt(int index, int opcode, int argumentA, int argumentB, int lastEditor, boolean isAiBomb);
+
+    /**
+     * Writes consecutive cells that are no AI bombs from the given arrays without checking the indices.
+     * @param index the index of the first cell
+     * @param opcodes the opcodes of the instructions
+     * @param argumentsA the first arguments of the instructions
+     * @param argumentsB the second arguments of the instructions
+     * @param sourceIndex the index of the first instruction in the given arrays
+     * @param length the number of cells to write, all of them inside the memory
+     * @param lastEditor the handle of the last editor of the cells
+     */
+    abstract void loadRange(int index, byte[] opcodes, int[] argumentsA, int[] argumentsB, int sourceIndex, int length,
+                            int lastEditor);
+
+    /**
+     * Gets the opcode of the cell at the given index without checking the index.
+     * @param index the index of the cell, which has to be inside the memory
+     * @return the opcode at the given index
+     */
+    abstract byte opcodeAt(int index);
+
+    /**
+     * Gets argument A of the cell at the given index without checking the index.
+     * @param index the index of the cell, which has to be inside the memory
+     * @return argument A at the given index
+     */
+    abstract int argumentAAt(int index);
+
+    /**
+     * Gets argument B of the cell at the given index without checking the index.
+     * @param index the index of the cell, which has to be inside the memory
+     * @return argument B at the given index
      */
-    Memory(int memorySize) {
-        this.memoryArray = new Instruction[memorySize];
+    abstract int argumentBAt(int index);
+
+    /**
+     * Gets the handle of the last editor of the cell at the given index without checking the index.
+     * @param index the index of the cell, which has to be inside the memory
+     * @return the handle of the last editor at the given index
+     */
+    abstract int lastEditorAt(int index);
+
+    /**
+     * Checks if the cell at the given index is an AI bomb without checking the index.
+     * @param index the index of the cell, which has to be inside the memory
+     * @return true if the cell is an AI bomb, false otherwise
+     */
+    abstract boolean aiBombAt(int index);
+
+    /**
+     * Copies every cell of a snapshot that was taken from a memory of another backend.
+     * @param snapshot the snapshot of a memory of the same size
+     */
+    void copyCells(MemorySnapshot snapshot) {
+        for (int index = 0; index < memorySize; index++) {
+            writeAt(index, snapshot.opcodeAt(index), snapshot.argumentAAt(index), snapshot.argumentBAt(index),
+                    snapshot.lastEditorAt(index), snapshot.aiBombAt(index));
+        }
     }
 
     /**
@@ -28,10 +146,8 @@ public class Memory {
      * @throws MemoryOutOfBoundsException if the index is out of bounds
      */
     public boolean isCellEmpty(int index) throws MemoryOutOfBoundsException {
-        if (!isValidIndex(index)) {
-            throw new MemoryOutOfBoundsException(MEMORY_OUT_OF_BOUNDS_ERROR.formatted(index, memoryArray.length));
-        }
-        return memoryArray[index] == null;
+        checkIndex(index);
+        return opcodeAt(index) == EMPTY_OPCODE;
     }
 
     /**
@@ -40,50 +156,126 @@ public class Memory {
      * @return true if the index is valid, false otherwise
      */
     private boolean isValidIndex(int index) {
-        return index >= MINIMUM_MEMORY_INDEX && index < memoryArray.length;
+        return index >= MINIMUM_MEMORY_INDEX && index < memorySize;
+    }
+
+    private void checkIndex(int index) throws MemoryOutOfBoundsException {
+        if (!isValidIndex(index)) {
+            throw new MemoryOutOfBoundsException(MEMORY_OUT_OF_BOUNDS_ERROR.formatted(index, memorySize));
+        }
     }
 
     /**
-     * Puts the given instruction at the given index.
+     * Writes the given instruction into the cell at the given index.
      * @param index the index of the cell
-     * @param instruction the instruction to be put
+     * @param opcode the opcode of the instruction
+     * @param argumentA the first argument of the instruction
+     * @param argumentB the second argument of the instruction
+     * @param lastEditor the handle of the last editor of the cell
+     * @param isAiBomb whether the cell is an AI bomb
      * @throws MemoryOutOfBoundsException if the index is out of bounds
      */
-    public void putInstructionAtIndex(int index, Instruction instruction) throws MemoryOutOfBoundsException {
-        if (!isValidIndex(index)) {
-            throw new MemoryOutOfBoundsException(MEMORY_OUT_OF_BOUNDS_ERROR.formatted(index, memoryArray.length));
-        }
-        memoryArray[index] = instruction;
-
+    public void putInstructionAtIndex(int index, int opcode, int argumentA, int argumentB, int lastEditor, boolean isAiBomb)
+            throws MemoryOutOfBoundsException {
+        checkIndex(index);
+        writeAt(index, opcode, argumentA, argumentB, lastEditor, isAiBomb);
+    }
 
+    /**
+     * Writes consecutive cells that are no AI bombs from the given arrays in bulk.
+     * @param index the index of the first cell
+     * @param opcodes the opcodes of the instructions
+     * @param argumentsA the first arguments of the instructions
+     * @param argumentsB the second arguments of the instructions
+     * @param sourceIndex the index of the first instruction in the given arrays
+     * @param length the number of cells to write
+     * @param lastEditor the handle of the last editor of the cells
+     * @throws MemoryOutOfBoundsException if the cells are out of bounds
+     */
+    public void loadCells(int index, byte[] opcodes, int[] argumentsA, int[] argumentsB, int sourceIndex, int length,
+                          int lastEditor) throws MemoryOutOfBoundsException {
+        if (length > 0) {
+            checkIndex(index);
+            checkIndex(index + length - 1);
+        }
+        loadRange(index, opcodes, argumentsA, argumentsB, sourceIndex, length, lastEditor);
     }
 
     /**
      * Executes the instruction at the given index.
      * @param index the index of the cell
-     * @param aiName the name of the AI that is executing the instruction
+     * @param aiHandle the handle of the AI that is executing the instruction
      * @throws MemoryOutOfBoundsException if the index is out of bounds
      * @throws InstructionExecutionException if there is a problem executing the instruction
      */
-    public void executeInstruction(int index, String aiName) throws MemoryOutOfBoundsException, InstructionExecutionException {
-        if (!isValidIndex(index)) {
-            throw new MemoryOutOfBoundsException(MEMORY_OUT_OF_BOUNDS_ERROR.formatted(index, memoryArray.length));
-        }
-        memoryArray[index].execute(aiName);
+    public void executeInstruction(int index, int aiHandle) throws MemoryOutOfBoundsException, InstructionExecutionException {
+        checkIndex(index);
+        instructionSet[opcodeAt(index)].execute(aiHandle);
     }
 
     /**
-     * Gets the instruction at the given index.
+     * Gets the instruction handler of the cell at the given index.
      * @param index the index of the cell
      * @return the instruction at the given index
      * @throws MemoryOutOfBoundsException if the index is out of bounds
      */
     public Instruction getInstructionAtIndex(int index) throws MemoryOutOfBoundsException {
-        if (!isValidIndex(index)) {
-            throw new MemoryOutOfBoundsException(MEMORY_OUT_OF_BOUNDS_ERROR.formatted(index, memoryArray.length));
-        }
-        return memoryArray[index].copy();
+        checkIndex(index);
+        return instructionSet[opcodeAt(index)];
+    }
 
+    /**
+     * Gets the opcode of the cell at the given index.
+     * @param index the index of the cell
+     * @return the opcode at the given index
+     * @throws MemoryOutOfBoundsException if the index is out of bounds
+     */
+    public int getOpcode(int index) throws MemoryOutOfBoundsException {
+        checkIndex(index);
+        return opcodeAt(index);
     }
-}
 
+    /**
+     * Gets argument A of the cell at the given index.
+     * @param index the index of the cell
+     * @return argument A at the given index
+     * @throws MemoryOutOfBoundsException if the index is out of bounds
+     */
+    public int getArgumentA(int index) throws MemoryOutOfBoundsException {
+        checkIndex(index);
+        return argumentAAt(index);
+    }
+
+    /**
+     * Gets argument B of the cell at the given index.
+     * @param index the index of the cell
+     * @return argument B at the given index
+     * @throws MemoryOutOfBoundsException if the index is out of bounds
+     */
+    public int getArgumentB(int index) throws MemoryOutOfBoundsException {
+        checkIndex(index);
+        return argumentBAt(index);
+    }
+
+    /**
+     * Gets the handle of the last editor of the cell at the given index.
+     * @param index the index of the cell
+     * @return the handle of the last editor at the given index
+     * @throws MemoryOutOfBoundsException if the index is out of bounds
+     */
+    public int getLastEditor(int index) throws MemoryOutOfBoundsException {
+        checkIndex(index);
+        return lastEditorAt(index);
+    }
+
+    /**
+     * Checks if the cell at the given index is an AI bomb.
+     * @param index the index of the cell
+     * @return true if the cell is an AI bomb, false otherwise
+     * @throws MemoryOutOfBoundsException if the index is out of bounds
+     */
+    public boolean isAiBomb(int index) throws MemoryOutOfBoundsException {
+        checkIndex(index);
+        return aiBombAt(index);
+    }
+}
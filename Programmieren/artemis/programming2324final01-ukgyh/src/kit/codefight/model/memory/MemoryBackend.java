@@ -0,0 +1,16 @@
+package kit.codefight.model.memory;
+
+/**
+ * represents the possible ways the cells of the memory are stored.
+ * @author ukgyh
+ */
+public enum MemoryBackend {
+    /**
+     * the cells are stored in copy-on-write pages of primitive arrays on the heap, which is the default.
+     */
+    PAGED,
+    /**
+     * the cells are stored in one direct buffer outside of the heap and snapshots copy the whole buffer.
+     */
+    OFF_HEAP
+}
@@ -1,19 +1,21 @@
 package kit.codefight.model.memory;
 
+import kit.codefight.display.DisplayContent;
 import kit.codefight.exceptions.GameExecutionException;
 import kit.codefight.exceptions.MemoryOutOfBoundsException;
 import kit.codefight.exceptions.MissingAiException;
 import kit.codefight.model.ai.AiStateHandler;
-import kit.codefight.model.instructions.Instruction;
+import kit.codefight.model.instructions.InstructionData;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.HashSet;
 import java.util.List;
-import java.util.Set;
 
 /**
  * Handles the display of the memory and AI information for the user interface.
+ * The symbols of a memory up to {@link #MAXIMUM_CACHED_MEMORY_SIZE} cells are cached and only rendered again when written,
+ * the symbols of a larger memory are rendered while writing the display, so a large arena needs no display memory per cell.
  * @author ukgyh
  */
 public final class MemoryDisplayHandler {
@@ -28,8 +30,7 @@ public final class MemoryDisplayHandler {
     private static final String GAME_INFO_SEPARATION_SYMBOL = ", ";
     private static final String NUMBER_INSTRUCTION_SEPARATION_SYMBOL = ":";
     private static final String ENTRY_SEPARATION_SYMBOL = " | ";
-    private static final String PADDING_SYMBOL_1 = "%";
-    private static final String PADDING_SYMBOL_2 = "s";
+    private static final String PADDING_SYMBOL = " ";
     private static final int UNUSED_INSTRUCTION_SYMBOL_INDEX = 0;
     private static final int MEMORY_SEGMENT_SYMBOL_INDEX = 1;
     private static final int NEXT_INSTRUCTION_SYMBOL_INDEX = 2;
@@ -43,6 +44,9 @@ public final class MemoryDisplayHandler {
     private static final int INSTRUCTION_POSITION_DATA_INDEX = 3;
     private static final int INSTRUCTION_SYMBOL_DATA_INDEX = 4;
     private static final int STOP_INSTRUCTION_EXTRA = 1;
+    private static final int AI_SYMBOL_AMOUNT = 2;
+    private static final int BOMB_SYMBOL_OFFSET = 1;
+    private static final int MAXIMUM_CACHED_MEMORY_SIZE = 1 << 16;
     private final MemoryStateHandler memoryStateHandler;
     private final AiStateHandler aiStateHandler;
     private String unusedInstructionSymbol;
@@ -50,14 +54,14 @@ public final class MemoryDisplayHandler {
     private String nextInstructionSymbol;
     private String laterInstructionSymbol;
     private List<String> aiSymbols;
-
-    /**
-     * Represents the result of the AI information retrieval.
-     * @param aiNames The names of the AI entities.
-     * @param nextInstruction The index of the next instruction to be executed.
-     * @param laterInstructionPointers The indices of the next instructions of other AIs.
-     */
-    public record AiInfoResult(List<String> aiNames, int nextInstruction, Set<Integer> laterInstructionPointers) { }
+    private String[] ownerSymbols;
+    private String[] bombSymbols;
+    private String[] cellSymbols;
+    private String[] displayedSymbols;
+    private int[] pointerCells;
+    private String[] pointerSymbols;
+    private int pointerCellAmount;
+    private boolean cached;
 
     /**
      * Constructs a new MemoryDisplayHandler with the specified memory and AI state handlers.
@@ -80,74 +84,153 @@ public final class MemoryDisplayHandler {
         nextInstructionSymbol = gameSymbols[NEXT_INSTRUCTION_SYMBOL_INDEX];
         laterInstructionSymbol = gameSymbols[LATER_INSTRUCTION_SYMBOL_INDEX];
         this.aiSymbols = new ArrayList<>(aiSymbols);
+        this.pointerCells = null;
+        this.cellSymbols = null;
+        this.displayedSymbols = null;
+    }
+
+    /**
+     * Builds the lookup tables from AI handles to their symbols for the AIs of the game that was just started.
+     */
+    public void loadAiSymbols() {
+        //headless games, e.g. in a tournament, never initialize the display
+        if (aiSymbols == null) {
+            return;
+        }
+        int numberOfAi = aiStateHandler.getNumberOfAi();
+        ownerSymbols = new String[numberOfAi];
+        bombSymbols = new String[numberOfAi];
+        //the handle of an AI is its position in the ordered AI names
+        for (int handle = 0; handle < numberOfAi; handle++) {
+            ownerSymbols[handle] = aiSymbols.get(handle * AI_SYMBOL_AMOUNT);
+            bombSymbols[handle] = aiSymbols.get(handle * AI_SYMBOL_AMOUNT + BOMB_SYMBOL_OFFSET);
+        }
     }
 
     /**
-     * Returns a string representation of the memory display.
+     * Returns the memory display, which is written directly into the output.
+     * Only the cells written since the last call and the positions of the AI pointers are rendered again.
+     * The content has to be written before the next game step is executed.
      * @param counter index of AI that is next to execute in the activeAi List.
-     * @return A string representation of the memory display.
+     * @return the memory display
      * @throws GameExecutionException If there is an error constructing the memory display.
      */
-    public List<String> getMemoryDisplay(int counter) throws GameExecutionException {
-        AiInfoResult aiInfo = getAiInfo(counter);
-        int nextInstruction = aiInfo.nextInstruction();
-        Set<Integer> laterAiInstructionPointers = aiInfo.laterInstructionPointers();
-        //list of all AI names, active or stopped
-        List<String> aiNames = aiInfo.aiNames;
+    public DisplayContent getMemoryDisplay(int counter) throws GameExecutionException {
+        refreshDisplay(counter);
+        return this::writeDisplayedSymbols;
+    }
 
+    private void writeDisplayedSymbols(Appendable output) throws IOException {
         int memorySize = memoryStateHandler.getMemorySize();
-        List<String> memoryDisplay = new ArrayList<>();
-
         for (int i = 0; i < memorySize; i++) {
-            if (i == nextInstruction) {
-                memoryDisplay.add(nextInstructionSymbol);
-                continue;
-            } else if (laterAiInstructionPointers.contains(i)) {
-                memoryDisplay.add(laterInstructionSymbol);
-                continue;
+            output.append(getDisplayedSymbol(i));
+        }
+    }
+
+    private String getDisplayedSymbol(int index) {
+        if (cached) {
+            return displayedSymbols[index];
+        }
+        //the next instruction is the last pointer cell and takes precedence over the later instructions
+        for (int i = pointerCellAmount - 1; i >= 0; i--) {
+            if (pointerCells[i] == index) {
+                return pointerSymbols[i];
             }
+        }
+        return getCellSymbol(index);
+    }
 
-            Instruction instruction;
-            try {
-                instruction = memoryStateHandler.getInstructionAtIndex(i);
-            } catch (MemoryOutOfBoundsException e) {
-                throw new GameExecutionException(e.getMessage(), e);
+    /**
+     * Brings the cached display up to date with the memory and the current AI pointers.
+     * @param counter index of AI that is next to execute among the active AI
+     */
+    private void refreshDisplay(int counter) {
+        int memorySize = memoryStateHandler.getMemorySize();
+        if (pointerCells == null) {
+            pointerCells = new int[aiSymbols.size()];
+            pointerSymbols = new String[aiSymbols.size()];
+            cached = memorySize <= MAXIMUM_CACHED_MEMORY_SIZE;
+            if (cached) {
+                cellSymbols = new String[memorySize];
+                displayedSymbols = new String[memorySize];
             }
-            if (instruction.isAIBomb() && instruction.getLastEditorName() != null) {
-                String bombOwner = instruction.getLastEditorName();
-                int bombSymbolIndex = aiNames.indexOf(bombOwner) * 2 + 1;
-                memoryDisplay.add(aiSymbols.get(bombSymbolIndex));
+        }
 
-            } else if (instruction.getLastEditorName() != null) {
-                String instructionOwner = instruction.getLastEditorName();
-                int ownerIndex = Math.max(aiNames.indexOf(instructionOwner) * 2, MINIMUM_INDEX);
-                memoryDisplay.add(aiSymbols.get(ownerIndex));
+        if (cached) {
+            //removing the pointer symbols of the last refresh
+            for (int i = 0; i < pointerCellAmount; i++) {
+                displayedSymbols[pointerCells[i]] = cellSymbols[pointerCells[i]];
+            }
+            for (int i = memoryStateHandler.nextDirtyCell(MINIMUM_INDEX); i >= MINIMUM_INDEX; i = memoryStateHandler.nextDirtyCell(i + 1)) {
+                cellSymbols[i] = getCellSymbol(i);
+                displayedSymbols[i] = cellSymbols[i];
+            }
+        }
+        pointerCellAmount = 0;
+        memoryStateHandler.clearDirtyCells();
 
+        //the counter is the position of the next AI among the active AI in handle order
+        int nextInstruction = UNREACHABLE_INDEX;
+        int activeIndex = 0;
+        for (int handle = 0; handle < aiStateHandler.getNumberOfAi(); handle++) {
+            if (!aiStateHandler.isActive(handle)) {
+                continue;
+            }
+            int aiPointer = aiStateHandler.getAiPointer(handle);
+            if (activeIndex == counter) {
+                nextInstruction = aiPointer;
             } else {
-                memoryDisplay.add(unusedInstructionSymbol);
+                markPointerCell(aiPointer, laterInstructionSymbol);
             }
+            activeIndex++;
+        }
+        //the next instruction symbol takes precedence over the later instruction symbol
+        if (nextInstruction != UNREACHABLE_INDEX) {
+            markPointerCell(nextInstruction, nextInstructionSymbol);
         }
-        return memoryDisplay;
+    }
+
+    private void markPointerCell(int index, String symbol) {
+        if (cached) {
+            displayedSymbols[index] = symbol;
+        }
+        pointerCells[pointerCellAmount] = index;
+        pointerSymbols[pointerCellAmount] = symbol;
+        pointerCellAmount++;
+    }
+
+    private String getCellSymbol(int index) {
+        int owner = memoryStateHandler.lastEditorAt(index);
+        if (owner == MemoryStateHandler.NO_EDITOR) {
+            return unusedInstructionSymbol;
+        }
+        return memoryStateHandler.aiBombAt(index) ? bombSymbols[owner] : ownerSymbols[owner];
     }
 
     /**
-     * Returns a string representation of the memory display with a segment of instructions.
+     * Returns the memory display with a segment of instructions, which is written directly into the output.
+     * The content has to be written before the next game step is executed.
      * @param counter index of AI that is next to execute in the activeAi List.
      * @param startOfSegment the start index of the segment
-     * @return A string representation of the memory display.
+     * @return the memory display with the segment
      * @throws MemoryOutOfBoundsException If the start index is out of bounds.
      * @throws GameExecutionException If there is an error constructing the memory display.
      */
-    public List<String> getMemoryDisplay(int counter, int startOfSegment) throws MemoryOutOfBoundsException, GameExecutionException {
+    public DisplayContent getMemoryDisplay(int counter, int startOfSegment) throws MemoryOutOfBoundsException, GameExecutionException {
         validateSegmentStart(startOfSegment);
+        refreshDisplay(counter);
 
-        List<String> standardMemoryDisplay = getMemoryDisplay(counter);
-        StringBuilder instructionStringBuilder = new StringBuilder();
-
-        int instructionAmount = Math.min(MEMORY_SEGMENT_LENGTH, standardMemoryDisplay.size());
+        int instructionAmount = Math.min(MEMORY_SEGMENT_LENGTH, memoryStateHandler.getMemorySize());
+        List<List<String>> instructionData = gatherInstructionData(startOfSegment, instructionAmount);
 
-        List<List<String>> instructionData = gatherInstructionData(startOfSegment, instructionAmount, standardMemoryDisplay);
+        return output -> {
+            writeSegmentedSymbols(output, instructionAmount, startOfSegment);
+            output.append(System.lineSeparator());
+            writeInstructionRows(output, instructionData, instructionAmount);
+        };
+    }
 
+    private void writeInstructionRows(Appendable output, List<List<String>> instructionData, int instructionAmount) throws IOException {
         List<String> instructionName = instructionData.get(INSTRUCTION_NAME_DATA_INDEX);
         List<String> instructionArgA = instructionData.get(ARG_A_DATA_INDEX);
         List<String> instructionArgB = instructionData.get(ARG_B_DATA_INDEX);
@@ -155,67 +238,38 @@ public final class MemoryDisplayHandler {
         List<String> instructionIndex = instructionData.get(INSTRUCTION_POSITION_DATA_INDEX);
 
         // Find maximum lengths
-        int maxArgALength = findMaxStringLength(instructionData.get(ARG_A_DATA_INDEX));
-        int maxArgBLength = findMaxStringLength(instructionData.get(ARG_B_DATA_INDEX));
-        int maxNameLength = findMaxStringLength(instructionData.get(INSTRUCTION_NAME_DATA_INDEX));
-        int maxIndexLength = findMaxStringLength(instructionData.get(INSTRUCTION_POSITION_DATA_INDEX));
-
-        String nameFormat = PADDING_SYMBOL_1 + maxNameLength + PADDING_SYMBOL_2;
-        String argAFormat = PADDING_SYMBOL_1 + maxArgALength + PADDING_SYMBOL_2;
-        String argBFormat = PADDING_SYMBOL_1 + maxArgBLength + PADDING_SYMBOL_2;
-        String indexFormat = PADDING_SYMBOL_1 + maxIndexLength + PADDING_SYMBOL_2;
+        int maxArgALength = findMaxStringLength(instructionArgA);
+        int maxArgBLength = findMaxStringLength(instructionArgB);
+        int maxNameLength = findMaxStringLength(instructionName);
+        int maxIndexLength = findMaxStringLength(instructionIndex);
 
         for (int i = 0; i < instructionAmount; i++) {
-            instructionStringBuilder.append(instructionSymbols.get(i)).append(STANDARD_SEPARATION_SYMBOL);
+            output.append(instructionSymbols.get(i)).append(STANDARD_SEPARATION_SYMBOL);
 
             //adding left padding based on maximum lengths
-            String index = String.format(indexFormat, instructionIndex.get(i));
-            instructionStringBuilder.append(index);
-            instructionStringBuilder.append(NUMBER_INSTRUCTION_SEPARATION_SYMBOL);
-            instructionStringBuilder.append(STANDARD_SEPARATION_SYMBOL);
+            appendPadded(output, instructionIndex.get(i), maxIndexLength);
+            output.append(NUMBER_INSTRUCTION_SEPARATION_SYMBOL);
+            output.append(STANDARD_SEPARATION_SYMBOL);
 
-            String name = String.format(nameFormat, instructionName.get(i));
-            instructionStringBuilder.append(name).append(ENTRY_SEPARATION_SYMBOL);
+            appendPadded(output, instructionName.get(i), maxNameLength);
+            output.append(ENTRY_SEPARATION_SYMBOL);
 
-            String argA = String.format(argAFormat, instructionArgA.get(i));
-            instructionStringBuilder.append(argA).append(ENTRY_SEPARATION_SYMBOL);
+            appendPadded(output, instructionArgA.get(i), maxArgALength);
+            output.append(ENTRY_SEPARATION_SYMBOL);
 
-            String argB = String.format(argBFormat, instructionArgB.get(i));
-            instructionStringBuilder.append(argB);
+            appendPadded(output, instructionArgB.get(i), maxArgBLength);
 
             if (i != instructionAmount - 1) {
-                instructionStringBuilder.append(System.lineSeparator());
+                output.append(System.lineSeparator());
             }
         }
-        List<String> finalMemoryDisplay = insertSegmentSymbols(standardMemoryDisplay, instructionAmount, startOfSegment);
-        finalMemoryDisplay.add(System.lineSeparator());
-        finalMemoryDisplay.add(instructionStringBuilder.toString());
-        return finalMemoryDisplay;
     }
 
-    private AiInfoResult getAiInfo(int counter) throws GameExecutionException {
-        //default if active AI empty
-        int nextInstruction = UNREACHABLE_INDEX;
-
-        Set<Integer> laterAiInstructionPointers = new HashSet<>();
-        List<String> activeAi = aiStateHandler.getActiveAiNames();
-        List<String> orderedAiNames = aiStateHandler.getOrderedAiNames();
-
-        for (int i = 0; i < activeAi.size(); i++) {
-            int aiPointer;
-            try {
-                aiPointer = aiStateHandler.getAiPointer(activeAi.get(i));
-            } catch (MissingAiException e) {
-                throw new GameExecutionException(e.getMessage(), e);
-            }
-
-            if (i == counter) {
-                nextInstruction = aiPointer;
-            } else {
-                laterAiInstructionPointers.add(aiPointer);
-            }
+    private void appendPadded(Appendable output, String value, int length) throws IOException {
+        for (int i = value.length(); i < length; i++) {
+            output.append(PADDING_SYMBOL);
         }
-        return new AiInfoResult(orderedAiNames, nextInstruction, laterAiInstructionPointers);
+        output.append(value);
     }
 
     /**
@@ -234,15 +288,15 @@ public final class MemoryDisplayHandler {
 
             int aiPointer = aiStateHandler.getAiPointer(aiName);
 
-            Instruction nextInstruction;
+            InstructionData nextInstruction;
             try {
                 nextInstruction = memoryStateHandler.getInstructionAtIndex(aiPointer);
             } catch (MemoryOutOfBoundsException e) {
                 throw new GameExecutionException(e.getMessage(), e);
             }
             String instructionName = nextInstruction.getName();
-            int argumentA = nextInstruction.getArgumentA();
-            int argumentB = nextInstruction.getArgumentB();
+            int argumentA = nextInstruction.argumentA();
+            int argumentB = nextInstruction.argumentB();
 
             String instructionInfo = NEXT_INSTRUCTION_FORMAT.formatted(instructionName, argumentA, argumentB, aiPointer);
             return aiInfo + System.lineSeparator() + instructionInfo;
@@ -259,30 +313,29 @@ public final class MemoryDisplayHandler {
      * @return the display information of the game
      */
     public String getGameInfo() {
-        StringBuilder stringBuilder = new StringBuilder();
-
-        List<String> activeAiNames = aiStateHandler.getActiveAiNames();
-        List<String> orderedAiNames = aiStateHandler.getOrderedAiNames();
-
+        List<String> activeAiNames = new ArrayList<>();
+        List<String> stoppedAiNames = new ArrayList<>();
+        for (int handle = 0; handle < aiStateHandler.getNumberOfAi(); handle++) {
+            if (aiStateHandler.isActive(handle)) {
+                activeAiNames.add(aiStateHandler.getAiName(handle));
+            } else {
+                stoppedAiNames.add(aiStateHandler.getAiName(handle));
+            }
+        }
 
+        StringBuilder stringBuilder = new StringBuilder();
         if (!activeAiNames.isEmpty()) {
             stringBuilder.append(RUNNING_AI_FORMAT);
-
-            String activeAisJoined = String.join(GAME_INFO_SEPARATION_SYMBOL, activeAiNames);
-            stringBuilder.append(activeAisJoined);
-
-            orderedAiNames.removeAll(activeAiNames);
+            stringBuilder.append(String.join(GAME_INFO_SEPARATION_SYMBOL, activeAiNames));
         }
 
-        if (!orderedAiNames.isEmpty()) {
+        if (!stoppedAiNames.isEmpty()) {
 
             if (!activeAiNames.isEmpty()) {
                 stringBuilder.append(System.lineSeparator());
             }
             stringBuilder.append(STOPPED_AI_FORMAT);
-
-            String stoppedAisJoined = String.join(GAME_INFO_SEPARATION_SYMBOL, orderedAiNames);
-            stringBuilder.append(stoppedAisJoined);
+            stringBuilder.append(String.join(GAME_INFO_SEPARATION_SYMBOL, stoppedAiNames));
         }
 
         return stringBuilder.toString();
@@ -304,7 +357,7 @@ public final class MemoryDisplayHandler {
         }
     }
 
-    private List<List<String>> gatherInstructionData(int startSegment, int instrAmount, List<String> memory) throws GameExecutionException {
+    private List<List<String>> gatherInstructionData(int startSegment, int instrAmount) throws GameExecutionException {
         List<String> instructionName = new ArrayList<>();
         List<String> instructionArgA = new ArrayList<>();
         List<String> instructionArgB = new ArrayList<>();
@@ -313,32 +366,53 @@ public final class MemoryDisplayHandler {
 
         //collecting instruction data
         for (int i = startSegment; i < startSegment + instrAmount; i++) {
-            Instruction instruction;
+            InstructionData instruction;
             try {
                 instruction = memoryStateHandler.getInstructionAtIndex(i);
             } catch (MemoryOutOfBoundsException e) {
                 throw new GameExecutionException(e.getMessage(), e);
             }
             instructionName.add(instruction.getName());
-            instructionArgA.add(String.valueOf(instruction.getArgumentA()));
-            instructionArgB.add(String.valueOf(instruction.getArgumentB()));
+            instructionArgA.add(String.valueOf(instruction.argumentA()));
+            instructionArgB.add(String.valueOf(instruction.argumentB()));
 
             int circularIndex = memoryStateHandler.calculateCircularIndex(i);
             instructionIndex.add(String.valueOf(circularIndex));
-            instructionSymbols.add(memory.get(circularIndex));
+            instructionSymbols.add(getDisplayedSymbol(circularIndex));
         }
         return Arrays.asList(instructionArgA, instructionArgB, instructionName, instructionIndex, instructionSymbols);
     }
 
-    private List<String> insertSegmentSymbols(List<String> memoryDisplay, int instructionAmount, int startOfSegment) {
-        memoryDisplay.add(startOfSegment, memorySegmentSymbol);
+    private void writeSegmentedSymbols(Appendable output, int instructionAmount, int startOfSegment) throws IOException {
+        int memorySize = memoryStateHandler.getMemorySize();
+        //position of the closing segment symbol in the display that already contains the opening one
         int endSegmentIndex = startOfSegment + instructionAmount + 1;
 
         // Adjust endOfSegmentIndex to be the full memory size if it is at the end of the memory, else it wraps around
-        int checkEndSegmentIndex = memoryStateHandler.calculateCircularIndex(endSegmentIndex, memoryDisplay.size());
-        endSegmentIndex = (checkEndSegmentIndex == 0) ? memoryDisplay.size() : checkEndSegmentIndex;
-        memoryDisplay.add(endSegmentIndex, memorySegmentSymbol);
+        int checkEndSegmentIndex = memoryStateHandler.calculateCircularIndex(endSegmentIndex, memorySize + 1);
+        endSegmentIndex = (checkEndSegmentIndex == 0) ? memorySize + 1 : checkEndSegmentIndex;
+
+        //the cells in front of which the segment symbols are written
+        int firstSymbolCell;
+        int secondSymbolCell;
+        if (endSegmentIndex > startOfSegment) {
+            firstSymbolCell = startOfSegment;
+            secondSymbolCell = endSegmentIndex - 1;
+        } else {
+            firstSymbolCell = endSegmentIndex;
+            secondSymbolCell = startOfSegment;
+        }
 
-        return memoryDisplay;
+        for (int i = 0; i <= memorySize; i++) {
+            if (i == firstSymbolCell) {
+                output.append(memorySegmentSymbol);
+            }
+            if (i == secondSymbolCell) {
+                output.append(memorySegmentSymbol);
+            }
+            if (i < memorySize) {
+                output.append(getDisplayedSymbol(i));
+            }
+        }
     }
 }
@@ -0,0 +1,169 @@
+package kit.codefight.model.memory;
+
+import java.util.Arrays;
+
+/**
+ * A fixed-size block of memory cells stored as parallel primitive arrays.
+ * Pages are shared between a memory and its snapshots, a page may only be written by the memory holding its write token.
+ * @author ukgyh
+ */
+final class MemoryPage {
+    /**
+     * number of bits of a cell index that select the cell inside its page.
+     */
+    static final int PAGE_BITS = 6;
+    /**
+     * number of cells in a page, the AI bomb flags of a page fit into one long.
+     */
+    static final int PAGE_SIZE = 1 << PAGE_BITS;
+    /**
+     * mask selecting the position of a cell inside its page.
+     */
+    static final int PAGE_MASK = PAGE_SIZE - 1;
+    private static final long BOMB_BIT = 1L;
+    private static final long NO_AI_BOMBS = 0L;
+    private final byte[] opcodes;
+    private final int[] argumentsA;
+    private final int[] argumentsB;
+    private final short[] lastEditors;
+    private final Object owner;
+    private long aiBombs;
+
+    /**
+     * Constructs a new page of empty cells.
+     * @param emptyOpcode the opcode marking an empty cell
+     * @param owner the write token of the memory allowed to write the page
+     */
+    MemoryPage(byte emptyOpcode, Object owner) {
+        this(new byte[PAGE_SIZE], new int[PAGE_SIZE], new int[PAGE_SIZE], new short[PAGE_SIZE], NO_AI_BOMBS, owner);
+        Arrays.fill(opcodes, emptyOpcode);
+    }
+
+    private MemoryPage(byte[] opcodes, int[] argumentsA, int[] argumentsB, short[] lastEditors, long aiBombs, Object owner) {
+        this.opcodes = opcodes;
+        this.argumentsA = argumentsA;
+        this.argumentsB = argumentsB;
+        this.lastEditors = lastEditors;
+        this.aiBombs = aiBombs;
+        this.owner = owner;
+    }
+
+    /**
+     * Checks if the memory with the given write token may write this page in place.
+     * @param writeToken the write token of the memory
+     * @return true if the page is owned by the memory, false if it is shared with a snapshot
+     */
+    boolean isOwnedBy(Object writeToken) {
+        return owner == writeToken;
+    }
+
+    /**
+     * Copies this page for a new owner.
+     * @param newOwner the write token of the memory that will write the copy
+     * @return the copied page
+     */
+    MemoryPage copy(Object newOwner) {
+        return new MemoryPage(opcodes.clone(), argumentsA.clone(), argumentsB.clone(), lastEditors.clone(), aiBombs, newOwner);
+    }
+
+    /**
+     * Writes the cell at the given position.
+     * @param offset the position of the cell inside the page
+     * @param opcode the opcode of the instruction
+     * @param argumentA the first argument of the instruction
+     * @param argumentB the second argument of the instruction
+     * @param lastEditor the handle of the last editor of the cell
+     * @param isAiBomb whether the cell is an AI bomb
+     */
+    void put(int offset, int opcode, int argumentA, int argumentB, int lastEditor, boolean isAiBomb) {
+        opcodes[offset] = (byte) opcode;
+        argumentsA[offset] = argumentA;
+        argumentsB[offset] = argumentB;
+        lastEditors[offset] = (short) lastEditor;
+        if (isAiBomb) {
+            aiBombs |= BOMB_BIT << offset;
+        } else {
+            aiBombs &= ~(BOMB_BIT << offset);
+        }
+    }
+
+    /**
+     * Writes a range of cells that are no AI bombs from the given arrays.
+     * @param offset the position of the first cell inside the page
+     * @param sourceOpcodes the opcodes of the instructions
+     * @param sourceArgumentsA the first arguments of the instructions
+     * @param sourceArgumentsB the second arguments of the instructions
+     * @param sourceIndex the index of the first instruction in the given arrays
+     * @param length the number of cells to write
+     * @param lastEditor the handle of the last editor of the cells
+     */
+    void load(int offset, byte[] sourceOpcodes, int[] sourceArgumentsA, int[] sourceArgumentsB, int sourceIndex, int length,
+              short lastEditor) {
+        System.arraycopy(sourceOpcodes, sourceIndex, opcodes, offset, length);
+        System.arraycopy(sourceArgumentsA, sourceIndex, argumentsA, offset, length);
+        System.arraycopy(sourceArgumentsB, sourceIndex, argumentsB, offset, length);
+        Arrays.fill(lastEditors, offset, offset + length, lastEditor);
+        long rangeBits = length == PAGE_SIZE ? ~NO_AI_BOMBS : ((BOMB_BIT << length) - BOMB_BIT) << offset;
+        aiBombs &= ~rangeBits;
+    }
+
+    /**
+     * Checks that the first cells of the page hold an opcode below the given bound.
+     * @param length the number of cells to check
+     * @param numberOfOpcodes the number of valid opcodes
+     * @return true if every checked opcode is valid, false otherwise
+     */
+    boolean holdsOnlyOpcodesBelow(int length, int numberOfOpcodes) {
+        for (int offset = 0; offset < length; offset++) {
+            if (opcodes[offset] < 0 || opcodes[offset] >= numberOfOpcodes) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the opcode of the cell at the given position.
+     * @param offset the position of the cell inside the page
+     * @return the opcode of the cell
+     */
+    byte getOpcode(int offset) {
+        return opcodes[offset];
+    }
+
+    /**
+     * Returns argument A of the cell at the given position.
+     * @param offset the position of the cell inside the page
+     * @return argument A of the cell
+     */
+    int getArgumentA(int offset) {
+        return argumentsA[offset];
+    }
+
+    /**
+     * Returns argument B of the cell at the given position.
+     * @param offset the position of the cell inside the page
+     * @return argument B of the cell
+     */
+    int getArgumentB(int offset) {
+        return argumentsB[offset];
+    }
+
+    /**
+     * Returns the handle of the last editor of the cell at the given position.
+     * @param offset the position of the cell inside the page
+     * @return the handle of the last editor
+     */
+    int getLastEditor(int offset) {
+        return lastEditors[offset];
+    }
+
+    /**
+     * Checks if the cell at the given position is an AI bomb.
+     * @param offset the position of the cell inside the page
+     * @return true if the cell is an AI bomb, false otherwise
+     */
+    boolean isAiBomb(int offset) {
+        return (aiBombs & (BOMB_BIT << offset)) != NO_AI_BOMBS;
+    }
+}
@@ -0,0 +1,106 @@
+package kit.codefight.model.memory;
+
+/**
+ * An immutable view of the memory at the moment it was taken.
+ * Every memory backend takes its own kind of snapshot, snapshots of different backends can still be compared and restored
+ * cell by cell.
+ * @author ukgyh
+ */
+public abstract class MemorySnapshot {
+    /**
+     * result of a comparison that found no different cell.
+     */
+    public static final int NO_DIFFERENCE = -1;
+    private final int memorySize;
+
+    /**
+     * Constructs a new MemorySnapshot.
+     * @param memorySize the size of the memory
+     */
+    MemorySnapshot(int memorySize) {
+        this.memorySize = memorySize;
+    }
+
+    /**
+     * Returns the size of the memory.
+     * @return the size of the memory
+     */
+    public int getMemorySize() {
+        return memorySize;
+    }
+
+    /**
+     * Finds the first cell that differs from the other snapshot in its instruction, last editor or AI bomb status.
+     * @param other the snapshot of a memory of the same size
+     * @return the index of the first different cell, {@link #NO_DIFFERENCE} if all cells are equal
+     */
+    public int findDifferentCell(MemorySnapshot other) {
+        return findDifferentCell(other, null, null);
+    }
+
+    /**
+     * Finds the first different cell, the earlier snapshots may let a backend skip cells that cannot have changed.
+     * @param other the snapshot of a memory of the same size
+     * @param verified an earlier snapshot of this memory, null to compare all cells
+     * @param otherVerified an earlier snapshot of the other memory that is equal to the earlier snapshot of this memory
+     * @return the index of the first different cell, {@link #NO_DIFFERENCE} if all cells are equal
+     */
+    public int findDifferentCell(MemorySnapshot other, MemorySnapshot verified, MemorySnapshot otherVerified) {
+        return findDifferentCell(other, 0, memorySize);
+    }
+
+    /**
+     * Compares a range of cells with the other snapshot one by one.
+     * @param other the snapshot of a memory of the same size
+     * @param from the first index to compare, inclusive
+     * @param to the last index to compare, exclusive
+     * @return the index of the first different cell in the range, {@link #NO_DIFFERENCE} if all cells are equal
+     */
+    int findDifferentCell(MemorySnapshot other, int from, int to) {
+        for (int index = from; index < to; index++) {
+            if (opcodeAt(index) != other.opcodeAt(index)
+                    || argumentAAt(index) != other.argumentAAt(index)
+                    || argumentBAt(index) != other.argumentBAt(index)
+                    || lastEditorAt(index) != other.lastEditorAt(index)
+                    || aiBombAt(index) != other.aiBombAt(index)) {
+                return index;
+            }
+        }
+        return NO_DIFFERENCE;
+    }
+
+    /**
+     * Gets the opcode of the cell at the given index.
+     * @param index the index of the cell, which has to be inside the memory
+     * @return the opcode at the given index
+     */
+    abstract byte opcodeAt(int index);
+
+    /**
+     * Gets argument A of the cell at the given index.
+     * @param index the index of the cell, which has to be inside the memory
+     * @return argument A at the given index
+     */
+    abstract int argumentAAt(int index);
+
+    /**
+     * Gets argument B of the cell at the given index.
+     * @param index the index of the cell, which has to be inside the memory
+     * @return argument B at the given index
+     */
+    abstract int argumentBAt(int index);
+
+    /**
+     * Gets the handle of the last editor of the cell at the given index.
+     * @param index the index of the cell, which has to be inside the memory
+     * @return the handle of the last editor at the given index
+     */
+    abstract int lastEditorAt(int index);
+
+    /**
+     * Checks if the cell at the given index is an AI bomb.
+     * @param index the index of the cell, which has to be inside the memory
+     * @return true if the cell is an AI bomb, false otherwise
+     */
+    abstract boolean aiBombAt(int index);
+}
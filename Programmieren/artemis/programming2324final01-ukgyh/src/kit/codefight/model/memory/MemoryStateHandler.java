@@ -1,23 +1,164 @@
 package kit.codefight.model.memory;
 
 import kit.codefight.exceptions.InstructionExecutionException;
+import kit.codefight.exceptions.MemoryAllocationException;
 import kit.codefight.exceptions.MemoryOutOfBoundsException;
+import kit.codefight.model.ExecutionStatistics;
+import kit.codefight.model.GameRecorder;
+import kit.codefight.model.ZobristKeys;
 import kit.codefight.model.instructions.Instruction;
+import kit.codefight.model.instructions.InstructionData;
+
+import java.util.BitSet;
 
 /**
  * This class is responsible for creating and handling the state of the memory.
  * @author ukgyh
  */
 public final class MemoryStateHandler {
+    /**
+     * editor handle of cells that have not been written by any AI.
+     */
+    public static final int NO_EDITOR = -1;
+    /**
+     * number of cells of a template page filling a large arena.
+     */
+    public static final int TEMPLATE_SIZE = MemoryPage.PAGE_SIZE;
+    private static final boolean NO_AI_BOMB = false;
     private final int memorySize;
+    private final ExecutionStatistics statistics;
+    private Instruction[] instructionSet;
+    private MemoryBackend memoryBackend;
     private Memory memory;
+    private BitSet dirtyCells;
+    private GameRecorder recorder;
+    private boolean hashing;
+    private long memoryHash;
+    private boolean ownerHashing;
+    private long ownerHash;
+    private boolean instrumented;
 
     /**
      * Constructs a new MemoryStateHandler.
      * @param memorySize the size of the memory
      */
     public MemoryStateHandler(int memorySize) {
+        this(memorySize, null);
+    }
+
+    /**
+     * Constructs a new MemoryStateHandler that counts every write of an AI into memory.
+     * @param memorySize the size of the memory
+     * @param statistics the statistics receiving the writes, null to not count them
+     */
+    public MemoryStateHandler(int memorySize, ExecutionStatistics statistics) {
         this.memorySize = memorySize;
+        this.statistics = statistics;
+        this.memoryBackend = MemoryBackend.PAGED;
+        updateInstrumentation();
+    }
+
+    /**
+     * Sets the instruction handlers used to execute the opcodes stored in memory.
+     * @param instructionSet the instruction handlers indexed by their opcode
+     */
+    public void setInstructionSet(Instruction[] instructionSet) {
+        this.instructionSet = instructionSet;
+    }
+
+    /**
+     * Sets the way the cells are stored, which is used from the next created memory on.
+     * @param memoryBackend the new memory backend
+     */
+    public void setMemoryBackend(MemoryBackend memoryBackend) {
+        this.memoryBackend = memoryBackend;
+    }
+
+    /**
+     * Returns the way the cells are stored.
+     * @return the memory backend
+     */
+    public MemoryBackend getMemoryBackend() {
+        return memoryBackend;
+    }
+
+    /**
+     * Sets the recorder that receives every write into memory.
+     * @param recorder the recorder, null to stop recording
+     */
+    public void setRecorder(GameRecorder recorder) {
+        this.recorder = recorder;
+        updateInstrumentation();
+    }
+
+    /**
+     * Sets whether the hash of the memory is updated on every write of a cell.
+     * Enabling it computes the hash of the current memory once, afterwards it stays valid through every write, bulk load,
+     * new memory and restore without looking at the other cells again.
+     * @param hashing true to maintain the hash, false to not maintain it
+     */
+    public void setHashing(boolean hashing) {
+        if (hashing && !this.hashing && memory != null) {
+            rehash();
+        }
+        this.hashing = hashing;
+        updateInstrumentation();
+    }
+
+    /**
+     * Decides once whether a write has to update the hash, the recorder or the statistics, so a write without any of them
+     * only checks a single flag.
+     */
+    private void updateInstrumentation() {
+        this.instrumented = hashing || recorder != null || statistics != null;
+    }
+
+    /**
+     * Checks if the hash of the memory is maintained.
+     * @return true if the hash is updated on every write, false otherwise
+     */
+    public boolean isHashing() {
+        return hashing;
+    }
+
+    /**
+     * Sets whether the hash of the owners of all cells is updated as well, which is only done while the hash of the memory
+     * is maintained. Enabling it while hashing computes the hash of the owners once.
+     * @param ownerHashing true to maintain the hash of the owners, false to not maintain it
+     */
+    public void setOwnerHashing(boolean ownerHashing) {
+        boolean wasOwnerHashing = this.ownerHashing;
+        this.ownerHashing = ownerHashing;
+        if (ownerHashing && !wasOwnerHashing && hashing && memory != null) {
+            rehash();
+        }
+    }
+
+    /**
+     * Checks if the hash of the owners is maintained.
+     * @return true if the hash of the owners is updated on every write, false otherwise
+     */
+    public boolean isOwnerHashing() {
+        return ownerHashing;
+    }
+
+    /**
+     * Returns the Zobrist hash of the opcodes and arguments of all cells, regardless of their owners.
+     * The owners only decide who wins a game, not how it continues, so equal content leads to equal executions.
+     * The hash is only valid while hashing is enabled.
+     * @return the hash of the memory
+     */
+    public long getMemoryHash() {
+        return memoryHash;
+    }
+
+    /**
+     * Returns the Zobrist hash of the owners of all cells.
+     * The hash is only valid while hashing and owner hashing are enabled.
+     * @return the hash of the owners
+     */
+    public long getOwnerHash() {
+        return ownerHash;
     }
 
     /**
@@ -25,14 +166,47 @@ public final class MemoryStateHandler {
      */
     public void reset() {
         this.memory = null;
+        this.dirtyCells = null;
     }
 
     /**
      * Creates new memory.
      * @param memorySize the size of the memory
+     * @throws MemoryAllocationException if the cells of the memory cannot be allocated
+     */
+    public void createMemory(int memorySize) throws MemoryAllocationException {
+        this.memory = switch (memoryBackend) {
+            case PAGED -> new PagedMemory(memorySize, instructionSet);
+            case OFF_HEAP -> new OffHeapMemory(memorySize, instructionSet);
+        };
+        //every cell of new memory has to be displayed again
+        this.dirtyCells = new BitSet(memorySize);
+        this.dirtyCells.set(0, memorySize);
+        if (hashing) {
+            rehash();
+        }
+    }
+
+    /**
+     * Takes a snapshot of the memory, which is copy-on-write for the paged backend and a bulk copy for the off-heap backend.
+     * @return the snapshot of the memory
+     * @throws MemoryAllocationException if the copy of the off-heap backend cannot be allocated
      */
-    public void createMemory(int memorySize) {
-        this.memory = new Memory(memorySize);
+    public MemorySnapshot snapshot() throws MemoryAllocationException {
+        return memory.snapshot();
+    }
+
+    /**
+     * Restores the memory to the state of the given snapshot.
+     * @param snapshot the snapshot of a memory of the same size
+     */
+    public void restore(MemorySnapshot snapshot) {
+        memory.restore(snapshot);
+        //any cell may differ from the displayed one
+        dirtyCells.set(0, memorySize);
+        if (hashing) {
+            rehash();
+        }
     }
 
     /**
@@ -54,13 +228,163 @@ public final class MemoryStateHandler {
     }
 
     /**
-     * Puts the given instruction at the given index.
+     * Puts the given instruction at the given index without marking it as edited by an AI.
      * @param index the index of the cell
      * @param instruction the instruction to be put
+     * @param editor the handle of the AI owning the instruction, {@link #NO_EDITOR} if it has no owner
      * @throws MemoryOutOfBoundsException if the index is out of bounds
      */
-    public void putInstructionAtIndex(int index, Instruction instruction) throws MemoryOutOfBoundsException {
-        memory.putInstructionAtIndex(calculateCircularIndex(index), instruction);
+    public void putInstructionAtIndex(int index, InstructionData instruction, int editor) throws MemoryOutOfBoundsException {
+        writeCell(calculateCircularIndex(index), instruction.getOpcode(), instruction.argumentA(), instruction.argumentB(),
+                editor, NO_AI_BOMB);
+    }
+
+    /**
+     * Puts the given instruction at the given index as edited by an AI, updating the bomb status of the cell.
+     * @param index the index of the cell
+     * @param opcode the opcode of the instruction
+     * @param argumentA the first argument of the instruction
+     * @param argumentB the second argument of the instruction
+     * @param editor the handle of the AI editing the cell
+     * @throws MemoryOutOfBoundsException if the index is out of bounds
+     */
+    public void putInstructionAtIndex(int index, int opcode, int argumentA, int argumentB, int editor) throws MemoryOutOfBoundsException {
+        boolean isAiBomb = instructionSet[opcode].isAiBomb(argumentA, argumentB);
+        writeCell(calculateCircularIndex(index), opcode, argumentA, argumentB, editor, isAiBomb);
+    }
+
+    /**
+     * Writes the cell at the given circular index, marking it as dirty and passing the write to the recorder.
+     * @param circularIndex the index of the cell, already inside the memory
+     * @param opcode the opcode of the instruction
+     * @param argumentA the first argument of the instruction
+     * @param argumentB the second argument of the instruction
+     * @param editor the handle of the AI editing the cell, {@link #NO_EDITOR} if it has no owner
+     * @param isAiBomb whether the cell is an AI bomb
+     */
+    void writeCell(int circularIndex, int opcode, int argumentA, int argumentB, int editor, boolean isAiBomb) {
+        if (instrumented) {
+            instrumentWrite(circularIndex, opcode, argumentA, argumentB, editor, isAiBomb);
+        }
+        memory.writeAt(circularIndex, opcode, argumentA, argumentB, editor, isAiBomb);
+        dirtyCells.set(circularIndex);
+    }
+
+    /**
+     * Passes a write to the hash, the recorder and the statistics before the cell is overwritten.
+     * @param circularIndex the index of the cell, already inside the memory
+     * @param opcode the opcode of the instruction
+     * @param argumentA the first argument of the instruction
+     * @param argumentB the second argument of the instruction
+     * @param editor the handle of the AI editing the cell, {@link #NO_EDITOR} if it has no owner
+     * @param isAiBomb whether the cell is an AI bomb
+     */
+    private void instrumentWrite(int circularIndex, int opcode, int argumentA, int argumentB, int editor,
+                                 boolean isAiBomb) {
+        //the hash needs the old content of the cell
+        if (hashing) {
+            updateHash(circularIndex, opcode, argumentA, argumentB, editor);
+        }
+        if (recorder != null) {
+            recorder.recordCellWrite(circularIndex, opcode, argumentA, argumentB, editor, isAiBomb);
+        }
+        if (statistics != null) {
+            statistics.recordWrite(circularIndex, isAiBomb);
+        }
+    }
+
+    private void updateHash(int circularIndex, int opcode, int argumentA, int argumentB, int editor) {
+        //the key of the old content is removed and the key of the new content is added
+        memoryHash ^= cellKey(circularIndex) ^ ZobristKeys.cellKey(circularIndex, opcode, argumentA, argumentB);
+        if (ownerHashing) {
+            ownerHash ^= ownerKey(circularIndex) ^ ZobristKeys.ownerKey(circularIndex, editor);
+        }
+    }
+
+    private void updateHash(int start, byte[] opcodes, int[] argumentsA, int[] argumentsB, int sourceIndex, int length,
+                            int editor) {
+        for (int i = 0; i < length; i++) {
+            updateHash(start + i, opcodes[sourceIndex + i], argumentsA[sourceIndex + i], argumentsB[sourceIndex + i],
+                    editor);
+        }
+    }
+
+    /**
+     * Computes the hash of the memory and, if maintained, the hash of the owners from all cells.
+     */
+    private void rehash() {
+        long hash = 0;
+        long owners = 0;
+        for (int index = 0; index < memorySize; index++) {
+            hash ^= cellKey(index);
+            if (ownerHashing) {
+                owners ^= ownerKey(index);
+            }
+        }
+        this.memoryHash = hash;
+        this.ownerHash = owners;
+    }
+
+    private long cellKey(int circularIndex) {
+        return ZobristKeys.cellKey(circularIndex, memory.opcodeAt(circularIndex), memory.argumentAAt(circularIndex),
+                memory.argumentBAt(circularIndex));
+    }
+
+    private long ownerKey(int circularIndex) {
+        return ZobristKeys.ownerKey(circularIndex, memory.lastEditorAt(circularIndex));
+    }
+
+    /**
+     * Returns the current memory.
+     * @return the memory, null if no memory was created
+     */
+    Memory getMemory() {
+        return memory;
+    }
+
+    /**
+     * Writes consecutive cells from the given arrays in bulk, wrapping around the end of the memory.
+     * The written cells are no AI bombs.
+     * @param index the index of the first cell
+     * @param opcodes the opcodes of the instructions
+     * @param argumentsA the first arguments of the instructions
+     * @param argumentsB the second arguments of the instructions
+     * @param length the number of instructions to write, at most the size of the memory
+     * @param editor the handle of the AI owning the instructions, {@link #NO_EDITOR} if they have no owner
+     * @throws MemoryOutOfBoundsException if more instructions than memory cells are given
+     */
+    public void loadCells(int index, byte[] opcodes, int[] argumentsA, int[] argumentsB, int length, int editor)
+            throws MemoryOutOfBoundsException {
+        int start = calculateCircularIndex(index);
+        int firstLength = Math.min(length, memorySize - start);
+        if (hashing) {
+            updateHash(start, opcodes, argumentsA, argumentsB, 0, firstLength, editor);
+        }
+        memory.loadCells(start, opcodes, argumentsA, argumentsB, 0, firstLength, editor);
+        dirtyCells.set(start, start + firstLength);
+        if (firstLength < length) {
+            if (hashing) {
+                updateHash(0, opcodes, argumentsA, argumentsB, firstLength, length - firstLength, editor);
+            }
+            memory.loadCells(0, opcodes, argumentsA, argumentsB, firstLength, length - firstLength, editor);
+            dirtyCells.set(0, length - firstLength);
+        }
+    }
+
+    /**
+     * Fills the whole memory with one template page that is shared by every page until it is written.
+     * The cells of the template are repeated every {@link #TEMPLATE_SIZE} cells and are no AI bombs.
+     * @param opcodes the opcodes of the template cells
+     * @param argumentsA the first arguments of the template cells
+     * @param argumentsB the second arguments of the template cells
+     * @param editor the handle of the AI owning the cells, {@link #NO_EDITOR} if they have no owner
+     */
+    public void fillWithTemplate(byte[] opcodes, int[] argumentsA, int[] argumentsB, int editor) {
+        memory.fillWithTemplate(opcodes, argumentsA, argumentsB, editor);
+        dirtyCells.set(0, memorySize);
+        if (hashing) {
+            rehash();
+        }
     }
 
     /**
@@ -69,19 +393,124 @@ public final class MemoryStateHandler {
      * @return the instruction at the given index
      * @throws MemoryOutOfBoundsException if there was a problem accessing memory correctly
      */
-    public Instruction getInstructionAtIndex(int index) throws MemoryOutOfBoundsException {
-        return memory.getInstructionAtIndex(calculateCircularIndex(index));
+    public InstructionData getInstructionAtIndex(int index) throws MemoryOutOfBoundsException {
+        int circularIndex = calculateCircularIndex(index);
+        Instruction instruction = memory.getInstructionAtIndex(circularIndex);
+        return new InstructionData(instruction, memory.getArgumentA(circularIndex), memory.getArgumentB(circularIndex));
+    }
+
+    /**
+     * Returns the opcode of the cell at the given circular index without validating it.
+     * This is the fast path of the execution, the index has to be inside the memory.
+     * @param circularIndex the index of the cell, already inside the memory
+     * @return the opcode at the given index
+     */
+    public int opcodeAt(int circularIndex) {
+        return memory.opcodeAt(circularIndex);
+    }
+
+    /**
+     * Returns the handle of the last editor of the cell at the given circular index without validating it.
+     * @param circularIndex the index of the cell, already inside the memory
+     * @return the handle of the last editor, {@link #NO_EDITOR} if the cell was never edited by an AI
+     */
+    int lastEditorAt(int circularIndex) {
+        return memory.lastEditorAt(circularIndex);
+    }
+
+    /**
+     * Checks if the cell at the given circular index is an AI bomb without validating the index.
+     * @param circularIndex the index of the cell, already inside the memory
+     * @return true if the cell is an AI bomb, false otherwise
+     */
+    boolean aiBombAt(int circularIndex) {
+        return memory.aiBombAt(circularIndex);
+    }
+
+    /**
+     * Checks once before a game is executed that every cell holds an instruction of the given instruction set.
+     * Instructions only copy or edit existing cells, so the memory stays valid during the game.
+     * @return true if all cells hold an instruction, false if the memory is corrupted
+     */
+    public boolean holdsOnlyInstructions() {
+        return memory.holdsOnlyOpcodesBelow(instructionSet.length);
+    }
+
+    /**
+     * Returns the opcode of the instruction at the given index.
+     * @param index the index of the cell
+     * @return the opcode at the given index
+     * @throws MemoryOutOfBoundsException if there was a problem accessing memory correctly
+     */
+    public int getOpcode(int index) throws MemoryOutOfBoundsException {
+        return memory.getOpcode(calculateCircularIndex(index));
+    }
+
+    /**
+     * Returns argument A of the instruction at the given index.
+     * @param index the index of the cell
+     * @return argument A at the given index
+     * @throws MemoryOutOfBoundsException if there was a problem accessing memory correctly
+     */
+    public int getArgumentA(int index) throws MemoryOutOfBoundsException {
+        return memory.getArgumentA(calculateCircularIndex(index));
+    }
+
+    /**
+     * Returns argument B of the instruction at the given index.
+     * @param index the index of the cell
+     * @return argument B at the given index
+     * @throws MemoryOutOfBoundsException if there was a problem accessing memory correctly
+     */
+    public int getArgumentB(int index) throws MemoryOutOfBoundsException {
+        return memory.getArgumentB(calculateCircularIndex(index));
+    }
+
+    /**
+     * Returns the handle of the last editor of the cell at the given index.
+     * @param index the index of the cell
+     * @return the handle of the last editor, {@link #NO_EDITOR} if the cell was never edited by an AI
+     * @throws MemoryOutOfBoundsException if there was a problem accessing memory correctly
+     */
+    public int getLastEditor(int index) throws MemoryOutOfBoundsException {
+        return memory.getLastEditor(calculateCircularIndex(index));
+    }
+
+    /**
+     * Checks if the cell at the given index is an AI bomb.
+     * @param index the index of the cell
+     * @return true if the cell is an AI bomb, false otherwise
+     * @throws MemoryOutOfBoundsException if there was a problem accessing memory correctly
+     */
+    public boolean isAiBomb(int index) throws MemoryOutOfBoundsException {
+        return memory.isAiBomb(calculateCircularIndex(index));
+    }
+
+    /**
+     * Returns the index of the first cell at or after the given index that was written since the dirty cells were last cleared.
+     * @param fromIndex the index to start searching from
+     * @return the index of the next dirty cell, -1 if there is none
+     */
+    public int nextDirtyCell(int fromIndex) {
+        return dirtyCells.nextSetBit(fromIndex);
+    }
+
+    /**
+     * Marks all cells as displayed.
+     */
+    public void clearDirtyCells() {
+        dirtyCells.clear();
     }
 
     /**
      * Executes the instruction at the given index.
      * @param index the index of the cell
-     * @param aiExecutorName the name of the AI that is executing the instruction
+     * @param aiExecutorHandle the handle of the AI that is executing the instruction
      * @throws MemoryOutOfBoundsException if the index is out of bounds
      * @throws InstructionExecutionException if there is a problem executing the instruction
      */
-    public void executeInstruction(int index, String aiExecutorName) throws MemoryOutOfBoundsException, InstructionExecutionException {
-        memory.executeInstruction(index, aiExecutorName);
+    public void executeInstruction(int index, int aiExecutorHandle) throws MemoryOutOfBoundsException, InstructionExecutionException {
+        memory.executeInstruction(index, aiExecutorHandle);
     }
 
     /**
@@ -98,6 +527,31 @@ public final class MemoryStateHandler {
         return adjustedIndex;
     }
 
+    /**
+     * Calculates the circular index of a cell at the given offset from a cell inside the memory.
+     * The result equals {@link #calculateCircularIndex(int)} of the sum, but offsets of less than one memory size
+     * in either direction are resolved without a division.
+     * @param circularIndex the index of the cell, already inside the memory
+     * @param offset the offset from the cell
+     * @return the circular index of the cell at the offset
+     */
+    int offsetIndex(int circularIndex, int offset) {
+        //the sum may overflow, every correction below is exact and keeps it congruent modulo the memory size
+        int index = circularIndex + offset;
+        if (index >= memorySize) {
+            index -= memorySize;
+            if (index >= memorySize) {
+                index %= memorySize;
+            }
+        } else if (index < 0) {
+            index += memorySize;
+            if (index < 0) {
+                index = calculateCircularIndex(index);
+            }
+        }
+        return index;
+    }
+
     /**
      * Calculates the circular index with custom memory size.
      * @param index the index to be calculated
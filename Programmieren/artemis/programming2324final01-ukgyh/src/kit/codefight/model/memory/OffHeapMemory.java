@@ -0,0 +1,232 @@
+package kit.codefight.model.memory;
+
+import kit.codefight.exceptions.MemoryAllocationException;
+import kit.codefight.model.instructions.Instruction;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * A memory backend storing all cells in one direct buffer outside of the heap, so huge arenas do not burden the
+ * garbage collector. Every cell has a fixed layout of {@link #CELL_BYTES} bytes: the opcode, the AI bomb flag,
+ * the last editor, argument A and argument B. A snapshot is a bulk copy of the whole buffer.
+ * The cells are written in bulk wherever possible: ranges are staged in a heap buffer and copied at once, and filling the
+ * whole memory doubles the filled part by copies instead of writing every cell.
+ * @author ukgyh
+ */
+final class OffHeapMemory extends Memory {
+    /**
+     * number of bytes of one cell.
+     */
+    static final int CELL_BYTES = 12;
+    private static final int OPCODE_OFFSET = 0;
+    private static final int AI_BOMB_OFFSET = 1;
+    private static final int LAST_EDITOR_OFFSET = 2;
+    private static final int ARGUMENT_A_OFFSET = 4;
+    private static final int ARGUMENT_B_OFFSET = 8;
+    private static final byte AI_BOMB = 1;
+    private static final byte NO_AI_BOMB = 0;
+    private static final String TOO_LARGE_ERROR = "%d cells of %d bytes exceed the largest off-heap buffer";
+    private static final String ALLOCATION_ERROR = "not enough off-heap memory for %d cells of %d bytes";
+    private static final int FIRST_CELL = 0;
+    private final ByteBuffer cells;
+    private final ByteBuffer staging;
+
+    /**
+     * Constructs new OffHeapMemory with empty cells.
+     * @param memorySize the amount of memory cells
+     * @param instructionSet the instruction handlers indexed by their opcode
+     * @throws MemoryAllocationException if the buffer of the cells cannot be allocated
+     */
+    OffHeapMemory(int memorySize, Instruction[] instructionSet) throws MemoryAllocationException {
+        super(memorySize, instructionSet);
+        this.cells = allocate(memorySize);
+        this.staging = ByteBuffer.allocate(Math.min(MemoryPage.PAGE_SIZE, memorySize) * CELL_BYTES)
+                .order(ByteOrder.nativeOrder());
+        //a direct buffer starts with zeros, only the opcode marks an empty cell
+        cells.put(FIRST_CELL * CELL_BYTES + OPCODE_OFFSET, EMPTY_OPCODE);
+        repeatFilledCells(FIRST_CELL + 1);
+    }
+
+    /**
+     * Allocates a direct buffer for the given number of cells in the native byte order.
+     * A direct buffer is limited by the maximum direct memory of the JVM instead of the heap, so the failure of an
+     * allocation is reported instead of ending the program.
+     * @param memorySize the amount of memory cells
+     * @return the new buffer filled with zeros
+     * @throws MemoryAllocationException if the cells do not fit into one buffer or there is not enough off-heap memory
+     */
+    static ByteBuffer allocate(int memorySize) throws MemoryAllocationException {
+        long bytes = (long) memorySize * CELL_BYTES;
+        if (bytes > Integer.MAX_VALUE) {
+            throw new MemoryAllocationException(TOO_LARGE_ERROR.formatted(memorySize, CELL_BYTES));
+        }
+        try {
+            return ByteBuffer.allocateDirect((int) bytes).order(ByteOrder.nativeOrder());
+        } catch (OutOfMemoryError e) {
+            throw new MemoryAllocationException(ALLOCATION_ERROR.formatted(memorySize, CELL_BYTES), e);
+        }
+    }
+
+    /**
+     * Takes a snapshot of the memory by copying all cells into a new direct buffer.
+     * @return the snapshot
+     * @throws MemoryAllocationException if there is not enough off-heap memory for the copy
+     */
+    @Override
+    public MemorySnapshot snapshot() throws MemoryAllocationException {
+        ByteBuffer copy = allocate(getMemorySize());
+        copy.put(0, cells, 0, cells.capacity());
+        return new OffHeapMemorySnapshot(copy, getMemorySize());
+    }
+
+    @Override
+    public void restore(MemorySnapshot snapshot) {
+        if (snapshot instanceof OffHeapMemorySnapshot offHeapSnapshot) {
+            cells.put(0, offHeapSnapshot.getCells(), 0, cells.capacity());
+        } else {
+            copyCells(snapshot);
+        }
+    }
+
+    /**
+     * Fills the memory with the given cells, the first page is loaded in bulk and then doubled by bulk copies.
+     * @param opcodes the opcodes of the cells of the template page
+     * @param argumentsA the first arguments of the cells of the template page
+     * @param argumentsB the second arguments of the cells of the template page
+     * @param lastEditor the handle of the last editor of the cells
+     */
+    @Override
+    void fillWithTemplate(byte[] opcodes, int[] argumentsA, int[] argumentsB, int lastEditor) {
+        int templateLength = Math.min(MemoryPage.PAGE_SIZE, getMemorySize());
+        loadRange(FIRST_CELL, opcodes, argumentsA, argumentsB, FIRST_CELL, templateLength, lastEditor);
+        //the filled part always holds whole pages, so copying it keeps the template repeated every page
+        repeatFilledCells(templateLength);
+    }
+
+    /**
+     * Fills the rest of the memory by repeating the given number of first cells, doubling the filled part with every copy.
+     * @param filledCells the number of first cells that are already filled
+     */
+    private void repeatFilledCells(int filledCells) {
+        int memorySize = getMemorySize();
+        int filled = filledCells;
+        while (filled < memorySize) {
+            int length = Math.min(filled, memorySize - filled);
+            cells.put(filled * CELL_BYTES, cells, FIRST_CELL, length * CELL_BYTES);
+            filled += length;
+        }
+    }
+
+    @Override
+    boolean holdsOnlyOpcodesBelow(int numberOfOpcodes) {
+        for (int index = 0; index < getMemorySize(); index++) {
+            byte opcode = opcodeAt(index);
+            if (opcode < 0 || opcode >= numberOfOpcodes) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    void writeAt(int index, int opcode, int argumentA, int argumentB, int lastEditor, boolean isAiBomb) {
+        int offset = index * CELL_BYTES;
+        cells.put(offset + OPCODE_OFFSET, (byte) opcode);
+        cells.put(offset + AI_BOMB_OFFSET, isAiBomb ? AI_BOMB : NO_AI_BOMB);
+        cells.putShort(offset + LAST_EDITOR_OFFSET, (short) lastEditor);
+        cells.putInt(offset + ARGUMENT_A_OFFSET, argumentA);
+        cells.putInt(offset + ARGUMENT_B_OFFSET, argumentB);
+    }
+
+    @Override
+    void loadRange(int index, byte[] opcodes, int[] argumentsA, int[] argumentsB, int sourceIndex, int length,
+                   int lastEditor) {
+        int chunkCells = staging.capacity() / CELL_BYTES;
+        for (int loaded = 0; loaded < length; loaded += chunkCells) {
+            int chunkLength = Math.min(chunkCells, length - loaded);
+            staging.clear();
+            for (int i = sourceIndex + loaded; i < sourceIndex + loaded + chunkLength; i++) {
+                //the relative puts follow the cell layout of the offsets
+                staging.put(opcodes[i]).put(NO_AI_BOMB).putShort((short) lastEditor)
+                        .putInt(argumentsA[i]).putInt(argumentsB[i]);
+            }
+            cells.put((index + loaded) * CELL_BYTES, staging, FIRST_CELL, chunkLength * CELL_BYTES);
+        }
+    }
+
+    @Override
+    byte opcodeAt(int index) {
+        return opcodeAt(cells, index);
+    }
+
+    @Override
+    int argumentAAt(int index) {
+        return argumentAAt(cells, index);
+    }
+
+    @Override
+    int argumentBAt(int index) {
+        return argumentBAt(cells, index);
+    }
+
+    @Override
+    int lastEditorAt(int index) {
+        return lastEditorAt(cells, index);
+    }
+
+    @Override
+    boolean aiBombAt(int index) {
+        return aiBombAt(cells, index);
+    }
+
+    /**
+     * Reads the opcode of a cell from a buffer in the cell layout of this backend.
+     * @param cells the buffer holding the cells
+     * @param index the index of the cell
+     * @return the opcode of the cell
+     */
+    static byte opcodeAt(ByteBuffer cells, int index) {
+        return cells.get(index * CELL_BYTES + OPCODE_OFFSET);
+    }
+
+    /**
+     * Reads argument A of a cell from a buffer in the cell layout of this backend.
+     * @param cells the buffer holding the cells
+     * @param index the index of the cell
+     * @return argument A of the cell
+     */
+    static int argumentAAt(ByteBuffer cells, int index) {
+        return cells.getInt(index * CELL_BYTES + ARGUMENT_A_OFFSET);
+    }
+
+    /**
+     * Reads argument B of a cell from a buffer in the cell layout of this backend.
+     * @param cells the buffer holding the cells
+     * @param index the index of the cell
+     * @return argument B of the cell
+     */
+    static int argumentBAt(ByteBuffer cells, int index) {
+        return cells.getInt(index * CELL_BYTES + ARGUMENT_B_OFFSET);
+    }
+
+    /**
+     * Reads the last editor of a cell from a buffer in the cell layout of this backend.
+     * @param cells the buffer holding the cells
+     * @param index the index of the cell
+     * @return the handle of the last editor of the cell
+     */
+    static int lastEditorAt(ByteBuffer cells, int index) {
+        return cells.getShort(index * CELL_BYTES + LAST_EDITOR_OFFSET);
+    }
+
+    /**
+     * Reads the AI bomb status of a cell from a buffer in the cell layout of this backend.
+     * @param cells the buffer holding the cells
+     * @param index the index of the cell
+     * @return true if the cell is an AI bomb, false otherwise
+     */
+    static boolean aiBombAt(ByteBuffer cells, int index) {
+        return cells.get(index * CELL_BYTES + AI_BOMB_OFFSET) == AI_BOMB;
+    }
+}
@@ -0,0 +1,72 @@
+package kit.codefight.model.memory;
+
+import java.nio.ByteBuffer;
+
+/**
+ * A snapshot of an {@link OffHeapMemory}, holding a copy of all cells in its own direct buffer.
+ * @author ukgyh
+ */
+final class OffHeapMemorySnapshot extends MemorySnapshot {
+    private final ByteBuffer cells;
+
+    /**
+     * Constructs a new OffHeapMemorySnapshot.
+     * @param cells the copied cells in the layout of {@link OffHeapMemory}, the buffer must not be modified afterwards
+     * @param memorySize the size of the memory
+     */
+    OffHeapMemorySnapshot(ByteBuffer cells, int memorySize) {
+        super(memorySize);
+        this.cells = cells;
+    }
+
+    /**
+     * Returns the copied cells.
+     * @return the buffer of the cells, which must not be written
+     */
+    ByteBuffer getCells() {
+        return cells;
+    }
+
+    /**
+     * Finds the first different cell, two off-heap snapshots are compared as whole buffers.
+     * The earlier snapshots are not needed since the comparison of the buffers does not depend on the written cells.
+     * @param other the snapshot of a memory of the same size
+     * @param verified an earlier snapshot of this memory, not used by this backend
+     * @param otherVerified an earlier snapshot of the other memory, not used by this backend
+     * @return the index of the first different cell, {@link #NO_DIFFERENCE} if all cells are equal
+     */
+    @Override
+    public int findDifferentCell(MemorySnapshot other, MemorySnapshot verified, MemorySnapshot otherVerified) {
+        if (!(other instanceof OffHeapMemorySnapshot offHeapOther)) {
+            return super.findDifferentCell(other, verified, otherVerified);
+        }
+        //both buffers are only accessed by index, so they are compared from their first byte
+        int mismatch = cells.mismatch(offHeapOther.getCells());
+        return mismatch < 0 ? NO_DIFFERENCE : mismatch / OffHeapMemory.CELL_BYTES;
+    }
+
+    @Override
+    byte opcodeAt(int index) {
+        return OffHeapMemory.opcodeAt(cells, index);
+    }
+
+    @Override
+    int argumentAAt(int index) {
+        return OffHeapMemory.argumentAAt(cells, index);
+    }
+
+    @Override
+    int argumentBAt(int index) {
+        return OffHeapMemory.argumentBAt(cells, index);
+    }
+
+    @Override
+    int lastEditorAt(int index) {
+        return OffHeapMemory.lastEditorAt(cells, index);
+    }
+
+    @Override
+    boolean aiBombAt(int index) {
+        return OffHeapMemory.aiBombAt(cells, index);
+    }
+}
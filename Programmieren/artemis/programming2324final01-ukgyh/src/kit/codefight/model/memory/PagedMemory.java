@@ -0,0 +1,144 @@
+package kit.codefight.model.memory;
+
+import kit.codefight.model.instructions.Instruction;
+
+import java.util.Arrays;
+
+/**
+ * The default memory backend storing the cells as parallel primitive arrays on the heap.
+ * The arrays are split into pages which are copied on write, so a snapshot of the memory only copies the page references.
+ * Pages that were never written share one read-only page, so the footprint grows with the written cells only.
+ * @author ukgyh
+ */
+final class PagedMemory extends Memory {
+    private MemoryPage[] pages;
+    private Object writeToken;
+
+    /**
+     * Constructs new PagedMemory.
+     * @param memorySize the amount of memory cells
+     * @param instructionSet the instruction handlers indexed by their opcode
+     */
+    PagedMemory(int memorySize, Instruction[] instructionSet) {
+        super(memorySize, instructionSet);
+        this.writeToken = new Object();
+        this.pages = new MemoryPage[(memorySize + MemoryPage.PAGE_MASK) >>> MemoryPage.PAGE_BITS];
+        //the empty page is owned by no memory, so every page is materialized on its first write
+        Arrays.fill(pages, new MemoryPage(EMPTY_OPCODE, new Object()));
+    }
+
+    /**
+     * Takes a snapshot of the memory.
+     * All pages become shared with the snapshot, a page is copied the next time it is written.
+     * @return the snapshot
+     */
+    @Override
+    public MemorySnapshot snapshot() {
+        //a new token makes every current page read-only for this memory
+        writeToken = new Object();
+        return new PagedMemorySnapshot(pages.clone(), getMemorySize());
+    }
+
+    @Override
+    public void restore(MemorySnapshot snapshot) {
+        writeToken = new Object();
+        if (snapshot instanceof PagedMemorySnapshot pagedSnapshot) {
+            pages = pagedSnapshot.getPages().clone();
+        } else {
+            copyCells(snapshot);
+        }
+    }
+
+    /**
+     * Lets every page of the memory share one read-only page holding the given cells.
+     * The cells are repeated in every page, a page is materialized the first time one of its cells is written.
+     * @param opcodes the opcodes of the cells of the template page
+     * @param argumentsA the first arguments of the cells of the template page
+     * @param argumentsB the second arguments of the cells of the template page
+     * @param lastEditor the handle of the last editor of the cells
+     */
+    @Override
+    void fillWithTemplate(byte[] opcodes, int[] argumentsA, int[] argumentsB, int lastEditor) {
+        MemoryPage template = new MemoryPage(EMPTY_OPCODE, new Object());
+        template.load(0, opcodes, argumentsA, argumentsB, 0, MemoryPage.PAGE_SIZE, (short) lastEditor);
+        Arrays.fill(pages, template);
+    }
+
+    /**
+     * Checks that every cell holds an opcode below the given bound, each shared page is only checked once.
+     * @param numberOfOpcodes the number of valid opcodes
+     * @return true if every opcode is valid, false otherwise
+     */
+    @Override
+    boolean holdsOnlyOpcodesBelow(int numberOfOpcodes) {
+        MemoryPage checkedPage = null;
+        for (int pageIndex = 0; pageIndex < pages.length; pageIndex++) {
+            //shared pages are stored next to each other unless they were materialized in between
+            if (pages[pageIndex] == checkedPage) {
+                continue;
+            }
+            int length = Math.min(MemoryPage.PAGE_SIZE, getMemorySize() - (pageIndex << MemoryPage.PAGE_BITS));
+            if (!pages[pageIndex].holdsOnlyOpcodesBelow(length, numberOfOpcodes)) {
+                return false;
+            }
+            checkedPage = pages[pageIndex];
+        }
+        return true;
+    }
+
+    @Override
+    void writeAt(int index, int opcode, int argumentA, int argumentB, int lastEditor, boolean isAiBomb) {
+        int pageIndex = index >>> MemoryPage.PAGE_BITS;
+        MemoryPage page = pages[pageIndex];
+        if (!page.isOwnedBy(writeToken)) {
+            //the page is shared with a snapshot
+            page = page.copy(writeToken);
+            pages[pageIndex] = page;
+        }
+        page.put(index & MemoryPage.PAGE_MASK, opcode, argumentA, argumentB, lastEditor, isAiBomb);
+    }
+
+    @Override
+    void loadRange(int index, byte[] opcodes, int[] argumentsA, int[] argumentsB, int sourceIndex, int length,
+                   int lastEditor) {
+        int written = 0;
+        while (written < length) {
+            int cellIndex = index + written;
+            int pageIndex = cellIndex >>> MemoryPage.PAGE_BITS;
+            int offset = cellIndex & MemoryPage.PAGE_MASK;
+            int pageLength = Math.min(MemoryPage.PAGE_SIZE - offset, length - written);
+            MemoryPage page = pages[pageIndex];
+            if (!page.isOwnedBy(writeToken)) {
+                page = page.copy(writeToken);
+                pages[pageIndex] = page;
+            }
+            page.load(offset, opcodes, argumentsA, argumentsB, sourceIndex + written, pageLength, (short) lastEditor);
+            written += pageLength;
+        }
+    }
+
+    @Override
+    byte opcodeAt(int index) {
+        return pages[index >>> MemoryPage.PAGE_BITS].getOpcode(index & MemoryPage.PAGE_MASK);
+    }
+
+    @Override
+    int argumentAAt(int index) {
+        return pages[index >>> MemoryPage.PAGE_BITS].getArgumentA(index & MemoryPage.PAGE_MASK);
+    }
+
+    @Override
+    int argumentBAt(int index) {
+        return pages[index >>> MemoryPage.PAGE_BITS].getArgumentB(index & MemoryPage.PAGE_MASK);
+    }
+
+    @Override
+    int lastEditorAt(int index) {
+        return pages[index >>> MemoryPage.PAGE_BITS].getLastEditor(index & MemoryPage.PAGE_MASK);
+    }
+
+    @Override
+    boolean aiBombAt(int index) {
+        return pages[index >>> MemoryPage.PAGE_BITS].isAiBomb(index & MemoryPage.PAGE_MASK);
+    }
+}
@@ -0,0 +1,88 @@
+package kit.codefight.model.memory;
+
+/**
+ * A snapshot of a {@link PagedMemory}.
+ * The snapshot only holds references to the pages of the memory, pages are copied when they are written afterwards.
+ * @author ukgyh
+ */
+final class PagedMemorySnapshot extends MemorySnapshot {
+    private final MemoryPage[] pages;
+
+    /**
+     * Constructs a new PagedMemorySnapshot.
+     * @param pages the pages of the memory, the array must not be modified afterwards
+     * @param memorySize the size of the memory
+     */
+    PagedMemorySnapshot(MemoryPage[] pages, int memorySize) {
+        super(memorySize);
+        this.pages = pages;
+    }
+
+    /**
+     * Returns the pages of the memory.
+     * @return the pages, which must not be written
+     */
+    MemoryPage[] getPages() {
+        return pages;
+    }
+
+    /**
+     * Finds the first different cell, only comparing pages that were written since two earlier snapshots known to be equal.
+     * Since written pages are copied, a page that is still shared with the earlier snapshot has not changed.
+     * @param other the snapshot of a memory of the same size
+     * @param verified an earlier snapshot of this memory, null to compare all pages
+     * @param otherVerified an earlier snapshot of the other memory that is equal to the earlier snapshot of this memory
+     * @return the index of the first different cell, {@link #NO_DIFFERENCE} if all cells are equal
+     */
+    @Override
+    public int findDifferentCell(MemorySnapshot other, MemorySnapshot verified, MemorySnapshot otherVerified) {
+        if (!(other instanceof PagedMemorySnapshot pagedOther)) {
+            return super.findDifferentCell(other, verified, otherVerified);
+        }
+        MemoryPage[] otherPages = pagedOther.getPages();
+        MemoryPage[] verifiedPages = verified instanceof PagedMemorySnapshot pagedVerified ? pagedVerified.getPages() : null;
+        MemoryPage[] otherVerifiedPages = otherVerified instanceof PagedMemorySnapshot pagedOtherVerified
+                ? pagedOtherVerified.getPages() : null;
+        for (int pageIndex = 0; pageIndex < pages.length; pageIndex++) {
+            MemoryPage page = pages[pageIndex];
+            MemoryPage otherPage = otherPages[pageIndex];
+            //shared pages are equal
+            if (page == otherPage || verifiedPages != null && otherVerifiedPages != null
+                    && page == verifiedPages[pageIndex] && otherPage == otherVerifiedPages[pageIndex]) {
+                continue;
+            }
+            int pageStart = pageIndex << MemoryPage.PAGE_BITS;
+            int pageEnd = Math.min(pageStart + MemoryPage.PAGE_SIZE, getMemorySize());
+            int cell = findDifferentCell(other, pageStart, pageEnd);
+            if (cell != NO_DIFFERENCE) {
+                return cell;
+            }
+        }
+        return NO_DIFFERENCE;
+    }
+
+    @Override
+    byte opcodeAt(int index) {
+        return pages[index >>> MemoryPage.PAGE_BITS].getOpcode(index & MemoryPage.PAGE_MASK);
+    }
+
+    @Override
+    int argumentAAt(int index) {
+        return pages[index >>> MemoryPage.PAGE_BITS].getArgumentA(index & MemoryPage.PAGE_MASK);
+    }
+
+    @Override
+    int argumentBAt(int index) {
+        return pages[index >>> MemoryPage.PAGE_BITS].getArgumentB(index & MemoryPage.PAGE_MASK);
+    }
+
+    @Override
+    int lastEditorAt(int index) {
+        return pages[index >>> MemoryPage.PAGE_BITS].getLastEditor(index & MemoryPage.PAGE_MASK);
+    }
+
+    @Override
+    boolean aiBombAt(int index) {
+        return pages[index >>> MemoryPage.PAGE_BITS].isAiBomb(index & MemoryPage.PAGE_MASK);
+    }
+}
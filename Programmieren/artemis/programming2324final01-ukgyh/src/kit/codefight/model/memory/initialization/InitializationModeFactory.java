@@ -2,19 +2,39 @@ package kit.codefight.model.memory.initialization;
 
 import kit.codefight.exceptions.InitializationModeChangeException;
 import kit.codefight.model.instructions.InstructionFactory;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
 /**
  * This class is responsible for creating the initialization mode of the memory.
  * @author ukgyh
  */
 public final class InitializationModeFactory {
-    private static final String STOP_INIT_NAME = "INIT_MODE_STOP";
-    private static final String RANDOM_INIT_MODE = "INIT_MODE_RANDOM";
+    /**
+     * the smallest seed accepted by the random initialization mode.
+     */
+    public static final int MINIMUM_SEED = -1337;
+    /**
+     * the largest seed accepted by the random initialization mode.
+     */
+    public static final int MAXIMUM_SEED = 1337;
+    /**
+     * the number of seeds accepted by the random initialization mode.
+     */
+    public static final int NUMBER_OF_SEEDS = MAXIMUM_SEED - MINIMUM_SEED + 1;
+    /**
+     * the name of the initialization mode filling the memory with stop instructions.
+     */
+    public static final String STOP_INIT_MODE = "INIT_MODE_STOP";
+    /**
+     * the name of the initialization mode filling the memory with random instructions derived from a seed.
+     */
+    public static final String RANDOM_INIT_MODE = "INIT_MODE_RANDOM";
     private static final String MODE_NOT_FOUND_EXCEPTION = "Invalid mode name";
     private static final String SEED_NOT_ALLOWED_ERROR = "seed is not allowed for %s";
     private static final String SEED_REQUIRED_EXCEPTION = "seed is required for %s";
     private static final String SEED_OUT_OF_BOUNDS = "seed must be between %d and %d";
-    private static final int MINIMUM_SEED = -1337;
-    private static final int MAXIMUM_SEED = 1337;
     private final InstructionFactory instructionFactory;
 
     /**
@@ -25,6 +45,27 @@ public final class InitializationModeFactory {
         this.instructionFactory = instructionFactory;
     }
 
+    /**
+     * Draws different seeds of the random initialization mode without replacement.
+     * Only the first positions of the permutation of all seeds are shuffled, one for every drawn seed.
+     * @param random the generator deciding the seeds
+     * @param amount the number of seeds, at most {@link #NUMBER_OF_SEEDS}
+     * @return the drawn seeds
+     */
+    public static int[] drawDistinctSeeds(SplittableRandom random, int amount) {
+        int[] allSeeds = new int[NUMBER_OF_SEEDS];
+        for (int i = 0; i < allSeeds.length; i++) {
+            allSeeds[i] = MINIMUM_SEED + i;
+        }
+        for (int i = 0; i < amount; i++) {
+            int j = random.nextInt(i, allSeeds.length);
+            int swapped = allSeeds[i];
+            allSeeds[i] = allSeeds[j];
+            allSeeds[j] = swapped;
+        }
+        return Arrays.copyOf(allSeeds, amount);
+    }
+
     /**
      * Creates a new initialization mode.
      * @param modeName the name of the mode
@@ -35,7 +76,7 @@ public final class InitializationModeFactory {
     public MemoryInitializationMode createInitializationMode(String modeName, Integer seed) throws InitializationModeChangeException {
         return switch (modeName) {
 
-            case STOP_INIT_NAME -> {
+            case STOP_INIT_MODE -> {
                 if (seed != null) {
                     throw new InitializationModeChangeException(SEED_NOT_ALLOWED_ERROR.formatted(modeName));
                 }
@@ -0,0 +1,61 @@
+package kit.codefight.model.memory.initialization;
+
+/**
+ * A non-synchronized pseudorandom number generator producing exactly the same sequence as {@link java.util.Random}
+ * for the same seed, so seeded memory initializations stay reproducible.
+ * Unlike {@link java.util.Random} it does not update its state atomically, which is not needed since
+ * every initialization mode belongs to a single game engine.
+ * @author ukgyh
+ */
+final class LinearCongruentialGenerator {
+    private static final long MULTIPLIER = 0x5DEECE66DL;
+    private static final long ADDEND = 0xBL;
+    private static final int STATE_BITS = 48;
+    private static final long MASK = (1L << STATE_BITS) - 1;
+    private static final int INT_BITS = 32;
+    private static final int POSITIVE_INT_BITS = 31;
+    private long state;
+
+    /**
+     * Constructs a new generator with the same initial state as {@link java.util.Random} with the given seed.
+     * @param seed the seed of the generator
+     */
+    LinearCongruentialGenerator(long seed) {
+        this.state = (seed ^ MULTIPLIER) & MASK;
+    }
+
+    /**
+     * Returns the next uniformly distributed integer over the whole integer range.
+     * @return the next integer
+     */
+    int nextInt() {
+        return next(INT_BITS);
+    }
+
+    /**
+     * Returns the next uniformly distributed integer between zero inclusive and the given bound exclusive.
+     * @param bound the positive upper bound
+     * @return the next integer below the bound
+     */
+    int nextInt(int bound) {
+        int random = next(POSITIVE_INT_BITS);
+        int maximum = bound - 1;
+        if ((bound & maximum) == 0) {
+            //the bound is a power of two, so the highest bits are taken
+            return (int) ((bound * (long) random) >> POSITIVE_INT_BITS);
+        }
+        //rejecting values from the last incomplete range of the bound to avoid a bias
+        int candidate = random;
+        random = candidate % bound;
+        while (candidate - random + maximum < 0) {
+            candidate = next(POSITIVE_INT_BITS);
+            random = candidate % bound;
+        }
+        return random;
+    }
+
+    private int next(int bits) {
+        state = (state * MULTIPLIER + ADDEND) & MASK;
+        return (int) (state >>> (STATE_BITS - bits));
+    }
+}
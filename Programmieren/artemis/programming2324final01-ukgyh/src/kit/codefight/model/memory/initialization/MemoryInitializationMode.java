@@ -1,7 +1,7 @@
 package kit.codefight.model.memory.initialization;
 
 import kit.codefight.exceptions.InstructionCreationException;
-import kit.codefight.model.instructions.Instruction;
+import kit.codefight.model.instructions.InstructionData;
 
 /**
  * This interface is used to define the methods for the different memory initialization modes.
@@ -9,12 +9,22 @@ import kit.codefight.model.instructions.Instruction;
  */
 public interface MemoryInitializationMode {
     /**
-     * Produces an instruction for the given owner.
-     * @param owner the owner of the instruction
+     * Produces an instruction to fill an empty memory cell with.
      * @return the produced instruction
      * @throws InstructionCreationException if the instruction creation fails
      */
-    Instruction produceInstruction(String owner) throws InstructionCreationException;
+    InstructionData produceInstruction() throws InstructionCreationException;
+
+    /**
+     * Produces the instructions for a range of empty memory cells in one pass.
+     * The result is the same as producing the instructions of the cells one after another in ascending order.
+     * @param opcodes the array receiving the opcodes of the instructions
+     * @param argumentsA the array receiving the first arguments of the instructions
+     * @param argumentsB the array receiving the second arguments of the instructions
+     * @param from the first index to fill, inclusive
+     * @param to the last index to fill, exclusive
+     */
+    void fill(byte[] opcodes, int[] argumentsA, int[] argumentsB, int from, int to);
 
     /**
      * Returns the information about the mode.
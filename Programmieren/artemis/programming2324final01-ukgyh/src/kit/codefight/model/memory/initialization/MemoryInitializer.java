@@ -2,28 +2,33 @@ package kit.codefight.model.memory.initialization;
 
 import kit.codefight.exceptions.InstructionCreationException;
 import kit.codefight.exceptions.InitializationModeChangeException;
+import kit.codefight.exceptions.MemoryAllocationException;
 import kit.codefight.exceptions.MemoryOutOfBoundsException;
 import kit.codefight.exceptions.MemoryOverloadException;
 import kit.codefight.exceptions.MissingAiException;
 
+import kit.codefight.model.ai.Ai;
 import kit.codefight.model.ai.AiStateHandler;
-import kit.codefight.model.instructions.Instruction;
 import kit.codefight.model.instructions.InstructionFactory;
 import kit.codefight.model.memory.MemoryStateHandler;
 
-import java.util.List;
 /**
  * This class is responsible for initializing the memory with the starting instructions of the AIs.
  * It also has the responsibility of setting the mode of initialization for the memory.
+ * In a large arena the initialization mode only produces one template page that every page shares until it is written,
+ * so the memory of an arena with millions of cells only grows with the cells the AIs touch.
  * @author ukgyh
  */
 public final class MemoryInitializer {
     private static final String MEMORY_OVERLOAD_ERROR = "too many starting instructions for memory size";
     private static final String MEMORY_FILL_ERROR = "there was an error when trying to fill up memory";
-    private static final String NO_OWNER = null;
     private final InitializationModeFactory initializationModeFactory;
     private final AiStateHandler aiStateHandler;
     private final MemoryStateHandler memoryStateHandler;
+    private final boolean largeArena;
+    private final byte[] fillOpcodes;
+    private final int[] fillArgumentsA;
+    private final int[] fillArgumentsB;
     private MemoryInitializationMode initializationMode;
 
     /**
@@ -33,10 +38,28 @@ public final class MemoryInitializer {
      * @param instructionFactory the factory for creating instructions
      */
     public MemoryInitializer(MemoryStateHandler memoryStateHandler, AiStateHandler aiStateHandler, InstructionFactory instructionFactory) {
+        this(memoryStateHandler, aiStateHandler, instructionFactory, false);
+    }
+
+    /**
+     * Constructs new MemoryInitializer that optionally fills the memory of a large arena with a shared template page.
+     * @param memoryStateHandler the handler for the memory state
+     * @param aiStateHandler the handler for the AI state
+     * @param instructionFactory the factory for creating instructions
+     * @param largeArena whether the memory is filled with one repeated template page instead of cell by cell
+     */
+    public MemoryInitializer(MemoryStateHandler memoryStateHandler, AiStateHandler aiStateHandler, InstructionFactory instructionFactory,
+                             boolean largeArena) {
         this.memoryStateHandler = memoryStateHandler;
         this.aiStateHandler = aiStateHandler;
         this.initializationModeFactory = new InitializationModeFactory(instructionFactory);
         this.initializationMode = new StopInitializationMode(instructionFactory);
+        this.largeArena = largeArena;
+        //the fill buffers are reused by every game of this initializer
+        int fillLength = largeArena ? MemoryStateHandler.TEMPLATE_SIZE : memoryStateHandler.getMemorySize();
+        this.fillOpcodes = new byte[fillLength];
+        this.fillArgumentsA = new int[fillLength];
+        this.fillArgumentsB = new int[fillLength];
     }
 
     /**
@@ -44,14 +67,20 @@ public final class MemoryInitializer {
      * @throws MissingAiException if there are no active AIs
      * @throws MemoryOverloadException if there are too many starting instructions for the memory size
      * @throws InstructionCreationException if there is an error when creating the instructions
+     * @throws MemoryAllocationException if the cells of the memory cannot be allocated
      */
-    public void initializeMemory() throws MissingAiException, MemoryOverloadException, InstructionCreationException {
-        List<String> aiNames = aiStateHandler.getActiveAiNames();
+    public void initializeMemory() throws MissingAiException, MemoryOverloadException, InstructionCreationException,
+            MemoryAllocationException {
+        int numberOfAi = aiStateHandler.getNumberOfAi();
         int memorySize = memoryStateHandler.getMemorySize();
-        memoryStateHandler.createMemory(memorySize);
+        try {
+            memoryStateHandler.createMemory(memorySize);
+        } catch (MemoryAllocationException e) {
+            resetInitialization();
+            throw e;
+        }
 
-        float numberOfAi = aiNames.size();
-        float distanceBetweenAi = memorySize / numberOfAi;
+        float distanceBetweenAi = memorySize / (float) numberOfAi;
 
         try {
             fillMemory();
@@ -60,41 +89,19 @@ public final class MemoryInitializer {
             throw new MemoryOverloadException(MEMORY_FILL_ERROR, e);
         }
 
+        //AI handles are assigned in activation order, which is also the order of placement in memory
         for (int i = 0; i < numberOfAi; i++)  {
 
-            List<Instruction> startingInstructions = aiStateHandler.getActiveStartingInstructions(aiNames.get(i));
-            boolean isLastAi = (i == aiNames.size() - 1);
-            checkValidInstructionAmount(distanceBetweenAi, startingInstructions.size(), isLastAi);
+            Ai program = aiStateHandler.getProgram(i);
+            boolean isLastAi = (i == numberOfAi - 1);
+            checkValidInstructionAmount(distanceBetweenAi, program.getSize(), isLastAi);
 
             int aiIndex = (int) Math.floor(i * distanceBetweenAi);
-            //writing the instructions in memory
-            for (int j = 0; j < startingInstructions.size(); j++) {
-                try {
-                    memoryStateHandler.putInstructionAtIndex(aiIndex + j, startingInstructions.get(j));
-                } catch (MemoryOutOfBoundsException e) {
-                    resetInitialization();
-                    throw new MemoryOverloadException(MEMORY_OVERLOAD_ERROR, e);
-                }
-            }
-            //set AI pointer to be at first legal starting instruction
-            Instruction initialInstruction;
+            //writing the instructions in memory, owned by the handle of the AI
             try {
-                initialInstruction = memoryStateHandler.getInstructionAtIndex(aiIndex);
-            } catch (MemoryOutOfBoundsException e) {
-                resetInitialization();
-                throw new MemoryOverloadException(MEMORY_OVERLOAD_ERROR, e);
-            }
-            while (!initialInstruction.isValidFirstInstruction()) {
-                aiIndex++;
-                try {
-                    initialInstruction = memoryStateHandler.getInstructionAtIndex(aiIndex);
-                } catch (MemoryOutOfBoundsException e) {
-                    resetInitialization();
-                    throw new MemoryOverloadException(MEMORY_OVERLOAD_ERROR, e);
-                }
-            }
-            try {
-                aiStateHandler.initializeAiPointer(aiNames.get(i), aiIndex);
+                program.placeInto(memoryStateHandler, aiIndex, i);
+                //set AI pointer to be at first legal starting instruction
+                aiStateHandler.initializeAiPointer(i, aiIndex + program.getFirstInstructionOffset());
             } catch (MemoryOutOfBoundsException e) {
                 resetInitialization();
                 throw new MemoryOverloadException(MEMORY_OVERLOAD_ERROR, e);
@@ -122,13 +129,20 @@ public final class MemoryInitializer {
         return this.initializationMode.getModeInfo();
     }
 
-    private void fillMemory() throws MemoryOutOfBoundsException, InstructionCreationException {
-        for (int i = 0; i < memoryStateHandler.getMemorySize(); i++) {
-            if (memoryStateHandler.isMemoryCellEmpty(i)) {
-                Instruction newInstruction = initializationMode.produceInstruction(NO_OWNER);
-                memoryStateHandler.putInstructionAtIndex(i, newInstruction);
-            }
+    /**
+     * Fills the whole new memory with the instructions of the initialization mode in bulk.
+     * The memory is empty at this point, so every cell is filled before the AIs are placed.
+     * @throws MemoryOutOfBoundsException if the memory cannot be written
+     */
+    private void fillMemory() throws MemoryOutOfBoundsException {
+        if (largeArena) {
+            initializationMode.fill(fillOpcodes, fillArgumentsA, fillArgumentsB, 0, MemoryStateHandler.TEMPLATE_SIZE);
+            memoryStateHandler.fillWithTemplate(fillOpcodes, fillArgumentsA, fillArgumentsB, MemoryStateHandler.NO_EDITOR);
+            return;
         }
+        int memorySize = memoryStateHandler.getMemorySize();
+        initializationMode.fill(fillOpcodes, fillArgumentsA, fillArgumentsB, 0, memorySize);
+        memoryStateHandler.loadCells(0, fillOpcodes, fillArgumentsA, fillArgumentsB, memorySize, MemoryStateHandler.NO_EDITOR);
     }
 
     private void resetInitialization() {
@@ -1,23 +1,21 @@
 package kit.codefight.model.memory.initialization;
 
 import kit.codefight.exceptions.InstructionCreationException;
-import kit.codefight.model.instructions.Instruction;
+import kit.codefight.model.instructions.InstructionData;
 import kit.codefight.model.instructions.InstructionFactory;
 
-import java.util.Random;
-
 /**
  * represents the Random Initialization mode that fills the memory with random instructions.
  * @author ukgyh
  */
 public final class RandomInitializationMode implements MemoryInitializationMode {
-    private static final String MODE_NAME = "INIT_MODE_RANDOM";
+    private static final String MODE_NAME = InitializationModeFactory.RANDOM_INIT_MODE;
     private static final int INFORMATION_AMOUNT = 2;
     private static final int INFORMATION_NAME_INDEX = 0;
     private static final int INFORMATION_SEED_INDEX = 1;
     private static final int NUMBER_OF_INSTRUCTIONS = 9;
     private final int seed;
-    private final Random numberGenerator;
+    private final LinearCongruentialGenerator numberGenerator;
     private final InstructionFactory instructionFactory;
 
     /**
@@ -28,16 +26,26 @@ public final class RandomInitializationMode implements MemoryInitializationMode
     RandomInitializationMode(InstructionFactory instructionFactory, int seed) {
         this.instructionFactory = instructionFactory;
         this.seed = seed;
-        this.numberGenerator = new Random(seed);
+        this.numberGenerator = new LinearCongruentialGenerator(seed);
     }
 
 
     @Override
-    public Instruction produceInstruction(String owner) throws InstructionCreationException {
+    public InstructionData produceInstruction() throws InstructionCreationException {
         int instructionID = numberGenerator.nextInt(NUMBER_OF_INSTRUCTIONS);
         int argA = numberGenerator.nextInt();
         int argB = numberGenerator.nextInt();
-        return instructionFactory.createInstructionByID(instructionID, argA, argB, owner);
+        return instructionFactory.createInstructionByID(instructionID, argA, argB);
+    }
+
+    @Override
+    public void fill(byte[] opcodes, int[] argumentsA, int[] argumentsB, int from, int to) {
+        //drawing the numbers in the same order as produceInstruction keeps the memory of every seed unchanged
+        for (int i = from; i < to; i++) {
+            opcodes[i] = (byte) numberGenerator.nextInt(NUMBER_OF_INSTRUCTIONS);
+            argumentsA[i] = numberGenerator.nextInt();
+            argumentsB[i] = numberGenerator.nextInt();
+        }
     }
 
     @Override
@@ -1,15 +1,17 @@
 package kit.codefight.model.memory.initialization;
 
 import kit.codefight.exceptions.InstructionCreationException;
-import kit.codefight.model.instructions.Instruction;
+import kit.codefight.model.instructions.InstructionData;
 import kit.codefight.model.instructions.InstructionFactory;
 
+import java.util.Arrays;
+
 /**
  * This class represents the stop initialization mode which fills the memory with stop instructions.
  * @author ukgyh
  */
 public final class StopInitializationMode implements MemoryInitializationMode {
-    private static final String MODE_NAME = "INIT_MODE_STOP";
+    private static final String MODE_NAME = InitializationModeFactory.STOP_INIT_MODE;
     private static final int HASH_CODE_INT = 0;
     private static final int INFORMATION_AMOUNT = 1;
     private static final int INFORMATION_NAME_INDEX = 0;
@@ -29,8 +31,15 @@ public final class StopInitializationMode implements MemoryInitializationMode {
     }
 
     @Override
-    public Instruction produceInstruction(String owner) throws InstructionCreationException {
-        return instructionFactory.createInstructionByID(STOP_ID, STOP_ARG_A, STOP_ARG_B, owner);
+    public InstructionData produceInstruction() throws InstructionCreationException {
+        return instructionFactory.createInstructionByID(STOP_ID, STOP_ARG_A, STOP_ARG_B);
+    }
+
+    @Override
+    public void fill(byte[] opcodes, int[] argumentsA, int[] argumentsB, int from, int to) {
+        Arrays.fill(opcodes, from, to, (byte) STOP_ID);
+        Arrays.fill(argumentsA, from, to, STOP_ARG_A);
+        Arrays.fill(argumentsB, from, to, STOP_ARG_B);
     }
 
     @Override
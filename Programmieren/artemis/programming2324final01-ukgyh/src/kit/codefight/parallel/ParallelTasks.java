@@ -0,0 +1,94 @@
+package kit.codefight.parallel;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * Runs independent tasks on a fork-join pool and reports their failures as the checked exception of a feature.
+ * A fork-join pool wraps a checked exception thrown by a task into runtime exceptions, so the exception of the feature
+ * is searched along the whole chain of causes instead of only the direct cause of the failed result.
+ * @param <E> the checked exception of the feature
+ * @author ukgyh
+ */
+public final class ParallelTasks<E extends Exception> {
+    private final Class<E> failureType;
+    private final FailureFactory<E> failureFactory;
+    private final String interruptedError;
+    private final String failedError;
+
+    /**
+     * Constructs new ParallelTasks.
+     * @param failureType the checked exception thrown by the tasks, which is passed on unchanged
+     * @param failureFactory creates the exception for any other failure
+     * @param interruptedError the message if the waiting thread is interrupted
+     * @param failedError the message of an unexpected failure of a task, formatted with the message of the failure
+     */
+    public ParallelTasks(Class<E> failureType, FailureFactory<E> failureFactory, String interruptedError,
+                         String failedError) {
+        this.failureType = failureType;
+        this.failureFactory = failureFactory;
+        this.interruptedError = interruptedError;
+        this.failedError = failedError;
+    }
+
+    /**
+     * Runs all tasks on the given pool and waits until every task is done.
+     * @param pool the pool running the tasks
+     * @param tasks the tasks to run
+     * @param <T> the type of the results
+     * @return the results of the tasks in the order of the tasks
+     * @throws E if a task failed or the thread is interrupted
+     */
+    public <T> List<T> invokeAll(ForkJoinPool pool, List<? extends Callable<T>> tasks) throws E {
+        try {
+            List<T> results = new ArrayList<>();
+            for (Future<T> future : pool.invokeAll(tasks)) {
+                results.add(future.get());
+            }
+            return results;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw failureFactory.create(interruptedError, e);
+        } catch (ExecutionException e) {
+            throw unwrap(e);
+        }
+    }
+
+    /**
+     * Finds the exception of the feature among the causes of a failed task.
+     * An unexpected failure is described by the innermost cause, which is the exception the task threw, since the pool
+     * may rethrow a copy of it in the waiting thread.
+     * @param failure the failure of the task
+     * @return the exception of the feature, or a new one describing the unexpected failure
+     */
+    private E unwrap(ExecutionException failure) {
+        Throwable rootCause = failure;
+        for (Throwable cause = failure.getCause(); cause != null; cause = cause.getCause()) {
+            if (failureType.isInstance(cause)) {
+                return failureType.cast(cause);
+            }
+            rootCause = cause;
+        }
+        return failureFactory.create(failedError.formatted(rootCause.getMessage()), rootCause);
+    }
+
+    /**
+     * Creates the checked exception of a feature from a message and a cause.
+     * @param <E> the checked exception of the feature
+     * @author ukgyh
+     */
+    @FunctionalInterface
+    public interface FailureFactory<E extends Exception> {
+        /**
+         * Creates the exception.
+         * @param message the detail message
+         * @param cause the throwable that caused the exception
+         * @return the exception
+         */
+        E create(String message, Throwable cause);
+    }
+}
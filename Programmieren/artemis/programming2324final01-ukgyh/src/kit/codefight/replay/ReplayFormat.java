@@ -0,0 +1,91 @@
+package kit.codefight.replay;
+
+/**
+ * Describes the binary layout of a replay file.
+ * A replay starts with a header holding the memory size, the keyframe interval and the names of the AIs.
+ * It is followed by records, each starting with a tag byte. A keyframe holds the full game state,
+ * all other records hold one change of the state. Every step ends with a step record and every keyframe interval
+ * steps a keyframe follows. A zero tag marks the end of the replay.
+ * @author ukgyh
+ */
+final class ReplayFormat {
+    /**
+     * marks a file as CodeFight replay.
+     */
+    static final int MAGIC = 0x43465250;
+    /**
+     * version of the layout.
+     */
+    static final int VERSION = 1;
+    /**
+     * tag marking the end of the replay.
+     */
+    static final byte END_TAG = 0;
+    /**
+     * tag of a record holding the full game state.
+     */
+    static final byte KEYFRAME_TAG = 1;
+    /**
+     * tag of a record holding one memory write.
+     */
+    static final byte CELL_TAG = 2;
+    /**
+     * tag of a record holding a changed AI pointer.
+     */
+    static final byte POINTER_TAG = 3;
+    /**
+     * tag of a record holding a stopped AI.
+     */
+    static final byte STOP_TAG = 4;
+    /**
+     * tag of a record marking the end of a step.
+     */
+    static final byte STEP_TAG = 5;
+    /**
+     * bytes of a memory cell: opcode, both arguments, last editor and bomb flag.
+     */
+    static final int CELL_BYTES = Byte.BYTES + Integer.BYTES + Integer.BYTES + Short.BYTES + Byte.BYTES;
+    /**
+     * bytes of the state of one AI in a keyframe: pointer, counter and active flag.
+     */
+    static final int AI_STATE_BYTES = Integer.BYTES + Integer.BYTES + Byte.BYTES;
+    /**
+     * bytes of a memory write record.
+     */
+    static final int CELL_RECORD_BYTES = Byte.BYTES + Integer.BYTES + CELL_BYTES;
+    /**
+     * bytes of a pointer record.
+     */
+    static final int POINTER_RECORD_BYTES = Byte.BYTES + Short.BYTES + Integer.BYTES;
+    /**
+     * bytes of a stop record.
+     */
+    static final int STOP_RECORD_BYTES = Byte.BYTES + Short.BYTES;
+    /**
+     * bytes of a step record.
+     */
+    static final int STEP_RECORD_BYTES = Byte.BYTES + Short.BYTES + Integer.BYTES;
+    /**
+     * value of a set flag.
+     */
+    static final byte TRUE = 1;
+    /**
+     * value of an unset flag.
+     */
+    static final byte FALSE = 0;
+    private static final String INSTANTIATION_ERROR = "utility class cannot be instantiated";
+
+    private ReplayFormat() {
+        throw new UnsupportedOperationException(INSTANTIATION_ERROR);
+    }
+
+    /**
+     * Returns the bytes of a keyframe record.
+     * @param memorySize the size of the memory
+     * @param numberOfAi the number of AIs in the game
+     * @return the bytes of a keyframe record
+     */
+    static int keyframeRecordBytes(int memorySize, int numberOfAi) {
+        return Byte.BYTES + Long.BYTES + memorySize * CELL_BYTES + numberOfAi * AI_STATE_BYTES;
+    }
+}
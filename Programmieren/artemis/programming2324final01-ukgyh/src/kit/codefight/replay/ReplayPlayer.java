@@ -0,0 +1,358 @@
+package kit.codefight.replay;
+
+import kit.codefight.exceptions.ReplayException;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Plays back a replay file written by a {@link ReplayRecorder}.
+ * The file is memory-mapped and indexed by its keyframes when it is opened, seeking to a step restores the
+ * closest earlier keyframe and applies at most one keyframe interval of delta records.
+ * @author ukgyh
+ */
+public final class ReplayPlayer {
+    private static final String OPEN_ERROR = "replay file %s cannot be read";
+    private static final String FORMAT_ERROR = "replay file is damaged or not a CodeFight replay";
+    private static final String SIZE_ERROR = "replay file is too large to be mapped";
+    private static final String STEP_ERROR = "step %d is not part of the replay, it covers steps %d to %d";
+    private static final int INITIAL_KEYFRAME_CAPACITY = 16;
+    private final MappedByteBuffer buffer;
+    private final int memorySize;
+    private final int keyframeInterval;
+    private final List<String> aiNames;
+    private final byte[] opcodes;
+    private final int[] argumentsA;
+    private final int[] argumentsB;
+    private final short[] lastEditors;
+    private final BitSet aiBombs;
+    private final int[] pointers;
+    private final int[] counters;
+    private final boolean[] active;
+    private long[] keyframeSteps;
+    private int[] keyframeOffsets;
+    private int numberOfKeyframes;
+    private long lastStep;
+    private long step;
+
+    private ReplayPlayer(MappedByteBuffer buffer, int memorySize, int keyframeInterval, List<String> aiNames) {
+        this.buffer = buffer;
+        this.memorySize = memorySize;
+        this.keyframeInterval = keyframeInterval;
+        this.aiNames = aiNames;
+        this.opcodes = new byte[memorySize];
+        this.argumentsA = new int[memorySize];
+        this.argumentsB = new int[memorySize];
+        this.lastEditors = new short[memorySize];
+        this.aiBombs = new BitSet(memorySize);
+        this.pointers = new int[aiNames.size()];
+        this.counters = new int[aiNames.size()];
+        this.active = new boolean[aiNames.size()];
+        this.keyframeSteps = new long[INITIAL_KEYFRAME_CAPACITY];
+        this.keyframeOffsets = new int[INITIAL_KEYFRAME_CAPACITY];
+    }
+
+    /**
+     * Opens a replay file and positions the player at the first recorded step.
+     * @param file the replay file
+     * @return the player
+     * @throws ReplayException if the file cannot be read or is not a valid replay
+     */
+    public static ReplayPlayer open(Path file) throws ReplayException {
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new ReplayException(SIZE_ERROR);
+            }
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        } catch (IOException e) {
+            throw new ReplayException(OPEN_ERROR.formatted(file), e);
+        }
+        ReplayPlayer player;
+        try {
+            player = readHeader(buffer);
+            player.indexRecords();
+        } catch (BufferUnderflowException | IndexOutOfBoundsException | IllegalArgumentException e) {
+            throw new ReplayException(FORMAT_ERROR, e);
+        }
+        if (player.numberOfKeyframes == 0) {
+            throw new ReplayException(FORMAT_ERROR);
+        }
+        player.loadKeyframe(0);
+        return player;
+    }
+
+    private static ReplayPlayer readHeader(MappedByteBuffer buffer) throws ReplayException {
+        if (buffer.getInt() != ReplayFormat.MAGIC || buffer.getInt() != ReplayFormat.VERSION) {
+            throw new ReplayException(FORMAT_ERROR);
+        }
+        int memorySize = buffer.getInt();
+        int keyframeInterval = buffer.getInt();
+        int numberOfAi = buffer.getInt();
+        if (memorySize <= 0 || keyframeInterval <= 0 || numberOfAi < 0) {
+            throw new ReplayException(FORMAT_ERROR);
+        }
+        String[] names = new String[numberOfAi];
+        for (int i = 0; i < numberOfAi; i++) {
+            byte[] name = new byte[buffer.getShort()];
+            buffer.get(name);
+            names[i] = new String(name, StandardCharsets.UTF_8);
+        }
+        return new ReplayPlayer(buffer, memorySize, keyframeInterval, List.of(names));
+    }
+
+    /**
+     * Scans all records once to find the keyframes and the last recorded step.
+     * @throws ReplayException if an unknown record is found
+     */
+    private void indexRecords() throws ReplayException {
+        int keyframeBytes = ReplayFormat.keyframeRecordBytes(memorySize, aiNames.size());
+        long currentStep = 0;
+        while (buffer.hasRemaining()) {
+            int offset = buffer.position();
+            byte tag = buffer.get();
+            switch (tag) {
+                case ReplayFormat.END_TAG -> {
+                    lastStep = currentStep;
+                    return;
+                }
+                case ReplayFormat.KEYFRAME_TAG -> {
+                    currentStep = buffer.getLong();
+                    addKeyframe(currentStep, offset);
+                    buffer.position(offset + keyframeBytes);
+                }
+                case ReplayFormat.CELL_TAG -> skip(offset, ReplayFormat.CELL_RECORD_BYTES);
+                case ReplayFormat.POINTER_TAG -> skip(offset, ReplayFormat.POINTER_RECORD_BYTES);
+                case ReplayFormat.STOP_TAG -> skip(offset, ReplayFormat.STOP_RECORD_BYTES);
+                case ReplayFormat.STEP_TAG -> {
+                    skip(offset, ReplayFormat.STEP_RECORD_BYTES);
+                    currentStep++;
+                }
+                default -> throw new ReplayException(FORMAT_ERROR);
+            }
+        }
+        //a replay that was not closed properly ends without end tag, it is played up to its last complete record
+        lastStep = currentStep;
+    }
+
+    private void skip(int offset, int recordBytes) {
+        buffer.position(offset + recordBytes);
+    }
+
+    private void addKeyframe(long keyframeStep, int offset) {
+        if (numberOfKeyframes == keyframeSteps.length) {
+            keyframeSteps = Arrays.copyOf(keyframeSteps, numberOfKeyframes * 2);
+            keyframeOffsets = Arrays.copyOf(keyframeOffsets, numberOfKeyframes * 2);
+        }
+        keyframeSteps[numberOfKeyframes] = keyframeStep;
+        keyframeOffsets[numberOfKeyframes] = offset;
+        numberOfKeyframes++;
+    }
+
+    /**
+     * Moves the replay to the state after the given number of executed steps.
+     * Seeking forward within the current keyframe interval continues from the current state,
+     * any other seek restores the closest earlier keyframe first.
+     * @param targetStep the number of executed steps of the game
+     * @throws ReplayException if the step is not part of the replay
+     */
+    public void seek(long targetStep) throws ReplayException {
+        if (targetStep < getFirstStep() || targetStep > lastStep) {
+            throw new ReplayException(STEP_ERROR.formatted(targetStep, getFirstStep(), lastStep));
+        }
+        int keyframe = findKeyframe(targetStep);
+        if (targetStep < step || keyframeSteps[keyframe] > step) {
+            loadKeyframe(keyframe);
+        }
+        while (step < targetStep) {
+            applyNextRecord();
+        }
+    }
+
+    /**
+     * Finds the last keyframe at or before the given step using binary search.
+     * @param targetStep the step to find the keyframe for
+     * @return the position of the keyframe in the index
+     */
+    private int findKeyframe(long targetStep) {
+        int position = Arrays.binarySearch(keyframeSteps, 0, numberOfKeyframes, targetStep);
+        //a missing step is reported as negative insertion point, the keyframe before it is the one to start from
+        return position < 0 ? -position - 2 : position;
+    }
+
+    private void loadKeyframe(int keyframe) {
+        buffer.position(keyframeOffsets[keyframe] + Byte.BYTES);
+        step = buffer.getLong();
+        aiBombs.clear();
+        for (int i = 0; i < memorySize; i++) {
+            readCell(i);
+        }
+        for (int handle = 0; handle < aiNames.size(); handle++) {
+            pointers[handle] = buffer.getInt();
+            counters[handle] = buffer.getInt();
+            active[handle] = buffer.get() == ReplayFormat.TRUE;
+        }
+    }
+
+    private void applyNextRecord() {
+        int offset = buffer.position();
+        byte tag = buffer.get();
+        switch (tag) {
+            case ReplayFormat.KEYFRAME_TAG -> buffer.position(offset + ReplayFormat.keyframeRecordBytes(memorySize, aiNames.size()));
+            case ReplayFormat.CELL_TAG -> readCell(buffer.getInt());
+            case ReplayFormat.POINTER_TAG -> pointers[buffer.getShort()] = buffer.getInt();
+            case ReplayFormat.STOP_TAG -> active[buffer.getShort()] = false;
+            case ReplayFormat.STEP_TAG -> {
+                counters[buffer.getShort()] = buffer.getInt();
+                step++;
+            }
+            //the index guarantees that the target step is reached before the end of the records
+            default -> throw new IllegalStateException(FORMAT_ERROR);
+        }
+    }
+
+    private void readCell(int index) {
+        opcodes[index] = buffer.get();
+        argumentsA[index] = buffer.getInt();
+        argumentsB[index] = buffer.getInt();
+        lastEditors[index] = buffer.getShort();
+        aiBombs.set(index, buffer.get() == ReplayFormat.TRUE);
+    }
+
+    /**
+     * Returns the number of executed steps of the current state.
+     * @return the current step
+     */
+    public long getStep() {
+        return step;
+    }
+
+    /**
+     * Returns the first step of the replay, which is the number of steps executed before the recording started.
+     * @return the first step of the replay
+     */
+    public long getFirstStep() {
+        return keyframeSteps[0];
+    }
+
+    /**
+     * Returns the last step of the replay.
+     * @return the last step of the replay
+     */
+    public long getLastStep() {
+        return lastStep;
+    }
+
+    /**
+     * Returns the number of steps between two keyframes.
+     * @return the keyframe interval
+     */
+    public int getKeyframeInterval() {
+        return keyframeInterval;
+    }
+
+    /**
+     * Returns the size of the recorded memory.
+     * @return the size of the memory
+     */
+    public int getMemorySize() {
+        return memorySize;
+    }
+
+    /**
+     * Returns the number of recorded AIs.
+     * @return the number of AIs
+     */
+    public int getNumberOfAi() {
+        return aiNames.size();
+    }
+
+    /**
+     * Returns the name of the AI with the given handle.
+     * @param handle the handle of the AI
+     * @return the name of the AI
+     */
+    public String getAiName(int handle) {
+        return aiNames.get(handle);
+    }
+
+    /**
+     * Returns the opcode of the cell at the given index in the current state.
+     * @param index the index of the cell
+     * @return the opcode of the cell, negative if the cell is empty
+     */
+    public int getOpcode(int index) {
+        return opcodes[index];
+    }
+
+    /**
+     * Returns argument A of the cell at the given index in the current state.
+     * @param index the index of the cell
+     * @return argument A of the cell
+     */
+    public int getArgumentA(int index) {
+        return argumentsA[index];
+    }
+
+    /**
+     * Returns argument B of the cell at the given index in the current state.
+     * @param index the index of the cell
+     * @return argument B of the cell
+     */
+    public int getArgumentB(int index) {
+        return argumentsB[index];
+    }
+
+    /**
+     * Returns the handle of the last editor of the cell at the given index in the current state.
+     * @param index the index of the cell
+     * @return the handle of the last editor
+     */
+    public int getLastEditor(int index) {
+        return lastEditors[index];
+    }
+
+    /**
+     * Checks if the cell at the given index is an AI bomb in the current state.
+     * @param index the index of the cell
+     * @return true if the cell is an AI bomb, false otherwise
+     */
+    public boolean isAiBomb(int index) {
+        return aiBombs.get(index);
+    }
+
+    /**
+     * Returns the pointer of the AI with the given handle in the current state.
+     * @param handle the handle of the AI
+     * @return the pointer of the AI
+     */
+    public int getAiPointer(int handle) {
+        return pointers[handle];
+    }
+
+    /**
+     * Returns the execution counter of the AI with the given handle in the current state.
+     * @param handle the handle of the AI
+     * @return the execution counter of the AI
+     */
+    public int getAiCounter(int handle) {
+        return counters[handle];
+    }
+
+    /**
+     * Checks if the AI with the given handle is still running in the current state.
+     * @param handle the handle of the AI
+     * @return true if the AI is running, false otherwise
+     */
+    public boolean isActive(int handle) {
+        return active[handle];
+    }
+}
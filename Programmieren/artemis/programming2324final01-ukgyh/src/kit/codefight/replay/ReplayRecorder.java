@@ -0,0 +1,220 @@
+package kit.codefight.replay;
+
+import kit.codefight.exceptions.MemoryOutOfBoundsException;
+import kit.codefight.exceptions.ReplayException;
+import kit.codefight.model.GameRecorder;
+import kit.codefight.model.ai.AiStateHandler;
+import kit.codefight.model.memory.MemoryStateHandler;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Records a running game into a memory-mapped replay file.
+ * Every change of the game state is written as a compact delta record, every keyframe interval steps the full
+ * state is written as keyframe, so a {@link ReplayPlayer} can seek to any step without executing the game.
+ * Errors while recording do not interrupt the game, they are reported when the recording is closed.
+ * @author ukgyh
+ */
+public final class ReplayRecorder implements GameRecorder {
+    private static final String CREATE_ERROR = "replay file %s cannot be created";
+    private static final String WRITE_ERROR = "replay could not be written completely";
+    private static final String INTERVAL_ERROR = "keyframe interval must be positive";
+    private static final int MAPPED_REGION_BYTES = 1 << 20;
+    private static final int MINIMUM_KEYFRAME_INTERVAL = 1;
+    private final FileChannel channel;
+    private final MemoryStateHandler memoryStateHandler;
+    private final AiStateHandler aiStateHandler;
+    private final int keyframeInterval;
+    private final int keyframeBytes;
+    private MappedByteBuffer region;
+    private long regionStart;
+    private long step;
+    private IOException failure;
+
+    private ReplayRecorder(FileChannel channel, MemoryStateHandler memoryStateHandler, AiStateHandler aiStateHandler,
+                           int keyframeInterval, long startStep) {
+        this.channel = channel;
+        this.memoryStateHandler = memoryStateHandler;
+        this.aiStateHandler = aiStateHandler;
+        this.keyframeInterval = keyframeInterval;
+        this.keyframeBytes = ReplayFormat.keyframeRecordBytes(memoryStateHandler.getMemorySize(), aiStateHandler.getNumberOfAi());
+        this.step = startStep;
+    }
+
+    /**
+     * Creates a replay file and writes the header and a keyframe of the current game state.
+     * @param file the replay file, an existing file is overwritten
+     * @param memoryStateHandler the memory of the recorded game
+     * @param aiStateHandler the AIs of the recorded game
+     * @param keyframeInterval the number of steps between two keyframes
+     * @param startStep the number of steps the game executed before the recording starts
+     * @return the recorder
+     * @throws ReplayException if the file cannot be created
+     */
+    public static ReplayRecorder create(Path file, MemoryStateHandler memoryStateHandler, AiStateHandler aiStateHandler,
+                                        int keyframeInterval, long startStep) throws ReplayException {
+        if (keyframeInterval < MINIMUM_KEYFRAME_INTERVAL) {
+            throw new ReplayException(INTERVAL_ERROR);
+        }
+        ReplayRecorder recorder;
+        try {
+            FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                    StandardOpenOption.READ, StandardOpenOption.WRITE);
+            recorder = new ReplayRecorder(channel, memoryStateHandler, aiStateHandler, keyframeInterval, startStep);
+            recorder.region = channel.map(FileChannel.MapMode.READ_WRITE, 0, MAPPED_REGION_BYTES);
+        } catch (IOException e) {
+            throw new ReplayException(CREATE_ERROR.formatted(file), e);
+        }
+        recorder.writeHeader();
+        recorder.writeKeyframe();
+        if (recorder.failure != null) {
+            recorder.close();
+        }
+        return recorder;
+    }
+
+    @Override
+    public void recordCellWrite(int index, int opcode, int argumentA, int argumentB, int editor, boolean isAiBomb) {
+        if (reserve(ReplayFormat.CELL_RECORD_BYTES)) {
+            region.put(ReplayFormat.CELL_TAG);
+            region.putInt(index);
+            putCell(opcode, argumentA, argumentB, editor, isAiBomb);
+        }
+    }
+
+    @Override
+    public void recordPointerChange(int handle, int pointer) {
+        if (reserve(ReplayFormat.POINTER_RECORD_BYTES)) {
+            region.put(ReplayFormat.POINTER_TAG);
+            region.putShort((short) handle);
+            region.putInt(pointer);
+        }
+    }
+
+    @Override
+    public void recordStop(int handle) {
+        if (reserve(ReplayFormat.STOP_RECORD_BYTES)) {
+            region.put(ReplayFormat.STOP_TAG);
+            region.putShort((short) handle);
+        }
+    }
+
+    @Override
+    public void recordStep(int handle, int counter) {
+        if (reserve(ReplayFormat.STEP_RECORD_BYTES)) {
+            region.put(ReplayFormat.STEP_TAG);
+            region.putShort((short) handle);
+            region.putInt(counter);
+        }
+        step++;
+        if (step % keyframeInterval == 0) {
+            writeKeyframe();
+        }
+    }
+
+    /**
+     * Ends the replay and closes the file.
+     * @throws ReplayException if any record could not be written
+     */
+    public void close() throws ReplayException {
+        long size = regionStart;
+        if (failure == null && reserve(Byte.BYTES)) {
+            region.put(ReplayFormat.END_TAG);
+            size = regionStart + region.position();
+            region.force();
+        }
+        try {
+            //cutting off the unused rest of the mapped region, a player also stops at the end tag if this is not possible
+            channel.truncate(size);
+        } catch (IOException e) {
+            failure = failure == null ? e : failure;
+        }
+        try {
+            channel.close();
+        } catch (IOException e) {
+            failure = failure == null ? e : failure;
+        }
+        if (failure != null) {
+            throw new ReplayException(WRITE_ERROR, failure);
+        }
+    }
+
+    private void writeHeader() {
+        List<String> aiNames = aiStateHandler.getOrderedAiNames();
+        int headerBytes = Integer.BYTES * 5;
+        for (String aiName : aiNames) {
+            headerBytes += Short.BYTES + aiName.getBytes(StandardCharsets.UTF_8).length;
+        }
+        if (!reserve(headerBytes)) {
+            return;
+        }
+        region.putInt(ReplayFormat.MAGIC);
+        region.putInt(ReplayFormat.VERSION);
+        region.putInt(memoryStateHandler.getMemorySize());
+        region.putInt(keyframeInterval);
+        region.putInt(aiNames.size());
+        for (String aiName : aiNames) {
+            byte[] name = aiName.getBytes(StandardCharsets.UTF_8);
+            region.putShort((short) name.length);
+            region.put(name);
+        }
+    }
+
+    private void writeKeyframe() {
+        if (!reserve(keyframeBytes)) {
+            return;
+        }
+        region.put(ReplayFormat.KEYFRAME_TAG);
+        region.putLong(step);
+        try {
+            for (int i = 0; i < memoryStateHandler.getMemorySize(); i++) {
+                putCell(memoryStateHandler.getOpcode(i), memoryStateHandler.getArgumentA(i), memoryStateHandler.getArgumentB(i),
+                        memoryStateHandler.getLastEditor(i), memoryStateHandler.isAiBomb(i));
+            }
+        } catch (MemoryOutOfBoundsException e) {
+            failure = new IOException(e.getMessage(), e);
+            return;
+        }
+        for (int handle = 0; handle < aiStateHandler.getNumberOfAi(); handle++) {
+            region.putInt(aiStateHandler.getAiPointer(handle));
+            region.putInt(aiStateHandler.getAiCounter(handle));
+            region.put(aiStateHandler.isActive(handle) ? ReplayFormat.TRUE : ReplayFormat.FALSE);
+        }
+    }
+
+    private void putCell(int opcode, int argumentA, int argumentB, int editor, boolean isAiBomb) {
+        region.put((byte) opcode);
+        region.putInt(argumentA);
+        region.putInt(argumentB);
+        region.putShort((short) editor);
+        region.put(isAiBomb ? ReplayFormat.TRUE : ReplayFormat.FALSE);
+    }
+
+    /**
+     * Makes sure the mapped region has room for the given number of bytes, mapping the next region if needed.
+     * @param bytes the number of bytes to be written
+     * @return true if the bytes can be written, false if recording failed
+     */
+    private boolean reserve(int bytes) {
+        if (failure != null) {
+            return false;
+        }
+        if (region.remaining() >= bytes) {
+            return true;
+        }
+        try {
+            regionStart += region.position();
+            region = channel.map(FileChannel.MapMode.READ_WRITE, regionStart, Math.max(MAPPED_REGION_BYTES, bytes));
+            return true;
+        } catch (IOException e) {
+            failure = e;
+            return false;
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package kit.codefight.replay;
+
+import kit.codefight.arguments.StartingArguments;
+import kit.codefight.display.InputOutputHandler;
+import kit.codefight.exceptions.ArgumentInvalidException;
+import kit.codefight.exceptions.ReplayException;
+
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+
+/**
+ * Plays back a replay file as headless mode of the program, printing the state of the AIs at the given steps.
+ * Without steps the state at the last recorded step is printed.
+ * @author ukgyh
+ */
+public final class ReplayRunner {
+    /**
+     * the name of the mode as first starting argument.
+     */
+    public static final String MODE = "replay";
+    private static final String INSTANTIATION_ERROR = "utility class cannot be instantiated";
+    private static final String ARGUMENT_AMOUNT_ERROR = "format is replay [file] [step] ..., without steps the last step is shown";
+    private static final String PATH_INVALID_ERROR = "%s is not a valid file";
+    private static final String REPLAY_MESSAGE = "replay of %d cells covers steps %d to %d";
+    private static final String STEP_MESSAGE = "step %d:";
+    private static final String AI_MESSAGE = "  %s: pointer %d, counter %d, %d cells, %s";
+    private static final String RUNNING_STATUS = "running";
+    private static final String STOPPED_STATUS = "stopped";
+    private static final int PATH_INDEX = 1;
+    private static final int FIRST_STEP_INDEX = 2;
+    private static final int MINIMUM_ARGUMENT_AMOUNT = 2;
+
+    private ReplayRunner() {
+        throw new UnsupportedOperationException(INSTANTIATION_ERROR);
+    }
+
+    /**
+     * Parses the arguments of the mode, opens the replay and prints the state at every given step.
+     * @param args the starting arguments, starting with the name of the mode
+     * @param inputOutputHandler the handler printing the states and errors
+     */
+    public static void run(String[] args, InputOutputHandler inputOutputHandler) {
+        try {
+            StartingArguments.checkArgumentAmount(args, MINIMUM_ARGUMENT_AMOUNT, Integer.MAX_VALUE, ARGUMENT_AMOUNT_ERROR);
+            long[] steps = new long[args.length - FIRST_STEP_INDEX];
+            try {
+                for (int i = 0; i < steps.length; i++) {
+                    steps[i] = Long.parseLong(args[FIRST_STEP_INDEX + i]);
+                }
+            } catch (NumberFormatException e) {
+                throw new ArgumentInvalidException(ARGUMENT_AMOUNT_ERROR);
+            }
+            Path file;
+            try {
+                file = Path.of(args[PATH_INDEX]);
+            } catch (InvalidPathException e) {
+                throw new ArgumentInvalidException(PATH_INVALID_ERROR.formatted(args[PATH_INDEX]));
+            }
+
+            ReplayPlayer player = ReplayPlayer.open(file);
+            inputOutputHandler.displayStandard(REPLAY_MESSAGE.formatted(player.getMemorySize(), player.getFirstStep(),
+                    player.getLastStep()));
+            if (steps.length == 0) {
+                steps = new long[]{player.getLastStep()};
+            }
+            for (long step : steps) {
+                player.seek(step);
+                displayState(player, inputOutputHandler);
+            }
+        } catch (ArgumentInvalidException | ReplayException e) {
+            inputOutputHandler.displayError(e.getMessage());
+        }
+        inputOutputHandler.closeInteraction();
+    }
+
+    private static void displayState(ReplayPlayer player, InputOutputHandler inputOutputHandler) {
+        int[] ownedCells = new int[player.getNumberOfAi()];
+        for (int i = 0; i < player.getMemorySize(); i++) {
+            int editor = player.getLastEditor(i);
+            if (editor >= 0 && editor < ownedCells.length) {
+                ownedCells[editor]++;
+            }
+        }
+        inputOutputHandler.displayStandard(STEP_MESSAGE.formatted(player.getStep()));
+        for (int handle = 0; handle < player.getNumberOfAi(); handle++) {
+            inputOutputHandler.displayStandard(AI_MESSAGE.formatted(player.getAiName(handle), player.getAiPointer(handle),
+                    player.getAiCounter(handle), ownedCells[handle],
+                    player.isActive(handle) ? RUNNING_STATUS : STOPPED_STATUS));
+        }
+    }
+}
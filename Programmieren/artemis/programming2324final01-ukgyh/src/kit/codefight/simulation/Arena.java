@@ -0,0 +1,110 @@
+package kit.codefight.simulation;
+
+import kit.codefight.exceptions.AiCreationException;
+import kit.codefight.exceptions.GameExecutionException;
+import kit.codefight.exceptions.InitializationModeChangeException;
+import kit.codefight.exceptions.SimulationException;
+import kit.codefight.exceptions.StartingGameException;
+import kit.codefight.model.GameEngine;
+import kit.codefight.model.memory.initialization.InitializationModeFactory;
+import kit.codefight.tournament.TournamentAi;
+
+import java.util.List;
+
+/**
+ * A single arena of a simulation, running one game on its own isolated game engine.
+ * Arenas share no state, so the arenas of a simulation can be advanced in parallel.
+ * @author ukgyh
+ */
+public final class Arena {
+    private static final String ARENA_ERROR = "arena %d with seed %d failed: %s";
+    private static final int WINNING_AI_AMOUNT = 1;
+    private final int index;
+    private final int seed;
+    private final GameEngine gameEngine;
+    private List<String> runningAiNames;
+
+    /**
+     * Constructs a new Arena and starts its game.
+     * @param index the index of the arena in its simulation
+     * @param ais the AIs taking part in the game in the order they move
+     * @param memorySize the size of the memory
+     * @param seed the seed the memory is randomly initialized with
+     * @throws SimulationException if the game cannot be started
+     */
+    Arena(int index, List<TournamentAi> ais, int memorySize, int seed) throws SimulationException {
+        this.index = index;
+        this.seed = seed;
+        this.gameEngine = new GameEngine(memorySize, ais.size());
+        gameEngine.setCycleDetection(true);
+        String[] aiNames = new String[ais.size()];
+        try {
+            gameEngine.setInitializationMode(InitializationModeFactory.RANDOM_INIT_MODE, seed);
+            for (int i = 0; i < ais.size(); i++) {
+                aiNames[i] = ais.get(i).name();
+                gameEngine.addAi(aiNames[i], ais.get(i).decodedProgram());
+            }
+            gameEngine.startGame(aiNames);
+        } catch (InitializationModeChangeException | AiCreationException
+                 | StartingGameException e) {
+            throw new SimulationException(ARENA_ERROR.formatted(index, seed, e.getMessage()), e);
+        }
+        this.runningAiNames = gameEngine.getRunningAiNames();
+    }
+
+    /**
+     * Advances the game by the given number of steps, ending early once at most one AI is running.
+     * @param steps the maximum number of steps to execute
+     * @return this arena
+     * @throws SimulationException if the game cannot be executed
+     */
+    Arena advance(long steps) throws SimulationException {
+        try {
+            gameEngine.runUntilRemaining(steps, WINNING_AI_AMOUNT);
+        } catch (GameExecutionException e) {
+            throw new SimulationException(ARENA_ERROR.formatted(index, seed, e.getMessage()), e);
+        }
+        runningAiNames = gameEngine.getRunningAiNames();
+        return this;
+    }
+
+    /**
+     * Returns the index of the arena in its simulation.
+     * @return the index of the arena
+     */
+    public int getIndex() {
+        return index;
+    }
+
+    /**
+     * Returns the seed the memory of the arena was initialized with.
+     * @return the seed of the arena
+     */
+    public int getSeed() {
+        return seed;
+    }
+
+    /**
+     * Checks if the game of the arena has ended because at most one AI is still running or its state repeated.
+     * @return true if the game has ended, false otherwise
+     */
+    public boolean isFinished() {
+        return runningAiNames.size() <= WINNING_AI_AMOUNT || gameEngine.isCycleDetected();
+    }
+
+    /**
+     * Returns the names of the AIs that are still running.
+     * @return the names of the running AIs in the order they move
+     */
+    public List<String> getRunningAiNames() {
+        return runningAiNames;
+    }
+
+    /**
+     * Returns the number of steps executed since the game started.
+     * @return the number of executed steps
+     */
+    public long getExecutedSteps() {
+        return gameEngine.getExecutedSteps();
+    }
+}
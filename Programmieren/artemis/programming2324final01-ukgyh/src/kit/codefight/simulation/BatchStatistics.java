@@ -0,0 +1,44 @@
+package kit.codefight.simulation;
+
+import java.util.List;
+
+/**
+ * Represents the state of all arenas of a simulation after a batch of steps.
+ * @param batch the number of the batch, starting at one
+ * @param horizon the number of steps every arena was advanced by so far, unless its game ended earlier
+ * @param runningArenas the number of arenas whose game has not ended yet
+ * @param finishedArenas the number of arenas in which at most one AI is still running or the state repeated
+ * @param aiNames the names of the AIs in the order they move
+ * @param survivals the number of arenas in which each AI is still running
+ * @param wins the number of finished arenas in which each AI is the only one still running
+ * @param steps the number of steps executed in all arenas during the batch
+ * @param elapsedNanos the time needed for the batch in nanoseconds
+ * @author ukgyh
+ */
+public record BatchStatistics(int batch, long horizon, int runningArenas, int finishedArenas, List<String> aiNames,
+                              int[] survivals, int[] wins, long steps, long elapsedNanos) {
+    private static final String LINE_FORMAT = "batch %d at %d steps: %d running, %d finished, %.3e steps/s";
+    private static final String AI_FORMAT = ", %s alive %d won %d";
+    private static final double NANOS_PER_SECOND = 1e9;
+
+    /**
+     * Returns the number of steps executed per second over all threads during the batch.
+     * @return the step throughput
+     */
+    public double stepsPerSecond() {
+        return elapsedNanos == 0 ? 0 : steps * NANOS_PER_SECOND / elapsedNanos;
+    }
+
+    /**
+     * Returns the state as a single line.
+     * @return the line describing the batch
+     */
+    public String toLine() {
+        StringBuilder line = new StringBuilder(LINE_FORMAT.formatted(batch, horizon, runningArenas, finishedArenas,
+                stepsPerSecond()));
+        for (int i = 0; i < aiNames.size(); i++) {
+            line.append(AI_FORMAT.formatted(aiNames.get(i), survivals[i], wins[i]));
+        }
+        return line.toString();
+    }
+}
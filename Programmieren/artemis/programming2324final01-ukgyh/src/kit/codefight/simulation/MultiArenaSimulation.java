@@ -0,0 +1,191 @@
+package kit.codefight.simulation;
+
+import kit.codefight.exceptions.SimulationException;
+import kit.codefight.exceptions.TournamentException;
+import kit.codefight.model.memory.initialization.InitializationModeFactory;
+import kit.codefight.parallel.ParallelTasks;
+import kit.codefight.tournament.TournamentAi;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+
+/**
+ * Advances many independent arenas with the same AIs up to a fixed step horizon, in lockstep batches of steps.
+ * The seeds of the memories of the arenas are drawn without replacement from a permutation of all seeds of the random
+ * initialization mode, shuffled with the master seed, so no two arenas play the same game and the arenas only depend on
+ * the master seed and their index, not on the parallelism.
+ * The arenas of a batch are advanced in parallel on a fork-join pool, whose idle threads steal the remaining arenas when
+ * others end early. The batch ends once every arena is advanced, then the results of all arenas are collected.
+ * @author ukgyh
+ */
+public final class MultiArenaSimulation {
+    /**
+     * largest number of arenas, every arena plays with another seed of the random initialization mode.
+     */
+    public static final int MAXIMUM_ARENA_AMOUNT = InitializationModeFactory.NUMBER_OF_SEEDS;
+    private static final String DUPLICATE_NAME_ERROR = "name already used by another AI";
+    private static final String NOT_ENOUGH_AI_ERROR = "a simulation needs at least %d AIs";
+    private static final String STEPS_ERROR = "the horizon and the batch steps must be positive";
+    private static final String INTERRUPTED_ERROR = "the simulation was interrupted";
+    private static final String ARENA_FAILED_ERROR = "an arena failed unexpectedly: %s";
+    private static final String ARENA_AMOUNT_ERROR = "the number of arenas must be between %d and %d";
+    private static final int MINIMUM_ARENA_AMOUNT = 1;
+    private static final int MINIMUM_AI_AMOUNT = 2;
+    private static final int MINIMUM_STEPS = 1;
+    private static final int WINNING_AI_AMOUNT = 1;
+    private static final int WINNER_INDEX = 0;
+    private static final ParallelTasks<SimulationException> TASKS = new ParallelTasks<>(SimulationException.class,
+            SimulationException::new, INTERRUPTED_ERROR, ARENA_FAILED_ERROR);
+    private final int memorySize;
+    private final int numberOfArenas;
+    private final int parallelism;
+    private final long masterSeed;
+    private final List<TournamentAi> participants;
+
+    /**
+     * Constructs a new MultiArenaSimulation.
+     * @param memorySize the size of the memory of every arena
+     * @param numberOfArenas the number of arenas
+     * @param parallelism the number of arenas advanced at the same time
+     * @param masterSeed the seed the seeds of the arenas are derived from
+     */
+    public MultiArenaSimulation(int memorySize, int numberOfArenas, int parallelism, long masterSeed) {
+        this.memorySize = memorySize;
+        this.numberOfArenas = numberOfArenas;
+        this.parallelism = parallelism;
+        this.masterSeed = masterSeed;
+        this.participants = new ArrayList<>();
+    }
+
+    /**
+     * Adds an AI to every arena, the AIs move in the order they were added.
+     * @param name the name of the AI
+     * @param program the program of the AI in the format of the add-ai command
+     * @throws SimulationException if the name is already used or the program is invalid
+     */
+    public void addAi(String name, String program) throws SimulationException {
+        for (TournamentAi participant : participants) {
+            if (participant.name().equals(name)) {
+                throw new SimulationException(DUPLICATE_NAME_ERROR);
+            }
+        }
+        try {
+            participants.add(TournamentAi.validated(name, program, memorySize));
+        } catch (TournamentException e) {
+            throw new SimulationException(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Derives the seed of the memory of every arena from the master seed, no seed is used by two arenas.
+     * @return the seeds indexed by arena
+     * @throws SimulationException if the number of arenas is not between one and {@link #MAXIMUM_ARENA_AMOUNT}
+     */
+    public int[] deriveArenaSeeds() throws SimulationException {
+        if (numberOfArenas < MINIMUM_ARENA_AMOUNT || numberOfArenas > MAXIMUM_ARENA_AMOUNT) {
+            throw new SimulationException(ARENA_AMOUNT_ERROR.formatted(MINIMUM_ARENA_AMOUNT, MAXIMUM_ARENA_AMOUNT));
+        }
+        return InitializationModeFactory.drawDistinctSeeds(new SplittableRandom(masterSeed), numberOfArenas);
+    }
+
+    /**
+     * Starts a game in every arena and advances all arenas in batches until the horizon is reached or every game ended.
+     * @param horizon the number of steps every arena is advanced by at most
+     * @param batchSteps the number of steps every arena is advanced by in one batch
+     * @param batchListener the consumer receiving the statistics after every batch
+     * @return the statistics after the last batch
+     * @throws SimulationException if there are not enough AIs, the arenas or steps are invalid or an arena fails
+     */
+    public BatchStatistics run(long horizon, long batchSteps, Consumer<BatchStatistics> batchListener)
+            throws SimulationException {
+        if (participants.size() < MINIMUM_AI_AMOUNT) {
+            throw new SimulationException(NOT_ENOUGH_AI_ERROR.formatted(MINIMUM_AI_AMOUNT));
+        }
+        if (horizon < MINIMUM_STEPS || batchSteps < MINIMUM_STEPS) {
+            throw new SimulationException(STEPS_ERROR);
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            List<Callable<Arena>> starts = new ArrayList<>();
+            int[] seeds = deriveArenaSeeds();
+            for (int i = 0; i < numberOfArenas; i++) {
+                int index = i;
+                starts.add(() -> new Arena(index, participants, memorySize, seeds[index]));
+            }
+            List<Arena> arenas = TASKS.invokeAll(pool, starts);
+
+            BatchStatistics statistics = null;
+            List<Arena> running = runningArenas(arenas);
+            long reached = 0;
+            int batch = 0;
+            while (reached < horizon && !running.isEmpty()) {
+                long steps = Math.min(batchSteps, horizon - reached);
+                long stepsBefore = countSteps(running);
+                long batchStart = System.nanoTime();
+                List<Callable<Arena>> advances = new ArrayList<>();
+                for (Arena arena : running) {
+                    advances.add(() -> arena.advance(steps));
+                }
+                //every arena of the batch is advanced before the results are collected
+                TASKS.invokeAll(pool, advances);
+                long elapsedNanos = System.nanoTime() - batchStart;
+                reached += steps;
+                batch++;
+
+                statistics = collect(arenas, batch, reached, countSteps(running) - stepsBefore, elapsedNanos);
+                batchListener.accept(statistics);
+                running = runningArenas(running);
+            }
+            return statistics;
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private BatchStatistics collect(List<Arena> arenas, int batch, long horizon, long steps, long elapsedNanos) {
+        List<String> aiNames = new ArrayList<>();
+        for (TournamentAi participant : participants) {
+            aiNames.add(participant.name());
+        }
+        int[] survivals = new int[aiNames.size()];
+        int[] wins = new int[aiNames.size()];
+        int finished = 0;
+        for (Arena arena : arenas) {
+            List<String> runningAiNames = arena.getRunningAiNames();
+            for (String aiName : runningAiNames) {
+                survivals[aiNames.indexOf(aiName)]++;
+            }
+            if (arena.isFinished()) {
+                finished++;
+                if (runningAiNames.size() == WINNING_AI_AMOUNT) {
+                    wins[aiNames.indexOf(runningAiNames.get(WINNER_INDEX))]++;
+                }
+            }
+        }
+        return new BatchStatistics(batch, horizon, arenas.size() - finished, finished, aiNames, survivals, wins,
+                steps, elapsedNanos);
+    }
+
+    private static List<Arena> runningArenas(List<Arena> arenas) {
+        List<Arena> running = new ArrayList<>();
+        for (Arena arena : arenas) {
+            if (!arena.isFinished()) {
+                running.add(arena);
+            }
+        }
+        return running;
+    }
+
+    private static long countSteps(List<Arena> arenas) {
+        long steps = 0;
+        for (Arena arena : arenas) {
+            steps += arena.getExecutedSteps();
+        }
+        return steps;
+    }
+}
@@ -0,0 +1,76 @@
+package kit.codefight.simulation;
+
+import kit.codefight.arguments.StartingArguments;
+import kit.codefight.display.InputOutputHandler;
+import kit.codefight.exceptions.ArgumentInvalidException;
+import kit.codefight.exceptions.SimulationException;
+
+/**
+ * Runs a simulation of many arenas as headless mode of the program, reading the AIs from the input and printing the
+ * statistics of every batch.
+ * @author ukgyh
+ */
+public final class SimulationRunner {
+    /**
+     * the name of the mode as first starting argument.
+     */
+    public static final String MODE = "simulate";
+    private static final String INSTANTIATION_ERROR = "utility class cannot be instantiated";
+    private static final String ARGUMENT_AMOUNT_ERROR = "format is simulate [memory size] [arenas] [horizon]"
+            + " [batch steps] [seed] [parallelism]";
+    private static final String ARENA_AMOUNT_ERROR = "amount of arenas must be between %d and %d";
+    private static final String HORIZON_ERROR = "horizon and batch steps must be positive integers";
+    private static final int ARENAS_INDEX = 2;
+    private static final int HORIZON_INDEX = 3;
+    private static final int BATCH_STEPS_INDEX = 4;
+    private static final int SEED_INDEX = 5;
+    private static final int PARALLELISM_INDEX = 6;
+    private static final int MINIMUM_ARGUMENT_AMOUNT = 6;
+    private static final int MAXIMUM_ARGUMENT_AMOUNT = 7;
+
+    private SimulationRunner() {
+        throw new UnsupportedOperationException(INSTANTIATION_ERROR);
+    }
+
+    /**
+     * Parses the arguments of the mode, simulates the arenas with the AIs of the input and prints the statistics.
+     * @param args the starting arguments, starting with the name of the mode
+     * @param inputOutputHandler the handler reading the AIs and printing the statistics and errors
+     */
+    public static void run(String[] args, InputOutputHandler inputOutputHandler) {
+        try {
+            StartingArguments.checkArgumentAmount(args, MINIMUM_ARGUMENT_AMOUNT, MAXIMUM_ARGUMENT_AMOUNT,
+                    ARGUMENT_AMOUNT_ERROR);
+            int memorySize = StartingArguments.parseMemorySize(args[StartingArguments.MODE_MEMORY_SIZE_INDEX]);
+            int arenas;
+            long horizon;
+            long batchSteps;
+            long seed;
+            try {
+                arenas = Integer.parseInt(args[ARENAS_INDEX]);
+                horizon = Long.parseLong(args[HORIZON_INDEX]);
+                batchSteps = Long.parseLong(args[BATCH_STEPS_INDEX]);
+                seed = Long.parseLong(args[SEED_INDEX]);
+            } catch (NumberFormatException e) {
+                throw new ArgumentInvalidException(ARGUMENT_AMOUNT_ERROR);
+            }
+            int parallelism = StartingArguments.parseParallelism(args, PARALLELISM_INDEX, ARGUMENT_AMOUNT_ERROR);
+            if (arenas < StartingArguments.MINIMUM_POSITIVE_VALUE || arenas > MultiArenaSimulation.MAXIMUM_ARENA_AMOUNT) {
+                throw new ArgumentInvalidException(ARENA_AMOUNT_ERROR.formatted(StartingArguments.MINIMUM_POSITIVE_VALUE,
+                        MultiArenaSimulation.MAXIMUM_ARENA_AMOUNT));
+            }
+            if (horizon < StartingArguments.MINIMUM_POSITIVE_VALUE || batchSteps < StartingArguments.MINIMUM_POSITIVE_VALUE) {
+                throw new ArgumentInvalidException(HORIZON_ERROR);
+            }
+
+            MultiArenaSimulation simulation = new MultiArenaSimulation(memorySize, arenas, parallelism, seed);
+            for (String[] aiLine : StartingArguments.readAiLines(inputOutputHandler)) {
+                simulation.addAi(aiLine[StartingArguments.AI_LINE_NAME_INDEX], aiLine[StartingArguments.AI_LINE_PROGRAM_INDEX]);
+            }
+            simulation.run(horizon, batchSteps, statistics -> inputOutputHandler.displayStandard(statistics.toLine()));
+        } catch (ArgumentInvalidException | SimulationException e) {
+            inputOutputHandler.displayError(e.getMessage());
+        }
+        inputOutputHandler.closeInteraction();
+    }
+}
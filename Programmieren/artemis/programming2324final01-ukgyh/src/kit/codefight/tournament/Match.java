@@ -0,0 +1,87 @@
+package kit.codefight.tournament;
+
+import kit.codefight.exceptions.AiCreationException;
+import kit.codefight.exceptions.GameExecutionException;
+import kit.codefight.exceptions.InitializationModeChangeException;
+import kit.codefight.exceptions.ReplayException;
+import kit.codefight.exceptions.StartingGameException;
+import kit.codefight.exceptions.TournamentException;
+import kit.codefight.model.GameEngine;
+import kit.codefight.model.memory.initialization.InitializationModeFactory;
+import kit.codefight.parallel.ParallelTasks;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * A single headless match between AIs on its own isolated game engine.
+ * @author ukgyh
+ */
+public final class Match implements Callable<MatchResult> {
+    private static final String MATCH_ERROR = "match %s with seed %d failed: %s";
+    private static final String INTERRUPTED_ERROR = "the tournament was interrupted";
+    private static final String MATCH_FAILED_ERROR = "a match failed unexpectedly: %s";
+    private static final int WINNING_AI_AMOUNT = 1;
+    private static final int WINNER_INDEX = 0;
+    private static final ParallelTasks<TournamentException> TASKS = new ParallelTasks<>(TournamentException.class,
+            TournamentException::new, INTERRUPTED_ERROR, MATCH_FAILED_ERROR);
+    private final List<TournamentAi> ais;
+    private final int memorySize;
+    private final long stepBudget;
+    private final int seed;
+
+    /**
+     * Constructs a new Match.
+     * @param ais the AIs taking part in the match in the order they move
+     * @param memorySize the size of the memory
+     * @param stepBudget the maximum number of steps before the match ends in a draw
+     * @param seed the seed the memory is randomly initialized with
+     */
+    public Match(List<TournamentAi> ais, int memorySize, long stepBudget, int seed) {
+        this.ais = ais;
+        this.memorySize = memorySize;
+        this.stepBudget = stepBudget;
+        this.seed = seed;
+    }
+
+    @Override
+    public MatchResult call() throws TournamentException {
+        //every match owns its engine, so matches share no state and can run in parallel
+        GameEngine gameEngine = new GameEngine(memorySize, ais.size());
+        //a match that repeats its state is a draw, so the rest of its step budget is not executed
+        gameEngine.setCycleDetection(true);
+        //the names are taken from the AIs, so they are complete even if adding an AI fails
+        List<String> aiNames = ais.stream().map(TournamentAi::name).toList();
+        List<String> survivors;
+        long steps;
+        try {
+            gameEngine.setInitializationMode(InitializationModeFactory.RANDOM_INIT_MODE, seed);
+            for (TournamentAi ai : ais) {
+                gameEngine.addAi(ai.name(), ai.decodedProgram());
+            }
+            gameEngine.startGame(aiNames.toArray(String[]::new));
+            gameEngine.runUntilRemaining(stepBudget, WINNING_AI_AMOUNT);
+            survivors = gameEngine.getRunningAiNames();
+            steps = gameEngine.getExecutedSteps();
+            gameEngine.endGame();
+        } catch (InitializationModeChangeException | AiCreationException
+                 | StartingGameException | GameExecutionException | ReplayException e) {
+            throw new TournamentException(MATCH_ERROR.formatted(aiNames, seed, e.getMessage()), e);
+        }
+
+        String winner = survivors.size() == WINNING_AI_AMOUNT ? survivors.get(WINNER_INDEX) : null;
+        return new MatchResult(aiNames, seed, winner, steps, survivors);
+    }
+
+    /**
+     * Plays the given matches in parallel on the given pool.
+     * @param pool the pool playing the matches
+     * @param matches the matches to play
+     * @return the results of the matches in the order of the matches
+     * @throws TournamentException if a match cannot be played or the thread is interrupted
+     */
+    public static List<MatchResult> playAll(ForkJoinPool pool, List<Match> matches) throws TournamentException {
+        return TASKS.invokeAll(pool, matches);
+    }
+}
@@ -0,0 +1,23 @@
+package kit.codefight.tournament;
+
+import java.util.List;
+
+/**
+ * Represents the outcome of a single tournament match.
+ * @param aiNames the names of the AIs taking part in the match in the order they moved
+ * @param seed the seed the memory was randomly initialized with
+ * @param winner the name of the only AI still running, null if the match ended in a draw
+ * @param steps the number of steps executed until the match ended
+ * @param survivors the names of the AIs still running when the match ended
+ * @author ukgyh
+ */
+public record MatchResult(List<String> aiNames, int seed, String winner, long steps, List<String> survivors) {
+
+    /**
+     * Checks if the match ended without a winner.
+     * @return true if no or more than one AI was still running at the end of the match, false otherwise
+     */
+    public boolean isDraw() {
+        return winner == null;
+    }
+}
@@ -0,0 +1,103 @@
+package kit.codefight.tournament;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Aggregates the results of tournament matches into a standings table.
+ * A win is worth three points and a draw one point.
+ * @author ukgyh
+ */
+public final class Standings {
+    private static final String HEADER_FORMAT = "%4s %-20s %7s %5s %5s %6s %6s %12s";
+    private static final String ROW_FORMAT = "%4d %-20s %7d %5d %5d %6d %6d %12d";
+    private static final String[] HEADER = {"#", "AI", "played", "won", "drawn", "lost", "points", "avg. steps"};
+    private static final int WIN_POINTS = 3;
+    private static final int DRAW_POINTS = 1;
+    private static final int FIRST_RANK = 1;
+    private final Map<String, Row> rows;
+
+    /**
+     * Represents the record of one AI in the standings.
+     * @param name the name of the AI
+     * @param played the number of played matches
+     * @param won the number of won matches
+     * @param drawn the number of drawn matches
+     * @param lost the number of lost matches
+     * @param totalSteps the summed up number of steps of all matches of the AI
+     */
+    public record Row(String name, int played, int won, int drawn, int lost, long totalSteps) {
+
+        /**
+         * Returns the points of the AI.
+         * @return the points of the AI
+         */
+        public int points() {
+            return won * WIN_POINTS + drawn * DRAW_POINTS;
+        }
+
+        /**
+         * Returns the average number of steps of the matches of the AI.
+         * @return the average number of steps, zero if no match was played
+         */
+        public long averageSteps() {
+            return played == 0 ? 0 : totalSteps / played;
+        }
+
+        private Row withResult(boolean isWin, boolean isDraw, long steps) {
+            return new Row(name, played + 1, won + (isWin ? 1 : 0), drawn + (isDraw ? 1 : 0),
+                    lost + (isWin || isDraw ? 0 : 1), totalSteps + steps);
+        }
+    }
+
+    /**
+     * Constructs empty standings for the given AIs.
+     * @param aiNames the names of the AIs taking part in the tournament
+     */
+    public Standings(List<String> aiNames) {
+        this.rows = new LinkedHashMap<>();
+        for (String aiName : aiNames) {
+            rows.put(aiName, new Row(aiName, 0, 0, 0, 0, 0));
+        }
+    }
+
+    /**
+     * Adds the result of a match to the standings.
+     * @param result the result of the match
+     */
+    public void add(MatchResult result) {
+        for (String aiName : result.aiNames()) {
+            boolean isWin = aiName.equals(result.winner());
+            rows.put(aiName, rows.get(aiName).withResult(isWin, result.isDraw(), result.steps()));
+        }
+    }
+
+    /**
+     * Returns the rows of the standings, ordered by points, then by won matches, then by registration order.
+     * @return the ordered rows of the standings
+     */
+    public List<Row> getRows() {
+        List<Row> orderedRows = new ArrayList<>(rows.values());
+        orderedRows.sort(Comparator.comparingInt(Row::points).thenComparingInt(Row::won).reversed());
+        return orderedRows;
+    }
+
+    /**
+     * Returns the standings as a table with a header line and one line per AI.
+     * @return the lines of the standings table
+     */
+    public List<String> toTable() {
+        List<String> lines = new ArrayList<>();
+        lines.add(HEADER_FORMAT.formatted((Object[]) HEADER));
+        int rank = FIRST_RANK;
+        for (Row row : getRows()) {
+            lines.add(ROW_FORMAT.formatted(rank, row.name(), row.played(), row.won(), row.drawn(), row.lost(),
+                    row.points(), row.averageSteps()));
+            rank++;
+        }
+        return lines;
+    }
+}
@@ -0,0 +1,47 @@
+package kit.codefight.tournament;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Represents the estimated strength of a set of AIs playing against each other.
+ * @param games the number of played games
+ * @param draws the number of games without a winner
+ * @param converged whether every confidence interval reached the target width before the game limit
+ * @param rows the estimate of every AI in the order the AIs were added
+ * @author ukgyh
+ */
+public record StrengthEstimate(int games, int draws, boolean converged, List<Row> rows) {
+    private static final String HEADER_FORMAT = "%-20s %6s %9s %19s";
+    private static final String ROW_FORMAT = "%-20s %6d %8.2f%% [%7.2f%%, %7.2f%%]";
+    private static final String SUMMARY_FORMAT = "%d games, %d draws, %s";
+    private static final String CONVERGED_SUMMARY = "converged";
+    private static final String NOT_CONVERGED_SUMMARY = "game limit reached";
+    private static final String[] HEADER = {"AI", "won", "win rate", "95% confidence"};
+    private static final double PERCENT = 100;
+
+    /**
+     * Represents the estimated win rate of one AI.
+     * @param name the name of the AI
+     * @param won the number of won games
+     * @param winRate the share of won games
+     * @param lowerBound the lower bound of the confidence interval of the win rate
+     * @param upperBound the upper bound of the confidence interval of the win rate
+     */
+    public record Row(String name, int won, double winRate, double lowerBound, double upperBound) { }
+
+    /**
+     * Returns the estimate as a table with a header line, one line per AI and a summary line.
+     * @return the lines of the estimate table
+     */
+    public List<String> toTable() {
+        List<String> lines = new ArrayList<>();
+        lines.add(HEADER_FORMAT.formatted((Object[]) HEADER));
+        for (Row row : rows) {
+            lines.add(ROW_FORMAT.formatted(row.name(), row.won(), row.winRate() * PERCENT, row.lowerBound() * PERCENT,
+                    row.upperBound() * PERCENT));
+        }
+        lines.add(SUMMARY_FORMAT.formatted(games, draws, converged ? CONVERGED_SUMMARY : NOT_CONVERGED_SUMMARY));
+        return lines;
+    }
+}
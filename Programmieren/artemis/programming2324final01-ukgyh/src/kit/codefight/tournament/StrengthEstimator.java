@@ -0,0 +1,177 @@
+package kit.codefight.tournament;
+
+import kit.codefight.exceptions.TournamentException;
+import kit.codefight.model.memory.initialization.InitializationModeFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Estimates the strength of a set of AIs by playing them against each other on many randomly initialized memories.
+ * The seeds of the games are a random permutation of all seeds of the random initialization mode, derived from a
+ * master seed, so no seed is played twice and the estimate only depends on the master seed, not on the parallelism.
+ * The games are played in fixed-size batches in parallel, after every batch the estimate ends early
+ * once the confidence interval of every win rate is narrow enough.
+ * @author ukgyh
+ */
+public final class StrengthEstimator {
+    private static final String DUPLICATE_NAME_ERROR = "name already used by another AI";
+    private static final String NOT_ENOUGH_AI_ERROR = "an estimate needs at least %d AIs";
+    private static final String GAME_LIMIT_ERROR = "the game limit must be positive";
+    private static final int MINIMUM_AI_AMOUNT = 2;
+    private static final int MINIMUM_GAME_LIMIT = 1;
+    //fixed, so the games played before stopping early do not depend on the parallelism
+    private static final int BATCH_SIZE = 64;
+    //quantile of the standard normal distribution for a 95% confidence interval
+    private static final double CONFIDENCE_QUANTILE = 1.96;
+    private static final double HALF = 0.5;
+    private static final double MINIMUM_WIN_RATE = 0;
+    private static final double MAXIMUM_WIN_RATE = 1;
+    private static final int NUMBER_OF_SEEDS = InitializationModeFactory.MAXIMUM_SEED - InitializationModeFactory.MINIMUM_SEED + 1;
+    private final int memorySize;
+    private final long stepBudget;
+    private final int parallelism;
+    private final List<TournamentAi> participants;
+
+    /**
+     * Constructs a new StrengthEstimator.
+     * @param memorySize the size of the memory of every game
+     * @param stepBudget the maximum number of steps before a game ends in a draw
+     * @param parallelism the number of games played at the same time
+     */
+    public StrengthEstimator(int memorySize, long stepBudget, int parallelism) {
+        this.memorySize = memorySize;
+        this.stepBudget = stepBudget;
+        this.parallelism = parallelism;
+        this.participants = new ArrayList<>();
+    }
+
+    /**
+     * Adds an AI to the estimated set, the AIs move in the order they were added.
+     * @param name the name of the AI
+     * @param program the program of the AI in the format of the add-ai command
+     * @throws TournamentException if the name is already used or the program is invalid
+     */
+    public void addAi(String name, String program) throws TournamentException {
+        for (TournamentAi participant : participants) {
+            if (participant.name().equals(name)) {
+                throw new TournamentException(DUPLICATE_NAME_ERROR);
+            }
+        }
+        participants.add(TournamentAi.validated(name, program, memorySize));
+    }
+
+    /**
+     * Plays games until every win rate is known precisely enough or the game limit is reached.
+     * The game limit is capped at the number of seeds of the random initialization mode,
+     * playing all of them yields the exact win rates over all initializations.
+     * @param masterSeed the seed the seeds of the games are derived from
+     * @param gameLimit the maximum number of games to play
+     * @param targetHalfWidth the half width of the confidence intervals at which the estimate ends early
+     * @return the estimate
+     * @throws TournamentException if there are not enough AIs, the game limit is not positive or a game cannot be played
+     */
+    public StrengthEstimate estimate(long masterSeed, int gameLimit, double targetHalfWidth) throws TournamentException {
+        if (participants.size() < MINIMUM_AI_AMOUNT) {
+            throw new TournamentException(NOT_ENOUGH_AI_ERROR.formatted(MINIMUM_AI_AMOUNT));
+        }
+        if (gameLimit < MINIMUM_GAME_LIMIT) {
+            throw new TournamentException(GAME_LIMIT_ERROR);
+        }
+        int[] seeds = shuffleSeeds(masterSeed);
+        int games = Math.min(gameLimit, seeds.length);
+        List<String> aiNames = new ArrayList<>();
+        for (TournamentAi participant : participants) {
+            aiNames.add(participant.name());
+        }
+        int[] wins = new int[participants.size()];
+        int draws = 0;
+        int played = 0;
+        boolean converged = false;
+
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            while (played < games && !converged) {
+                List<Match> batch = new ArrayList<>();
+                for (int i = played; i < Math.min(played + BATCH_SIZE, games); i++) {
+                    batch.add(new Match(participants, memorySize, stepBudget, seeds[i]));
+                }
+                for (MatchResult result : Match.playAll(pool, batch)) {
+                    if (result.isDraw()) {
+                        draws++;
+                    } else {
+                        wins[aiNames.indexOf(result.winner())]++;
+                    }
+                }
+                played += batch.size();
+                converged = isConverged(wins, played, targetHalfWidth);
+            }
+        } finally {
+            pool.shutdown();
+        }
+
+        List<StrengthEstimate.Row> rows = new ArrayList<>();
+        for (int i = 0; i < wins.length; i++) {
+            double center = wilsonCenter(wins[i], played);
+            double halfWidth = wilsonHalfWidth(wins[i], played);
+            rows.add(new StrengthEstimate.Row(aiNames.get(i), wins[i], (double) wins[i] / played,
+                    Math.max(MINIMUM_WIN_RATE, center - halfWidth), Math.min(MAXIMUM_WIN_RATE, center + halfWidth)));
+        }
+        return new StrengthEstimate(played, draws, converged, rows);
+    }
+
+    /**
+     * Derives a random permutation of all seeds of the random initialization mode with a Fisher-Yates shuffle.
+     * @param masterSeed the seed of the permutation
+     * @return the permuted seeds
+     */
+    private static int[] shuffleSeeds(long masterSeed) {
+        int[] seeds = new int[NUMBER_OF_SEEDS];
+        for (int i = 0; i < seeds.length; i++) {
+            seeds[i] = InitializationModeFactory.MINIMUM_SEED + i;
+        }
+        SplittableRandom random = new SplittableRandom(masterSeed);
+        for (int i = seeds.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int swapped = seeds[i];
+            seeds[i] = seeds[j];
+            seeds[j] = swapped;
+        }
+        return seeds;
+    }
+
+    private static boolean isConverged(int[] wins, int played, double targetHalfWidth) {
+        for (int won : wins) {
+            if (wilsonHalfWidth(won, played) > targetHalfWidth) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Calculates the center of the Wilson score interval, which stays reliable for win rates close to zero or one.
+     * @param won the number of won games
+     * @param played the number of played games
+     * @return the center of the interval
+     */
+    private static double wilsonCenter(int won, int played) {
+        double quantileSquared = CONFIDENCE_QUANTILE * CONFIDENCE_QUANTILE;
+        return (won + HALF * quantileSquared) / (played + quantileSquared);
+    }
+
+    /**
+     * Calculates the half width of the Wilson score interval.
+     * @param won the number of won games
+     * @param played the number of played games
+     * @return the half width of the interval
+     */
+    private static double wilsonHalfWidth(int won, int played) {
+        double quantileSquared = CONFIDENCE_QUANTILE * CONFIDENCE_QUANTILE;
+        double winRate = (double) won / played;
+        return CONFIDENCE_QUANTILE / (played + quantileSquared)
+                * Math.sqrt(played * winRate * (MAXIMUM_WIN_RATE - winRate) + HALF * HALF * quantileSquared);
+    }
+}
@@ -0,0 +1,114 @@
+package kit.codefight.tournament;
+
+import kit.codefight.exceptions.TournamentException;
+import kit.codefight.model.memory.initialization.InitializationModeFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Plays a headless round-robin tournament between AIs.
+ * Every ordered pairing of two different AIs plays one match per seed, so every AI moves first equally often.
+ * The matches run on their own isolated game engines in parallel on a fork-join pool.
+ * @author ukgyh
+ */
+public final class Tournament {
+    private static final String DUPLICATE_NAME_ERROR = "name already used by another AI";
+    private static final String NOT_ENOUGH_AI_ERROR = "a tournament needs at least %d AIs";
+    private static final int MINIMUM_AI_AMOUNT = 2;
+    private static final int FIRST_SEED = 0;
+    private final int memorySize;
+    private final long stepBudget;
+    private final int numberOfSeeds;
+    private final int parallelism;
+    private final List<TournamentAi> participants;
+
+    /**
+     * Constructs a new Tournament.
+     * @param memorySize the size of the memory of every match
+     * @param stepBudget the maximum number of steps before a match ends in a draw
+     * @param numberOfSeeds the number of seeds every pairing is played with, starting at seed zero and continuing with
+     *                      the negative seeds after the largest seed, at most the number of seeds of the random mode
+     * @param parallelism the number of matches played at the same time
+     */
+    public Tournament(int memorySize, long stepBudget, int numberOfSeeds, int parallelism) {
+        this.memorySize = memorySize;
+        this.stepBudget = stepBudget;
+        this.numberOfSeeds = numberOfSeeds;
+        this.parallelism = parallelism;
+        this.participants = new ArrayList<>();
+    }
+
+    /**
+     * Adds an AI to the tournament.
+     * @param name the name of the AI
+     * @param program the program of the AI in the format of the add-ai command
+     * @throws TournamentException if the name is already used or the program is invalid
+     */
+    public void addAi(String name, String program) throws TournamentException {
+        for (TournamentAi participant : participants) {
+            if (participant.name().equals(name)) {
+                throw new TournamentException(DUPLICATE_NAME_ERROR);
+            }
+        }
+        participants.add(TournamentAi.validated(name, program, memorySize));
+    }
+
+    /**
+     * Plays all matches of the tournament.
+     * @return the results of all matches, ordered by seed and pairing
+     * @throws TournamentException if there are not enough AIs or a match cannot be played
+     */
+    public List<MatchResult> playMatches() throws TournamentException {
+        if (participants.size() < MINIMUM_AI_AMOUNT) {
+            throw new TournamentException(NOT_ENOUGH_AI_ERROR.formatted(MINIMUM_AI_AMOUNT));
+        }
+
+        List<Match> matches = new ArrayList<>();
+        for (int i = 0; i < numberOfSeeds; i++) {
+            int seed = seedAt(i);
+            for (TournamentAi firstAi : participants) {
+                for (TournamentAi secondAi : participants) {
+                    if (firstAi != secondAi) {
+                        matches.add(new Match(List.of(firstAi, secondAi), memorySize, stepBudget, seed));
+                    }
+                }
+            }
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            return Match.playAll(pool, matches);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Returns the seed of the given round, every valid seed of the random mode is used once before any seed repeats.
+     * @param round the index of the round
+     * @return the seed the matches of the round are played with
+     */
+    private static int seedAt(int round) {
+        int offset = Math.floorMod(FIRST_SEED - InitializationModeFactory.MINIMUM_SEED + round, InitializationModeFactory.NUMBER_OF_SEEDS);
+        return InitializationModeFactory.MINIMUM_SEED + offset;
+    }
+
+    /**
+     * Plays all matches of the tournament and aggregates their results.
+     * @return the standings of the tournament
+     * @throws TournamentException if there are not enough AIs or a match cannot be played
+     */
+    public Standings play() throws TournamentException {
+        List<String> aiNames = new ArrayList<>();
+        for (TournamentAi participant : participants) {
+            aiNames.add(participant.name());
+        }
+        Standings standings = new Standings(aiNames);
+        for (MatchResult result : playMatches()) {
+            standings.add(result);
+        }
+        return standings;
+    }
+}
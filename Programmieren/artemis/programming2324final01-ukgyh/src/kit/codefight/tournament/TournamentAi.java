@@ -0,0 +1,37 @@
+package kit.codefight.tournament;
+
+import kit.codefight.command.ProgramParser;
+import kit.codefight.exceptions.InstructionCreationException;
+import kit.codefight.exceptions.TournamentException;
+import kit.codefight.model.GameEngine;
+import kit.codefight.model.ai.Ai;
+
+/**
+ * Represents an AI taking part in a tournament.
+ * @param name the name of the AI
+ * @param decodedProgram the immutable starting instructions of the AI, registered directly in every game
+ * @author ukgyh
+ */
+public record TournamentAi(String name, Ai decodedProgram) {
+    private static final String INVALID_PROGRAM_ERROR = "invalid program of AI %s: %s";
+    private static final int VALIDATION_AI_AMOUNT = 2;
+
+    /**
+     * Creates an AI after checking that its program is valid.
+     * The program is parsed once up front, every match registers the decoded program in its own engine.
+     * @param name the name of the AI
+     * @param program the program of the AI in the format of the add-ai command
+     * @param memorySize the size of the memory the AI plays in
+     * @return the AI
+     * @throws TournamentException if the program is invalid
+     */
+    public static TournamentAi validated(String name, String program, int memorySize) throws TournamentException {
+        Ai decodedProgram;
+        try {
+            decodedProgram = new Ai(ProgramParser.parseInstructions(new GameEngine(memorySize, VALIDATION_AI_AMOUNT), program));
+        } catch (InstructionCreationException e) {
+            throw new TournamentException(INVALID_PROGRAM_ERROR.formatted(name, e.getMessage()), e);
+        }
+        return new TournamentAi(name, decodedProgram);
+    }
+}
@@ -0,0 +1,77 @@
+package kit.codefight.tournament;
+
+import kit.codefight.arguments.StartingArguments;
+import kit.codefight.display.InputOutputHandler;
+import kit.codefight.exceptions.ArgumentInvalidException;
+import kit.codefight.exceptions.TournamentException;
+import kit.codefight.model.memory.initialization.InitializationModeFactory;
+
+/**
+ * Runs a tournament as headless mode of the program, reading the AIs from the input and printing the standings.
+ * @author ukgyh
+ */
+public final class TournamentRunner {
+    /**
+     * the name of the mode as first starting argument.
+     */
+    public static final String MODE = "tournament";
+    private static final String INSTANTIATION_ERROR = "utility class cannot be instantiated";
+    private static final String ARGUMENT_AMOUNT_ERROR = "format is tournament [memory size] [step budget] [seeds] [parallelism]"
+            + ", the AIs are read from input as one [name] [instructions] per line";
+    private static final String SEED_AMOUNT_ERROR = "amount of seeds must be between %d and %d";
+    private static final int STEP_BUDGET_INDEX = 2;
+    private static final int SEEDS_INDEX = 3;
+    private static final int PARALLELISM_INDEX = 4;
+    private static final int MINIMUM_ARGUMENT_AMOUNT = 4;
+    private static final int MAXIMUM_ARGUMENT_AMOUNT = 5;
+    private static final int MINIMUM_SEED_AMOUNT = 1;
+
+    private TournamentRunner() {
+        throw new UnsupportedOperationException(INSTANTIATION_ERROR);
+    }
+
+    /**
+     * Parses the arguments of the mode, plays the tournament between the AIs of the input and prints the standings.
+     * @param args the starting arguments, starting with the name of the mode
+     * @param inputOutputHandler the handler reading the AIs and printing the standings and errors
+     */
+    public static void run(String[] args, InputOutputHandler inputOutputHandler) {
+        try {
+            Tournament tournament = parseArguments(args);
+            for (String[] aiLine : StartingArguments.readAiLines(inputOutputHandler)) {
+                tournament.addAi(aiLine[StartingArguments.AI_LINE_NAME_INDEX], aiLine[StartingArguments.AI_LINE_PROGRAM_INDEX]);
+            }
+            for (String line : tournament.play().toTable()) {
+                inputOutputHandler.displayStandard(line);
+            }
+        } catch (ArgumentInvalidException | TournamentException e) {
+            inputOutputHandler.displayError(e.getMessage());
+        }
+        inputOutputHandler.closeInteraction();
+    }
+
+    private static Tournament parseArguments(String[] args) throws ArgumentInvalidException {
+        StartingArguments.checkArgumentAmount(args, MINIMUM_ARGUMENT_AMOUNT, MAXIMUM_ARGUMENT_AMOUNT, ARGUMENT_AMOUNT_ERROR);
+        int memorySize = StartingArguments.parseMemorySize(args[StartingArguments.MODE_MEMORY_SIZE_INDEX]);
+
+        long stepBudget;
+        int seeds;
+        try {
+            stepBudget = Long.parseLong(args[STEP_BUDGET_INDEX]);
+            seeds = Integer.parseInt(args[SEEDS_INDEX]);
+        } catch (NumberFormatException e) {
+            throw new ArgumentInvalidException(ARGUMENT_AMOUNT_ERROR);
+        }
+        int parallelism = StartingArguments.parseParallelism(args, PARALLELISM_INDEX, ARGUMENT_AMOUNT_ERROR);
+
+        if (stepBudget < StartingArguments.MINIMUM_POSITIVE_VALUE) {
+            throw new ArgumentInvalidException(StartingArguments.STEP_BUDGET_ERROR);
+        }
+        //the random initialization mode accepts every seed from its minimum to its maximum seed
+        if (seeds < MINIMUM_SEED_AMOUNT || seeds > InitializationModeFactory.NUMBER_OF_SEEDS) {
+            throw new ArgumentInvalidException(SEED_AMOUNT_ERROR.formatted(MINIMUM_SEED_AMOUNT,
+                    InitializationModeFactory.NUMBER_OF_SEEDS));
+        }
+        return new Tournament(memorySize, stepBudget, seeds, parallelism);
+    }
+}
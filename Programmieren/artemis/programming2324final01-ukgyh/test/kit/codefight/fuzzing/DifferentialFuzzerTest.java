@@ -0,0 +1,27 @@
+package kit.codefight.fuzzing;
+
+import kit.codefight.exceptions.FuzzingException;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Plays a fixed set of random games with the interpreted and the reference engine in lockstep, so every change of an
+ * instruction that makes the two engines diverge fails the build with the shrunk reproducers.
+ * @author ukgyh
+ */
+class DifferentialFuzzerTest {
+    private static final int CASES = 2000;
+    private static final long STEP_BUDGET = 500;
+    private static final long MASTER_SEED = 3;
+    private static final int PARALLELISM = Runtime.getRuntime().availableProcessors();
+    private static final int NO_DIVERGENT_CASES = 0;
+
+    @Test
+    void interpreterMatchesReferenceEngine() throws FuzzingException {
+        DifferentialFuzzer fuzzer = new DifferentialFuzzer(STEP_BUDGET, PARALLELISM, MASTER_SEED);
+        FuzzReport report = fuzzer.run(CASES);
+        assertEquals(NO_DIVERGENT_CASES, report.divergentCases(),
+                () -> String.join(System.lineSeparator(), report.toLines(fuzzer.getInstructionNames())));
+    }
+}
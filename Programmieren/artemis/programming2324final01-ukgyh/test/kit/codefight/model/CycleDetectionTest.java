@@ -0,0 +1,85 @@
+package kit.codefight.model;
+
+import kit.codefight.command.ProgramParser;
+import kit.codefight.model.memory.MemoryBackend;
+import kit.codefight.model.memory.initialization.InitializationModeFactory;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that detecting cycles ends a looping game soon after its state repeats and never changes a game that does not
+ * loop. The detected repetition is confirmed by the fingerprints of the same game executed step by step without
+ * detection.
+ * @author ukgyh
+ */
+class CycleDetectionTest {
+    private static final int LOOPING_MEMORY_SIZE = 20;
+    private static final String[] LOOPING_AI_NAMES = {"left", "right"};
+    //two imps fill the memory with copies of themselves, after that their pointers circle the memory forever
+    private static final String LOOPING_PROGRAM = "MOV_R,0,1";
+    private static final long LOOPING_STEP_BUDGET = 1_000_000;
+    private static final long UNDETECTED_STEP_BUDGET = 10_000;
+    //the state repeats after a few laps, the detection needs at most about twice as many steps
+    private static final long MAXIMUM_DETECTION_STEPS = 1000;
+    private static final long BATCH_STEPS = 250;
+    private static final int BATCHES = 20;
+    private static final int SINGLE_STEP = 1;
+
+    @Test
+    void loopingGameEndsOnceItRepeats() throws Exception {
+        GameEngine detecting = startLoopingGame();
+        detecting.setCycleDetection(true);
+        detecting.runUntilRemaining(LOOPING_STEP_BUDGET, TestGames.REMAINING_AI);
+        assertTrue(detecting.isCycleDetected());
+        long detectionStep = detecting.getExecutedSteps();
+        assertTrue(detectionStep <= MAXIMUM_DETECTION_STEPS);
+        assertEquals(List.of(LOOPING_AI_NAMES), detecting.getRunningAiNames());
+
+        GameEngine executed = startLoopingGame();
+        executed.setStateHashing(true);
+        Set<Long> earlierStates = new HashSet<>();
+        while (executed.getExecutedSteps() < detectionStep) {
+            earlierStates.add(executed.stateHash());
+            executed.doNextSteps(SINGLE_STEP);
+        }
+        assertTrue(earlierStates.contains(executed.stateHash()));
+    }
+
+    @Test
+    void loopingGameRunsFullBudgetWithoutDetection() throws Exception {
+        GameEngine gameEngine = startLoopingGame();
+        gameEngine.runUntilRemaining(UNDETECTED_STEP_BUDGET, TestGames.REMAINING_AI);
+        assertFalse(gameEngine.isCycleDetected());
+        assertEquals(UNDETECTED_STEP_BUDGET, gameEngine.getExecutedSteps());
+    }
+
+    @Test
+    void detectionDoesNotChangeGame() throws Exception {
+        GameEngine plain = TestGames.start(MemoryBackend.PAGED, TestGames.AI_NAMES);
+        GameEngine detecting = TestGames.start(MemoryBackend.PAGED, TestGames.AI_NAMES);
+        detecting.setCycleDetection(true);
+        for (int batch = 0; batch < BATCHES; batch++) {
+            plain.runUntilRemaining(BATCH_STEPS, TestGames.REMAINING_AI);
+            detecting.runUntilRemaining(BATCH_STEPS, TestGames.REMAINING_AI);
+            assertFalse(detecting.isCycleDetected());
+            assertEquals(GameState.of(plain), GameState.of(detecting));
+        }
+    }
+
+    private static GameEngine startLoopingGame() throws Exception {
+        GameEngine gameEngine = new GameEngine(LOOPING_MEMORY_SIZE, LOOPING_AI_NAMES.length);
+        gameEngine.setInitializationMode(InitializationModeFactory.STOP_INIT_MODE, null);
+        for (String name : LOOPING_AI_NAMES) {
+            gameEngine.addAi(name, ProgramParser.parseInstructions(gameEngine, LOOPING_PROGRAM));
+        }
+        gameEngine.startGame(LOOPING_AI_NAMES);
+        return gameEngine;
+    }
+}
@@ -0,0 +1,60 @@
+package kit.codefight.model;
+
+import kit.codefight.exceptions.SnapshotException;
+import kit.codefight.model.memory.MemoryBackend;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Checks that a snapshot keeps the state of the game it was taken from while both go on, which the paged memory only
+ * achieves if every page shared with a snapshot is copied before it is written.
+ * @author ukgyh
+ */
+class GameSnapshotTest {
+    private static final long STEPS_BEFORE_SNAPSHOT = 300;
+    private static final long STEPS_AFTER_SNAPSHOT = 3000;
+    private static final String[] OTHER_AI_NAMES = {"dwarf", "bomber"};
+
+    @Test
+    void restoreReturnsToSnapshotAfterLaterWrites() throws Exception {
+        GameEngine gameEngine = TestGames.start(MemoryBackend.PAGED, TestGames.AI_NAMES);
+        gameEngine.runUntilRemaining(STEPS_BEFORE_SNAPSHOT, TestGames.REMAINING_AI);
+        GameSnapshot snapshot = gameEngine.snapshot();
+        GameState atSnapshot = GameState.of(gameEngine);
+
+        gameEngine.runUntilRemaining(STEPS_AFTER_SNAPSHOT, TestGames.REMAINING_AI);
+        GameState continued = GameState.of(gameEngine);
+        assertNotEquals(atSnapshot, continued);
+
+        gameEngine.restore(snapshot);
+        assertEquals(atSnapshot, GameState.of(gameEngine));
+        //the restored game writes into pages shared with the snapshot again, which must not reach the snapshot
+        gameEngine.runUntilRemaining(STEPS_AFTER_SNAPSHOT, TestGames.REMAINING_AI);
+        assertEquals(continued, GameState.of(gameEngine));
+        gameEngine.restore(snapshot);
+        assertEquals(atSnapshot, GameState.of(gameEngine));
+    }
+
+    @Test
+    void restoreForksGameOfOtherEngine() throws Exception {
+        GameEngine original = TestGames.start(MemoryBackend.PAGED, TestGames.AI_NAMES);
+        original.runUntilRemaining(STEPS_BEFORE_SNAPSHOT, TestGames.REMAINING_AI);
+        GameEngine fork = TestGames.start(MemoryBackend.PAGED, TestGames.AI_NAMES);
+
+        fork.restore(original.snapshot());
+        assertEquals(GameState.of(original), GameState.of(fork));
+        original.runUntilRemaining(STEPS_AFTER_SNAPSHOT, TestGames.REMAINING_AI);
+        fork.runUntilRemaining(STEPS_AFTER_SNAPSHOT, TestGames.REMAINING_AI);
+        assertEquals(GameState.of(original), GameState.of(fork));
+    }
+
+    @Test
+    void restoreRejectsSnapshotOfOtherGame() throws Exception {
+        GameEngine gameEngine = TestGames.start(MemoryBackend.PAGED, TestGames.AI_NAMES);
+        GameSnapshot otherSnapshot = TestGames.start(MemoryBackend.PAGED, OTHER_AI_NAMES).snapshot();
+        assertThrows(SnapshotException.class, () -> gameEngine.restore(otherSnapshot));
+    }
+}
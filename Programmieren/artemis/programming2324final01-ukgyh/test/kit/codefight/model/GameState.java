@@ -0,0 +1,31 @@
+package kit.codefight.model;
+
+import kit.codefight.exceptions.GameExecutionException;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * The observable state of a game in a test: its fingerprint covers the content and owner of every cell and the pointers,
+ * the memory display shows the symbol of every cell.
+ * @param steps the number of executed steps
+ * @param stateHash the fingerprint of the game
+ * @param memory the memory display of the game
+ * @param runningAi the names of the running AIs
+ * @author ukgyh
+ */
+record GameState(long steps, long stateHash, String memory, List<String> runningAi) {
+    /**
+     * Reads the state of the running game, which needs state hashing and an initialized memory display.
+     * @param gameEngine the engine running the game
+     * @return the state of the game
+     * @throws GameExecutionException if no game is running
+     * @throws IOException if the memory display cannot be written
+     */
+    static GameState of(GameEngine gameEngine) throws GameExecutionException, IOException {
+        StringBuilder memory = new StringBuilder();
+        gameEngine.getMemoryDisplay().writeTo(memory);
+        return new GameState(gameEngine.getExecutedSteps(), gameEngine.stateHash(), memory.toString(),
+                gameEngine.getRunningAiNames());
+    }
+}
@@ -0,0 +1,65 @@
+package kit.codefight.model;
+
+import kit.codefight.model.memory.MemoryBackend;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Checks that the off-heap memory plays every game exactly like the paged memory and that a game can be forked from one
+ * backend into the other.
+ * @author ukgyh
+ */
+class MemoryBackendTest {
+    private static final long BATCH_STEPS = 250;
+    private static final int BATCHES = 20;
+    private static final long STEPS_BEFORE_FORK = 300;
+    private static final long STEPS_AFTER_FORK = 3000;
+
+    @Test
+    void offHeapPlaysLikePaged() throws Exception {
+        GameEngine paged = TestGames.start(MemoryBackend.PAGED, TestGames.AI_NAMES);
+        GameEngine offHeap = TestGames.start(MemoryBackend.OFF_HEAP, TestGames.AI_NAMES);
+        assertEquals(MemoryBackend.OFF_HEAP, offHeap.getMemoryBackend());
+        assertEquals(GameState.of(paged), GameState.of(offHeap));
+        for (int batch = 0; batch < BATCHES; batch++) {
+            paged.runUntilRemaining(BATCH_STEPS, TestGames.REMAINING_AI);
+            offHeap.runUntilRemaining(BATCH_STEPS, TestGames.REMAINING_AI);
+            assertEquals(GameState.of(paged), GameState.of(offHeap));
+        }
+    }
+
+    @Test
+    void offHeapRestoresItsSnapshot() throws Exception {
+        GameEngine gameEngine = TestGames.start(MemoryBackend.OFF_HEAP, TestGames.AI_NAMES);
+        gameEngine.runUntilRemaining(STEPS_BEFORE_FORK, TestGames.REMAINING_AI);
+        GameSnapshot snapshot = gameEngine.snapshot();
+        GameState atSnapshot = GameState.of(gameEngine);
+        gameEngine.runUntilRemaining(STEPS_AFTER_FORK, TestGames.REMAINING_AI);
+
+        gameEngine.restore(snapshot);
+        assertEquals(atSnapshot, GameState.of(gameEngine));
+    }
+
+    @Test
+    void pagedGameForksIntoOffHeap() throws Exception {
+        assertForkContinues(MemoryBackend.PAGED, MemoryBackend.OFF_HEAP);
+    }
+
+    @Test
+    void offHeapGameForksIntoPaged() throws Exception {
+        assertForkContinues(MemoryBackend.OFF_HEAP, MemoryBackend.PAGED);
+    }
+
+    private static void assertForkContinues(MemoryBackend originalBackend, MemoryBackend forkBackend) throws Exception {
+        GameEngine original = TestGames.start(originalBackend, TestGames.AI_NAMES);
+        original.runUntilRemaining(STEPS_BEFORE_FORK, TestGames.REMAINING_AI);
+        GameEngine fork = TestGames.start(forkBackend, TestGames.AI_NAMES);
+
+        fork.restore(original.snapshot());
+        assertEquals(GameState.of(original), GameState.of(fork));
+        original.runUntilRemaining(STEPS_AFTER_FORK, TestGames.REMAINING_AI);
+        fork.runUntilRemaining(STEPS_AFTER_FORK, TestGames.REMAINING_AI);
+        assertEquals(GameState.of(original), GameState.of(fork));
+    }
+}
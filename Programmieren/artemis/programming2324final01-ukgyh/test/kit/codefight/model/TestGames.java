@@ -0,0 +1,64 @@
+package kit.codefight.model;
+
+import kit.codefight.command.ProgramParser;
+import kit.codefight.exceptions.AiCreationException;
+import kit.codefight.exceptions.InitializationModeChangeException;
+import kit.codefight.exceptions.InstructionCreationException;
+import kit.codefight.exceptions.StartingGameException;
+import kit.codefight.model.memory.MemoryBackend;
+import kit.codefight.model.memory.initialization.InitializationModeFactory;
+
+import java.util.List;
+
+/**
+ * Starts the games shared by the tests of the model: three AIs that keep writing into a randomly initialized memory.
+ * @author ukgyh
+ */
+final class TestGames {
+    /**
+     * the names of all AIs, in the order of their programs.
+     */
+    static final String[] AI_NAMES = {"dwarf", "swapper", "bomber"};
+    /**
+     * the size of the memory, which spans many pages of the paged memory.
+     */
+    static final int MEMORY_SIZE = 1337;
+    /**
+     * the number of running AIs at which a game is ended early.
+     */
+    static final int REMAINING_AI = 1;
+    private static final String INSTANTIATION_ERROR = "utility class cannot be instantiated";
+    private static final String[] PROGRAMS = {"ADD,-1,3,MOV_I,-2,2,JMP,-2,0", "SWAP,0,1,SWAP,-1,0,JMP,-2,0",
+        "MOV_I,2,3,ADD,4,3,JMP,-2,0,STOP,0,0"};
+    private static final String[] GAME_SYMBOLS = {"_", "S", "N", "L"};
+    private static final List<String> AI_SYMBOLS = List.of("a0", "a1", "b0", "b1", "c0", "c1");
+    private static final int SEED = 42;
+
+    private TestGames() {
+        throw new UnsupportedOperationException(INSTANTIATION_ERROR);
+    }
+
+    /**
+     * Starts a game with state hashing and the memory display, so its {@link GameState} can be read.
+     * @param memoryBackend the way the cells of the memory are stored
+     * @param aiNames the names of the AIs taking part, a subset of {@link #AI_NAMES}
+     * @return the engine running the game
+     * @throws InitializationModeChangeException if the memory cannot be initialized randomly
+     * @throws InstructionCreationException if a program cannot be parsed
+     * @throws AiCreationException if an AI cannot be added
+     * @throws StartingGameException if the game cannot be started
+     */
+    static GameEngine start(MemoryBackend memoryBackend, String... aiNames) throws InitializationModeChangeException,
+            InstructionCreationException, AiCreationException, StartingGameException {
+        GameEngine gameEngine = new GameEngine(MEMORY_SIZE, AI_NAMES.length);
+        gameEngine.initializeMemoryDisplay(GAME_SYMBOLS, AI_SYMBOLS);
+        gameEngine.setStateHashing(true);
+        gameEngine.setMemoryBackend(memoryBackend);
+        gameEngine.setInitializationMode(InitializationModeFactory.RANDOM_INIT_MODE, SEED);
+        for (int i = 0; i < AI_NAMES.length; i++) {
+            gameEngine.addAi(AI_NAMES[i], ProgramParser.parseInstructions(gameEngine, PROGRAMS[i]));
+        }
+        gameEngine.startGame(aiNames);
+        return gameEngine;
+    }
+}
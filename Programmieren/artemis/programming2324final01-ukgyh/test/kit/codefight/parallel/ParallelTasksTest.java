@@ -0,0 +1,60 @@
+package kit.codefight.parallel;
+
+import kit.codefight.exceptions.FuzzingException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Checks that the failure of a task on a fork-join pool reaches the caller as the exception of the feature.
+ * @author ukgyh
+ */
+class ParallelTasksTest {
+    private static final String INTERRUPTED_ERROR = "interrupted";
+    private static final String FAILED_ERROR = "failed: %s";
+    private static final String TASK_ERROR = "the task failed on purpose";
+    private static final int PARALLELISM = 2;
+    private static final int FIRST_RESULT = 1;
+    private static final int SECOND_RESULT = 2;
+    private final ForkJoinPool pool = new ForkJoinPool(PARALLELISM);
+    private final ParallelTasks<FuzzingException> tasks = new ParallelTasks<>(FuzzingException.class,
+            FuzzingException::new, INTERRUPTED_ERROR, FAILED_ERROR);
+
+    @AfterEach
+    void shutdownPool() {
+        pool.shutdown();
+    }
+
+    @Test
+    void returnsResultsInTaskOrder() throws FuzzingException {
+        List<Callable<Integer>> calls = List.of(() -> FIRST_RESULT, () -> SECOND_RESULT);
+        assertEquals(List.of(FIRST_RESULT, SECOND_RESULT), tasks.invokeAll(pool, calls));
+    }
+
+    @Test
+    void passesOnCheckedExceptionOfTask() {
+        FuzzingException thrown = new FuzzingException(TASK_ERROR);
+        List<Callable<Integer>> calls = List.of(() -> FIRST_RESULT, () -> {
+            throw thrown;
+        });
+        assertSame(thrown, assertThrows(FuzzingException.class, () -> tasks.invokeAll(pool, calls)));
+    }
+
+    @Test
+    void wrapsUnexpectedFailureWithItsMessage() {
+        List<Callable<Integer>> calls = List.of(() -> {
+            throw new IllegalStateException(TASK_ERROR);
+        });
+        FuzzingException failure = assertThrows(FuzzingException.class, () -> tasks.invokeAll(pool, calls));
+        assertEquals(FAILED_ERROR.formatted(TASK_ERROR), failure.getMessage());
+        assertInstanceOf(IllegalStateException.class, failure.getCause());
+    }
+}
@@ -0,0 +1,125 @@
+package kit.codefight.replay;
+
+import kit.codefight.command.ProgramParser;
+import kit.codefight.exceptions.AiCreationException;
+import kit.codefight.exceptions.InitializationModeChangeException;
+import kit.codefight.exceptions.InstructionCreationException;
+import kit.codefight.exceptions.StartingGameException;
+import kit.codefight.model.GameEngine;
+import kit.codefight.model.memory.initialization.InitializationModeFactory;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Records a game, seeks the replay back and forth and compares every sought state with the state of the game executed
+ * again up to the same step. The state of the executed game is read from the first keyframe of a replay recorded at
+ * that step, so both sides are compared cell by cell.
+ * @author ukgyh
+ */
+class ReplayPlayerTest {
+    private static final int MEMORY_SIZE = 97;
+    private static final int SEED = 42;
+    private static final int KEYFRAME_INTERVAL = 64;
+    private static final int SNAPSHOT_KEYFRAME_INTERVAL = 1;
+    private static final long STEP_BUDGET = 1000;
+    private static final int REMAINING_AI = 1;
+    private static final String[] AI_NAMES = {"dwarf", "swapper", "bomber"};
+    private static final String[] PROGRAMS = {"ADD,-1,3,MOV_I,-2,2,JMP,-2,0", "SWAP,0,1,SWAP,-1,0,JMP,-2,0",
+        "MOV_I,2,3,ADD,4,3,JMP,-2,0,STOP,0,0"};
+    //out of order, so the player has to restore earlier keyframes as well as continue from its current state
+    private static final long[] TARGET_STEPS = {500, 0, 63, 64, 65, 999, 128, 700, 701, 1};
+    private static final String REPLAY_FILE = "game.rpl";
+    private static final String STATE_FILE = "state-%d.rpl";
+    private static final String MISMATCH_MESSAGE = "%s of %d differs at step %d";
+    private static final String OPCODE = "opcode";
+    private static final String ARGUMENT_A = "argument A";
+    private static final String ARGUMENT_B = "argument B";
+    private static final String LAST_EDITOR = "last editor";
+    private static final String AI_BOMB = "AI bomb";
+    private static final String STATUS = "status";
+    private static final String POINTER = "pointer";
+    private static final String COUNTER = "counter";
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void seekMatchesReexecution() throws Exception {
+        GameEngine recorded = startGame();
+        Path replay = directory.resolve(REPLAY_FILE);
+        recorded.startRecording(replay, KEYFRAME_INTERVAL);
+        recorded.runUntilRemaining(STEP_BUDGET, REMAINING_AI);
+        assertEquals(STEP_BUDGET, recorded.getExecutedSteps());
+        recorded.endGame();
+
+        ReplayPlayer player = ReplayPlayer.open(replay);
+        assertEquals(0, player.getFirstStep());
+        assertEquals(STEP_BUDGET, player.getLastStep());
+        for (long step : TARGET_STEPS) {
+            player.seek(step);
+            assertEquals(step, player.getStep());
+            assertSameState(stateAt(step), player);
+        }
+    }
+
+    private ReplayPlayer stateAt(long step) throws Exception {
+        GameEngine executed = startGame();
+        if (step > 0) {
+            executed.runUntilRemaining(step, REMAINING_AI);
+        }
+        assertEquals(step, executed.getExecutedSteps());
+        Path state = directory.resolve(STATE_FILE.formatted(step));
+        executed.startRecording(state, SNAPSHOT_KEYFRAME_INTERVAL);
+        executed.endGame();
+        return ReplayPlayer.open(state);
+    }
+
+    private static GameEngine startGame() throws InitializationModeChangeException, InstructionCreationException,
+            AiCreationException, StartingGameException {
+        GameEngine gameEngine = new GameEngine(MEMORY_SIZE, AI_NAMES.length);
+        gameEngine.setInitializationMode(InitializationModeFactory.RANDOM_INIT_MODE, SEED);
+        for (int i = 0; i < AI_NAMES.length; i++) {
+            gameEngine.addAi(AI_NAMES[i], ProgramParser.parseInstructions(gameEngine, PROGRAMS[i]));
+        }
+        gameEngine.startGame(AI_NAMES);
+        return gameEngine;
+    }
+
+    private static void assertSameState(ReplayPlayer expected, ReplayPlayer actual) {
+        assertEquals(expected.getStep(), actual.getStep());
+        for (int index = 0; index < MEMORY_SIZE; index++) {
+            assertSameCell(expected, actual, index);
+        }
+        for (int handle = 0; handle < AI_NAMES.length; handle++) {
+            assertSameAi(expected, actual, handle);
+        }
+    }
+
+    private static void assertSameCell(ReplayPlayer expected, ReplayPlayer actual, int index) {
+        long step = actual.getStep();
+        assertEquals(expected.getOpcode(index), actual.getOpcode(index),
+                () -> MISMATCH_MESSAGE.formatted(OPCODE, index, step));
+        assertEquals(expected.getArgumentA(index), actual.getArgumentA(index),
+                () -> MISMATCH_MESSAGE.formatted(ARGUMENT_A, index, step));
+        assertEquals(expected.getArgumentB(index), actual.getArgumentB(index),
+                () -> MISMATCH_MESSAGE.formatted(ARGUMENT_B, index, step));
+        assertEquals(expected.getLastEditor(index), actual.getLastEditor(index),
+                () -> MISMATCH_MESSAGE.formatted(LAST_EDITOR, index, step));
+        assertEquals(expected.isAiBomb(index), actual.isAiBomb(index),
+                () -> MISMATCH_MESSAGE.formatted(AI_BOMB, index, step));
+    }
+
+    private static void assertSameAi(ReplayPlayer expected, ReplayPlayer actual, int handle) {
+        long step = actual.getStep();
+        assertEquals(expected.isActive(handle), actual.isActive(handle),
+                () -> MISMATCH_MESSAGE.formatted(STATUS, handle, step));
+        assertEquals(expected.getAiPointer(handle), actual.getAiPointer(handle),
+                () -> MISMATCH_MESSAGE.formatted(POINTER, handle, step));
+        assertEquals(expected.getAiCounter(handle), actual.getAiCounter(handle),
+                () -> MISMATCH_MESSAGE.formatted(COUNTER, handle, step));
+    }
+}